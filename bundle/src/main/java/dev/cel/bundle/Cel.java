@@ -15,11 +15,35 @@
 package dev.cel.bundle;
 
 import javax.annotation.concurrent.ThreadSafe;
+import dev.cel.common.CelFunctionDecl;
+import dev.cel.common.CelVarDecl;
 import dev.cel.compiler.CelCompiler;
+import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.CelRuntime;
 
 /** Cel interface for parse, type-check, and evaluation of CEL programs. */
 @ThreadSafe
 public interface Cel extends CelCompiler, CelRuntime {
   CelBuilder toCelBuilder();
+
+  /**
+   * Returns a {@code Cel} which additionally declares {@code varDecls} and {@code functionDecls},
+   * and binds {@code functionBindings}.
+   *
+   * <p>The declarations, function dispatch tables and descriptor pools of this instance are shared
+   * with the returned one rather than built again, so the cost of extending an environment is
+   * proportional to the size of the extension. This makes it suitable for deriving many small
+   * environments, such as one per tenant, from a large base environment.
+   *
+   * <p>Overload IDs bound by this instance cannot be rebound by the extension. Doing so fails with
+   * an {@link IllegalArgumentException} once the returned instance's runtime is first used.
+   *
+   * @throws UnsupportedOperationException if this instance does not support being extended.
+   */
+  default Cel extend(
+      Iterable<CelVarDecl> varDecls,
+      Iterable<CelFunctionDecl> functionDecls,
+      Iterable<CelFunctionBinding> functionBindings) {
+    throw new UnsupportedOperationException("Extending this environment is not supported.");
+  }
 }
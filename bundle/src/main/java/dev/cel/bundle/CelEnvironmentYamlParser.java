@@ -14,15 +14,15 @@
 
 package dev.cel.bundle;
 
+import static dev.cel.common.formats.YamlEventReader.scalarValue;
 import static dev.cel.common.formats.YamlHelper.ERROR;
 import static dev.cel.common.formats.YamlHelper.assertRequiredFields;
 import static dev.cel.common.formats.YamlHelper.assertYamlType;
 import static dev.cel.common.formats.YamlHelper.newBoolean;
 import static dev.cel.common.formats.YamlHelper.newInteger;
 import static dev.cel.common.formats.YamlHelper.newString;
-import static dev.cel.common.formats.YamlHelper.parseYamlSource;
+import static dev.cel.common.formats.YamlHelper.parseYamlEvents;
 import static dev.cel.common.formats.YamlHelper.validateYamlType;
-import static java.util.Collections.singletonList;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -41,22 +41,21 @@ import dev.cel.common.CelContainer;
 import dev.cel.common.CelIssue;
 import dev.cel.common.formats.CelFileSource;
 import dev.cel.common.formats.ParserContext;
+import dev.cel.common.formats.YamlEventReader;
 import dev.cel.common.formats.YamlHelper.YamlNodeType;
 import dev.cel.common.formats.YamlParserContextImpl;
 import dev.cel.common.internal.CelCodePointArray;
 import java.util.Optional;
 import org.jspecify.annotations.Nullable;
-import org.yaml.snakeyaml.DumperOptions.FlowStyle;
-import org.yaml.snakeyaml.nodes.MappingNode;
-import org.yaml.snakeyaml.nodes.Node;
-import org.yaml.snakeyaml.nodes.NodeTuple;
-import org.yaml.snakeyaml.nodes.ScalarNode;
-import org.yaml.snakeyaml.nodes.SequenceNode;
-import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
 
 /**
  * CelEnvironmentYamlParser intakes a YAML document that describes the structure of a CEL
  * environment, parses it then creates a {@link CelEnvironment}.
+ *
+ * <p>The document is read as a stream of YAML events, and declarations are built as they are read
+ * rather than from a composed YAML node tree.
  */
 public final class CelEnvironmentYamlParser {
   // Sentinel values to be returned for various declarations when parsing failure is encountered.
@@ -94,11 +93,12 @@ public final class CelEnvironmentYamlParser {
     return parser.parseYaml(environmentYamlSource, description);
   }
 
-  private CelContainer parseContainer(ParserContext<Node> ctx, Node node) {
+  private CelContainer parseContainer(ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     // Syntax variant 1: "container: `str`"
     if (validateYamlType(node, YamlNodeType.STRING, YamlNodeType.TEXT)) {
-      return CelContainer.ofName(newString(ctx, node));
+      return CelContainer.ofName(newString(ctx, reader.nextNode()));
     }
 
     // Syntax variant 2:
@@ -113,31 +113,32 @@ public final class CelEnvironmentYamlParser {
     //   - alias: a2
     //     qualified_name: q2
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return CelContainer.ofName(ERROR);
     }
 
     CelContainer.Builder builder = CelContainer.newBuilder();
-    MappingNode variableMap = (MappingNode) node;
-    for (NodeTuple nodeTuple : variableMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "name":
-          builder.setName(newString(ctx, valueNode));
+          builder.setName(newString(ctx, reader.nextNode()));
           break;
         case "aliases":
-          ImmutableSet<Alias> aliases = parseAliases(ctx, valueNode);
+          ImmutableSet<Alias> aliases = parseAliases(ctx, reader);
           for (Alias alias : aliases) {
             builder.addAlias(alias.alias(), alias.qualifiedName());
           }
           break;
         case "abbreviations":
-          builder.addAbbreviations(parseAbbreviations(ctx, valueNode));
+          builder.addAbbreviations(parseAbbreviations(ctx, reader));
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported container tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -146,38 +147,43 @@ public final class CelEnvironmentYamlParser {
   }
 
   private ImmutableSet<CelEnvironment.FeatureFlag> parseFeatures(
-      ParserContext<Node> ctx, Node node) {
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
-    if (!validateYamlType(node, YamlNodeType.LIST, YamlNodeType.TEXT)) {
+    if (!validateYamlType(node, YamlNodeType.LIST)) {
       ctx.reportError(valueId, "Unsupported features format");
+      reader.skipNode();
+      return ImmutableSet.of();
     }
 
     ImmutableSet.Builder<CelEnvironment.FeatureFlag> featureFlags = ImmutableSet.builder();
 
-    SequenceNode featureListNode = (SequenceNode) node;
-    for (Node featureMapNode : featureListNode.getValue()) {
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event featureMapNode = reader.peek();
       long featureMapId = ctx.collectMetadata(featureMapNode);
       if (!assertYamlType(ctx, featureMapId, featureMapNode, YamlNodeType.MAP)) {
+        reader.skipNode();
         continue;
       }
 
-      MappingNode featureMap = (MappingNode) featureMapNode;
       String name = "";
       boolean enabled = true;
-      for (NodeTuple nodeTuple : featureMap.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
         long keyId = ctx.collectMetadata(keyNode);
-        Node valueNode = nodeTuple.getValueNode();
-        String keyName = ((ScalarNode) keyNode).getValue();
+        String keyName = scalarValue(keyNode);
         switch (keyName) {
           case "name":
-            name = newString(ctx, valueNode);
+            name = newString(ctx, reader.nextNode());
             break;
           case "enabled":
-            enabled = newBoolean(ctx, valueNode);
+            enabled = newBoolean(ctx, reader.nextNode());
             break;
           default:
             ctx.reportError(keyId, String.format("Unsupported feature tag: %s", keyName));
+            reader.skipNode();
             break;
         }
       }
@@ -190,107 +196,125 @@ public final class CelEnvironmentYamlParser {
     return featureFlags.build();
   }
 
-  private ImmutableSet<CelEnvironment.Limit> parseLimits(ParserContext<Node> ctx, Node node) {
+  private ImmutableSet<CelEnvironment.Limit> parseLimits(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
-    if (!validateYamlType(node, YamlNodeType.LIST, YamlNodeType.TEXT)) {
+    if (!validateYamlType(node, YamlNodeType.LIST)) {
       ctx.reportError(valueId, "Unsupported limits format");
+      reader.skipNode();
+      return ImmutableSet.of();
     }
 
     ImmutableSet.Builder<CelEnvironment.Limit> limits = ImmutableSet.builder();
 
-    SequenceNode featureListNode = (SequenceNode) node;
-    for (Node featureMapNode : featureListNode.getValue()) {
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event featureMapNode = reader.peek();
       long featureMapId = ctx.collectMetadata(featureMapNode);
       if (!assertYamlType(ctx, featureMapId, featureMapNode, YamlNodeType.MAP)) {
+        reader.skipNode();
         continue;
       }
 
-      MappingNode featureMap = (MappingNode) featureMapNode;
-      String name = "";
-      Optional<Integer> value = Optional.empty();
+      reader.next();
+      parseLimit(ctx, reader, featureMapId).ifPresent(limits::add);
+    }
+    return limits.build();
+  }
+
+  /** Parses the entries of a limit mapping whose start event has been consumed. */
+  private Optional<CelEnvironment.Limit> parseLimit(
+      ParserContext<Event> ctx, YamlEventReader reader, long featureMapId) {
+    String name = "";
+    Optional<Integer> value = Optional.empty();
+    boolean isFirstEntry = true;
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
+      String keyName = scalarValue(keyNode);
       // Shorthand syntax for limit: "cel.limit.foo: 1"
-      if (featureMap.getValue().size() == 1) {
-        NodeTuple nodeTuple = featureMap.getValue().get(0);
-        Node keyNode = nodeTuple.getKeyNode();
-        Node valueNode = nodeTuple.getValueNode();
-        String keyName = ((ScalarNode) keyNode).getValue();
-        if (!keyName.equals("name") && !keyName.equals("value")) {
-          limits.add(CelEnvironment.Limit.create(keyName, newInteger(ctx, valueNode)));
-          continue;
+      if (isFirstEntry && !keyName.equals("name") && !keyName.equals("value")) {
+        Event valueNode = reader.nextNode();
+        if (!reader.hasNextEntry()) {
+          return Optional.of(CelEnvironment.Limit.create(keyName, newInteger(ctx, valueNode)));
         }
-        // Fall through to check against the long syntax.
+        // Fall through to check against the long syntax, which does not support this tag.
+        long keyId = ctx.collectMetadata(keyNode);
+        ctx.reportError(keyId, String.format("Unsupported limits tag: %s", keyName));
+        isFirstEntry = false;
+        continue;
       }
+      isFirstEntry = false;
       // Long syntax for limit:
       // limits:
       // - name: cel.limit.foo
       //   value: 1
-      for (NodeTuple nodeTuple : featureMap.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
-        long keyId = ctx.collectMetadata(keyNode);
-        Node valueNode = nodeTuple.getValueNode();
-        String keyName = ((ScalarNode) keyNode).getValue();
-        switch (keyName) {
-          case "name":
-            name = newString(ctx, valueNode);
-            break;
-          case "value":
-            value = Optional.of(newInteger(ctx, valueNode));
-            break;
-          default:
-            ctx.reportError(keyId, String.format("Unsupported limits tag: %s", keyName));
-            break;
-        }
-      }
-      if (name.isEmpty()) {
-        ctx.reportError(featureMapId, "Missing required attribute(s): name");
-        continue;
-      }
-      if (!value.isPresent()) {
-        ctx.reportError(featureMapId, "Missing required attribute(s): value");
-        continue;
+      long keyId = ctx.collectMetadata(keyNode);
+      switch (keyName) {
+        case "name":
+          name = newString(ctx, reader.nextNode());
+          break;
+        case "value":
+          value = Optional.of(newInteger(ctx, reader.nextNode()));
+          break;
+        default:
+          ctx.reportError(keyId, String.format("Unsupported limits tag: %s", keyName));
+          reader.skipNode();
+          break;
       }
-      limits.add(CelEnvironment.Limit.create(name, value.get()));
     }
-    return limits.build();
+    if (name.isEmpty()) {
+      ctx.reportError(featureMapId, "Missing required attribute(s): name");
+      return Optional.empty();
+    }
+    if (!value.isPresent()) {
+      ctx.reportError(featureMapId, "Missing required attribute(s): value");
+      return Optional.empty();
+    }
+    return Optional.of(CelEnvironment.Limit.create(name, value.get()));
   }
 
-  private ImmutableSet<Alias> parseAliases(ParserContext<Node> ctx, Node node) {
+  private ImmutableSet<Alias> parseAliases(ParserContext<Event> ctx, YamlEventReader reader) {
     ImmutableSet.Builder<Alias> aliasSetBuilder = ImmutableSet.builder();
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return aliasSetBuilder.build();
     }
 
-    SequenceNode variableListNode = (SequenceNode) node;
-    for (Node elementNode : variableListNode.getValue()) {
-      aliasSetBuilder.add(parseAlias(ctx, elementNode));
+    reader.next();
+    while (reader.hasNextEntry()) {
+      aliasSetBuilder.add(parseAlias(ctx, reader));
     }
 
     return aliasSetBuilder.build();
   }
 
-  private Alias parseAlias(ParserContext<Node> ctx, Node node) {
+  private Alias parseAlias(ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long id = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, id, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ERROR_ALIAS;
     }
 
     Alias.Builder builder = Alias.newBuilder();
-    MappingNode attrMap = (MappingNode) node;
-    for (NodeTuple nodeTuple : attrMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "alias":
-          builder.setAlias(newString(ctx, valueNode));
+          builder.setAlias(newString(ctx, reader.nextNode()));
           break;
         case "qualified_name":
-          builder.setQualifiedName(newString(ctx, valueNode));
+          builder.setQualifiedName(newString(ctx, reader.nextNode()));
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported alias tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -302,44 +326,32 @@ public final class CelEnvironmentYamlParser {
     return builder.build();
   }
 
-  private ImmutableSet<String> parseAbbreviations(ParserContext<Node> ctx, Node node) {
-    long valueId = ctx.collectMetadata(node);
-    if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
-      return ImmutableSet.of(ERROR);
-    }
-
-    ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-    SequenceNode nameListNode = (SequenceNode) node;
-    for (Node elementNode : nameListNode.getValue()) {
-      long elementId = ctx.collectMetadata(elementNode);
-      if (!assertYamlType(ctx, elementId, elementNode, YamlNodeType.STRING)) {
-        return ImmutableSet.of(ERROR);
-      }
-
-      builder.add(((ScalarNode) elementNode).getValue());
-    }
-    return builder.build();
+  private ImmutableSet<String> parseAbbreviations(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    return parseStringSet(ctx, reader);
   }
 
-  private ContextVariable parseContextVariable(ParserContext<Node> ctx, Node node) {
+  private ContextVariable parseContextVariable(ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long id = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, id, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ContextVariable.create("");
     }
 
-    MappingNode mapNode = (MappingNode) node;
     String typeName = "";
-    for (NodeTuple nodeTuple : mapNode.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "type_name":
-          typeName = newString(ctx, valueNode);
+          typeName = newString(ctx, reader.nextNode());
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported context_variable tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -351,41 +363,45 @@ public final class CelEnvironmentYamlParser {
     return ContextVariable.create(typeName);
   }
 
-  private ImmutableSet<VariableDecl> parseVariables(ParserContext<Node> ctx, Node node) {
+  private ImmutableSet<VariableDecl> parseVariables(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     ImmutableSet.Builder<VariableDecl> variableSetBuilder = ImmutableSet.builder();
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return variableSetBuilder.build();
     }
 
-    SequenceNode variableListNode = (SequenceNode) node;
-    for (Node elementNode : variableListNode.getValue()) {
-      variableSetBuilder.add(parseVariable(ctx, elementNode));
+    reader.next();
+    while (reader.hasNextEntry()) {
+      variableSetBuilder.add(parseVariable(ctx, reader));
     }
 
     return variableSetBuilder.build();
   }
 
-  private VariableDecl parseVariable(ParserContext<Node> ctx, Node node) {
+  private VariableDecl parseVariable(ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long variableId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, variableId, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ERROR_VARIABLE_DECL;
     }
 
-    MappingNode variableMap = (MappingNode) node;
     VariableDecl.Builder builder = VariableDecl.newBuilder();
     TypeDecl.Builder typeDeclBuilder = null;
-    for (NodeTuple nodeTuple : variableMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "name":
-          builder.setName(newString(ctx, valueNode));
+          builder.setName(newString(ctx, reader.nextNode()));
           break;
         case "description":
-          builder.setDescription(newString(ctx, valueNode));
+          builder.setDescription(newString(ctx, reader.nextNode()));
           break;
         case "type":
           if (typeDeclBuilder != null) {
@@ -395,9 +411,10 @@ public final class CelEnvironmentYamlParser {
                     "'type' tag cannot be used together with inlined 'type_name', 'is_type_param'"
                         + " or 'params': %s",
                     keyName));
+            reader.skipNode();
             break;
           }
-          builder.setType(parseTypeDecl(ctx, valueNode));
+          builder.setType(parseTypeDecl(ctx, reader));
           break;
         case "type_name":
         case "is_type_param":
@@ -405,10 +422,11 @@ public final class CelEnvironmentYamlParser {
           if (typeDeclBuilder == null) {
             typeDeclBuilder = TypeDecl.newBuilder();
           }
-          typeDeclBuilder = parseInlinedTypeDecl(ctx, keyId, keyNode, valueNode, typeDeclBuilder);
+          typeDeclBuilder = parseInlinedTypeDecl(ctx, reader, keyId, keyNode, typeDeclBuilder);
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported variable tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -427,46 +445,51 @@ public final class CelEnvironmentYamlParser {
     return builder.build();
   }
 
-  private ImmutableSet<FunctionDecl> parseFunctions(ParserContext<Node> ctx, Node node) {
+  private ImmutableSet<FunctionDecl> parseFunctions(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     ImmutableSet.Builder<FunctionDecl> functionSetBuilder = ImmutableSet.builder();
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return functionSetBuilder.build();
     }
 
-    SequenceNode functionListNode = (SequenceNode) node;
-    for (Node elementNode : functionListNode.getValue()) {
-      functionSetBuilder.add(parseFunction(ctx, elementNode));
+    reader.next();
+    while (reader.hasNextEntry()) {
+      functionSetBuilder.add(parseFunction(ctx, reader));
     }
 
     return functionSetBuilder.build();
   }
 
-  private FunctionDecl parseFunction(ParserContext<Node> ctx, Node node) {
+  private FunctionDecl parseFunction(ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long functionId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, functionId, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ERROR_FUNCTION_DECL;
     }
 
-    MappingNode functionMap = (MappingNode) node;
     FunctionDecl.Builder builder = FunctionDecl.newBuilder();
-    for (NodeTuple nodeTuple : functionMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "name":
-          builder.setName(newString(ctx, valueNode));
+          builder.setName(newString(ctx, reader.nextNode()));
           break;
         case "overloads":
-          builder.setOverloads(parseOverloads(ctx, valueNode));
+          builder.setOverloads(parseOverloads(ctx, reader));
           break;
         case "description":
-          builder.setDescription(newString(ctx, valueNode).trim());
+          builder.setDescription(newString(ctx, reader.nextNode()).trim());
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported function tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -478,49 +501,55 @@ public final class CelEnvironmentYamlParser {
     return builder.build();
   }
 
-  private static ImmutableSet<OverloadDecl> parseOverloads(ParserContext<Node> ctx, Node node) {
+  private static ImmutableSet<OverloadDecl> parseOverloads(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long listId = ctx.collectMetadata(node);
     ImmutableSet.Builder<OverloadDecl> overloadSetBuilder = ImmutableSet.builder();
     if (!assertYamlType(ctx, listId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return overloadSetBuilder.build();
     }
 
-    SequenceNode overloadListNode = (SequenceNode) node;
-    for (Node overloadMapNode : overloadListNode.getValue()) {
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event overloadMapNode = reader.peek();
       long overloadMapId = ctx.collectMetadata(overloadMapNode);
       if (!assertYamlType(ctx, overloadMapId, overloadMapNode, YamlNodeType.MAP)) {
+        reader.skipNode();
         continue;
       }
 
-      MappingNode mapNode = (MappingNode) overloadMapNode;
       OverloadDecl.Builder overloadDeclBuilder = OverloadDecl.newBuilder();
-      for (NodeTuple nodeTuple : mapNode.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
         long keyId = ctx.collectMetadata(keyNode);
         if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
 
-        Node valueNode = nodeTuple.getValueNode();
-        String fieldName = ((ScalarNode) keyNode).getValue();
+        String fieldName = scalarValue(keyNode);
         switch (fieldName) {
           case "id":
-            overloadDeclBuilder.setId(newString(ctx, valueNode));
+            overloadDeclBuilder.setId(newString(ctx, reader.nextNode()));
             break;
           case "args":
-            overloadDeclBuilder.addArguments(parseOverloadArguments(ctx, valueNode));
+            overloadDeclBuilder.addArguments(parseOverloadArguments(ctx, reader));
             break;
           case "return":
-            overloadDeclBuilder.setReturnType(parseTypeDecl(ctx, valueNode));
+            overloadDeclBuilder.setReturnType(parseTypeDecl(ctx, reader));
             break;
           case "target":
-            overloadDeclBuilder.setTarget(parseTypeDecl(ctx, valueNode));
+            overloadDeclBuilder.setTarget(parseTypeDecl(ctx, reader));
             break;
           case "examples":
-            overloadDeclBuilder.addExamples(parseOverloadExamples(ctx, valueNode));
+            overloadDeclBuilder.addExamples(parseOverloadExamples(ctx, reader));
             break;
           default:
             ctx.reportError(keyId, String.format("Unsupported overload tag: %s", fieldName));
+            reader.skipNode();
             break;
         }
       }
@@ -534,73 +563,84 @@ public final class CelEnvironmentYamlParser {
     return overloadSetBuilder.build();
   }
 
-  private static ImmutableList<String> parseOverloadExamples(ParserContext<Node> ctx, Node node) {
+  private static ImmutableList<String> parseOverloadExamples(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long listValueId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, listValueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return ImmutableList.of();
     }
-    SequenceNode paramsListNode = (SequenceNode) node;
     ImmutableList.Builder<String> builder = ImmutableList.builder();
-    for (Node elementNode : paramsListNode.getValue()) {
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event elementNode = reader.nextNode();
       long elementNodeId = ctx.collectMetadata(elementNode);
       if (!assertYamlType(ctx, elementNodeId, elementNode, YamlNodeType.STRING)) {
         continue;
       }
 
-      builder.add(((ScalarNode) elementNode).getValue());
+      builder.add(scalarValue(elementNode));
     }
 
     return builder.build();
   }
 
   private static ImmutableList<TypeDecl> parseOverloadArguments(
-      ParserContext<Node> ctx, Node node) {
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long listValueId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, listValueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return ImmutableList.of();
     }
-    SequenceNode paramsListNode = (SequenceNode) node;
     ImmutableList.Builder<TypeDecl> builder = ImmutableList.builder();
-    for (Node elementNode : paramsListNode.getValue()) {
-      builder.add(parseTypeDecl(ctx, elementNode));
+    reader.next();
+    while (reader.hasNextEntry()) {
+      builder.add(parseTypeDecl(ctx, reader));
     }
 
     return builder.build();
   }
 
-  private static ImmutableSet<ExtensionConfig> parseExtensions(ParserContext<Node> ctx, Node node) {
+  private static ImmutableSet<ExtensionConfig> parseExtensions(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     ImmutableSet.Builder<ExtensionConfig> extensionConfigBuilder = ImmutableSet.builder();
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return extensionConfigBuilder.build();
     }
 
-    SequenceNode extensionListNode = (SequenceNode) node;
-    for (Node elementNode : extensionListNode.getValue()) {
-      extensionConfigBuilder.add(parseExtension(ctx, elementNode));
+    reader.next();
+    while (reader.hasNextEntry()) {
+      extensionConfigBuilder.add(parseExtension(ctx, reader));
     }
 
     return extensionConfigBuilder.build();
   }
 
-  private static ExtensionConfig parseExtension(ParserContext<Node> ctx, Node node) {
+  private static ExtensionConfig parseExtension(ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long extensionId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, extensionId, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ERROR_EXTENSION_DECL;
     }
 
-    MappingNode extensionMap = (MappingNode) node;
     ExtensionConfig.Builder builder = ExtensionConfig.newBuilder();
-    for (NodeTuple nodeTuple : extensionMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "name":
-          builder.setName(newString(ctx, valueNode));
+          builder.setName(newString(ctx, reader.nextNode()));
           break;
         case "version":
+          Event valueNode = reader.nextNode();
           if (validateYamlType(valueNode, YamlNodeType.INTEGER)) {
             builder.setVersion(newInteger(ctx, valueNode));
             break;
@@ -622,6 +662,7 @@ public final class CelEnvironmentYamlParser {
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported extension tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -633,98 +674,122 @@ public final class CelEnvironmentYamlParser {
     return builder.build();
   }
 
-  private static LibrarySubset parseLibrarySubset(ParserContext<Node> ctx, Node node) {
+  private static LibrarySubset parseLibrarySubset(
+      ParserContext<Event> ctx, YamlEventReader reader) {
     LibrarySubset.Builder builder = LibrarySubset.newBuilder().setDisabled(false);
-    MappingNode subsetMap = (MappingNode) node;
-    for (NodeTuple nodeTuple : subsetMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    Event node = reader.peek();
+    if (!validateYamlType(node, YamlNodeType.MAP)) {
+      assertYamlType(ctx, ctx.collectMetadata(node), node, YamlNodeType.MAP);
+      reader.skipNode();
+      return builder.build();
+    }
+
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "disabled":
-          builder.setDisabled(newBoolean(ctx, valueNode));
+          builder.setDisabled(newBoolean(ctx, reader.nextNode()));
           break;
         case "disable_macros":
-          builder.setMacrosDisabled(newBoolean(ctx, valueNode));
+          builder.setMacrosDisabled(newBoolean(ctx, reader.nextNode()));
           break;
         case "include_macros":
-          builder.setIncludedMacros(parseMacroNameSet(ctx, valueNode));
+          builder.setIncludedMacros(parseMacroNameSet(ctx, reader));
           break;
         case "exclude_macros":
-          builder.setExcludedMacros(parseMacroNameSet(ctx, valueNode));
+          builder.setExcludedMacros(parseMacroNameSet(ctx, reader));
           break;
         case "include_functions":
-          builder.setIncludedFunctions(parseFunctionSelectors(ctx, valueNode));
+          builder.setIncludedFunctions(parseFunctionSelectors(ctx, reader));
           break;
         case "exclude_functions":
-          builder.setExcludedFunctions(parseFunctionSelectors(ctx, valueNode));
+          builder.setExcludedFunctions(parseFunctionSelectors(ctx, reader));
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported library subset tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
     return builder.build();
   }
 
-  private static ImmutableSet<String> parseMacroNameSet(ParserContext<Node> ctx, Node node) {
+  private static ImmutableSet<String> parseMacroNameSet(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    return parseStringSet(ctx, reader);
+  }
+
+  /** Parses a list of strings. A malformed list is returned as the single element {@code ERROR}. */
+  private static ImmutableSet<String> parseStringSet(
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return ImmutableSet.of(ERROR);
     }
 
     ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-    SequenceNode nameListNode = (SequenceNode) node;
-    for (Node elementNode : nameListNode.getValue()) {
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event elementNode = reader.nextNode();
       long elementId = ctx.collectMetadata(elementNode);
       if (!assertYamlType(ctx, elementId, elementNode, YamlNodeType.STRING)) {
+        reader.skipEntries();
         return ImmutableSet.of(ERROR);
       }
 
-      builder.add(((ScalarNode) elementNode).getValue());
+      builder.add(scalarValue(elementNode));
     }
     return builder.build();
   }
 
   private static ImmutableSet<FunctionSelector> parseFunctionSelectors(
-      ParserContext<Node> ctx, Node node) {
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long valueId = ctx.collectMetadata(node);
     ImmutableSet.Builder<FunctionSelector> functionSetBuilder = ImmutableSet.builder();
     if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return functionSetBuilder.build();
     }
 
-    SequenceNode functionListNode = (SequenceNode) node;
-    for (Node elementNode : functionListNode.getValue()) {
-      functionSetBuilder.add(parseFunctionSelector(ctx, elementNode));
+    reader.next();
+    while (reader.hasNextEntry()) {
+      functionSetBuilder.add(parseFunctionSelector(ctx, reader));
     }
 
     return functionSetBuilder.build();
   }
 
-  private static FunctionSelector parseFunctionSelector(ParserContext<Node> ctx, Node node) {
+  private static FunctionSelector parseFunctionSelector(
+      ParserContext<Event> ctx, YamlEventReader reader) {
     FunctionSelector.Builder builder = FunctionSelector.newBuilder();
+    Event node = reader.peek();
     long functionId = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, functionId, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ERROR_FUNCTION_SELECTOR;
     }
 
-    MappingNode functionMap = (MappingNode) node;
-    for (NodeTuple nodeTuple : functionMap.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event keyNode = reader.nextNode();
       long keyId = ctx.collectMetadata(keyNode);
-      Node valueNode = nodeTuple.getValueNode();
-      String keyName = ((ScalarNode) keyNode).getValue();
+      String keyName = scalarValue(keyNode);
       switch (keyName) {
         case "name":
-          builder.setName(newString(ctx, valueNode));
+          builder.setName(newString(ctx, reader.nextNode()));
           break;
         case "overloads":
-          builder.setOverloads(parseFunctionOverloadsSelector(ctx, valueNode));
+          builder.setOverloads(parseFunctionOverloadsSelector(ctx, reader));
           break;
         default:
           ctx.reportError(keyId, String.format("Unsupported function selector tag: %s", keyName));
+          reader.skipNode();
           break;
       }
     }
@@ -737,38 +802,43 @@ public final class CelEnvironmentYamlParser {
   }
 
   private static ImmutableSet<OverloadSelector> parseFunctionOverloadsSelector(
-      ParserContext<Node> ctx, Node node) {
+      ParserContext<Event> ctx, YamlEventReader reader) {
+    Event node = reader.peek();
     long listId = ctx.collectMetadata(node);
     ImmutableSet.Builder<OverloadSelector> overloadSetBuilder = ImmutableSet.builder();
     if (!assertYamlType(ctx, listId, node, YamlNodeType.LIST)) {
+      reader.skipNode();
       return overloadSetBuilder.build();
     }
 
-    SequenceNode overloadListNode = (SequenceNode) node;
-    for (Node overloadMapNode : overloadListNode.getValue()) {
+    reader.next();
+    while (reader.hasNextEntry()) {
+      Event overloadMapNode = reader.peek();
       long overloadMapId = ctx.collectMetadata(overloadMapNode);
       if (!assertYamlType(ctx, overloadMapId, overloadMapNode, YamlNodeType.MAP)) {
+        reader.skipNode();
         continue;
       }
 
-      MappingNode mapNode = (MappingNode) overloadMapNode;
       OverloadSelector.Builder overloadDeclBuilder = OverloadSelector.newBuilder();
-      for (NodeTuple nodeTuple : mapNode.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
         long keyId = ctx.collectMetadata(keyNode);
         if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
 
-        Node valueNode = nodeTuple.getValueNode();
-        String fieldName = ((ScalarNode) keyNode).getValue();
+        String fieldName = scalarValue(keyNode);
         switch (fieldName) {
           case "id":
-            overloadDeclBuilder.setId(newString(ctx, valueNode));
+            overloadDeclBuilder.setId(newString(ctx, reader.nextNode()));
             break;
           default:
             ctx.reportError(
                 keyId, String.format("Unsupported overload selector tag: %s", fieldName));
+            reader.skipNode();
             break;
         }
       }
@@ -790,65 +860,75 @@ public final class CelEnvironmentYamlParser {
     }
   }
 
+  /**
+   * Parses a type decl field that is inlined into its parent, as if a {@code type:} parent node
+   * actually existed.
+   */
   @CanIgnoreReturnValue
   private static TypeDecl.Builder parseInlinedTypeDecl(
-      ParserContext<Node> ctx, long keyId, Node keyNode, Node valueNode, TypeDecl.Builder builder) {
+      ParserContext<Event> ctx,
+      YamlEventReader reader,
+      long keyId,
+      Event keyNode,
+      TypeDecl.Builder builder) {
     if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+      reader.skipNode();
       return builder;
     }
 
-    // Create a synthetic node to make this behave as if a `type: ` parent node actually exists.
-    MappingNode mapNode =
-        new MappingNode(
-            Tag.MAP, /* value= */ singletonList(new NodeTuple(keyNode, valueNode)), FlowStyle.AUTO);
-
-    return parseTypeDeclFields(ctx, mapNode, builder);
+    return parseTypeDeclField(ctx, reader, keyNode, builder);
   }
 
-  private static TypeDecl parseTypeDecl(ParserContext<Node> ctx, Node node) {
+  private static TypeDecl parseTypeDecl(ParserContext<Event> ctx, YamlEventReader reader) {
     TypeDecl.Builder builder = TypeDecl.newBuilder();
+    Event node = reader.peek();
     long id = ctx.collectMetadata(node);
     if (!assertYamlType(ctx, id, node, YamlNodeType.MAP)) {
+      reader.skipNode();
       return ERROR_TYPE_DECL;
     }
 
-    MappingNode mapNode = (MappingNode) node;
-    return parseTypeDeclFields(ctx, mapNode, builder).build();
+    reader.next();
+    while (reader.hasNextEntry()) {
+      parseTypeDeclField(ctx, reader, reader.nextNode(), builder);
+    }
+    return builder.build();
   }
 
+  /** Parses the value of the type decl field named by {@code keyNode}. */
   @CanIgnoreReturnValue
-  private static TypeDecl.Builder parseTypeDeclFields(
-      ParserContext<Node> ctx, MappingNode mapNode, TypeDecl.Builder builder) {
-    for (NodeTuple nodeTuple : mapNode.getValue()) {
-      Node keyNode = nodeTuple.getKeyNode();
-      long keyId = ctx.collectMetadata(keyNode);
-      if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
-        continue;
-      }
+  private static TypeDecl.Builder parseTypeDeclField(
+      ParserContext<Event> ctx, YamlEventReader reader, Event keyNode, TypeDecl.Builder builder) {
+    long keyId = ctx.collectMetadata(keyNode);
+    if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+      reader.skipNode();
+      return builder;
+    }
 
-      Node valueNode = nodeTuple.getValueNode();
-      String fieldName = ((ScalarNode) keyNode).getValue();
-      switch (fieldName) {
-        case "type_name":
-          builder.setName(newString(ctx, valueNode));
+    String fieldName = scalarValue(keyNode);
+    switch (fieldName) {
+      case "type_name":
+        builder.setName(newString(ctx, reader.nextNode()));
+        break;
+      case "is_type_param":
+        builder.setIsTypeParam(newBoolean(ctx, reader.nextNode()));
+        break;
+      case "params":
+        Event valueNode = reader.peek();
+        long listValueId = ctx.collectMetadata(valueNode);
+        if (!assertYamlType(ctx, listValueId, valueNode, YamlNodeType.LIST)) {
+          reader.skipNode();
           break;
-        case "is_type_param":
-          builder.setIsTypeParam(newBoolean(ctx, valueNode));
-          break;
-        case "params":
-          long listValueId = ctx.collectMetadata(valueNode);
-          if (!assertYamlType(ctx, listValueId, valueNode, YamlNodeType.LIST)) {
-            break;
-          }
-          SequenceNode paramsListNode = (SequenceNode) valueNode;
-          for (Node elementNode : paramsListNode.getValue()) {
-            builder.addParams(parseTypeDecl(ctx, elementNode));
-          }
-          break;
-        default:
-          ctx.reportError(keyId, String.format("Unsupported type decl tag: %s", fieldName));
-          break;
-      }
+        }
+        reader.next();
+        while (reader.hasNextEntry()) {
+          builder.addParams(parseTypeDecl(ctx, reader));
+        }
+        break;
+      default:
+        ctx.reportError(keyId, String.format("Unsupported type decl tag: %s", fieldName));
+        reader.skipNode();
+        break;
     }
     return builder;
   }
@@ -857,24 +937,26 @@ public final class CelEnvironmentYamlParser {
 
     private CelEnvironment parseYaml(String source, String description)
         throws CelEnvironmentException {
-      Node node;
+      CelFileSource environmentSource =
+          CelFileSource.newBuilder(CelCodePointArray.fromString(source))
+              .setDescription(description)
+              .build();
+      ParserContext<Event> ctx =
+          YamlParserContextImpl.newInstance(environmentSource).eventContext();
+      CelEnvironment.Builder builder;
       try {
-        node =
-            parseYamlSource(source)
+        YamlEventReader reader =
+            parseYamlEvents(source)
                 .orElseThrow(
                     () ->
                         new CelEnvironmentException(
                             String.format("YAML document empty or malformed: %s", source)));
-      } catch (RuntimeException e) {
+        builder = parseConfig(ctx, reader);
+        reader.finish();
+      } catch (YAMLException e) {
         throw new CelEnvironmentException("YAML document is malformed: " + e.getMessage(), e);
       }
 
-      CelFileSource environmentSource =
-          CelFileSource.newBuilder(CelCodePointArray.fromString(source))
-              .setDescription(description)
-              .build();
-      ParserContext<Node> ctx = YamlParserContextImpl.newInstance(environmentSource);
-      CelEnvironment.Builder builder = parseConfig(ctx, node);
       environmentSource =
           environmentSource.toBuilder().setPositionsMap(ctx.getIdToOffsetMap()).build();
 
@@ -886,56 +968,59 @@ public final class CelEnvironmentYamlParser {
       return builder.setSource(environmentSource).build();
     }
 
-    private CelEnvironment.Builder parseConfig(ParserContext<Node> ctx, Node node) {
+    private CelEnvironment.Builder parseConfig(ParserContext<Event> ctx, YamlEventReader reader) {
       CelEnvironment.Builder builder = CelEnvironment.newBuilder();
+      Event node = reader.peek();
       long id = ctx.collectMetadata(node);
       if (!assertYamlType(ctx, id, node, YamlNodeType.MAP)) {
+        reader.skipNode();
         return builder;
       }
 
-      MappingNode rootNode = (MappingNode) node;
-      for (NodeTuple nodeTuple : rootNode.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
         long keyId = ctx.collectMetadata(keyNode);
         if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
 
-        Node valueNode = nodeTuple.getValueNode();
-        String fieldName = ((ScalarNode) keyNode).getValue();
+        String fieldName = scalarValue(keyNode);
         switch (fieldName) {
           case "name":
-            builder.setName(newString(ctx, valueNode));
+            builder.setName(newString(ctx, reader.nextNode()));
             break;
           case "description":
-            builder.setDescription(newString(ctx, valueNode));
+            builder.setDescription(newString(ctx, reader.nextNode()));
             break;
           case "container":
-            builder.setContainer(parseContainer(ctx, valueNode));
+            builder.setContainer(parseContainer(ctx, reader));
             break;
           case "variables":
-            builder.setVariables(parseVariables(ctx, valueNode));
+            builder.setVariables(parseVariables(ctx, reader));
             break;
           case "functions":
-            builder.setFunctions(parseFunctions(ctx, valueNode));
+            builder.setFunctions(parseFunctions(ctx, reader));
             break;
           case "extensions":
-            builder.addExtensions(parseExtensions(ctx, valueNode));
+            builder.addExtensions(parseExtensions(ctx, reader));
             break;
           case "stdlib":
-            builder.setStandardLibrarySubset(parseLibrarySubset(ctx, valueNode));
+            builder.setStandardLibrarySubset(parseLibrarySubset(ctx, reader));
             break;
           case "features":
-            builder.setFeatures(parseFeatures(ctx, valueNode));
+            builder.setFeatures(parseFeatures(ctx, reader));
             break;
           case "limits":
-            builder.setLimits(parseLimits(ctx, valueNode));
+            builder.setLimits(parseLimits(ctx, reader));
             break;
           case "context_variable":
-            builder.setContextVariable(parseContextVariable(ctx, valueNode));
+            builder.setContextVariable(parseContextVariable(ctx, reader));
             break;
           default:
             ctx.reportError(id, "Unknown config tag: " + fieldName);
+            reader.skipNode();
             // continue handling the rest of the nodes
         }
       }
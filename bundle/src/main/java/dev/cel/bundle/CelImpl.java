@@ -20,6 +20,7 @@ import dev.cel.expr.Decl;
 import dev.cel.expr.Type;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.Immutable;
 import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
@@ -47,14 +48,17 @@ import dev.cel.common.types.CelTypeProvider;
 import dev.cel.common.values.CelValueProvider;
 import dev.cel.compiler.CelCompiler;
 import dev.cel.compiler.CelCompilerBuilder;
+import dev.cel.compiler.CelCompilerImpl;
 import dev.cel.compiler.CelCompilerLibrary;
 import dev.cel.parser.CelMacro;
 import dev.cel.parser.CelParserBuilder;
 import dev.cel.parser.CelStandardMacro;
 import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.CelRuntime;
 import dev.cel.runtime.CelRuntimeBuilder;
 import dev.cel.runtime.CelRuntimeImpl;
+import dev.cel.runtime.CelRuntimeLegacyImpl;
 import dev.cel.runtime.CelRuntimeLibrary;
 import dev.cel.runtime.CelStandardFunctions;
 import java.util.Arrays;
@@ -134,6 +138,44 @@ final class CelImpl implements Cel, EnvVisitable {
     return runtime.get().toRuntimeBuilder();
   }
 
+  @Override
+  public Cel extend(
+      Iterable<CelVarDecl> varDecls,
+      Iterable<CelFunctionDecl> functionDecls,
+      Iterable<CelFunctionBinding> functionBindings) {
+    ImmutableList<CelVarDecl> varDeclList = ImmutableList.copyOf(varDecls);
+    ImmutableList<CelFunctionDecl> functionDeclList = ImmutableList.copyOf(functionDecls);
+    ImmutableList<CelFunctionBinding> functionBindingList = ImmutableList.copyOf(functionBindings);
+    return new CelImpl(
+        Suppliers.memoize(() -> extendCompiler(compiler.get(), varDeclList, functionDeclList)),
+        Suppliers.memoize(() -> extendRuntime(runtime.get(), functionBindingList)));
+  }
+
+  private static CelCompiler extendCompiler(
+      CelCompiler compiler,
+      ImmutableList<CelVarDecl> varDecls,
+      ImmutableList<CelFunctionDecl> functionDecls) {
+    if (compiler instanceof CelCompilerImpl) {
+      return ((CelCompilerImpl) compiler).extend(varDecls, functionDecls);
+    }
+    return compiler
+        .toCompilerBuilder()
+        .addVarDeclarations(varDecls)
+        .addFunctionDeclarations(functionDecls)
+        .build();
+  }
+
+  private static CelRuntime extendRuntime(
+      CelRuntime runtime, ImmutableList<CelFunctionBinding> functionBindings) {
+    if (runtime instanceof CelRuntimeLegacyImpl) {
+      return ((CelRuntimeLegacyImpl) runtime).extend(functionBindings);
+    }
+    if (runtime instanceof CelRuntimeImpl) {
+      return ((CelRuntimeImpl) runtime).extend(functionBindings);
+    }
+    return runtime.toRuntimeBuilder().addFunctionBindings(functionBindings).build();
+  }
+
   /** Combines a prebuilt {@link CelCompiler} and {@link CelRuntime} into {@link CelImpl}. */
   static CelImpl combine(CelCompiler compiler, CelRuntime runtime) {
     return new CelImpl(Suppliers.memoize(() -> compiler), Suppliers.memoize(() -> runtime));
@@ -326,6 +326,28 @@ public final class CelEnvironmentYamlParserTest {
                 .build());
   }
 
+  @Test
+  public void environment_variableTypeFromAlias() throws Exception {
+    String yamlConfig =
+        "variables:\n"
+            + "- name: 'a'\n"
+            + "  type: &list_of_string\n"
+            + "    type_name: 'list'\n"
+            + "    params:\n"
+            + "      - type_name: 'string'\n"
+            + "- name: 'b'\n"
+            + "  type: *list_of_string";
+
+    CelEnvironment environment = ENVIRONMENT_PARSER.parse(yamlConfig);
+
+    TypeDecl listOfString =
+        TypeDecl.newBuilder().setName("list").addParams(TypeDecl.create("string")).build();
+    assertThat(environment.variables())
+        .containsExactly(
+            VariableDecl.create("a", listOfString), VariableDecl.create("b", listOfString))
+        .inOrder();
+  }
+
   @Test
   public void environment_setMapVariable() throws Exception {
     String yamlConfig =
@@ -787,6 +787,129 @@ public final class CelImplTest {
     assertThat(program.eval()).isEqualTo(true);
   }
 
+  @Test
+  public void extend_compilesAndEvaluatesWithBaseAndExtensionDeclarations() throws Exception {
+    Cel base =
+        standardCelBuilderWithMacros()
+            .addVar("base_var", SimpleType.INT)
+            .addFunctionDeclarations(
+                newFunctionDeclaration(
+                    "double", newGlobalOverload("double_int", SimpleType.INT, SimpleType.INT)))
+            .addFunctionBindings(
+                CelFunctionBinding.from("double_int", Long.class, (arg) -> arg * 2))
+            .setResultType(SimpleType.INT)
+            .build();
+
+    Cel extended =
+        base.extend(
+            ImmutableList.of(CelVarDecl.newVarDeclaration("tenant_var", SimpleType.INT)),
+            ImmutableList.of(
+                newFunctionDeclaration(
+                    "triple", newGlobalOverload("triple_int", SimpleType.INT, SimpleType.INT))),
+            ImmutableList.of(CelFunctionBinding.from("triple_int", Long.class, (arg) -> arg * 3)));
+
+    CelAbstractSyntaxTree ast =
+        extended.compile("double(base_var) + triple(tenant_var) + [1].size()").getAst();
+    assertThat(
+            extended.createProgram(ast).eval(ImmutableMap.of("base_var", 1L, "tenant_var", 2L)))
+        .isEqualTo(9L);
+    assertThat(
+            extended
+                .toCompilerBuilder()
+                .build()
+                .compile("double(base_var) + triple(tenant_var)")
+                .hasError())
+        .isFalse();
+  }
+
+  @Test
+  public void extend_doesNotModifyBase() throws Exception {
+    Cel base = standardCelBuilderWithMacros().build();
+
+    Cel unused =
+        base.extend(
+            ImmutableList.of(CelVarDecl.newVarDeclaration("tenant_var", SimpleType.INT)),
+            ImmutableList.of(),
+            ImmutableList.of());
+
+    CelValidationResult result = base.compile("tenant_var");
+    assertThat(result.hasError()).isTrue();
+    assertThat(result.getErrorString()).contains("undeclared reference to 'tenant_var'");
+  }
+
+  @Test
+  public void extend_overlappingOverload_reportsError() throws Exception {
+    Cel base =
+        standardCelBuilderWithMacros()
+            .addFunctionDeclarations(
+                newFunctionDeclaration(
+                    "f", newGlobalOverload("f_int", SimpleType.INT, SimpleType.INT)))
+            .build();
+
+    Cel extended =
+        base.extend(
+            ImmutableList.of(),
+            ImmutableList.of(
+                newFunctionDeclaration(
+                    "f", newGlobalOverload("f_int_2", SimpleType.INT, SimpleType.INT))),
+            ImmutableList.of());
+
+    CelValidationResult result = extended.compile("f(1)");
+    assertThat(result.hasError()).isTrue();
+    assertThat(result.getErrorString()).contains("overlapping overload");
+  }
+
+  @Test
+  public void extend_rebindingBaseOverload_throws() throws Exception {
+    Cel base =
+        standardCelBuilderWithMacros()
+            .addFunctionDeclarations(
+                newFunctionDeclaration(
+                    "double", newGlobalOverload("double_int", SimpleType.INT, SimpleType.INT)))
+            .addFunctionBindings(
+                CelFunctionBinding.from("double_int", Long.class, (arg) -> arg * 2))
+            .build();
+    CelAbstractSyntaxTree ast = base.compile("double(1)").getAst();
+
+    Cel extended =
+        base.extend(
+            ImmutableList.of(),
+            ImmutableList.of(),
+            ImmutableList.of(CelFunctionBinding.from("double_int", Long.class, (arg) -> arg * 3)));
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> extended.createProgram(ast));
+    assertThat(e).hasMessageThat().contains("Duplicate overload ID binding: double_int");
+    assertThat(base.createProgram(ast).eval()).isEqualTo(2L);
+  }
+
+  @Test
+  public void extend_plannerRuntime_rebindingBaseOverload_throws() throws Exception {
+    Cel base =
+        CelFactory.combine(
+            CelCompilerFactory.standardCelCompilerBuilder()
+                .addFunctionDeclarations(
+                    newFunctionDeclaration(
+                        "double", newGlobalOverload("double_int", SimpleType.INT, SimpleType.INT)))
+                .build(),
+            CelRuntimeFactory.plannerRuntimeBuilder()
+                .addFunctionBindings(
+                    CelFunctionBinding.from("double_int", Long.class, (arg) -> arg * 2))
+                .build());
+    CelAbstractSyntaxTree ast = base.compile("double(1)").getAst();
+
+    Cel extended =
+        base.extend(
+            ImmutableList.of(),
+            ImmutableList.of(),
+            ImmutableList.of(CelFunctionBinding.from("double_int", Long.class, (arg) -> arg * 3)));
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> extended.createProgram(ast));
+    assertThat(e).hasMessageThat().contains("Duplicate overload ID binding: double_int");
+    assertThat(base.createProgram(ast).eval()).isEqualTo(2L);
+  }
+
   @Test
   public void program_simpleStructTypeReference() throws Exception {
     CelCompiler celCompiler =
@@ -89,11 +89,29 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
   private final ImmutableSet<FileDescriptor> fileDescriptors;
   private final ImmutableSet<ProtoTypeMask> protoTypeMasks;
 
+  // The declaration scopes are built once from the declarations above and shared by every
+  // type-check, as well as by the checkers extended from this one. Environments only read through
+  // to them, so they are never modified after construction.
+  @SuppressWarnings("Immutable")
+  private final Env.@Nullable DeclGroup standardDecls;
+
+  @SuppressWarnings("Immutable")
+  private final Env.DeclGroup userDecls;
+
+  // Errors reported while declaring the scopes, such as overlapping overloads, are reported again
+  // by each type-check.
+  @SuppressWarnings("Immutable")
+  private final ImmutableList<Errors.Error> declarationErrors;
+
+  // The checker this one was extended from, in which case the declaration sets above only hold the
+  // declarations added by the extension.
+  private final @Nullable CelCheckerLegacyImpl parent;
+
   @Override
   public CelValidationResult check(CelAbstractSyntaxTree ast) {
     CelSource source = ast.getSource();
     Errors errors = new Errors(source.getDescription(), source.getContent().toString());
-    Env env = getEnv(errors);
+    Env env = newEnv(errors);
     if (errors.getErrorCount() > 0) {
       return new CelValidationResult(source, errorsToIssues(errors));
     }
@@ -113,6 +131,12 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
 
   @Override
   public CelCheckerBuilder toCheckerBuilder() {
+    if (parent != null) {
+      return ((Builder) parent.toCheckerBuilder())
+          .addIdentDeclarations(identDeclarations)
+          .addFunctionDeclarations(functionDeclarations);
+    }
+
     CelCheckerBuilder builder =
         new Builder()
             .addIdentDeclarations(identDeclarations)
@@ -136,10 +160,55 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
     return builder;
   }
 
+  /**
+   * Returns a checker which additionally declares {@code varDecls} and {@code functionDecls}.
+   *
+   * <p>The declarations of this checker are shared with the returned one rather than declared
+   * again, so the cost of extending a checker is proportional to the number of declarations added.
+   * Conflicts with existing declarations are reported when type-checking, as they would be for a
+   * checker built with all of the declarations.
+   */
+  public CelCheckerLegacyImpl extend(
+      Iterable<CelVarDecl> varDecls, Iterable<CelFunctionDecl> functionDecls) {
+    ImmutableSet.Builder<CelIdentDecl> identDeclarationsBuilder = ImmutableSet.builder();
+    for (CelVarDecl varDecl : varDecls) {
+      identDeclarationsBuilder.add(
+          CelIdentDecl.newIdentDeclaration(varDecl.name(), varDecl.type()));
+    }
+    ImmutableSet<CelIdentDecl> newIdentDeclarations = identDeclarationsBuilder.build();
+    ImmutableSet<CelFunctionDecl> newFunctionDeclarations = ImmutableSet.copyOf(functionDecls);
+
+    Errors errors = new Errors("", "");
+    Env env = Env.fromDeclGroups(errors, typeProvider, celOptions, standardDecls, userDecls);
+    newIdentDeclarations.forEach(env::add);
+    newFunctionDeclarations.forEach(env::add);
+
+    return new CelCheckerLegacyImpl(
+        celOptions,
+        container,
+        newIdentDeclarations,
+        newFunctionDeclarations,
+        expectedResultType,
+        typeProvider,
+        celTypeProvider,
+        standardEnvironmentEnabled,
+        overriddenStandardDeclarations,
+        checkerLibraries,
+        fileDescriptors,
+        protoTypeMasks,
+        standardDecls,
+        env.getDeclGroup(),
+        ImmutableList.<Errors.Error>builder()
+            .addAll(declarationErrors)
+            .addAll(errors.getErrors())
+            .build(),
+        this);
+  }
+
   @Override
   public void accept(EnvVisitor envVisitor) {
     Errors errors = new Errors("", "");
-    Env env = getEnv(errors);
+    Env env = newEnv(errors);
     for (int i = env.scopeDepth(); i >= 0; i--) {
       Env.DeclGroup declGroup = env.getDeclGroup(i);
       SortedSet<String> names = new TreeSet<>();
@@ -160,18 +229,11 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
     }
   }
 
-  private Env getEnv(Errors errors) {
-    Env env;
-    if (standardEnvironmentEnabled) {
-      env = Env.standard(errors, typeProvider, celOptions);
-    } else if (overriddenStandardDeclarations != null) {
-      env = Env.standard(overriddenStandardDeclarations, errors, typeProvider, celOptions);
-    } else {
-      env = Env.unconfigured(errors, typeProvider, celOptions);
-    }
-    identDeclarations.forEach(env::add);
-    functionDeclarations.forEach(env::add);
-    return env;
+  private Env newEnv(Errors errors) {
+    for (Errors.Error error : declarationErrors) {
+      errors.reportError(error.exprId(), error.position(), error.rawMessage());
+    }
+    return Env.fromDeclGroups(errors, typeProvider, celOptions, standardDecls, userDecls);
   }
 
   /** Create a new builder to construct a {@code CelChecker} instance. */
@@ -493,11 +555,24 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
                 ImmutableList.of(customTypeProvider, legacyProvider));
       }
 
+      ImmutableSet<CelFunctionDecl> functionDeclarationSet = functionDeclarations.build();
+      Errors errors = new Errors("", "");
+      Env env;
+      if (standardEnvironmentEnabled) {
+        env = Env.standard(errors, legacyProvider, celOptions);
+      } else if (standardDeclarations != null) {
+        env = Env.standard(standardDeclarations, errors, legacyProvider, celOptions);
+      } else {
+        env = Env.unconfigured(errors, legacyProvider, celOptions);
+      }
+      identDeclarationSet.forEach(env::add);
+      functionDeclarationSet.forEach(env::add);
+
       return new CelCheckerLegacyImpl(
           celOptions,
           container,
           identDeclarationSet,
-          functionDeclarations.build(),
+          functionDeclarationSet,
           Optional.fromNullable(expectedResultType),
           legacyProvider,
           messageTypeProvider,
@@ -505,7 +580,11 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
           standardDeclarations,
           checkerLibraries,
           fileTypeSet,
-          protoTypeMaskSet);
+          protoTypeMaskSet,
+          env.scopeDepth() > 0 ? env.getDeclGroup(0) : null,
+          env.getDeclGroup(),
+          errors.getErrors(),
+          /* parent= */ null);
     }
 
     private Builder() {
@@ -532,7 +611,11 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
       @Nullable CelStandardDeclarations overriddenStandardDeclarations,
       ImmutableSet<CelCheckerLibrary> checkerLibraries,
       ImmutableSet<FileDescriptor> fileDescriptors,
-      ImmutableSet<ProtoTypeMask> protoTypeMasks) {
+      ImmutableSet<ProtoTypeMask> protoTypeMasks,
+      Env.@Nullable DeclGroup standardDecls,
+      Env.DeclGroup userDecls,
+      ImmutableList<Errors.Error> declarationErrors,
+      @Nullable CelCheckerLegacyImpl parent) {
     this.celOptions = celOptions;
     this.container = container;
     this.identDeclarations = identDeclarations;
@@ -545,6 +628,10 @@ public final class CelCheckerLegacyImpl implements CelChecker, EnvVisitable {
     this.checkerLibraries = checkerLibraries;
     this.fileDescriptors = fileDescriptors;
     this.protoTypeMasks = protoTypeMasks;
+    this.standardDecls = standardDecls;
+    this.userDecls = userDecls;
+    this.declarationErrors = declarationErrors;
+    this.parent = parent;
   }
 
   private static ImmutableList<CelIssue> errorsToIssues(Errors errors) {
@@ -33,6 +33,7 @@ import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.Descriptors.OneofDescriptor;
 import dev.cel.common.annotations.Internal;
+import dev.cel.common.internal.DescriptorCache;
 import dev.cel.common.internal.FileDescriptorSetConverter;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -41,6 +42,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -56,6 +58,10 @@ import org.jspecify.annotations.Nullable;
 @Internal
 public class DescriptorTypeProvider implements TypeProvider {
 
+  // Symbol tables are never modified once built, and are shared by the providers of the same files.
+  private static final DescriptorCache<ImmutableList<FileDescriptor>, SymbolTable> SYMBOL_TABLES =
+      DescriptorCache.create();
+
   @SuppressWarnings("Immutable")
   private final SymbolTable symbolTable;
 
@@ -73,11 +79,12 @@ public class DescriptorTypeProvider implements TypeProvider {
   }
 
   public DescriptorTypeProvider(Collection<FileDescriptor> fileDescriptors) {
-    this.symbolTable = new SymbolTable(ImmutableList.copyOf(fileDescriptors));
+    ImmutableList<FileDescriptor> files = ImmutableList.copyOf(fileDescriptors);
+    this.symbolTable = SYMBOL_TABLES.get(files, () -> new SymbolTable(files));
   }
 
   public DescriptorTypeProvider(Iterable<Descriptor> descriptors) {
-    this.symbolTable = new SymbolTable(ImmutableList.copyOf(descriptors));
+    this(ImmutableList.copyOf(Iterables.transform(descriptors, Descriptor::getFile)));
   }
 
   @Override
@@ -109,11 +116,7 @@ public class DescriptorTypeProvider implements TypeProvider {
     if (messageTypeDef == null) {
       return null;
     }
-    FieldDef fieldDef = messageTypeDef.lookupField(fieldName);
-    if (fieldDef == null) {
-      return null;
-    }
-    return FieldType.of(fieldDefToType(fieldDef));
+    return symbolTable.lookupFieldTable(messageTypeDef).fieldTypes.get(fieldName);
   }
 
   @Override
@@ -125,11 +128,7 @@ public class DescriptorTypeProvider implements TypeProvider {
     if (messageTypeDef == null) {
       return null;
     }
-    ImmutableSet.Builder<String> fields = ImmutableSet.builder();
-    for (FieldDef fieldDef : messageTypeDef.fields()) {
-      fields.add(fieldDef.name());
-    }
-    return fields.build();
+    return symbolTable.lookupFieldTable(messageTypeDef).fieldTypes.keySet();
   }
 
   @Override
@@ -182,6 +181,10 @@ public class DescriptorTypeProvider implements TypeProvider {
     private final ImmutableMap<String, TypeDef> typeMap;
     private final ImmutableMap<String, ExtensionFieldType> extensionMap;
 
+    // Field tables are built on the first field lookup against a message, as most checked
+    // expressions only ever select from a handful of the messages in the table.
+    private final Map<String, FieldTable> fieldTables = new ConcurrentHashMap<>();
+
     public SymbolTable(Iterable<FileDescriptor> fileDescriptors) {
       Set<String> processedFiles = new HashSet<>();
       Map<String, TypeDef> typeMap = new HashMap<>();
@@ -230,6 +233,12 @@ public class DescriptorTypeProvider implements TypeProvider {
       return extensionMap.get(extensionName);
     }
 
+    /** Find the {@link FieldTable} for a message {@code typeDef}, building it if necessary. */
+    private FieldTable lookupFieldTable(TypeDef messageTypeDef) {
+      return fieldTables.computeIfAbsent(
+          messageTypeDef.name(), unused -> new FieldTable(messageTypeDef));
+    }
+
     /** Build a message {@link TypeDef}. */
     @CanIgnoreReturnValue
     private TypeDef buildTypeDef(Descriptor descriptor, Map<String, TypeDef> typeMap) {
@@ -337,6 +346,20 @@ public class DescriptorTypeProvider implements TypeProvider {
     }
   }
 
+  /** The resolved {@link FieldType} of every field in a message, keyed by field name. */
+  private static final class FieldTable {
+
+    private final ImmutableMap<String, FieldType> fieldTypes;
+
+    private FieldTable(TypeDef messageTypeDef) {
+      ImmutableMap.Builder<String, FieldType> fieldTypes = ImmutableMap.builder();
+      for (FieldDef fieldDef : messageTypeDef.fields()) {
+        fieldTypes.put(fieldDef.name(), FieldType.of(fieldDefToType(fieldDef)));
+      }
+      this.fieldTypes = fieldTypes.buildOrThrow();
+    }
+  }
+
   /** Value object for a proto-based primitive, message, or enum definition. */
   @AutoValue
   protected abstract static class TypeDef {
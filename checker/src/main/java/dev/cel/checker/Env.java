@@ -26,6 +26,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import dev.cel.checker.CelStandardDeclarations.StandardFunction.Overload.Comparison;
@@ -38,7 +39,6 @@ import dev.cel.common.annotations.Internal;
 import dev.cel.common.ast.CelConstant;
 import dev.cel.common.ast.CelExpr;
 import dev.cel.common.ast.CelExprConverter;
-import dev.cel.common.ast.CelMutableExpr;
 import dev.cel.common.ast.CelReference;
 import dev.cel.common.internal.Errors;
 import dev.cel.common.types.CelKind;
@@ -47,12 +47,16 @@ import dev.cel.common.types.CelType;
 import dev.cel.common.types.CelTypes;
 import dev.cel.common.types.SimpleType;
 import dev.cel.parser.CelStandardMacro;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -224,6 +228,28 @@ public class Env {
     return env;
   }
 
+  /**
+   * Creates an {@code Env} over prebuilt declaration scopes: the {@code standardDecls}, if the
+   * standard environment is configured, followed by the {@code userDecls}.
+   *
+   * <p>The scopes are read through rather than copied, and declarations added to the returned
+   * environment, including the types it imports while checking, never modify them. This allows a
+   * single set of scopes to be shared by every type-check, and by environments layered over them.
+   */
+  static Env fromDeclGroups(
+      Errors errors,
+      TypeProvider typeProvider,
+      CelOptions celOptions,
+      @Nullable DeclGroup standardDecls,
+      DeclGroup userDecls) {
+    if (standardDecls == null) {
+      return new Env(errors, typeProvider, userDecls.overlay(), celOptions);
+    }
+    Env env = new Env(errors, typeProvider, standardDecls.overlay(), celOptions);
+    env.decls.add(userDecls.overlay());
+    return env;
+  }
+
   /** Returns the current Errors object. */
   public Errors getErrorContext() {
     return errors;
@@ -301,19 +327,19 @@ public class Env {
   }
 
   /**
-   * Returns the type associated with a mutable expression by expression id. It's an error to call
+   * Returns the type associated with an expression by expression id. It's an error to call
    * this method if the type is not present.
    */
-  CelType getType(CelMutableExpr expr) {
+  CelType getType(CelExpr expr) {
     return Preconditions.checkNotNull(typeMap.get(expr.id()), "expression has no type");
   }
 
   /**
-   * Sets the type associated with a mutable expression by id. It's an error if the type is already
+   * Sets the type associated with an expression by id. It's an error if the type is already
    * set and is different than the provided one. Returns the expression parameter.
    */
   @CanIgnoreReturnValue
-  CelMutableExpr setType(CelMutableExpr expr, CelType type) {
+  CelExpr setType(CelExpr expr, CelType type) {
     CelType oldType = typeMap.put(expr.id(), type);
     Preconditions.checkState(
         oldType == null || oldType.equals(type),
@@ -324,10 +350,10 @@ public class Env {
   }
 
   /**
-   * Sets the reference associated with a mutable expression. It's an error if the reference is
+   * Sets the reference associated with an expression. It's an error if the reference is
    * already set and is different.
    */
-  void setRef(CelMutableExpr expr, CelReference reference) {
+  void setRef(CelExpr expr, CelReference reference) {
     CelReference oldReference = referenceMap.put(expr.id(), reference);
     Preconditions.checkState(
         oldReference == null || oldReference.equals(reference),
@@ -623,6 +649,19 @@ public class Env {
     return this;
   }
 
+  /**
+   * Returns the overload index for {@code function}. The index is kept by the scope declaring the
+   * function, so that the indexes of the declarations shared across checks are built only once.
+   */
+  OverloadIndex getOverloadIndex(CelFunctionDecl function) {
+    for (DeclGroup declGroup : Lists.reverse(decls)) {
+      if (declGroup.getFunction(function.name()) == function) {
+        return declGroup.getOverloadIndex(function);
+      }
+    }
+    return OverloadIndex.create(function);
+  }
+
   /** Add a function {@code decl} to the environment. */
   @CanIgnoreReturnValue
   private Env addFunction(CelFunctionDecl decl) {
@@ -917,6 +956,13 @@ public class Env {
     private final Map<String, CelIdentDecl> idents;
     private final Map<String, CelFunctionDecl> functions;
 
+    // The group read through by an overlay, whose overload indexes are shared with it.
+    private final @Nullable DeclGroup base;
+
+    // Overload indexes of the functions declared by this group, keyed by function name. Groups may
+    // be shared by concurrent checks.
+    private final Map<String, OverloadIndex> overloadIndexes = new ConcurrentHashMap<>();
+
     /** Construct an empty {@code DeclGroup}. */
     public DeclGroup() {
       this(new HashMap<>(), new HashMap<>());
@@ -924,8 +970,16 @@ public class Env {
 
     /** Construct a new {@code DeclGroup} from the input {@code idents} and {@code functions}. */
     public DeclGroup(Map<String, CelIdentDecl> idents, Map<String, CelFunctionDecl> functions) {
+      this(idents, functions, /* base= */ null);
+    }
+
+    private DeclGroup(
+        Map<String, CelIdentDecl> idents,
+        Map<String, CelFunctionDecl> functions,
+        @Nullable DeclGroup base) {
       this.functions = functions;
       this.idents = idents;
+      this.base = base;
     }
 
     /**
@@ -964,6 +1018,66 @@ public class Env {
     public DeclGroup immutableCopy() {
       return new DeclGroup(getIdents(), getFunctions());
     }
+
+    /**
+     * Returns a mutable {@code DeclGroup} which holds its own declarations, and otherwise reads
+     * through to the declarations of this group. This group is not modified by the returned one.
+     */
+    DeclGroup overlay() {
+      return new DeclGroup(new OverlayMap<>(idents), new OverlayMap<>(functions), this);
+    }
+
+    /** Returns the overload index for {@code function}, a declaration held by this group. */
+    private OverloadIndex getOverloadIndex(CelFunctionDecl function) {
+      if (base != null && base.getFunction(function.name()) == function) {
+        return base.getOverloadIndex(function);
+      }
+      OverloadIndex index = overloadIndexes.get(function.name());
+      if (index == null || index.function() != function) {
+        // Functions may be redeclared with additional overloads, which replaces the index.
+        index = OverloadIndex.create(function);
+        overloadIndexes.put(function.name(), index);
+      }
+      return index;
+    }
+  }
+
+  /** Map of its own entries, which shadow those of an underlying map that is never written. */
+  private static final class OverlayMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> base;
+    private final Map<K, V> entries = new HashMap<>();
+
+    private OverlayMap(Map<K, V> base) {
+      this.base = base;
+    }
+
+    @Override
+    public @Nullable V get(Object key) {
+      V value = entries.get(key);
+      return value != null ? value : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return entries.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override
+    public @Nullable V put(K key, V value) {
+      V previous = get(key);
+      entries.put(key, value);
+      return previous;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      // A view rather than a merged copy, so that reading the overlay does not cost as much as
+      // rebuilding its base.
+      return Collections.unmodifiableSet(
+          Sets.union(
+              entries.entrySet(),
+              Sets.filter(base.entrySet(), entry -> !entries.containsKey(entry.getKey()))));
+    }
   }
 
   /**
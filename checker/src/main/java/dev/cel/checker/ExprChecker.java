@@ -24,12 +24,11 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.CheckReturnValue;
 import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelContainer;
 import dev.cel.common.CelFunctionDecl;
-import dev.cel.common.CelMutableAst;
 import dev.cel.common.CelOverloadDecl;
 import dev.cel.common.CelProtoAbstractSyntaxTree;
 import dev.cel.common.CelSource;
@@ -37,14 +36,13 @@ import dev.cel.common.Operator;
 import dev.cel.common.annotations.Internal;
 import dev.cel.common.ast.CelConstant;
 import dev.cel.common.ast.CelExpr;
-import dev.cel.common.ast.CelMutableExpr;
-import dev.cel.common.ast.CelMutableExpr.CelMutableCall;
-import dev.cel.common.ast.CelMutableExpr.CelMutableComprehension;
-import dev.cel.common.ast.CelMutableExpr.CelMutableIdent;
-import dev.cel.common.ast.CelMutableExpr.CelMutableList;
-import dev.cel.common.ast.CelMutableExpr.CelMutableMap;
-import dev.cel.common.ast.CelMutableExpr.CelMutableSelect;
-import dev.cel.common.ast.CelMutableExpr.CelMutableStruct;
+import dev.cel.common.ast.CelExpr.CelCall;
+import dev.cel.common.ast.CelExpr.CelComprehension;
+import dev.cel.common.ast.CelExpr.CelIdent;
+import dev.cel.common.ast.CelExpr.CelList;
+import dev.cel.common.ast.CelExpr.CelMap;
+import dev.cel.common.ast.CelExpr.CelSelect;
+import dev.cel.common.ast.CelExpr.CelStruct;
 import dev.cel.common.ast.CelReference;
 import dev.cel.common.types.CelKind;
 import dev.cel.common.types.CelProtoTypes;
@@ -148,22 +146,25 @@ public final class ExprChecker {
             env.enableHomogeneousLiterals(),
             env.enableNamespacedDeclarations());
 
-    CelMutableAst mutableAst = CelMutableAst.fromCelAst(ast);
-    checker.visit(mutableAst.expr());
+    // The parsed expression is visited in place. Subtrees that are not rewritten by the checker are
+    // shared with the checked AST rather than copied.
+    CelExpr checkedExpr = checker.visit(ast.getExpr());
     if (expectedResultType.isPresent()) {
-      checker.assertType(mutableAst.expr(), expectedResultType.get());
+      checker.assertType(checkedExpr, expectedResultType.get());
     }
     // Walk over the final type map substituting any type parameters either by their bound value or
     // by DYN.
-    Map<Long, CelType> typeMap =
-        Maps.transformValues(env.getTypeMap(), checker.inferenceContext::finalize);
+    ImmutableMap.Builder<Long, CelType> typeMap =
+        ImmutableMap.builderWithExpectedSize(env.getTypeMap().size());
+    for (Map.Entry<Long, CelType> entry : env.getTypeMap().entrySet()) {
+      typeMap.put(entry.getKey(), checker.inferenceContext.finalize(entry.getValue()));
+    }
 
-    CelAbstractSyntaxTree parsedAst = mutableAst.toParsedAst(/* retainSourcePositions= */ true);
     return CelAbstractSyntaxTree.newCheckedAst(
-        parsedAst.getExpr(),
-        parsedAst.getSource().toBuilder().addAllExtensions(checker.extensions).build(),
+        checkedExpr,
+        ast.getSource().toBuilder().addAllExtensions(checker.extensions).build(),
         env.getRefMap(),
-        typeMap);
+        typeMap.buildOrThrow());
   }
 
   private final Env env;
@@ -195,39 +196,37 @@ public final class ExprChecker {
     this.extensions = new HashSet<>();
   }
 
-  /** Visit the {@code expr} value, routing to overloads based on the kind of expression. */
-  public void visit(CelMutableExpr expr) {
+  /**
+   * Visit the {@code expr} value, routing to overloads based on the kind of expression.
+   *
+   * <p>Types and references are recorded in the environment by expression id. The expression is
+   * returned as-is unless a node in its subtree had to be rewritten, in which case only the path
+   * from the rewritten node to {@code expr} is copied.
+   */
+  public CelExpr visit(CelExpr expr) {
     switch (expr.getKind()) {
       case CONSTANT:
-        visit(expr, expr.constant());
-        break;
+        return visit(expr, expr.constant());
       case IDENT:
-        visit(expr, expr.ident());
-        break;
+        return visit(expr, expr.ident());
       case SELECT:
-        visit(expr, expr.select());
-        break;
+        return visit(expr, expr.select());
       case CALL:
-        visit(expr, expr.call());
-        break;
+        return visit(expr, expr.call());
       case LIST:
-        visit(expr, expr.list());
-        break;
+        return visit(expr, expr.list());
       case STRUCT:
-        visit(expr, expr.struct());
-        break;
+        return visit(expr, expr.struct());
       case MAP:
-        visit(expr, expr.map());
-        break;
+        return visit(expr, expr.map());
       case COMPREHENSION:
-        visit(expr, expr.comprehension());
-        break;
+        return visit(expr, expr.comprehension());
       default:
         throw new IllegalArgumentException("unexpected expr kind");
     }
   }
 
-  private void visit(CelMutableExpr expr, CelConstant constant) {
+  private CelExpr visit(CelExpr expr, CelConstant constant) {
     switch (constant.getKind()) {
       case INT64_VALUE:
         env.setType(expr, SimpleType.INT);
@@ -259,29 +258,31 @@ public final class ExprChecker {
       default:
         throw new IllegalArgumentException("unexpected constant case: " + constant.getKind());
     }
+    return expr;
   }
 
-  private void visit(CelMutableExpr expr, CelMutableIdent ident) {
+  private CelExpr visit(CelExpr expr, CelIdent ident) {
     CelIdentDecl decl = env.lookupIdent(expr.id(), getPosition(expr), container, ident.name());
     checkNotNull(decl);
     if (decl.equals(Env.ERROR_IDENT_DECL)) {
       // error reported
       env.setType(expr, SimpleType.ERROR);
       env.setRef(expr, makeReference(decl.name(), decl));
-      return;
+      return expr;
     }
 
     String refName = maybeDisambiguate(ident.name(), decl.name());
 
+    env.setType(expr, decl.type());
+    env.setRef(expr, makeReference(refName, decl));
     if (!refName.equals(ident.name())) {
       // Overwrite the identifier with its fully qualified name.
-      expr.setIdent(CelMutableIdent.create(refName));
+      return CelExpr.ofIdent(expr.id(), refName);
     }
-    env.setType(expr, decl.type());
-    env.setRef(expr, makeReference(refName, decl));
+    return expr;
   }
 
-  private void visit(CelMutableExpr expr, CelMutableSelect select) {
+  private CelExpr visit(CelExpr expr, CelSelect select) {
     // Before traversing down the tree, try to interpret as qualified name.
     String qname = asQualifiedName(expr);
     if (qname != null) {
@@ -293,51 +294,53 @@ public final class ExprChecker {
         } else {
           String refName = maybeDisambiguate(qname, decl.name());
 
+          env.setType(expr, decl.type());
+          env.setRef(expr, makeReference(refName, decl));
           if (namespacedDeclarations) {
             // Rewrite the node to be a variable reference to the resolved fully-qualified
             // variable name.
-            expr.setIdent(CelMutableIdent.create(refName));
+            return CelExpr.ofIdent(expr.id(), refName);
           }
-          env.setType(expr, decl.type());
-          env.setRef(expr, makeReference(refName, decl));
         }
-        return;
+        return expr;
       }
     }
     // Interpret as field selection, first traversing down the operand.
-    visit(select.operand());
+    CelExpr operand = visit(select.operand());
 
-    CelType resultType = visitSelectField(expr, select.operand(), select.field(), false);
+    CelType resultType = visitSelectField(expr, operand, select.field(), false);
 
     if (select.testOnly()) {
       resultType = SimpleType.BOOL;
     }
     env.setType(expr, resultType);
+    if (operand == select.operand()) {
+      return expr;
+    }
+    return expr.toBuilder().setSelect(select.toBuilder().setOperand(operand).build()).build();
   }
 
-  private void visit(CelMutableExpr expr, CelMutableCall call) {
+  private CelExpr visit(CelExpr expr, CelCall call) {
     String functionName = call.function();
     if (Operator.OPTIONAL_SELECT.getFunction().equals(functionName)) {
-      visitOptionalCall(expr, call);
-      return;
+      return visitOptionalCall(expr, call);
     }
     // Traverse arguments.
-    for (CelMutableExpr arg : call.args()) {
-      visit(arg);
-    }
+    ImmutableList<CelExpr> args = visitAll(call.args());
 
     int position = getPosition(expr);
     OverloadResolution resolution;
+    CelCall.Builder rewrittenCall = null;
 
     if (!call.target().isPresent()) {
       // Regular static call with simple name.
       CelFunctionDecl decl = env.lookupFunction(expr.id(), position, container, call.function());
-      resolution = resolveOverload(expr.id(), position, decl, null, call.args());
+      resolution = resolveOverload(expr.id(), position, decl, null, args);
 
       if (!decl.name().equals(call.function())) {
         if (namespacedDeclarations) {
           // Overwrite the function name with its fully qualified resolved name.
-          expr.setCall(CelMutableCall.create(decl.name(), call.args()));
+          rewrittenCall = CelCall.newBuilder().setFunction(decl.name()).addArgs(args);
         }
       }
     } else {
@@ -346,40 +349,43 @@ public final class ExprChecker {
       CelFunctionDecl decl =
           env.tryLookupCelFunction(container, qualifiedName + "." + call.function());
       if (decl != null) {
-        resolution = resolveOverload(expr.id(), position, decl, null, call.args());
+        resolution = resolveOverload(expr.id(), position, decl, null, args);
 
         if (namespacedDeclarations) {
           // The function name is namespaced and so preserving the target operand would
           // be an inaccurate representation of the desired evaluation behavior.
           // Overwrite with fully-qualified resolved function name sans receiver target.
-          expr.setCall(CelMutableCall.create(decl.name(), call.args()));
+          rewrittenCall = CelCall.newBuilder().setFunction(decl.name()).addArgs(args);
         }
       } else {
         // Regular instance call.
-        CelMutableExpr target = call.target().get();
-        visit(target);
+        CelExpr target = visit(call.target().get());
         resolution =
             resolveOverload(
                 expr.id(),
                 position,
                 env.lookupFunction(expr.id(), getPosition(expr), container, call.function()),
                 target,
-                call.args());
+                args);
+        if (target != call.target().get()) {
+          rewrittenCall = call.toBuilder().setTarget(target).clearArgs().addArgs(args);
+        }
       }
     }
 
     env.setType(expr, resolution.type());
     env.setRef(expr, resolution.reference());
+    if (rewrittenCall == null && args != call.args()) {
+      rewrittenCall = call.toBuilder().clearArgs().addArgs(args);
+    }
+    return rewrittenCall == null ? expr : expr.toBuilder().setCall(rewrittenCall.build()).build();
   }
 
-  private void visit(CelMutableExpr expr, CelMutableStruct struct) {
+  private CelExpr visit(CelExpr expr, CelStruct struct) {
     // Determine the type of the message.
     CelType messageType = SimpleType.ERROR;
     CelIdentDecl decl =
         env.lookupIdent(expr.id(), getPosition(expr), container, struct.messageName());
-    if (!struct.messageName().equals(decl.name())) {
-      struct.setMessageName(decl.name());
-    }
 
     env.setRef(expr, CelReference.newBuilder().setName(decl.name()).build());
     CelType type = decl.type();
@@ -408,10 +414,17 @@ public final class ExprChecker {
     }
 
     // Check the field initializers.
-    List<CelMutableStruct.Entry> entriesList = struct.entries();
-    for (CelMutableStruct.Entry entry : entriesList) {
-      CelMutableExpr value = entry.value();
-      visit(value);
+    ImmutableList<CelStruct.Entry> entriesList = struct.entries();
+    CelStruct.Entry[] rewrittenEntries = null;
+    for (int i = 0; i < entriesList.size(); i++) {
+      CelStruct.Entry entry = entriesList.get(i);
+      CelExpr value = visit(entry.value());
+      if (value != entry.value()) {
+        if (rewrittenEntries == null) {
+          rewrittenEntries = entriesList.toArray(new CelStruct.Entry[0]);
+        }
+        rewrittenEntries[i] = entry.toBuilder().setValue(value).build();
+      }
 
       CelType fieldType =
           getFieldType(entry.id(), getPosition(entry), messageType, entry.fieldKey()).celType();
@@ -434,20 +447,34 @@ public final class ExprChecker {
             CelTypes.format(valueType));
       }
     }
+
+    if (struct.messageName().equals(decl.name()) && rewrittenEntries == null) {
+      return expr;
+    }
+    return CelExpr.ofStruct(
+        expr.id(),
+        decl.name(),
+        rewrittenEntries == null ? entriesList : ImmutableList.copyOf(rewrittenEntries));
   }
 
-  private void visit(CelMutableExpr expr, CelMutableMap map) {
+  private CelExpr visit(CelExpr expr, CelMap map) {
     CelType mapKeyType = null;
     CelType mapValueType = null;
-    List<CelMutableMap.Entry> entriesList = map.entries();
-    for (CelMutableMap.Entry entry : entriesList) {
-      CelMutableExpr key = entry.key();
-      visit(key);
+    ImmutableList<CelMap.Entry> entriesList = map.entries();
+    CelMap.Entry[] rewrittenEntries = null;
+    for (int i = 0; i < entriesList.size(); i++) {
+      CelMap.Entry entry = entriesList.get(i);
+      CelExpr key = visit(entry.key());
 
       mapKeyType = joinTypes(key.id(), getPosition(key), mapKeyType, env.getType(key));
 
-      CelMutableExpr value = entry.value();
-      visit(value);
+      CelExpr value = visit(entry.value());
+      if (key != entry.key() || value != entry.value()) {
+        if (rewrittenEntries == null) {
+          rewrittenEntries = entriesList.toArray(new CelMap.Entry[0]);
+        }
+        rewrittenEntries[i] = entry.toBuilder().setKey(key).setValue(value).build();
+      }
 
       CelType valueType = env.getType(value);
       if (entry.optionalEntry()) {
@@ -467,15 +494,18 @@ public final class ExprChecker {
       mapValueType = inferenceContext.newTypeVar("value");
     }
     env.setType(expr, MapType.create(mapKeyType, mapValueType));
+    if (rewrittenEntries == null) {
+      return expr;
+    }
+    return CelExpr.ofMap(expr.id(), ImmutableList.copyOf(rewrittenEntries));
   }
 
-  private void visit(CelMutableExpr expr, CelMutableList list) {
+  private CelExpr visit(CelExpr expr, CelList list) {
     CelType elemsType = null;
-    List<CelMutableExpr> elementsList = list.elements();
+    ImmutableList<CelExpr> elementsList = visitAll(list.elements());
     HashSet<Integer> optionalIndices = new HashSet<>(list.optionalIndices());
     for (int i = 0; i < elementsList.size(); i++) {
-      CelMutableExpr elem = elementsList.get(i);
-      visit(elem);
+      CelExpr elem = elementsList.get(i);
 
       CelType elemType = env.getType(elem);
       if (optionalIndices.contains(i)) {
@@ -493,13 +523,17 @@ public final class ExprChecker {
       elemsType = inferenceContext.newTypeVar("elem");
     }
     env.setType(expr, ListType.create(elemsType));
+    if (elementsList == list.elements()) {
+      return expr;
+    }
+    return CelExpr.ofList(expr.id(), elementsList, list.optionalIndices());
   }
 
-  private void visit(CelMutableExpr expr, CelMutableComprehension compre) {
-    visit(compre.iterRange());
-    visit(compre.accuInit());
-    CelType accuType = env.getType(compre.accuInit());
-    CelType rangeType = inferenceContext.specialize(env.getType(compre.iterRange()));
+  private CelExpr visit(CelExpr expr, CelComprehension compre) {
+    CelExpr iterRange = visit(compre.iterRange());
+    CelExpr accuInit = visit(compre.accuInit());
+    CelType accuType = env.getType(accuInit);
+    CelType rangeType = inferenceContext.specialize(env.getType(iterRange));
     CelType varType;
     CelType varType2 = null;
     switch (rangeType.kind()) {
@@ -534,7 +568,7 @@ public final class ExprChecker {
       default:
         env.reportError(
             expr.id(),
-            getPosition(compre.iterRange()),
+            getPosition(iterRange),
             "expression of type '%s' cannot be range of a comprehension "
                 + "(must be list, map, or dynamic)",
             CelTypes.format(rangeType));
@@ -552,16 +586,49 @@ public final class ExprChecker {
     if (!Strings.isNullOrEmpty(compre.iterVar2())) {
       env.add(CelIdentDecl.newIdentDeclaration(compre.iterVar2(), varType2));
     }
-    visit(compre.loopCondition());
-    assertType(compre.loopCondition(), SimpleType.BOOL);
-    visit(compre.loopStep());
-    assertType(compre.loopStep(), accuType);
+    CelExpr loopCondition = visit(compre.loopCondition());
+    assertType(loopCondition, SimpleType.BOOL);
+    CelExpr loopStep = visit(compre.loopStep());
+    assertType(loopStep, accuType);
     // Forget iteration variable, as result expression must only depend on accu.
     env.exitScope();
-    visit(compre.result());
+    CelExpr result = visit(compre.result());
     env.exitScope();
 
-    env.setType(expr, inferenceContext.specialize(env.getType(compre.result())));
+    env.setType(expr, inferenceContext.specialize(env.getType(result)));
+    if (iterRange == compre.iterRange()
+        && accuInit == compre.accuInit()
+        && loopCondition == compre.loopCondition()
+        && loopStep == compre.loopStep()
+        && result == compre.result()) {
+      return expr;
+    }
+    return expr.toBuilder()
+        .setComprehension(
+            compre.toBuilder()
+                .setIterRange(iterRange)
+                .setAccuInit(accuInit)
+                .setLoopCondition(loopCondition)
+                .setLoopStep(loopStep)
+                .setResult(result)
+                .build())
+        .build();
+  }
+
+  /** Visits each expression, returning {@code exprs} itself if none of them was rewritten. */
+  private ImmutableList<CelExpr> visitAll(ImmutableList<CelExpr> exprs) {
+    CelExpr[] rewritten = null;
+    for (int i = 0; i < exprs.size(); i++) {
+      CelExpr expr = exprs.get(i);
+      CelExpr visited = visit(expr);
+      if (visited != expr) {
+        if (rewritten == null) {
+          rewritten = exprs.toArray(new CelExpr[0]);
+        }
+        rewritten[i] = visited;
+      }
+    }
+    return rewritten == null ? exprs : ImmutableList.copyOf(rewritten);
   }
 
   private CelReference makeReference(String name, CelIdentDecl decl) {
@@ -594,48 +661,49 @@ public final class ExprChecker {
       long callExprId,
       int position,
       @Nullable CelFunctionDecl function,
-      @Nullable CelMutableExpr target,
-      List<CelMutableExpr> args) {
+      @Nullable CelExpr target,
+      List<CelExpr> args) {
     if (function == null || function.equals(Env.ERROR_FUNCTION_DECL)) {
       // Error reported, just return error value.
       return OverloadResolution.of(CelReference.newBuilder().build(), SimpleType.ERROR);
     }
+    boolean isInstance = target != null;
     List<CelType> argTypes = new ArrayList<>();
-    if (target != null) {
+    if (isInstance) {
       argTypes.add(env.getType(target));
     }
-    for (CelMutableExpr arg : args) {
+    for (CelExpr arg : args) {
       argTypes.add(env.getType(arg));
     }
+    OverloadIndex overloadIndex = env.getOverloadIndex(function);
+    CelKind firstArgKind =
+        argTypes.isEmpty() ? null : inferenceContext.specialize(argTypes.get(0)).kind();
+    // Type variables are reserved for every overload of this call style, including the ones
+    // skipped by the index, to keep the generated names stable.
+    int firstTypeVar = inferenceContext.reserveTypeVars(overloadIndex.typeVarCount(isInstance));
+
     CelType resultType = null; // For most common result type.
-    String firstCandString = null;
     CelReference.Builder refBuilder = CelReference.newBuilder();
-    List<String> excludedCands = new ArrayList<>();
-    String expectedString =
-        TypeFormatter.formatFunction(inferenceContext.specialize(argTypes), target != null);
-    for (CelOverloadDecl overload : function.overloads()) {
-      boolean isInstance = overload.isInstanceFunction();
-      if ((target == null && isInstance) || (target != null && !isInstance)) {
-        // not a compatible call style.
-        continue;
-      }
-      CelType overloadType =
-          CelTypes.createFunctionType(overload.resultType(), overload.parameterTypes());
-      if (!overload.typeParameterNames().isEmpty()) {
-        // Instantiate overload's type with fresh type variables.
-        overloadType = inferenceContext.newInstance(overload.typeParameterNames(), overloadType);
-      }
+    // Ambiguities are reported against the types as specialized before each match refines the
+    // substitution, so they are captured upfront in that mode only.
+    List<CelType> expectedTypes =
+        compileTimeOverloadResolution ? inferenceContext.specialize(argTypes) : null;
+    List<CelType> firstCandTypes = null;
+    for (OverloadIndex.Candidate candidate :
+        overloadIndex.candidates(isInstance, argTypes.size(), firstArgKind)) {
+      CelOverloadDecl overload = candidate.overload();
+      CelType overloadType = instantiateOverload(candidate, firstTypeVar);
       ImmutableList<CelType> candArgTypes =
           overloadType.parameters().subList(1, overloadType.parameters().size());
-      String candString =
-          TypeFormatter.formatFunction(inferenceContext.specialize(candArgTypes), target != null);
+      List<CelType> candTypes =
+          compileTimeOverloadResolution ? inferenceContext.specialize(candArgTypes) : null;
       if (inferenceContext.isAssignable(argTypes, candArgTypes)) {
         // Collect overload id.
         refBuilder.addOverloadIds(overload.overloadId());
         if (resultType == null) {
           // First matching overload, determines result type.
           resultType = inferenceContext.specialize(overloadType.parameters().get(0));
-          firstCandString = candString;
+          firstCandTypes = candTypes;
         } else {
           // More than one matching overload in non-strict mode, narrow result type to DYN unless
           // the overload type matches the previous result type.
@@ -653,22 +721,30 @@ public final class ExprChecker {
                 position,
                 "found more than one matching overload for '%s' applied to '%s': %s and also %s",
                 function.name(),
-                expectedString,
-                firstCandString,
-                candString);
+                TypeFormatter.formatFunction(expectedTypes, isInstance),
+                TypeFormatter.formatFunction(firstCandTypes, isInstance),
+                TypeFormatter.formatFunction(candTypes, isInstance));
           }
         }
-      } else {
-        excludedCands.add(candString);
       }
     }
     if (resultType == null) {
+      // No overload matched, so the substitution is the same as when each of them was tested.
+      List<String> excludedCands = new ArrayList<>();
+      for (OverloadIndex.Candidate candidate : overloadIndex.overloads(isInstance)) {
+        CelType overloadType = instantiateOverload(candidate, firstTypeVar);
+        excludedCands.add(
+            TypeFormatter.formatFunction(
+                inferenceContext.specialize(
+                    overloadType.parameters().subList(1, overloadType.parameters().size())),
+                isInstance));
+      }
       env.reportError(
           callExprId,
           position,
           "found no matching overload for '%s' applied to '%s'%s",
           function.name(),
-          expectedString,
+          TypeFormatter.formatFunction(inferenceContext.specialize(argTypes), isInstance),
           excludedCands.isEmpty()
               ? ""
               : " (candidates: " + Joiner.on(',').join(excludedCands) + ")");
@@ -677,10 +753,23 @@ public final class ExprChecker {
     return OverloadResolution.of(refBuilder.build(), resultType);
   }
 
-  // Return value from visit is not needed as the subtree is not rewritten here.
-  @SuppressWarnings("CheckReturnValue")
+  /**
+   * Returns the function type of the candidate overload, with its type parameters replaced by the
+   * type variables reserved for it.
+   */
+  private CelType instantiateOverload(OverloadIndex.Candidate candidate, int firstTypeVar) {
+    CelOverloadDecl overload = candidate.overload();
+    CelType overloadType =
+        CelTypes.createFunctionType(overload.resultType(), overload.parameterTypes());
+    if (overload.typeParameterNames().isEmpty()) {
+      return overloadType;
+    }
+    return inferenceContext.instanceOf(
+        overload.typeParameterNames(), overloadType, firstTypeVar + candidate.typeVarOffset());
+  }
+
   private CelType visitSelectField(
-      CelMutableExpr expr, CelMutableExpr operand, String field, boolean isOptional) {
+      CelExpr expr, CelExpr operand, String field, boolean isOptional) {
     CelType operandType = inferenceContext.specialize(env.getType(operand));
     CelType resultType = SimpleType.ERROR;
 
@@ -758,21 +847,28 @@ public final class ExprChecker {
     return null;
   }
 
-  private void visitOptionalCall(CelMutableExpr expr, CelMutableCall call) {
-    CelMutableExpr operand = call.args().get(0);
-    CelMutableExpr field = call.args().get(1);
+  private CelExpr visitOptionalCall(CelExpr expr, CelCall call) {
+    CelExpr operand = call.args().get(0);
+    CelExpr field = call.args().get(1);
     if (!field.getKind().equals(CelExpr.ExprKind.Kind.CONSTANT)
         || !field.constant().getKind().equals(CelConstant.Kind.STRING_VALUE)) {
 
       env.reportError(expr.id(), getPosition(field), "unsupported optional field selection");
-      return;
+      return expr;
     }
 
-    visit(operand);
+    CelExpr visitedOperand = visit(operand);
 
-    CelType resultType = visitSelectField(expr, operand, field.constant().stringValue(), true);
+    CelType resultType =
+        visitSelectField(expr, visitedOperand, field.constant().stringValue(), true);
     env.setType(expr, resultType);
     env.setRef(expr, CelReference.newBuilder().addOverloadIds("select_optional_field").build());
+    if (visitedOperand == operand) {
+      return expr;
+    }
+    return expr.toBuilder()
+        .setCall(call.toBuilder().setArg(0, visitedOperand).build())
+        .build();
   }
 
   /**
@@ -780,7 +876,7 @@ public final class ExprChecker {
    * expression and returns the name they constitute, or null if the expression cannot be
    * interpreted like this.
    */
-  private @Nullable String asQualifiedName(CelMutableExpr expr) {
+  private @Nullable String asQualifiedName(CelExpr expr) {
     switch (expr.getKind()) {
       case IDENT:
         return expr.ident().name();
@@ -853,16 +949,16 @@ public final class ExprChecker {
     return type.parameters().get(0);
   }
 
-  private void assertType(CelMutableExpr expr, CelType type) {
+  private void assertType(CelExpr expr, CelType type) {
     assertIsAssignable(expr.id(), getPosition(expr), env.getType(expr), type);
   }
 
-  private int getPosition(CelMutableExpr expr) {
+  private int getPosition(CelExpr expr) {
     Integer pos = positionMap.get(expr.id());
     return pos == null ? 0 : pos;
   }
 
-  private int getPosition(CelMutableStruct.Entry entry) {
+  private int getPosition(CelStruct.Entry entry) {
     Integer pos = positionMap.get(entry.id());
     return pos == null ? 0 : pos;
   }
@@ -39,12 +39,7 @@ public class InferenceContext {
 
   /** Creates a fresh type variable in the given context. */
   public CelType newTypeVar(String prefix) {
-    // If the prefix ends with a digit, then add an extra % as separator between
-    // it and the counter to prevent the two from blending into each other since
-    // that can cause accidental name clashes.
-    String separator =
-        (!prefix.isEmpty() && Character.isDigit(prefix.charAt(prefix.length() - 1))) ? "%" : "";
-    return TypeParamType.create("%" + prefix + separator + freeTypeVarCounter++);
+    return typeVar(prefix, freeTypeVarCounter++);
   }
 
   /**
@@ -59,6 +54,31 @@ public class InferenceContext {
     return Types.substitute(subs, type, false);
   }
 
+  /**
+   * Reserves {@code count} type variables without creating them, and returns the counter value of
+   * the first one. The reserved variables can later be materialized with {@link
+   * #instanceOf(Iterable, CelType, int)}, which keeps the generated names independent of whether
+   * the instantiation was skipped.
+   */
+  int reserveTypeVars(int count) {
+    int first = freeTypeVarCounter;
+    freeTypeVarCounter += count;
+    return first;
+  }
+
+  /**
+   * Same as {@link #newInstance}, but names the type variables after previously reserved counter
+   * values starting at {@code firstTypeVar}.
+   */
+  CelType instanceOf(Iterable<String> typeParams, CelType type, int firstTypeVar) {
+    Map<CelType, CelType> subs = new HashMap<>();
+    int counter = firstTypeVar;
+    for (String typeParam : typeParams) {
+      subs.put(TypeParamType.create(typeParam), typeVar(typeParam, counter++));
+    }
+    return Types.substitute(subs, type, false);
+  }
+
   /**
    * Checks whether type1 is assignable to type2 under refinement of the type substitution. Returns
    * true on success, and false on failure. The substitution in the type context will not be
@@ -107,4 +127,13 @@ public class InferenceContext {
   public CelType finalize(CelType type) {
     return Types.substitute(substitution, type, true);
   }
+
+  private static CelType typeVar(String prefix, int counter) {
+    // If the prefix ends with a digit, then add an extra % as separator between
+    // it and the counter to prevent the two from blending into each other since
+    // that can cause accidental name clashes.
+    String separator =
+        (!prefix.isEmpty() && Character.isDigit(prefix.charAt(prefix.length() - 1))) ? "%" : "";
+    return TypeParamType.create("%" + prefix + separator + counter);
+  }
 }
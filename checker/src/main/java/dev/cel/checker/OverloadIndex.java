@@ -0,0 +1,222 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.checker;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dev.cel.common.CelFunctionDecl;
+import dev.cel.common.CelOverloadDecl;
+import dev.cel.common.types.CelKind;
+import dev.cel.common.types.CelType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An index over the overloads of a function declaration, used to skip overloads which cannot
+ * match a call during overload resolution.
+ *
+ * <p>Overloads are grouped by call style and arity, then by the kind of their first parameter. An
+ * argument is only assignable to a parameter of a different kind if either of them is a type
+ * parameter, {@code dyn}, {@code error} or {@code null}, so the remaining overloads can be skipped
+ * without changing the outcome of the resolution.
+ *
+ * <p>Each overload also records the offset of its type variables among the overloads of the same
+ * call style. This lets the checker reserve the type variables of all overloads at once, so that
+ * the names generated for the overloads it does test are the same as if it had tested every one.
+ */
+final class OverloadIndex {
+
+  private final CelFunctionDecl function;
+  private final Group global;
+  private final Group instance;
+
+  /** Builds the index for the overloads of {@code function}. */
+  static OverloadIndex create(CelFunctionDecl function) {
+    return new OverloadIndex(
+        function,
+        Group.create(function, /* isInstance= */ false),
+        Group.create(function, /* isInstance= */ true));
+  }
+
+  /** Returns the function declaration this index was built for. */
+  CelFunctionDecl function() {
+    return function;
+  }
+
+  /** Returns all overloads with the given call style, in declaration order. */
+  ImmutableList<Candidate> overloads(boolean isInstance) {
+    return group(isInstance).overloads;
+  }
+
+  /** Returns the number of type variables needed to instantiate all overloads of a call style. */
+  int typeVarCount(boolean isInstance) {
+    return group(isInstance).typeVarCount;
+  }
+
+  /**
+   * Returns the overloads with the given call style and arity which may accept a first argument of
+   * kind {@code firstArgKind}, in declaration order. The kind is null for calls without arguments.
+   */
+  ImmutableList<Candidate> candidates(
+      boolean isInstance, int arity, @Nullable CelKind firstArgKind) {
+    ArityGroup arityGroup = group(isInstance).byArity.get(arity);
+    if (arityGroup == null) {
+      return ImmutableList.of();
+    }
+    if (firstArgKind == null || matchesAnyKind(firstArgKind)) {
+      return arityGroup.overloads;
+    }
+    ImmutableList<Candidate> candidates = arityGroup.byFirstParamKind.get(firstArgKind);
+    return candidates != null ? candidates : arityGroup.anyKindOverloads;
+  }
+
+  private Group group(boolean isInstance) {
+    return isInstance ? instance : global;
+  }
+
+  /**
+   * Returns true if a parameter or argument of this kind may be assignable to or from a type of any
+   * other kind.
+   */
+  private static boolean matchesAnyKind(CelKind kind) {
+    switch (kind) {
+      case UNSPECIFIED:
+      case ERROR:
+      case DYN:
+      case ANY:
+      case NULL_TYPE:
+      case TYPE_PARAM:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /** An overload together with the offset of its type variables. */
+  @AutoValue
+  abstract static class Candidate {
+    abstract CelOverloadDecl overload();
+
+    abstract int typeVarOffset();
+
+    private static Candidate create(CelOverloadDecl overload, int typeVarOffset) {
+      return new AutoValue_OverloadIndex_Candidate(overload, typeVarOffset);
+    }
+  }
+
+  /** The overloads of a single call style. */
+  private static final class Group {
+    private final ImmutableList<Candidate> overloads;
+    private final ImmutableMap<Integer, ArityGroup> byArity;
+    private final int typeVarCount;
+
+    private static Group create(CelFunctionDecl function, boolean isInstance) {
+      ImmutableList.Builder<Candidate> overloads = ImmutableList.builder();
+      Map<Integer, List<Candidate>> byArity = new LinkedHashMap<>();
+      int typeVarCount = 0;
+      for (CelOverloadDecl overload : function.overloads()) {
+        if (overload.isInstanceFunction() != isInstance) {
+          continue;
+        }
+        Candidate candidate = Candidate.create(overload, typeVarCount);
+        typeVarCount += overload.typeParameterNames().size();
+        overloads.add(candidate);
+        byArity
+            .computeIfAbsent(overload.parameterTypes().size(), k -> new ArrayList<>())
+            .add(candidate);
+      }
+      ImmutableMap.Builder<Integer, ArityGroup> arityGroups = ImmutableMap.builder();
+      byArity.forEach((arity, candidates) -> arityGroups.put(arity, ArityGroup.create(candidates)));
+      return new Group(overloads.build(), arityGroups.buildOrThrow(), typeVarCount);
+    }
+
+    private Group(
+        ImmutableList<Candidate> overloads,
+        ImmutableMap<Integer, ArityGroup> byArity,
+        int typeVarCount) {
+      this.overloads = overloads;
+      this.byArity = byArity;
+      this.typeVarCount = typeVarCount;
+    }
+  }
+
+  /** The overloads of a single call style and arity. */
+  private static final class ArityGroup {
+    private final ImmutableList<Candidate> overloads;
+    // Overloads whose first parameter may accept an argument of any kind.
+    private final ImmutableList<Candidate> anyKindOverloads;
+    // For each first parameter kind, the overloads of that kind or of any kind.
+    private final ImmutableMap<CelKind, ImmutableList<Candidate>> byFirstParamKind;
+
+    private static ArityGroup create(List<Candidate> overloads) {
+      // Calls without arguments never consult the per-kind lists, so only overloads with
+      // parameters are sorted into them.
+      Map<CelKind, ImmutableList.Builder<Candidate>> byKind = new EnumMap<>(CelKind.class);
+      for (Candidate candidate : overloads) {
+        CelKind kind = firstParamKind(candidate);
+        if (kind != null && !matchesAnyKind(kind)) {
+          byKind.computeIfAbsent(kind, k -> ImmutableList.builder());
+        }
+      }
+
+      ImmutableList.Builder<Candidate> anyKindOverloads = ImmutableList.builder();
+      for (Candidate candidate : overloads) {
+        CelKind kind = firstParamKind(candidate);
+        if (kind == null) {
+          continue;
+        }
+        if (matchesAnyKind(kind)) {
+          anyKindOverloads.add(candidate);
+          byKind.values().forEach(builder -> builder.add(candidate));
+        } else {
+          byKind.get(kind).add(candidate);
+        }
+      }
+
+      ImmutableMap.Builder<CelKind, ImmutableList<Candidate>> byFirstParamKind =
+          ImmutableMap.builder();
+      byKind.forEach((kind, builder) -> byFirstParamKind.put(kind, builder.build()));
+      return new ArityGroup(
+          ImmutableList.copyOf(overloads),
+          anyKindOverloads.build(),
+          byFirstParamKind.buildOrThrow());
+    }
+
+    private static @Nullable CelKind firstParamKind(Candidate candidate) {
+      List<CelType> parameterTypes = candidate.overload().parameterTypes();
+      return parameterTypes.isEmpty() ? null : parameterTypes.get(0).kind();
+    }
+
+    private ArityGroup(
+        ImmutableList<Candidate> overloads,
+        ImmutableList<Candidate> anyKindOverloads,
+        ImmutableMap<CelKind, ImmutableList<Candidate>> byFirstParamKind) {
+      this.overloads = overloads;
+      this.anyKindOverloads = anyKindOverloads;
+      this.byFirstParamKind = byFirstParamKind;
+    }
+  }
+
+  private OverloadIndex(CelFunctionDecl function, Group global, Group instance) {
+    this.function = function;
+    this.global = global;
+    this.instance = instance;
+  }
+}
@@ -18,14 +18,17 @@ import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
 import dev.cel.checker.CelStandardDeclarations.StandardFunction;
+import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelContainer;
 import dev.cel.common.CelFunctionDecl;
 import dev.cel.common.CelOptions;
 import dev.cel.common.CelOverloadDecl;
 import dev.cel.common.CelVarDecl;
+import dev.cel.common.ast.CelExpr;
 import dev.cel.common.types.CelType;
 import dev.cel.common.types.CelTypeProvider;
 import dev.cel.common.types.SimpleType;
+import dev.cel.compiler.CelCompiler;
 import dev.cel.compiler.CelCompilerFactory;
 import dev.cel.expr.conformance.proto3.TestAllTypes;
 import java.util.Optional;
@@ -148,4 +151,47 @@ public class CelCheckerLegacyImplTest {
     assertThat(newCheckerBuilder.fileTypes().build()).isEmpty();
     assertThat(newCheckerBuilder.checkerLibraries().build()).isEmpty();
   }
+
+  @Test
+  public void check_unchangedAst_isNotCopied() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder()
+            .addVar("x", SimpleType.INT)
+            .build();
+    CelAbstractSyntaxTree parsedAst = celCompiler.parse("[x + 1, 2].size() == 2").getAst();
+
+    CelAbstractSyntaxTree checkedAst = celCompiler.check(parsedAst).getAst();
+
+    assertThat(checkedAst.getExpr()).isSameInstanceAs(parsedAst.getExpr());
+    assertThat(checkedAst.getResultType()).isEqualTo(SimpleType.BOOL);
+  }
+
+  @Test
+  public void check_rewrittenSubtree_onlyCopiesPathToRoot() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder()
+            .setContainer(CelContainer.ofName("cel.expr.conformance.proto3"))
+            .addMessageTypes(TestAllTypes.getDescriptor())
+            .addVar("x", SimpleType.INT)
+            .build();
+    CelAbstractSyntaxTree parsedAst =
+        celCompiler
+            .parse("[x + 1, 2].size() == 2 && TestAllTypes{single_int64: x}.single_int64 == 1")
+            .getAst();
+    CelExpr parsedStruct =
+        parsedAst.getExpr().call().args().get(1).call().args().get(0).select().operand();
+
+    CelAbstractSyntaxTree checkedAst = celCompiler.check(parsedAst).getAst();
+
+    CelExpr checkedStruct =
+        checkedAst.getExpr().call().args().get(1).call().args().get(0).select().operand();
+    assertThat(checkedAst.getExpr()).isNotSameInstanceAs(parsedAst.getExpr());
+    assertThat(checkedAst.getExpr().call().args().get(0))
+        .isSameInstanceAs(parsedAst.getExpr().call().args().get(0));
+    assertThat(checkedStruct.struct().messageName())
+        .isEqualTo("cel.expr.conformance.proto3.TestAllTypes");
+    assertThat(checkedStruct.struct().entries().get(0).value())
+        .isSameInstanceAs(parsedStruct.struct().entries().get(0).value());
+    assertThat(parsedStruct.struct().messageName()).isEqualTo("TestAllTypes");
+  }
 }
@@ -0,0 +1,153 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.checker;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import dev.cel.common.CelFunctionDecl;
+import dev.cel.common.CelOptions;
+import dev.cel.common.CelOverloadDecl;
+import dev.cel.common.internal.Errors;
+import dev.cel.common.types.CelKind;
+import dev.cel.common.types.ListType;
+import dev.cel.common.types.SimpleType;
+import dev.cel.common.types.TypeParamType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class OverloadIndexTest {
+
+  private static final TypeParamType TYPE_PARAM_A = TypeParamType.create("A");
+
+  private static final CelFunctionDecl FUNCTION =
+      CelFunctionDecl.newFunctionDeclaration(
+          "f",
+          CelOverloadDecl.newGlobalOverload(
+              "f_int_int", SimpleType.INT, SimpleType.INT, SimpleType.INT),
+          CelOverloadDecl.newGlobalOverload(
+              "f_list_list",
+              ListType.create(TYPE_PARAM_A),
+              ListType.create(TYPE_PARAM_A),
+              ListType.create(TYPE_PARAM_A)),
+          CelOverloadDecl.newGlobalOverload(
+              "f_dyn_string", SimpleType.STRING, SimpleType.DYN, SimpleType.STRING),
+          CelOverloadDecl.newGlobalOverload(
+              "f_double_double", SimpleType.DOUBLE, SimpleType.DOUBLE, SimpleType.DOUBLE),
+          CelOverloadDecl.newGlobalOverload("f_a", TYPE_PARAM_A, TYPE_PARAM_A),
+          CelOverloadDecl.newMemberOverload(
+              "string_f_int", SimpleType.STRING, SimpleType.STRING, SimpleType.INT));
+
+  private final OverloadIndex index = OverloadIndex.create(FUNCTION);
+
+  @Test
+  public void getOverloadIndex_sharedDeclGroup_reusedAcrossEnvs() {
+    Env.DeclGroup declGroup = new Env.DeclGroup();
+    declGroup.putFunction(FUNCTION);
+    declGroup = declGroup.immutableCopy();
+
+    OverloadIndex first = newEnv(declGroup).getOverloadIndex(FUNCTION);
+    OverloadIndex second = newEnv(declGroup).getOverloadIndex(FUNCTION);
+
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(first.function()).isSameInstanceAs(FUNCTION);
+  }
+
+  @Test
+  public void getOverloadIndex_redeclaredFunction_rebuildsIndex() {
+    Env.DeclGroup declGroup = new Env.DeclGroup();
+    declGroup.putFunction(FUNCTION);
+    Env env = newEnv(declGroup);
+    OverloadIndex first = env.getOverloadIndex(FUNCTION);
+    CelFunctionDecl redeclared =
+        CelFunctionDecl.newFunctionDeclaration(
+            "f",
+            CelOverloadDecl.newGlobalOverload(
+                "f_string_string", SimpleType.STRING, SimpleType.STRING, SimpleType.STRING));
+
+    env.getDeclGroup().putFunction(redeclared);
+
+    assertThat(env.getOverloadIndex(redeclared)).isNotSameInstanceAs(first);
+    assertThat(env.getOverloadIndex(redeclared).function()).isSameInstanceAs(redeclared);
+  }
+
+  @Test
+  public void candidates_concreteKind_keepsMatchingAndWildcardOverloadsInOrder() {
+    assertThat(candidateIds(false, 2, CelKind.INT)).containsExactly("f_int_int", "f_dyn_string");
+    assertThat(candidateIds(false, 2, CelKind.DOUBLE))
+        .containsExactly("f_dyn_string", "f_double_double")
+        .inOrder();
+    assertThat(candidateIds(false, 2, CelKind.LIST))
+        .containsExactly("f_list_list", "f_dyn_string")
+        .inOrder();
+  }
+
+  @Test
+  public void candidates_kindWithoutOverloads_returnsWildcardOverloads() {
+    assertThat(candidateIds(false, 2, CelKind.BYTES)).containsExactly("f_dyn_string");
+  }
+
+  @Test
+  public void candidates_wildcardArgument_returnsAllOverloadsOfArity() {
+    ImmutableList<String> expected =
+        ImmutableList.of("f_int_int", "f_list_list", "f_dyn_string", "f_double_double");
+
+    assertThat(candidateIds(false, 2, CelKind.DYN)).containsExactlyElementsIn(expected).inOrder();
+    assertThat(candidateIds(false, 2, CelKind.TYPE_PARAM))
+        .containsExactlyElementsIn(expected)
+        .inOrder();
+    assertThat(candidateIds(false, 2, CelKind.NULL_TYPE))
+        .containsExactlyElementsIn(expected)
+        .inOrder();
+  }
+
+  @Test
+  public void candidates_filtersByArityAndCallStyle() {
+    assertThat(candidateIds(false, 1, CelKind.BOOL)).containsExactly("f_a");
+    assertThat(candidateIds(false, 3, CelKind.INT)).isEmpty();
+    assertThat(candidateIds(true, 2, CelKind.STRING)).containsExactly("string_f_int");
+    assertThat(candidateIds(true, 2, CelKind.INT)).isEmpty();
+  }
+
+  @Test
+  public void typeVarOffsets_countAllOverloadsOfCallStyle() {
+    assertThat(
+            index.overloads(false).stream()
+                .map(OverloadIndex.Candidate::typeVarOffset)
+                .collect(toImmutableList()))
+        .containsExactly(0, 0, 1, 1, 1)
+        .inOrder();
+    assertThat(index.typeVarCount(false)).isEqualTo(2);
+    assertThat(index.typeVarCount(true)).isEqualTo(0);
+  }
+
+  private ImmutableList<String> candidateIds(boolean isInstance, int arity, CelKind firstArgKind) {
+    return index.candidates(isInstance, arity, firstArgKind).stream()
+        .map(candidate -> candidate.overload().overloadId())
+        .collect(toImmutableList());
+  }
+
+  private static Env newEnv(Env.DeclGroup declGroup) {
+    return Env.fromDeclGroups(
+        new Errors("<input>", ""),
+        new DescriptorTypeProvider(),
+        CelOptions.DEFAULT,
+        /* standardDecls= */ null,
+        declGroup);
+  }
+}
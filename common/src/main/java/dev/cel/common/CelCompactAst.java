@@ -0,0 +1,534 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Ints;
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.ast.CelConstant;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelExpr.CelCall;
+import dev.cel.common.ast.CelExpr.CelComprehension;
+import dev.cel.common.ast.CelExpr.CelList;
+import dev.cel.common.ast.CelExpr.CelMap;
+import dev.cel.common.ast.CelExpr.CelSelect;
+import dev.cel.common.ast.CelExpr.CelStruct;
+import dev.cel.common.ast.CelReference;
+import dev.cel.common.internal.CelCodePointArray;
+import dev.cel.common.types.CelType;
+import dev.cel.common.types.SimpleType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A compact, immutable representation of a {@link CelAbstractSyntaxTree} intended for keeping a
+ * large number of ASTs resident in memory.
+ *
+ * <p>Expression nodes are stored in pre-order as parallel primitive arrays rather than as an object
+ * graph. Side tables keyed by expression id (types, references, source positions and macro calls)
+ * are stored as primitive arrays, with the id column omitted when the ids are contiguous. Types,
+ * references, names and constants are deduplicated into per-AST tables.
+ *
+ * <p>Conversion through {@link #fromCelAst} and {@link #toCelAst} is lossless.
+ */
+@Immutable
+@SuppressWarnings("Immutable") // Arrays are not mutated after construction.
+public final class CelCompactAst {
+
+  private static final byte KIND_NOT_SET = 0;
+  private static final byte KIND_CONSTANT = 1;
+  private static final byte KIND_IDENT = 2;
+  private static final byte KIND_SELECT = 3;
+  private static final byte KIND_CALL = 4;
+  private static final byte KIND_LIST = 5;
+  private static final byte KIND_STRUCT = 6;
+  private static final byte KIND_MAP = 7;
+  private static final byte KIND_COMPREHENSION = 8;
+  private static final byte KIND_STRUCT_ENTRY = 9;
+  private static final byte KIND_MAP_ENTRY = 10;
+
+  private static final byte FLAG_TEST_ONLY = 1;
+  private static final byte FLAG_HAS_TARGET = 2;
+  private static final byte FLAG_OPTIONAL_ENTRY = 4;
+
+  private static final int NO_PAYLOAD = -1;
+
+  // Per-node columns. The children of a node are the nodes in the range (index, subtreeEnd), each
+  // child's own subtree ending at its subtreeEnd.
+  private final long[] nodeIds;
+  private final byte[] kinds;
+  private final byte[] flags;
+  private final int[] payloads;
+  private final int[] subtreeEnds;
+
+  // Deduplicated constants, names, optional indices and comprehension variables.
+  private final Object[] values;
+  private final CelType[] typeTable;
+  private final CelReference[] referenceTable;
+
+  private final IdTable types;
+  private final IdTable references;
+  private final IdTable positions;
+  private final IdTable macroCalls;
+
+  private final CelCodePointArray codePoints;
+  private final String description;
+  // Null when identical to the line offsets computed from the code points.
+  private final int @Nullable [] lineOffsets;
+  private final ImmutableSet<CelSource.Extension> extensions;
+
+  /** Converts the {@code ast} into its compact representation. */
+  public static CelCompactAst fromCelAst(CelAbstractSyntaxTree ast) {
+    Encoder encoder = new Encoder();
+    int root = encoder.encode(ast.getExpr());
+    checkState(root == 0);
+
+    CelSource source = ast.getSource();
+    IdTable macroCalls = IdTable.create(source.getMacroCalls(), encoder::encode);
+    Interner<CelType> typeInterner = new Interner<>();
+    IdTable types = IdTable.create(ast.getTypeMap(), typeInterner::intern);
+    Interner<CelReference> referenceInterner = new Interner<>();
+    IdTable references = IdTable.create(ast.getReferenceMap(), referenceInterner::intern);
+
+    ImmutableList<Integer> sourceLineOffsets = source.getLineOffsets();
+    return new CelCompactAst(
+        encoder,
+        typeInterner.values.toArray(new CelType[0]),
+        referenceInterner.values.toArray(new CelReference[0]),
+        types,
+        references,
+        IdTable.create(source.getPositionsMap(), Integer::intValue),
+        macroCalls,
+        source.getContent(),
+        source.getDescription(),
+        sourceLineOffsets.equals(source.getContent().lineOffsets())
+            ? null
+            : Ints.toArray(sourceLineOffsets),
+        source.getExtensions());
+  }
+
+  /** Converts this compact representation back into a {@link CelAbstractSyntaxTree}. */
+  public CelAbstractSyntaxTree toCelAst() {
+    ImmutableMap.Builder<Long, CelExpr> macroCallMap =
+        ImmutableMap.builderWithExpectedSize(macroCalls.size());
+    for (int i = 0; i < macroCalls.size(); i++) {
+      macroCallMap.put(macroCalls.idAt(i), decode(macroCalls.valueAt(i)));
+    }
+    CelSource source =
+        CelSource.newBuilder(
+                codePoints,
+                lineOffsets == null
+                    ? codePoints.lineOffsets()
+                    : ImmutableList.copyOf(Ints.asList(lineOffsets)))
+            .setDescription(description)
+            .addPositionsMap(toMap(positions, Integer::valueOf))
+            .addAllMacroCalls(macroCallMap.buildOrThrow())
+            .addAllExtensions(extensions)
+            .build();
+
+    return CelAbstractSyntaxTree.newCheckedAst(
+        decode(0),
+        source,
+        toMap(references, i -> referenceTable[i]),
+        toMap(types, i -> typeTable[i]));
+  }
+
+  /** Tests whether the underlying abstract syntax tree has been type checked or not. */
+  public boolean isChecked() {
+    return types.size() > 0;
+  }
+
+  /**
+   * For a type checked abstract syntax tree the resulting type is returned. Otherwise, the dynamic
+   * type is returned.
+   */
+  public CelType getResultType() {
+    return isChecked() ? getType(nodeIds[0]).get() : SimpleType.DYN;
+  }
+
+  public Optional<CelType> getType(long exprId) {
+    int index = types.indexOf(exprId);
+    return index < 0 ? Optional.empty() : Optional.of(typeTable[types.valueAt(index)]);
+  }
+
+  public Optional<CelReference> getReference(long exprId) {
+    int index = references.indexOf(exprId);
+    return index < 0 ? Optional.empty() : Optional.of(referenceTable[references.valueAt(index)]);
+  }
+
+  /** Returns the source offset of the expression, if one was recorded by the parser. */
+  public Optional<Integer> getPosition(long exprId) {
+    int index = positions.indexOf(exprId);
+    return index < 0 ? Optional.empty() : Optional.of(positions.valueAt(index));
+  }
+
+  /** Returns the number of expression nodes, including struct and map entries and macro calls. */
+  public int nodeCount() {
+    return nodeIds.length;
+  }
+
+  @SuppressWarnings("unchecked") // Payload types are determined by the node kind.
+  private CelExpr decode(int index) {
+    long id = nodeIds[index];
+    int end = subtreeEnds[index];
+    switch (kinds[index]) {
+      case KIND_NOT_SET:
+        return CelExpr.ofNotSet(id);
+      case KIND_CONSTANT:
+        return CelExpr.ofConstant(id, (CelConstant) values[payloads[index]]);
+      case KIND_IDENT:
+        return CelExpr.ofIdent(id, (String) values[payloads[index]]);
+      case KIND_SELECT:
+        return CelExpr.ofSelect(
+            id,
+            decode(index + 1),
+            (String) values[payloads[index]],
+            hasFlag(index, FLAG_TEST_ONLY));
+      case KIND_CALL:
+        {
+          int child = index + 1;
+          Optional<CelExpr> target = Optional.empty();
+          if (hasFlag(index, FLAG_HAS_TARGET)) {
+            target = Optional.of(decode(child));
+            child = subtreeEnds[child];
+          }
+          return CelExpr.ofCall(
+              id, target, (String) values[payloads[index]], decodeChildren(child, end));
+        }
+      case KIND_LIST:
+        return CelExpr.ofList(
+            id, decodeChildren(index + 1, end), (ImmutableList<Integer>) values[payloads[index]]);
+      case KIND_STRUCT:
+        {
+          ImmutableList.Builder<CelStruct.Entry> entries = ImmutableList.builder();
+          for (int child = index + 1; child < end; child = subtreeEnds[child]) {
+            entries.add(
+                CelExpr.ofStructEntry(
+                    nodeIds[child],
+                    (String) values[payloads[child]],
+                    decode(child + 1),
+                    hasFlag(child, FLAG_OPTIONAL_ENTRY)));
+          }
+          return CelExpr.ofStruct(id, (String) values[payloads[index]], entries.build());
+        }
+      case KIND_MAP:
+        {
+          ImmutableList.Builder<CelMap.Entry> entries = ImmutableList.builder();
+          for (int child = index + 1; child < end; child = subtreeEnds[child]) {
+            int key = child + 1;
+            entries.add(
+                CelExpr.ofMapEntry(
+                    nodeIds[child],
+                    decode(key),
+                    decode(subtreeEnds[key]),
+                    hasFlag(child, FLAG_OPTIONAL_ENTRY)));
+          }
+          return CelExpr.ofMap(id, entries.build());
+        }
+      case KIND_COMPREHENSION:
+        {
+          ImmutableList<String> vars = (ImmutableList<String>) values[payloads[index]];
+          int iterRange = index + 1;
+          int accuInit = subtreeEnds[iterRange];
+          int loopCondition = subtreeEnds[accuInit];
+          int loopStep = subtreeEnds[loopCondition];
+          int result = subtreeEnds[loopStep];
+          return CelExpr.ofComprehension(
+              id,
+              vars.get(0),
+              vars.get(1),
+              decode(iterRange),
+              vars.get(2),
+              decode(accuInit),
+              decode(loopCondition),
+              decode(loopStep),
+              decode(result));
+        }
+      default:
+        throw new IllegalStateException("unexpected node kind: " + kinds[index]);
+    }
+  }
+
+  private ImmutableList<CelExpr> decodeChildren(int start, int end) {
+    ImmutableList.Builder<CelExpr> children = ImmutableList.builder();
+    for (int child = start; child < end; child = subtreeEnds[child]) {
+      children.add(decode(child));
+    }
+    return children.build();
+  }
+
+  private boolean hasFlag(int index, byte flag) {
+    return (flags[index] & flag) != 0;
+  }
+
+  private static <V> ImmutableMap<Long, V> toMap(IdTable table, IntFunction<V> decoder) {
+    ImmutableMap.Builder<Long, V> map = ImmutableMap.builderWithExpectedSize(table.size());
+    for (int i = 0; i < table.size(); i++) {
+      map.put(table.idAt(i), decoder.apply(table.valueAt(i)));
+    }
+    return map.buildOrThrow();
+  }
+
+  private CelCompactAst(
+      Encoder encoder,
+      CelType[] typeTable,
+      CelReference[] referenceTable,
+      IdTable types,
+      IdTable references,
+      IdTable positions,
+      IdTable macroCalls,
+      CelCodePointArray codePoints,
+      String description,
+      int @Nullable [] lineOffsets,
+      ImmutableSet<CelSource.Extension> extensions) {
+    this.nodeIds = Arrays.copyOf(encoder.nodeIds, encoder.size);
+    this.kinds = Arrays.copyOf(encoder.kinds, encoder.size);
+    this.flags = Arrays.copyOf(encoder.flags, encoder.size);
+    this.payloads = Arrays.copyOf(encoder.payloads, encoder.size);
+    this.subtreeEnds = Arrays.copyOf(encoder.subtreeEnds, encoder.size);
+    this.values = encoder.interner.values.toArray();
+    this.typeTable = typeTable;
+    this.referenceTable = referenceTable;
+    this.types = types;
+    this.references = references;
+    this.positions = positions;
+    this.macroCalls = macroCalls;
+    this.codePoints = codePoints;
+    this.description = description;
+    this.lineOffsets = lineOffsets;
+    this.extensions = extensions;
+  }
+
+  /** Flattens expression trees into pre-ordered node columns. */
+  private static final class Encoder {
+    private final Interner<Object> interner = new Interner<>();
+    private long[] nodeIds = new long[16];
+    private byte[] kinds = new byte[16];
+    private byte[] flags = new byte[16];
+    private int[] payloads = new int[16];
+    private int[] subtreeEnds = new int[16];
+    private int size;
+
+    /** Encodes the expression tree and returns the index of its root node. */
+    private int encode(CelExpr expr) {
+      switch (expr.getKind()) {
+        case NOT_SET:
+          return leaf(expr.id(), KIND_NOT_SET, NO_PAYLOAD);
+        case CONSTANT:
+          return leaf(expr.id(), KIND_CONSTANT, intern(expr.constant()));
+        case IDENT:
+          return leaf(expr.id(), KIND_IDENT, intern(expr.ident().name()));
+        case SELECT:
+          {
+            CelSelect select = expr.select();
+            int index =
+                addNode(
+                    expr.id(),
+                    KIND_SELECT,
+                    select.testOnly() ? FLAG_TEST_ONLY : 0,
+                    intern(select.field()));
+            encode(select.operand());
+            return endNode(index);
+          }
+        case CALL:
+          {
+            CelCall call = expr.call();
+            int index =
+                addNode(
+                    expr.id(),
+                    KIND_CALL,
+                    call.target().isPresent() ? FLAG_HAS_TARGET : 0,
+                    intern(call.function()));
+            call.target().ifPresent(this::encode);
+            call.args().forEach(this::encode);
+            return endNode(index);
+          }
+        case LIST:
+          {
+            CelList list = expr.list();
+            int index = addNode(expr.id(), KIND_LIST, 0, intern(list.optionalIndices()));
+            list.elements().forEach(this::encode);
+            return endNode(index);
+          }
+        case STRUCT:
+          {
+            CelStruct struct = expr.struct();
+            int index = addNode(expr.id(), KIND_STRUCT, 0, intern(struct.messageName()));
+            for (CelStruct.Entry entry : struct.entries()) {
+              int entryIndex =
+                  addNode(
+                      entry.id(),
+                      KIND_STRUCT_ENTRY,
+                      entry.optionalEntry() ? FLAG_OPTIONAL_ENTRY : 0,
+                      intern(entry.fieldKey()));
+              encode(entry.value());
+              endNode(entryIndex);
+            }
+            return endNode(index);
+          }
+        case MAP:
+          {
+            int index = addNode(expr.id(), KIND_MAP, 0, NO_PAYLOAD);
+            for (CelMap.Entry entry : expr.map().entries()) {
+              int entryIndex =
+                  addNode(
+                      entry.id(),
+                      KIND_MAP_ENTRY,
+                      entry.optionalEntry() ? FLAG_OPTIONAL_ENTRY : 0,
+                      NO_PAYLOAD);
+              encode(entry.key());
+              encode(entry.value());
+              endNode(entryIndex);
+            }
+            return endNode(index);
+          }
+        case COMPREHENSION:
+          {
+            CelComprehension comprehension = expr.comprehension();
+            int index =
+                addNode(
+                    expr.id(),
+                    KIND_COMPREHENSION,
+                    0,
+                    intern(
+                        ImmutableList.of(
+                            comprehension.iterVar(),
+                            comprehension.iterVar2(),
+                            comprehension.accuVar())));
+            encode(comprehension.iterRange());
+            encode(comprehension.accuInit());
+            encode(comprehension.loopCondition());
+            encode(comprehension.loopStep());
+            encode(comprehension.result());
+            return endNode(index);
+          }
+        default:
+          throw new IllegalArgumentException("unexpected expr kind: " + expr.getKind());
+      }
+    }
+
+    private int leaf(long id, byte kind, int payload) {
+      return endNode(addNode(id, kind, 0, payload));
+    }
+
+    private int addNode(long id, byte kind, int flag, int payload) {
+      if (size == nodeIds.length) {
+        int capacity = size * 2;
+        nodeIds = Arrays.copyOf(nodeIds, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        payloads = Arrays.copyOf(payloads, capacity);
+        subtreeEnds = Arrays.copyOf(subtreeEnds, capacity);
+      }
+      nodeIds[size] = id;
+      kinds[size] = kind;
+      flags[size] = (byte) flag;
+      payloads[size] = payload;
+      return size++;
+    }
+
+    private int endNode(int index) {
+      subtreeEnds[index] = size;
+      return index;
+    }
+
+    private int intern(Object value) {
+      return interner.intern(value);
+    }
+  }
+
+  /** Assigns consecutive indices to distinct values. */
+  private static final class Interner<V> {
+    private final Map<V, Integer> indices = new HashMap<>();
+    private final List<V> values = new ArrayList<>();
+
+    private int intern(V value) {
+      Integer index = indices.get(value);
+      if (index == null) {
+        index = values.size();
+        values.add(value);
+        indices.put(value, index);
+      }
+      return index;
+    }
+  }
+
+  /**
+   * A map from expression ids to {@code int} values, sorted by id. When the ids form a contiguous
+   * range, only the first id is stored and lookups are a direct array access.
+   */
+  @Immutable
+  @SuppressWarnings("Immutable") // Arrays are not mutated after construction.
+  private static final class IdTable {
+    private final long firstId;
+    // Null when the ids are contiguous, starting at firstId.
+    private final long @Nullable [] ids;
+    private final int[] values;
+
+    private static <V> IdTable create(Map<Long, V> map, ToIntFunction<V> encoder) {
+      long[] ids = new long[map.size()];
+      int i = 0;
+      for (long id : map.keySet()) {
+        ids[i++] = id;
+      }
+      Arrays.sort(ids);
+
+      int[] values = new int[ids.length];
+      for (i = 0; i < ids.length; i++) {
+        values[i] = encoder.applyAsInt(map.get(ids[i]));
+      }
+      boolean contiguous = ids.length == 0 || ids[ids.length - 1] - ids[0] == ids.length - 1;
+      return new IdTable(ids.length == 0 ? 0 : ids[0], contiguous ? null : ids, values);
+    }
+
+    private int size() {
+      return values.length;
+    }
+
+    private long idAt(int index) {
+      return ids == null ? firstId + index : ids[index];
+    }
+
+    private int valueAt(int index) {
+      return values[index];
+    }
+
+    /** Returns the index of {@code id} in this table, or a negative value if absent. */
+    private int indexOf(long id) {
+      if (ids != null) {
+        return Arrays.binarySearch(ids, id);
+      }
+      long offset = id - firstId;
+      return offset >= 0 && offset < values.length ? (int) offset : -1;
+    }
+
+    private IdTable(long firstId, long @Nullable [] ids, int[] values) {
+      this.firstId = firstId;
+      this.ids = ids;
+      this.values = values;
+    }
+  }
+}
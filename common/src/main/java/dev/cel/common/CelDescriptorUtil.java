@@ -20,6 +20,7 @@ import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import dev.cel.common.annotations.Internal;
+import dev.cel.common.internal.DescriptorCache;
 import dev.cel.common.internal.FileDescriptorSetConverter;
 import dev.cel.common.types.CelTypes;
 import java.util.Arrays;
@@ -34,6 +35,12 @@ import java.util.Set;
 @Internal
 public final class CelDescriptorUtil {
 
+  // Descriptors collected from a set of files are shared by every environment built from it.
+  private static final DescriptorCache<ImmutableSet<FileDescriptor>, CelDescriptors>
+      DESCRIPTORS_WITH_DEPENDENCIES = DescriptorCache.create();
+  private static final DescriptorCache<ImmutableSet<FileDescriptor>, CelDescriptors>
+      DESCRIPTORS_WITHOUT_DEPENDENCIES = DescriptorCache.create();
+
   private CelDescriptorUtil() {}
 
   /**
@@ -93,11 +100,18 @@ public final class CelDescriptorUtil {
    */
   public static CelDescriptors getAllDescriptorsFromFileDescriptor(
       Iterable<FileDescriptor> fileDescriptors, boolean resolveTypeDependencies) {
-    ImmutableSet<FileDescriptor> allFileDescriptors =
-        resolveTypeDependencies
-            ? getFileDescriptorsAndDependencies(fileDescriptors)
-            : ImmutableSet.copyOf(fileDescriptors);
+    ImmutableSet<FileDescriptor> fileDescriptorSet = ImmutableSet.copyOf(fileDescriptors);
+    if (resolveTypeDependencies) {
+      return DESCRIPTORS_WITH_DEPENDENCIES.get(
+          fileDescriptorSet,
+          () -> collectAllDescriptors(getFileDescriptorsAndDependencies(fileDescriptorSet)));
+    }
+    return DESCRIPTORS_WITHOUT_DEPENDENCIES.get(
+        fileDescriptorSet, () -> collectAllDescriptors(fileDescriptorSet));
+  }
 
+  private static CelDescriptors collectAllDescriptors(
+      ImmutableSet<FileDescriptor> allFileDescriptors) {
     CelDescriptors.Builder celDescriptorsBuilder = CelDescriptors.builder();
     allFileDescriptors.forEach(
         fd -> collectAllDescriptorsFromFileDescriptor(fd, celDescriptorsBuilder));
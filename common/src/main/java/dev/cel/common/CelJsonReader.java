@@ -0,0 +1,755 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dev.cel.common.annotations.Internal;
+import dev.cel.common.values.NullValue;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@code CelJsonReader} parses JSON text directly into Java native objects representing CEL
+ * values, without materializing an intermediate {@code google.protobuf.Value} tree.
+ *
+ * <p>JSON values are mapped the same way CEL maps {@code google.protobuf.Value}: objects become
+ * {@code map(string, dyn)} as an {@link ImmutableMap}, arrays become {@code list(dyn)} as an {@link
+ * ImmutableList}, numbers become {@code double}, and {@code null} becomes {@link
+ * NullValue#NULL_VALUE}. When an object has duplicate keys, the last one wins.
+ *
+ * <p>Input is read incrementally. A reader can consume a sequence of whitespace-separated top-level
+ * values, such as newline-delimited JSON, one value at a time through {@link #hasNext} and {@link
+ * #next}.
+ *
+ * <p>Input is tokenized as UTF-8 bytes, and only the contents of strings are decoded. Characters
+ * from a {@link Reader} are encoded as they are read. Malformed UTF-8 is reported as an error
+ * rather than replaced. Offsets in error messages count bytes.
+ */
+public final class CelJsonReader implements Closeable {
+  private static final int MAX_DEPTH = 512;
+  private static final int BUFFER_SIZE = 8192;
+
+  // Null when reading an in-memory buffer, which holds the input in full.
+  private final @Nullable InputStream input;
+  // Only accessed through absolute reads.
+  private final ByteBuffer buffer;
+  private final CharsetDecoder decoder =
+      UTF_8
+          .newDecoder()
+          .onMalformedInput(CodingErrorAction.REPORT)
+          .onUnmappableCharacter(CodingErrorAction.REPORT);
+  private final StringBuilder scratch = new StringBuilder();
+  // Undecoded bytes of a string which spans buffer refills or contains escapes.
+  private byte[] scratchBytes = new byte[64];
+  private int scratchBytesLength;
+  private int pos;
+  private int limit;
+  // Number of bytes consumed before the start of the buffer, used for error reporting.
+  private long bufferOffset;
+  // Closing brackets of the objects and arrays entered through beginObject and beginArray.
+  private char[] openContainers = new char[8];
+  private int openContainerCount;
+  private boolean firstMember;
+
+  /** Creates a reader over the characters of {@code reader}. */
+  public static CelJsonReader create(Reader reader) {
+    return new CelJsonReader(new Utf8EncodingInputStream(reader));
+  }
+
+  /** Creates a reader over the UTF-8 encoded {@code input}. */
+  public static CelJsonReader create(InputStream input) {
+    return new CelJsonReader(input);
+  }
+
+  /**
+   * Creates a reader over the UTF-8 encoded JSON text in {@code json}, positioned at {@code
+   * offset}. The buffer is addressed from index zero up to its limit, regardless of its position,
+   * and is read in place. It must not be modified while the reader is in use. Such a reader never
+   * throws {@link IOException}.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public static CelJsonReader createAt(ByteBuffer json, int offset) {
+    return new CelJsonReader(json, offset);
+  }
+
+  /**
+   * Parses {@code json}, which must contain exactly one JSON value.
+   *
+   * @throws IllegalArgumentException If the text is not a single well-formed JSON value.
+   */
+  public static Object parse(String json) {
+    ByteBuffer bytes;
+    try {
+      bytes = UTF_8.newEncoder().encode(CharBuffer.wrap(json));
+    } catch (CharacterCodingException e) {
+      throw new IllegalArgumentException("Malformed JSON: unpaired surrogate character", e);
+    }
+    CelJsonReader reader = createAt(bytes, 0);
+    try {
+      Object value = reader.next();
+      if (reader.hasNext()) {
+        throw reader.syntaxError("unexpected content after the JSON value");
+      }
+      return value;
+    } catch (IOException e) {
+      // In-memory readers do not throw IOException.
+      throw new AssertionError(e);
+    }
+  }
+
+  /** Returns whether another top-level value follows in the input. */
+  public boolean hasNext() throws IOException {
+    skipWhitespace();
+    return pos < limit || fill();
+  }
+
+  /**
+   * Reads the next top-level value.
+   *
+   * @throws NoSuchElementException If the end of the input was reached.
+   * @throws IllegalArgumentException If the input is not well-formed JSON.
+   */
+  public Object next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more JSON values in the input");
+    }
+    return readValue(0);
+  }
+
+  /**
+   * Returns the offset of the next byte to be read.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public long offset() {
+    return bufferOffset + pos;
+  }
+
+  /**
+   * Skips whitespace and returns the first character of the next value without consuming it.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public char peekValue() throws IOException {
+    skipWhitespace();
+    return peek();
+  }
+
+  /**
+   * Skips the next value without decoding it. Only quotes and brackets are matched, so malformed
+   * content inside the value is not reported.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public void skipValue() throws IOException {
+    char c = peekValue();
+    switch (c) {
+      case '{':
+      case '[':
+        skipContainer();
+        return;
+      case '"':
+        pos++;
+        skipString();
+        return;
+      case 't':
+        expectLiteral("true");
+        return;
+      case 'f':
+        expectLiteral("false");
+        return;
+      case 'n':
+        expectLiteral("null");
+        return;
+      default:
+        long start = offset();
+        while (isNumberChar(peekOrEof())) {
+          pos++;
+        }
+        if (offset() == start) {
+          throw syntaxError("unexpected character '" + c + "'");
+        }
+    }
+  }
+
+  /**
+   * Consumes the opening brace of an object, whose members are then visited through {@link
+   * #hasNextMember} and {@link #nextName}.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public void beginObject() throws IOException {
+    skipWhitespace();
+    expect('{');
+    enterContainer('}');
+  }
+
+  /**
+   * Consumes the opening bracket of an array, whose elements are then visited through {@link
+   * #hasNextMember}.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public void beginArray() throws IOException {
+    skipWhitespace();
+    expect('[');
+    enterContainer(']');
+  }
+
+  /**
+   * Consumes the separator before the next member of the innermost object or array entered, and
+   * returns whether there is one. Once it returns false, the closing bracket has been consumed and
+   * iteration resumes in the enclosing container. A member may itself be entered, or otherwise
+   * must be read or skipped before the next call.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public boolean hasNextMember() throws IOException {
+    if (openContainerCount == 0) {
+      throw new IllegalStateException("No object or array has been entered");
+    }
+    char memberEnd = openContainers[openContainerCount - 1];
+    skipWhitespace();
+    char c = peek();
+    if (c == memberEnd) {
+      pos++;
+      openContainerCount--;
+      // The enclosing container, if any, is past its first member.
+      firstMember = false;
+      return false;
+    }
+    if (firstMember) {
+      firstMember = false;
+      return true;
+    }
+    if (c != ',') {
+      throw syntaxError("expected ',' or '" + memberEnd + "' but found '" + c + "'");
+    }
+    pos++;
+    skipWhitespace();
+    return true;
+  }
+
+  /**
+   * Reads the name of the next object member and the colon following it.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public String nextName() throws IOException {
+    skipWhitespace();
+    expect('"');
+    String name = readString();
+    skipWhitespace();
+    expect(':');
+    skipWhitespace();
+    return name;
+  }
+
+  /**
+   * Returns an error for malformed input at the current offset.
+   *
+   * <p>CEL Library Internals. Do Not Use.
+   */
+  @Internal
+  public IllegalArgumentException syntaxError(String message) {
+    return syntaxError(offset(), message);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (input != null) {
+      input.close();
+    }
+  }
+
+  private void enterContainer(char end) {
+    if (openContainerCount > MAX_DEPTH) {
+      throw syntaxError("nesting depth exceeds " + MAX_DEPTH);
+    }
+    if (openContainerCount == openContainers.length) {
+      openContainers = Arrays.copyOf(openContainers, openContainerCount * 2);
+    }
+    openContainers[openContainerCount++] = end;
+    firstMember = true;
+  }
+
+  private Object readValue(int depth) throws IOException {
+    if (depth > MAX_DEPTH) {
+      throw syntaxError("nesting depth exceeds " + MAX_DEPTH);
+    }
+    skipWhitespace();
+    char c = peek();
+    switch (c) {
+      case '{':
+        return readObject(depth);
+      case '[':
+        return readArray(depth);
+      case '"':
+        pos++;
+        return readString();
+      case 't':
+        expectLiteral("true");
+        return true;
+      case 'f':
+        expectLiteral("false");
+        return false;
+      case 'n':
+        expectLiteral("null");
+        return NullValue.NULL_VALUE;
+      default:
+        if (c == '-' || isDigit(c)) {
+          return readNumber();
+        }
+        throw syntaxError("unexpected character '" + c + "'");
+    }
+  }
+
+  private ImmutableMap<String, Object> readObject(int depth) throws IOException {
+    pos++; // '{'
+    skipWhitespace();
+    if (peek() == '}') {
+      pos++;
+      return ImmutableMap.of();
+    }
+    ImmutableMap.Builder<String, Object> fields = ImmutableMap.builder();
+    while (true) {
+      skipWhitespace();
+      expect('"');
+      String key = readString();
+      skipWhitespace();
+      expect(':');
+      fields.put(key, readValue(depth + 1));
+      skipWhitespace();
+      char c = read();
+      if (c == '}') {
+        return fields.buildKeepingLast();
+      }
+      if (c != ',') {
+        throw syntaxError("expected ',' or '}' but found '" + c + "'");
+      }
+    }
+  }
+
+  private ImmutableList<Object> readArray(int depth) throws IOException {
+    pos++; // '['
+    skipWhitespace();
+    if (peek() == ']') {
+      pos++;
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<Object> elements = ImmutableList.builder();
+    while (true) {
+      elements.add(readValue(depth + 1));
+      skipWhitespace();
+      char c = read();
+      if (c == ']') {
+        return elements.build();
+      }
+      if (c != ',') {
+        throw syntaxError("expected ',' or ']' but found '" + c + "'");
+      }
+    }
+  }
+
+  /** Reads the remainder of a string whose opening quote has been consumed. */
+  private String readString() throws IOException {
+    // Fast path for strings without escapes which lie within the buffer.
+    int start = pos;
+    boolean isAscii = true;
+    while (pos < limit) {
+      byte b = buffer.get(pos);
+      if (b == '"') {
+        String value = decode(start, pos, isAscii);
+        pos++;
+        return value;
+      }
+      if (b == '\\' || (b >= 0 && b < 0x20)) {
+        break;
+      }
+      isAscii &= b >= 0;
+      pos++;
+    }
+
+    // Undecoded bytes are collected up to the next escape or the closing quote. Those are ASCII,
+    // so no multi-byte sequence is split when the collected bytes are decoded.
+    scratch.setLength(0);
+    scratchBytesLength = 0;
+    appendScratchBytes(start, pos);
+    while (true) {
+      if (pos == limit && !fill()) {
+        throw syntaxError("unterminated string");
+      }
+      start = pos;
+      while (pos < limit) {
+        byte b = buffer.get(pos);
+        if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+          break;
+        }
+        pos++;
+      }
+      appendScratchBytes(start, pos);
+      if (pos == limit) {
+        continue;
+      }
+      byte b = buffer.get(pos);
+      if (b == '"') {
+        decodeScratchBytes();
+        pos++;
+        return scratch.toString();
+      }
+      if (b != '\\') {
+        throw syntaxError("unescaped control character in string");
+      }
+      decodeScratchBytes();
+      pos++; // '\\'
+      scratch.append(readEscape());
+    }
+  }
+
+  /** Decodes the UTF-8 bytes of the buffer from {@code start} to {@code end}. */
+  private String decode(int start, int end, boolean isAscii) {
+    if (isAscii && buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + start, end - start, ISO_8859_1);
+    }
+    ByteBuffer bytes = buffer.duplicate();
+    bytes.limit(end).position(start);
+    return decode(bytes, start);
+  }
+
+  private String decode(ByteBuffer bytes, int start) {
+    try {
+      return decoder.decode(bytes).toString();
+    } catch (CharacterCodingException e) {
+      throw syntaxError(bufferOffset + start, "malformed UTF-8 in string");
+    }
+  }
+
+  private void appendScratchBytes(int start, int end) {
+    int length = end - start;
+    int required = scratchBytesLength + length;
+    if (required > scratchBytes.length) {
+      scratchBytes = Arrays.copyOf(scratchBytes, Math.max(scratchBytes.length * 2, required));
+    }
+    ByteBuffer bytes = buffer.duplicate();
+    bytes.position(start);
+    bytes.get(scratchBytes, scratchBytesLength, length);
+    scratchBytesLength += length;
+  }
+
+  private void decodeScratchBytes() {
+    if (scratchBytesLength > 0) {
+      scratch.append(decode(ByteBuffer.wrap(scratchBytes, 0, scratchBytesLength), pos));
+      scratchBytesLength = 0;
+    }
+  }
+
+  /** Skips the remainder of a string whose opening quote has been consumed. */
+  private void skipString() throws IOException {
+    while (true) {
+      char c = read();
+      if (c == '"') {
+        return;
+      }
+      if (c == '\\') {
+        read();
+      }
+    }
+  }
+
+  private void skipContainer() throws IOException {
+    char end = read() == '{' ? '}' : ']';
+    int depth = 1;
+    while (true) {
+      char c = read();
+      switch (c) {
+        case '"':
+          skipString();
+          break;
+        case '{':
+        case '[':
+          if (++depth > MAX_DEPTH) {
+            throw syntaxError("nesting depth exceeds " + MAX_DEPTH);
+          }
+          break;
+        case '}':
+        case ']':
+          if (--depth == 0) {
+            if (c != end) {
+              pos--;
+              throw syntaxError("mismatched '" + c + "'");
+            }
+            return;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private char readEscape() throws IOException {
+    char c = read();
+    switch (c) {
+      case '"':
+      case '\\':
+      case '/':
+        return c;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        int codeUnit = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(read(), 16);
+          if (digit < 0) {
+            throw syntaxError("invalid unicode escape");
+          }
+          codeUnit = (codeUnit << 4) | digit;
+        }
+        return (char) codeUnit;
+      default:
+        throw syntaxError("invalid escape character '" + c + "'");
+    }
+  }
+
+  private Double readNumber() throws IOException {
+    long start = offset();
+    scratch.setLength(0);
+    if (peekOrEof() == '-') {
+      scratch.append(read());
+    }
+    char c = read();
+    if (!isDigit(c)) {
+      throw syntaxError(start, "invalid number");
+    }
+    scratch.append(c);
+    if (c != '0') {
+      appendDigits();
+    }
+    if (peekOrEof() == '.') {
+      scratch.append(read());
+      if (appendDigits() == 0) {
+        throw syntaxError(start, "invalid number");
+      }
+    }
+    c = peekOrEof();
+    if (c == 'e' || c == 'E') {
+      scratch.append(read());
+      c = peekOrEof();
+      if (c == '+' || c == '-') {
+        scratch.append(read());
+      }
+      if (appendDigits() == 0) {
+        throw syntaxError(start, "invalid number");
+      }
+    }
+    if (isNumberChar(peekOrEof())) {
+      // Such as a leading zero, or a second decimal point.
+      throw syntaxError(start, "invalid number");
+    }
+    return Double.parseDouble(scratch.toString());
+  }
+
+  private int appendDigits() throws IOException {
+    int count = 0;
+    while (isDigit(peekOrEof())) {
+      scratch.append(read());
+      count++;
+    }
+    return count;
+  }
+
+  private void expectLiteral(String literal) throws IOException {
+    for (int i = 0; i < literal.length(); i++) {
+      if (read() != literal.charAt(i)) {
+        throw syntaxError("expected '" + literal + "'");
+      }
+    }
+  }
+
+  private void expect(char expected) throws IOException {
+    char c = read();
+    if (c != expected) {
+      throw syntaxError("expected '" + expected + "' but found '" + c + "'");
+    }
+  }
+
+  private void skipWhitespace() throws IOException {
+    while (pos < limit || fill()) {
+      byte b = buffer.get(pos);
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  /**
+   * Returns the next byte without consuming it. Bytes of multi-byte UTF-8 sequences, which only
+   * occur within strings in well-formed input, are returned as the Latin-1 character of the same
+   * value.
+   */
+  private char peek() throws IOException {
+    if (pos == limit && !fill()) {
+      throw syntaxError("unexpected end of input");
+    }
+    return (char) (buffer.get(pos) & 0xff);
+  }
+
+  /** Returns the next byte without consuming it, or {@code '\0'} at the end of the input. */
+  private char peekOrEof() throws IOException {
+    return pos < limit || fill() ? (char) (buffer.get(pos) & 0xff) : '\0';
+  }
+
+  private char read() throws IOException {
+    char c = peek();
+    pos++;
+    return c;
+  }
+
+  /** Refills the buffer. Returns false if the end of the input was reached. */
+  private boolean fill() throws IOException {
+    if (input == null) {
+      return false;
+    }
+    bufferOffset += limit;
+    pos = 0;
+    limit = 0;
+    int count;
+    do {
+      count = input.read(buffer.array(), 0, BUFFER_SIZE);
+    } while (count == 0);
+    if (count < 0) {
+      return false;
+    }
+    limit = count;
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isNumberChar(char c) {
+    return isDigit(c) || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+  }
+
+  private static IllegalArgumentException syntaxError(long offset, String message) {
+    return new IllegalArgumentException(
+        String.format("Malformed JSON at offset %d: %s", offset, message));
+  }
+
+  private CelJsonReader(InputStream input) {
+    this.input = input;
+    this.buffer = ByteBuffer.wrap(new byte[BUFFER_SIZE]);
+  }
+
+  private CelJsonReader(ByteBuffer json, int offset) {
+    this.input = null;
+    this.buffer = json;
+    this.pos = offset;
+    this.limit = json.limit();
+  }
+
+  /**
+   * Encodes the characters of a {@link Reader} as UTF-8. Only bulk reads of at least four bytes,
+   * enough for any character, are supported.
+   */
+  private static final class Utf8EncodingInputStream extends InputStream {
+    private final Reader reader;
+    private final CharsetEncoder encoder =
+        UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private boolean endOfInput;
+    private boolean flushed;
+
+    private Utf8EncodingInputStream(Reader reader) {
+      this.reader = reader;
+      chars.flip();
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (flushed) {
+        return -1;
+      }
+      ByteBuffer out = ByteBuffer.wrap(bytes, offset, length);
+      while (out.position() == offset) {
+        CoderResult result = encoder.encode(chars, out, endOfInput);
+        if (result.isError()) {
+          throw new IllegalArgumentException("Malformed JSON: unpaired surrogate character");
+        }
+        if (result.isOverflow()) {
+          break;
+        }
+        if (endOfInput) {
+          encoder.flush(out);
+          flushed = true;
+          break;
+        }
+        chars.compact();
+        endOfInput = reader.read(chars) < 0;
+        chars.flip();
+      }
+      int count = out.position() - offset;
+      return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public int read() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
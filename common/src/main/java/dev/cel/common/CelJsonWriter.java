@@ -0,0 +1,249 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.protobuf.ListValue;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@code CelJsonWriter} serializes Java native objects representing CEL values directly to JSON
+ * text, without materializing an intermediate {@link Value} tree.
+ *
+ * <p>Values are mapped to JSON the same way as {@link CelProtoJsonAdapter#adaptValueToJsonValue}.
+ * In addition, {@link Value}, {@link Struct} and {@link ListValue} messages are written as the JSON
+ * they represent. Integral numbers are written without a fractional part, and non-finite doubles
+ * are written as the strings {@code "NaN"}, {@code "Infinity"} and {@code "-Infinity"}.
+ */
+public final class CelJsonWriter {
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * Writes the JSON representation of {@code value} to {@code out}.
+   *
+   * @throws IllegalArgumentException If the value, or any value nested within it, is not
+   *     convertible to a canonical JSON representation defined by protobuf, or if a map has a
+   *     non-string key. Output written before the error is encountered is not rolled back.
+   */
+  public static void write(Object value, Appendable out) throws IOException {
+    new JsonOutput(out).writeValue(value);
+  }
+
+  /**
+   * Writes the UTF-8 encoded JSON representation of {@code value} to {@code out}. The stream is
+   * flushed but not closed.
+   *
+   * @throws IllegalArgumentException If the value is not convertible to JSON. See {@link
+   *     #write(Object, Appendable)}.
+   */
+  public static void write(Object value, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+    new JsonOutput(writer).writeValue(value);
+    writer.flush();
+  }
+
+  /** Returns the JSON representation of {@code value} as a string. */
+  public static String toJsonString(Object value) {
+    StringBuilder sb = new StringBuilder();
+    try {
+      new JsonOutput(sb).writeValue(value);
+    } catch (IOException e) {
+      // StringBuilder does not throw IOException.
+      throw new AssertionError(e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Streams the JSON produced by {@link JsonValueMapper} to the output, along with the protobuf
+   * JSON messages that the mapping does not cover.
+   */
+  private static final class JsonOutput implements JsonValueMapper.Visitor<Void, IOException> {
+    private final Appendable out;
+
+    private void writeValue(Object value) throws IOException {
+      if (value instanceof Value) {
+        writeProtoValue((Value) value);
+      } else if (value instanceof Struct) {
+        visitObject(((Struct) value).getFieldsMap());
+      } else if (value instanceof ListValue) {
+        visitArray(((ListValue) value).getValuesList());
+      } else if (value instanceof NullValue) {
+        visitNull();
+      } else {
+        JsonValueMapper.map(value, this);
+      }
+    }
+
+    private void writeProtoValue(Value value) throws IOException {
+      switch (value.getKindCase()) {
+        case BOOL_VALUE:
+          visitBool(value.getBoolValue());
+          break;
+        case NUMBER_VALUE:
+          visitNumber(value.getNumberValue());
+          break;
+        case STRING_VALUE:
+          visitString(value.getStringValue());
+          break;
+        case STRUCT_VALUE:
+          visitObject(value.getStructValue().getFieldsMap());
+          break;
+        case LIST_VALUE:
+          visitArray(value.getListValue().getValuesList());
+          break;
+        case NULL_VALUE:
+        case KIND_NOT_SET:
+          visitNull();
+          break;
+      }
+    }
+
+    @Override
+    public @Nullable Void visitNull() throws IOException {
+      out.append("null");
+      return null;
+    }
+
+    @Override
+    public @Nullable Void visitBool(boolean value) throws IOException {
+      out.append(value ? "true" : "false");
+      return null;
+    }
+
+    @Override
+    public @Nullable Void visitNumber(double value) throws IOException {
+      writeDouble(value, out);
+      return null;
+    }
+
+    @Override
+    public @Nullable Void visitString(String value) throws IOException {
+      writeString(value, out);
+      return null;
+    }
+
+    @Override
+    public @Nullable Void visitObject(Map<?, ?> fields) throws IOException {
+      out.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> entry : fields.entrySet()) {
+        if (!(entry.getKey() instanceof String)) {
+          throw new IllegalArgumentException(
+              String.format("Map key %s cannot be adapted to a JSON object key.", entry.getKey()));
+        }
+        if (!first) {
+          out.append(',');
+        }
+        first = false;
+        writeString((String) entry.getKey(), out);
+        out.append(':');
+        writeValue(entry.getValue());
+      }
+      out.append('}');
+      return null;
+    }
+
+    @Override
+    public @Nullable Void visitArray(Iterable<?> elements) throws IOException {
+      out.append('[');
+      boolean first = true;
+      for (Object elem : elements) {
+        if (!first) {
+          out.append(',');
+        }
+        first = false;
+        writeValue(elem);
+      }
+      out.append(']');
+      return null;
+    }
+
+    private JsonOutput(Appendable out) {
+      this.out = out;
+    }
+  }
+
+  private static void writeDouble(double value, Appendable out) throws IOException {
+    if (Double.isNaN(value)) {
+      out.append("\"NaN\"");
+    } else if (Double.isInfinite(value)) {
+      out.append(value > 0 ? "\"Infinity\"" : "\"-Infinity\"");
+    } else if (value == Math.rint(value)
+        && Math.abs(value) <= JsonValueMapper.JSON_MAX_INT_VALUE) {
+      // Integral values are written without a fractional part. Negative zero keeps its sign.
+      out.append(value == 0 && 1 / value < 0 ? "-0" : Long.toString((long) value));
+    } else {
+      out.append(Double.toString(value));
+    }
+  }
+
+  private static void writeString(String value, Appendable out) throws IOException {
+    out.append('"');
+    writeEscaped(value, out);
+    out.append('"');
+  }
+
+  private static void writeEscaped(String value, Appendable out) throws IOException {
+    int start = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      out.append(value, start, i);
+      start = i + 1;
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        case '\b':
+          out.append("\\b");
+          break;
+        case '\f':
+          out.append("\\f");
+          break;
+        default:
+          out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+          break;
+      }
+    }
+    out.append(value, start, value.length());
+  }
+
+  private CelJsonWriter() {}
+}
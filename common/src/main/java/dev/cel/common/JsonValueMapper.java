@@ -0,0 +1,150 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.UnsignedLong;
+import com.google.protobuf.Duration;
+import com.google.protobuf.Empty;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Timestamp;
+import dev.cel.common.internal.DateTimeHelpers;
+import dev.cel.common.internal.ProtoTimeUtils;
+import dev.cel.common.values.CelByteString;
+import dev.cel.common.values.NullValue;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Maps Java native objects representing CEL values to the canonical JSON representation defined by
+ * protobuf. {@link CelProtoJsonAdapter} and {@link CelJsonWriter} share this mapping, and only
+ * differ in how they produce the JSON.
+ */
+final class JsonValueMapper {
+  static final long JSON_MAX_INT_VALUE = (1L << 53) - 1;
+  private static final long JSON_MIN_INT_VALUE = -JSON_MAX_INT_VALUE;
+  private static final UnsignedLong JSON_MAX_UINT_VALUE =
+      UnsignedLong.fromLongBits(JSON_MAX_INT_VALUE);
+
+  /** Receives the JSON value that a CEL value maps to. */
+  interface Visitor<T, E extends Exception> {
+    T visitNull() throws E;
+
+    T visitBool(boolean value) throws E;
+
+    T visitNumber(double value) throws E;
+
+    T visitString(String value) throws E;
+
+    /** Visits a JSON object. The keys of {@code fields} are not checked to be strings. */
+    T visitObject(Map<?, ?> fields) throws E;
+
+    /** Visits a JSON array. The elements are left to the visitor to map. */
+    T visitArray(Iterable<?> elements) throws E;
+  }
+
+  /**
+   * Maps {@code value} to JSON, passing the result to {@code visitor}.
+   *
+   * @throws IllegalArgumentException If the value is not convertible to a canonical JSON
+   *     representation defined by protobuf.
+   */
+  static <T, E extends Exception> T map(@Nullable Object value, Visitor<T, E> visitor) throws E {
+    if (value == null || value instanceof NullValue) {
+      return visitor.visitNull();
+    }
+    if (value instanceof Boolean) {
+      return visitor.visitBool((Boolean) value);
+    }
+    if (value instanceof Integer || value instanceof Long) {
+      long longValue = ((Number) value).longValue();
+      if (longValue < JSON_MIN_INT_VALUE || longValue > JSON_MAX_INT_VALUE) {
+        return visitor.visitString(Long.toString(longValue));
+      }
+      return visitor.visitNumber((double) longValue);
+    }
+    if (value instanceof UnsignedLong) {
+      if (((UnsignedLong) value).compareTo(JSON_MAX_UINT_VALUE) > 0) {
+        return visitor.visitString(value.toString());
+      }
+      return visitor.visitNumber((double) ((UnsignedLong) value).longValue());
+    }
+    if (value instanceof Float || value instanceof Double) {
+      return visitor.visitNumber(((Number) value).doubleValue());
+    }
+    if (value instanceof CelByteString) {
+      return visitor.visitString(
+          Base64.getEncoder().encodeToString(((CelByteString) value).toByteArray()));
+    }
+    if (value instanceof String) {
+      return visitor.visitString((String) value);
+    }
+    if (value instanceof Map) {
+      return visitor.visitObject((Map<?, ?>) value);
+    }
+    if (value instanceof Iterable) {
+      return visitor.visitArray((Iterable<?>) value);
+    }
+    if (value instanceof Timestamp) {
+      // CEL follows the proto3 to JSON conversion which formats as an RFC 3339 encoded JSON string.
+      return visitor.visitString(ProtoTimeUtils.toString((Timestamp) value));
+    }
+    if (value instanceof Duration) {
+      return visitor.visitString(ProtoTimeUtils.toString((Duration) value));
+    }
+    if (value instanceof Instant) {
+      // Instant's toString follows RFC 3339
+      return visitor.visitString(value.toString());
+    }
+    if (value instanceof java.time.Duration) {
+      return visitor.visitString(DateTimeHelpers.toString((java.time.Duration) value));
+    }
+    if (value instanceof FieldMask) {
+      return visitor.visitString(toJsonString((FieldMask) value));
+    }
+    if (value instanceof Empty) {
+      // google.protobuf.Empty is just an empty json map {}
+      return visitor.visitObject(ImmutableMap.of());
+    }
+
+    throw new IllegalArgumentException(
+        String.format("Value %s cannot be adapted to a JSON Value.", value));
+  }
+
+  /**
+   * Joins the field mask's paths into a single string with commas. This logic is copied from
+   * Protobuf's FieldMaskUtil.java, which we cannot directly use here due to its dependency to
+   * descriptors.
+   */
+  private static String toJsonString(FieldMask fieldMask) {
+    List<String> paths = new ArrayList<>(fieldMask.getPathsCount());
+
+    for (String path : fieldMask.getPathsList()) {
+      if (!path.isEmpty()) {
+        paths.add(CaseFormat.LOWER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, path));
+      }
+    }
+
+    return Joiner.on(",").join(paths);
+  }
+
+  private JsonValueMapper() {}
+}
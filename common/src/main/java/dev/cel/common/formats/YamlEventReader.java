@@ -0,0 +1,406 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.formats;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import dev.cel.common.annotations.Internal;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.AnchorNode;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * Pull reader over the events of a YAML document, for parsers which build their result directly
+ * instead of walking a composed {@link Node} tree.
+ *
+ * <p>Each YAML node is read as a sequence of events: a {@link ScalarEvent}, or a {@link
+ * CollectionStartEvent} followed by the entries of the collection and a {@link
+ * CollectionEndEvent}. The start event of a node carries its source position, and its tag is
+ * resolved by {@link #tagOf} exactly as SnakeYAML's composer would, so parsers report the same
+ * types and locations as they would for the composed node. Aliases are expanded by replaying the
+ * events of the anchored node.
+ *
+ * <p>CEL Library Internals. Do not use.
+ */
+@Internal
+public final class YamlEventReader {
+  private static final Resolver RESOLVER = new Resolver();
+
+  private final Iterator<Event> source;
+  private final int maxAliasesForCollections;
+  private final Map<String, List<Event>> anchors = new HashMap<>();
+  // Anchored nodes whose events are being recorded, innermost last.
+  private final List<Recording> recordings = new ArrayList<>();
+  // Events of the aliased nodes being replayed, innermost first.
+  private final Deque<Iterator<Event>> replays = new ArrayDeque<>();
+  private int collectionAliases;
+  private @Nullable Event peeked;
+  private @Nullable Mark documentStartMark;
+
+  /**
+   * Returns a reader positioned at the root node of the single document in {@code source}, or
+   * empty if the source contains no document.
+   *
+   * @throws YAMLException if the source is malformed. As the source is read incrementally, this
+   *     may also be thrown by any other method of the reader.
+   */
+  public static Optional<YamlEventReader> forSource(String source) {
+    LoaderOptions options = new LoaderOptions();
+    Iterator<Event> events =
+        new Yaml(new SafeConstructor(options)).parse(new StringReader(source)).iterator();
+    YamlEventReader reader = new YamlEventReader(events, options.getMaxAliasesForCollections());
+    reader.expect(StreamStartEvent.class);
+    if (reader.peek() instanceof StreamEndEvent) {
+      return Optional.empty();
+    }
+    reader.documentStartMark = reader.expect(DocumentStartEvent.class).getStartMark();
+    return Optional.of(reader);
+  }
+
+  /** Returns a reader over the events of an already composed {@code node}. */
+  public static YamlEventReader forNode(Node node) {
+    List<Event> events = new ArrayList<>();
+    appendEvents(node, events);
+    return new YamlEventReader(events.iterator(), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the tag of the node started by {@code event}, resolving implicit tags in the same
+   * manner as SnakeYAML's composer.
+   */
+  public static String tagOf(Event event) {
+    if (event instanceof ScalarEvent) {
+      ScalarEvent scalar = (ScalarEvent) event;
+      String tag = scalar.getTag();
+      if (tag == null || tag.equals("!")) {
+        return RESOLVER
+            .resolve(
+                NodeId.scalar, scalar.getValue(), scalar.getImplicit().canOmitTagInPlainScalar())
+            .getValue();
+      }
+      return tag;
+    }
+    if (event instanceof CollectionStartEvent) {
+      String tag = ((CollectionStartEvent) event).getTag();
+      if (tag == null || tag.equals("!")) {
+        return event instanceof MappingStartEvent ? Tag.MAP.getValue() : Tag.SEQ.getValue();
+      }
+      return tag;
+    }
+    throw new IllegalArgumentException("Not the start of a YAML node: " + event);
+  }
+
+  /** Returns the value of a scalar event, or an empty string for any other event. */
+  public static String scalarValue(Event event) {
+    return event instanceof ScalarEvent ? ((ScalarEvent) event).getValue() : "";
+  }
+
+  /** Returns the next event without consuming it. */
+  public Event peek() {
+    if (peeked == null) {
+      peeked = pull();
+    }
+    return peeked;
+  }
+
+  /** Consumes and returns the next event. */
+  public Event next() {
+    Event event = peek();
+    peeked = null;
+    return event;
+  }
+
+  /**
+   * Returns whether the collection being read has another entry. Once there are no entries left,
+   * the end event of the collection is consumed and false is returned.
+   */
+  public boolean hasNextEntry() {
+    if (peek() instanceof CollectionEndEvent) {
+      next();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Consumes the next node, including all of its entries, and returns its start event. This is
+   * typically used to read scalars such as mapping keys.
+   */
+  public Event nextNode() {
+    Event start = peek();
+    skipNode();
+    return start;
+  }
+
+  /** Consumes the remaining entries of the collection being read, and its end event. */
+  public void skipEntries() {
+    while (hasNextEntry()) {
+      skipNode();
+    }
+  }
+
+  /** Consumes the next node, including all of its entries. */
+  public void skipNode() {
+    int depth = 0;
+    do {
+      Event event = next();
+      if (event instanceof CollectionStartEvent) {
+        depth++;
+      } else if (event instanceof CollectionEndEvent) {
+        depth--;
+      }
+    } while (depth > 0);
+  }
+
+  /**
+   * Consumes the next node and composes it into a {@link Node}, for handing subtrees to code which
+   * works on composed nodes.
+   */
+  public Node readNode() {
+    Event start = next();
+    Tag tag = new Tag(tagOf(start));
+    if (start instanceof ScalarEvent) {
+      ScalarEvent scalar = (ScalarEvent) start;
+      return new ScalarNode(
+          tag,
+          scalar.getValue(),
+          scalar.getStartMark(),
+          scalar.getEndMark(),
+          scalar.getScalarStyle());
+    }
+    CollectionStartEvent collection = (CollectionStartEvent) start;
+    if (start instanceof MappingStartEvent) {
+      List<NodeTuple> tuples = new ArrayList<>();
+      while (!(peek() instanceof CollectionEndEvent)) {
+        Node key = readNode();
+        tuples.add(new NodeTuple(key, readNode()));
+      }
+      return new MappingNode(
+          tag,
+          true,
+          tuples,
+          start.getStartMark(),
+          next().getEndMark(),
+          collection.getFlowStyle());
+    }
+    List<Node> elements = new ArrayList<>();
+    while (!(peek() instanceof CollectionEndEvent)) {
+      elements.add(readNode());
+    }
+    return new SequenceNode(
+        tag, true, elements, start.getStartMark(), next().getEndMark(), collection.getFlowStyle());
+  }
+
+  /**
+   * Consumes the end of the document, which must also be the end of the source.
+   *
+   * @throws YAMLException if the root node was not fully read or another document follows.
+   */
+  public void finish() {
+    expect(DocumentEndEvent.class);
+    if (peek() instanceof DocumentStartEvent) {
+      throw new ComposeException(
+          "expected a single document in the stream",
+          documentStartMark,
+          "but found another document",
+          peek().getStartMark());
+    }
+    expect(StreamEndEvent.class);
+  }
+
+  @CanIgnoreReturnValue
+  private Event expect(Class<? extends Event> eventClass) {
+    Event event = next();
+    if (!eventClass.isInstance(event)) {
+      throw new YAMLException(
+          String.format(
+              "expected %s but found %s at %s",
+              eventClass.getSimpleName(), event.getClass().getSimpleName(), event.getStartMark()));
+    }
+    return event;
+  }
+
+  private Event pull() {
+    while (true) {
+      Event event;
+      if (!replays.isEmpty()) {
+        Iterator<Event> replay = replays.peek();
+        if (!replay.hasNext()) {
+          replays.pop();
+          continue;
+        }
+        event = replay.next();
+      } else {
+        if (!source.hasNext()) {
+          throw new YAMLException("unexpected end of the YAML stream");
+        }
+        event = source.next();
+        if (event instanceof AliasEvent) {
+          replays.push(resolveAlias((AliasEvent) event).iterator());
+          continue;
+        }
+        String anchor = event instanceof NodeEvent ? ((NodeEvent) event).getAnchor() : null;
+        if (anchor != null) {
+          recordings.add(new Recording(anchor));
+        }
+      }
+      record(event);
+      return event;
+    }
+  }
+
+  private List<Event> resolveAlias(AliasEvent alias) {
+    List<Event> events = anchors.get(alias.getAnchor());
+    if (events == null) {
+      throw new ComposeException(
+          null, null, "found undefined alias " + alias.getAnchor(), alias.getStartMark());
+    }
+    if (events.get(0) instanceof CollectionStartEvent
+        && ++collectionAliases > maxAliasesForCollections) {
+      throw new YAMLException(
+          "Number of aliases for non-scalar nodes exceeds the specified max="
+              + maxAliasesForCollections);
+    }
+    return events;
+  }
+
+  /** Appends the event to the anchored nodes being recorded, completing the finished ones. */
+  private void record(Event event) {
+    for (int i = recordings.size() - 1; i >= 0; i--) {
+      Recording recording = recordings.get(i);
+      recording.events.add(event);
+      if (event instanceof CollectionStartEvent) {
+        recording.depth++;
+      } else if (event instanceof CollectionEndEvent) {
+        recording.depth--;
+      }
+      if (recording.depth == 0) {
+        anchors.put(recording.anchor, recording.events);
+        recordings.remove(i);
+      }
+    }
+  }
+
+  private static void appendEvents(Node node, List<Event> events) {
+    if (node instanceof AnchorNode) {
+      appendEvents(((AnchorNode) node).getRealNode(), events);
+      return;
+    }
+    String tag = node.getTag().getValue();
+    if (node instanceof ScalarNode) {
+      ScalarNode scalar = (ScalarNode) node;
+      events.add(
+          new ScalarEvent(
+              null,
+              tag,
+              new ImplicitTuple(false, false),
+              scalar.getValue(),
+              scalar.getStartMark(),
+              scalar.getEndMark(),
+              scalar.getScalarStyle()));
+    } else if (node instanceof MappingNode) {
+      MappingNode mapping = (MappingNode) node;
+      events.add(
+          new MappingStartEvent(
+              null,
+              tag,
+              false,
+              mapping.getStartMark(),
+              mapping.getEndMark(),
+              mapping.getFlowStyle()));
+      for (NodeTuple tuple : mapping.getValue()) {
+        appendEvents(tuple.getKeyNode(), events);
+        appendEvents(tuple.getValueNode(), events);
+      }
+      events.add(new MappingEndEvent(mapping.getEndMark(), mapping.getEndMark()));
+    } else {
+      SequenceNode sequence = (SequenceNode) node;
+      events.add(
+          new SequenceStartEvent(
+              null,
+              tag,
+              false,
+              sequence.getStartMark(),
+              sequence.getEndMark(),
+              sequence.getFlowStyle()));
+      for (Node element : sequence.getValue()) {
+        appendEvents(element, events);
+      }
+      events.add(new SequenceEndEvent(sequence.getEndMark(), sequence.getEndMark()));
+    }
+  }
+
+  private static final class Recording {
+    private final String anchor;
+    private final List<Event> events = new ArrayList<>();
+    private int depth;
+
+    private Recording(String anchor) {
+      this.anchor = anchor;
+    }
+  }
+
+  /** Composition errors, reported as SnakeYAML's composer reports them. */
+  private static final class ComposeException extends MarkedYAMLException {
+    private ComposeException(
+        @Nullable String context,
+        @Nullable Mark contextMark,
+        String problem,
+        Mark problemMark) {
+      super(context, contextMark, problem, problemMark);
+    }
+  }
+
+  private YamlEventReader(Iterator<Event> source, int maxAliasesForCollections) {
+    this.source = source;
+    this.maxAliasesForCollections = maxAliasesForCollections;
+  }
+}
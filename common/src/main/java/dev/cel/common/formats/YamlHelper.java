@@ -27,6 +27,7 @@ import java.util.function.Function;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.Event;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
@@ -67,10 +68,23 @@ public final class YamlHelper {
   /** Assert that a given YAML node matches one of the provided {@code YamlNodeType} values. */
   public static boolean assertYamlType(
       ParserContext<Node> ctx, long id, Node node, YamlNodeType... expectedNodeTypes) {
-    if (validateYamlType(node, expectedNodeTypes)) {
+    return assertYamlType(ctx, id, node.getTag().getValue(), expectedNodeTypes);
+  }
+
+  /**
+   * Assert that the YAML node started by {@code event} matches one of the provided {@code
+   * YamlNodeType} values.
+   */
+  public static boolean assertYamlType(
+      ParserContext<Event> ctx, long id, Event event, YamlNodeType... expectedNodeTypes) {
+    return assertYamlType(ctx, id, YamlEventReader.tagOf(event), expectedNodeTypes);
+  }
+
+  private static boolean assertYamlType(
+      ParserContext<?> ctx, long id, String nodeTag, YamlNodeType... expectedNodeTypes) {
+    if (validateYamlType(nodeTag, expectedNodeTypes)) {
       return true;
     }
-    String nodeTag = node.getTag().getValue();
 
     ctx.reportError(
         id,
@@ -85,6 +99,14 @@ public final class YamlHelper {
     return Optional.ofNullable(yaml.compose(new StringReader(policyContent)));
   }
 
+  /**
+   * Returns a reader over the events of the YAML document in {@code content}, without composing a
+   * {@link Node} tree. Returns empty if the content contains no document.
+   */
+  public static Optional<YamlEventReader> parseYamlEvents(String content) {
+    return YamlEventReader.forSource(content);
+  }
+
   public static boolean assertRequiredFields(
       ParserContext<Node> ctx, long id, List<String> missingRequiredFields) {
     if (missingRequiredFields.isEmpty()) {
@@ -99,7 +121,14 @@ public final class YamlHelper {
   }
 
   public static boolean validateYamlType(Node node, YamlNodeType... expectedNodeTypes) {
-    String nodeTag = node.getTag().getValue();
+    return validateYamlType(node.getTag().getValue(), expectedNodeTypes);
+  }
+
+  public static boolean validateYamlType(Event event, YamlNodeType... expectedNodeTypes) {
+    return validateYamlType(YamlEventReader.tagOf(event), expectedNodeTypes);
+  }
+
+  private static boolean validateYamlType(String nodeTag, YamlNodeType... expectedNodeTypes) {
     for (YamlNodeType expectedNodeType : expectedNodeTypes) {
       if (expectedNodeType.tag().equals(nodeTag)) {
         return true;
@@ -139,5 +168,36 @@ public final class YamlHelper {
     return ctx.newYamlString(node).value();
   }
 
+  public static Double newDouble(ParserContext<Event> ctx, Event event) {
+    long id = ctx.collectMetadata(event);
+    if (!assertYamlType(ctx, id, event, YamlNodeType.DOUBLE)) {
+      return 0.0;
+    }
+
+    return Double.parseDouble(YamlEventReader.scalarValue(event));
+  }
+
+  public static Integer newInteger(ParserContext<Event> ctx, Event event) {
+    long id = ctx.collectMetadata(event);
+    if (!assertYamlType(ctx, id, event, YamlNodeType.INTEGER)) {
+      return 0;
+    }
+
+    return Integer.parseInt(YamlEventReader.scalarValue(event));
+  }
+
+  public static boolean newBoolean(ParserContext<Event> ctx, Event event) {
+    long id = ctx.collectMetadata(event);
+    if (!assertYamlType(ctx, id, event, YamlNodeType.BOOLEAN)) {
+      return false;
+    }
+
+    return Boolean.parseBoolean(YamlEventReader.scalarValue(event));
+  }
+
+  public static String newString(ParserContext<Event> ctx, Event event) {
+    return ctx.newYamlString(event).value();
+  }
+
   private YamlHelper() {}
 }
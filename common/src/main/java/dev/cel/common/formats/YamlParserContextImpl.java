@@ -27,14 +27,20 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.yaml.snakeyaml.DumperOptions;
+import org.jspecify.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
 /**
  * Class to assist with storing generic configuration parsing context.
  *
+ * <p>The context works on composed YAML {@link Node}s. {@link #eventContext} offers the same
+ * context over the events read by a {@link YamlEventReader}.
+ *
  * <p>CEL Library Internals. Do not use.
  */
 @Internal
@@ -44,6 +50,7 @@ public final class YamlParserContextImpl implements ParserContext<Node> {
   private final HashMap<Long, CelSourceLocation> idToLocationMap;
   private final HashMap<Long, Integer> idToOffsetMap;
   private final Source policySource;
+  private final ParserContext<Event> eventContext;
   private long id;
 
   @Override
@@ -80,7 +87,10 @@ public final class YamlParserContextImpl implements ParserContext<Node> {
     }
 
     ScalarNode scalarNode = (ScalarNode) node;
-    ScalarStyle style = scalarNode.getScalarStyle();
+    return newSourceString(id, scalarNode.getScalarStyle(), scalarNode.getValue());
+  }
+
+  private ValueString newSourceString(long id, ScalarStyle style, String value) {
     if (style.equals(ScalarStyle.FOLDED) || style.equals(ScalarStyle.LITERAL)) {
       CelSourceLocation location = idToLocationMap.get(id);
       int line = location.getLine();
@@ -106,16 +116,21 @@ public final class YamlParserContextImpl implements ParserContext<Node> {
       return ValueString.of(id, raw.toString());
     }
 
-    return ValueString.of(id, scalarNode.getValue());
+    return ValueString.of(id, value);
   }
 
   @Override
   public long collectMetadata(Node node) {
+    ScalarStyle style = node instanceof ScalarNode ? ((ScalarNode) node).getScalarStyle() : null;
+    return collectMetadata(node.getStartMark(), style);
+  }
+
+  /** Records the position of a node, given the style of the node if it is a scalar. */
+  private long collectMetadata(Mark startMark, @Nullable ScalarStyle style) {
     long id = nextId();
-    int line = node.getStartMark().getLine() + 1; // Yaml lines are 0 indexed
-    int column = node.getStartMark().getColumn();
-    if (node instanceof ScalarNode) {
-      DumperOptions.ScalarStyle style = ((ScalarNode) node).getScalarStyle();
+    int line = startMark.getLine() + 1; // Yaml lines are 0 indexed
+    int column = startMark.getColumn();
+    if (style != null) {
       switch (style) {
         case SINGLE_QUOTED:
         case DOUBLE_QUOTED:
@@ -155,14 +170,75 @@ public final class YamlParserContextImpl implements ParserContext<Node> {
     return ++id;
   }
 
-  public static ParserContext<Node> newInstance(Source source) {
+  /**
+   * Returns a view of this context over YAML events. Both share the same ids, issues and source
+   * positions.
+   */
+  public ParserContext<Event> eventContext() {
+    return eventContext;
+  }
+
+  public static YamlParserContextImpl newInstance(Source source) {
     return new YamlParserContextImpl(source);
   }
 
+  private final class EventContext implements ParserContext<Event> {
+
+    @Override
+    public long nextId() {
+      return YamlParserContextImpl.this.nextId();
+    }
+
+    @Override
+    public long collectMetadata(Event event) {
+      ScalarStyle style =
+          event instanceof ScalarEvent ? ((ScalarEvent) event).getScalarStyle() : null;
+      return YamlParserContextImpl.this.collectMetadata(event.getStartMark(), style);
+    }
+
+    @Override
+    public void reportError(long id, String message) {
+      YamlParserContextImpl.this.reportError(id, message);
+    }
+
+    @Override
+    public List<CelIssue> getIssues() {
+      return issues;
+    }
+
+    @Override
+    public Map<Long, Integer> getIdToOffsetMap() {
+      return idToOffsetMap;
+    }
+
+    @Override
+    public ValueString newYamlString(Event event) {
+      long id = collectMetadata(event);
+      if (!assertYamlType(this, id, event, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+        return ValueString.of(id, ERROR);
+      }
+
+      return ValueString.of(id, ((ScalarEvent) event).getValue());
+    }
+
+    @Override
+    public ValueString newSourceString(Event event) {
+      long id = collectMetadata(event);
+      if (!assertYamlType(this, id, event, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+        return ValueString.of(id, ERROR);
+      }
+
+      ScalarEvent scalarEvent = (ScalarEvent) event;
+      return YamlParserContextImpl.this.newSourceString(
+          id, scalarEvent.getScalarStyle(), scalarEvent.getValue());
+    }
+  }
+
   private YamlParserContextImpl(Source source) {
     this.issues = new ArrayList<>();
     this.idToLocationMap = new HashMap<>();
     this.idToOffsetMap = new HashMap<>();
     this.policySource = source;
+    this.eventContext = new EventContext();
   }
 }
@@ -15,15 +15,18 @@
 package dev.cel.common.internal;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.annotations.Internal;
 import dev.cel.common.exceptions.CelBadFormatException;
+import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
 
 /** Collection of utility methods for CEL datetime handlings. */
@@ -41,6 +44,12 @@ public final class DateTimeHelpers {
   private static final long DURATION_SECONDS_MAX = 315576000000L;
   private static final int NANOS_PER_SECOND = 1000000000;
 
+  // Resolved time zones keyed by their CEL spelling. Rules typically reference a handful of zones,
+  // so a small bound is sufficient while keeping arbitrary user-supplied strings from accumulating.
+  private static final int MAX_CACHED_TIME_ZONES = 256;
+  private static final Cache<String, ZoneId> TIME_ZONE_CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_TIME_ZONES).build();
+
   /**
    * Constructs a new {@link LocalDateTime} instance
    *
@@ -76,17 +85,32 @@ public final class DateTimeHelpers {
    * @return A new {@link LocalDateTime} instance.
    */
   public static LocalDateTime newLocalDateTime(Instant instant, String tz) {
-    return instant.atZone(timeZone(tz)).toLocalDateTime();
+    return newLocalDateTime(instant, timeZone(tz));
+  }
+
+  /**
+   * Constructs a new {@link LocalDateTime} instance from a Java Instant and a time zone previously
+   * resolved through {@link #timeZone(String)}.
+   */
+  public static LocalDateTime newLocalDateTime(Instant instant, ZoneId zoneId) {
+    return LocalDateTime.ofInstant(instant, zoneId);
   }
 
   /**
    * Parse from RFC 3339 date string to {@link java.time.Instant}.
    *
-   * <p>Example of accepted format: "1972-01-01T10:00:20.021-05:00"
+   * <p>Example of accepted format: "1972-01-01T10:00:20.021-05:00". Any ISO-8601 date-time with
+   * an offset accepted by {@link java.time.OffsetDateTime#parse(CharSequence)} is accepted.
    */
   public static Instant parse(String text) {
-    OffsetDateTime offsetDateTime = OffsetDateTime.parse(text);
-    Instant instant = offsetDateTime.toInstant();
+    Instant instant;
+    try {
+      instant = ProtoTimeUtils.parseIsoInstant(text);
+    } catch (ParseException e) {
+      int index = e.getErrorOffset();
+      throw new DateTimeParseException(
+          "Text '" + text + "' could not be parsed at index " + index, text, index, e);
+    }
     checkValid(instant);
 
     return instant;
@@ -169,12 +193,23 @@ public final class DateTimeHelpers {
   }
 
   /**
-   * Get the DateTimeZone Instance.
+   * Get the DateTimeZone Instance. Resolved zones are cached, so repeated lookups of the same
+   * timezone string do not re-parse it or reload its rules.
    *
    * @param tz the ID of the datetime zone
    * @return the ZoneId object
+   * @throws CelBadFormatException if the timezone is invalid
    */
-  private static ZoneId timeZone(String tz) {
+  public static ZoneId timeZone(String tz) {
+    ZoneId zoneId = TIME_ZONE_CACHE.getIfPresent(tz);
+    if (zoneId == null) {
+      zoneId = resolveTimeZone(tz);
+      TIME_ZONE_CACHE.put(tz, zoneId);
+    }
+    return zoneId;
+  }
+
+  private static ZoneId resolveTimeZone(String tz) {
     try {
       return ZoneId.of(tz);
     } catch (DateTimeException e) {
@@ -256,5 +291,75 @@ public final class DateTimeHelpers {
     return true;
   }
 
+  /** Calendar fields of a timestamp, as returned by the standard CEL timestamp accessors. */
+  public enum DateTimeField {
+    FULL_YEAR {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getYear();
+      }
+    },
+    MONTH {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getMonthValue() - 1;
+      }
+    },
+    DAY_OF_YEAR {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getDayOfYear() - 1;
+      }
+    },
+    DAY_OF_MONTH {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getDayOfMonth() - 1;
+      }
+    },
+    DATE {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getDayOfMonth();
+      }
+    },
+    DAY_OF_WEEK {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        // CEL treats Sunday as day 0, but Java.time treats it as day 7.
+        return dateTime.getDayOfWeek().getValue() % 7;
+      }
+    },
+    HOURS {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getHour();
+      }
+    },
+    MINUTES {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getMinute();
+      }
+    },
+    SECONDS {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getSecond();
+      }
+    },
+    // Only the nanos-of-second field is needed for milliseconds.
+    @SuppressWarnings("JavaLocalDateTimeGetNano")
+    MILLISECONDS {
+      @Override
+      public long get(LocalDateTime dateTime) {
+        return dateTime.getNano() / 1_000_000;
+      }
+    };
+
+    /** Returns the value of this field in {@code dateTime}. */
+    public abstract long get(LocalDateTime dateTime);
+  }
+
   private DateTimeHelpers() {}
 }
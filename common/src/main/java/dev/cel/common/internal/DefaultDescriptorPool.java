@@ -90,6 +90,10 @@ public final class DefaultDescriptorPool implements CelDescriptorPool {
           ImmutableMultimap.of(),
           ExtensionRegistry.getEmptyRegistry());
 
+  // Pools without extensions are shared by every environment built from the same descriptors.
+  private static final DescriptorCache<CelDescriptors, DefaultDescriptorPool> POOLS =
+      DescriptorCache.createWithIdentityKeys();
+
   // K: Fully qualified message type name, V: Message descriptor
   private final ImmutableMap<String, Descriptor> descriptorMap;
 
@@ -106,6 +110,18 @@ public final class DefaultDescriptorPool implements CelDescriptorPool {
 
   public static DefaultDescriptorPool create(
       CelDescriptors celDescriptors, ExtensionRegistry extensionRegistry) {
+    if (extensionRegistry == ExtensionRegistry.getEmptyRegistry()) {
+      return POOLS.get(celDescriptors, () -> newPool(celDescriptors, extensionRegistry));
+    }
+    return newPool(celDescriptors, extensionRegistry);
+  }
+
+  public static Descriptor getWellKnownProtoDescriptor(WellKnownProto wellKnownProto) {
+    return WELL_KNOWN_PROTO_TO_DESCRIPTORS.get(wellKnownProto);
+  }
+
+  private static DefaultDescriptorPool newPool(
+      CelDescriptors celDescriptors, ExtensionRegistry extensionRegistry) {
     Map<String, Descriptor> descriptorMap =
         new HashMap<>(WELL_KNOWN_TYPE_NAME_TO_DESCRIPTORS); // Using a hashmap to allow deduping
 
@@ -119,10 +135,6 @@ public final class DefaultDescriptorPool implements CelDescriptorPool {
         extensionRegistry);
   }
 
-  public static Descriptor getWellKnownProtoDescriptor(WellKnownProto wellKnownProto) {
-    return WELL_KNOWN_PROTO_TO_DESCRIPTORS.get(wellKnownProto);
-  }
-
   @Override
   public Optional<Descriptor> findDescriptor(String name) {
     return Optional.ofNullable(descriptorMap.get(name));
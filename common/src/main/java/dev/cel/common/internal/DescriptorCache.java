@@ -0,0 +1,82 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import dev.cel.common.annotations.Internal;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Process-wide cache of values derived from protobuf descriptors, such as the descriptors collected
+ * from a set of files or the CEL types describing them.
+ *
+ * <p>Environments built from the same descriptors share the cached values instead of deriving them
+ * again. Values are weakly referenced, so an entry is dropped as soon as no environment uses its
+ * value any longer. The number of entries is bounded as well, so that servers which load
+ * descriptor sets dynamically cannot grow the cache without limit.
+ *
+ * <p>CEL Library Internals. Do Not Use.
+ */
+@ThreadSafe
+@Internal
+public final class DescriptorCache<K, V> {
+
+  private static final long MAXIMUM_SIZE = 256;
+
+  private final Cache<K, V> cache;
+
+  /** Creates a cache which compares its keys with {@link Object#equals}. */
+  public static <K, V> DescriptorCache<K, V> create() {
+    return createWithMaximumSize(MAXIMUM_SIZE);
+  }
+
+  /**
+   * Creates a cache which compares its keys by identity, and which does not prevent the keys from
+   * being garbage collected.
+   */
+  public static <K, V> DescriptorCache<K, V> createWithIdentityKeys() {
+    return new DescriptorCache<>(
+        CacheBuilder.newBuilder().weakKeys().weakValues().maximumSize(MAXIMUM_SIZE).build());
+  }
+
+  @VisibleForTesting
+  static <K, V> DescriptorCache<K, V> createWithMaximumSize(long maximumSize) {
+    return new DescriptorCache<>(
+        CacheBuilder.newBuilder().weakValues().maximumSize(maximumSize).build());
+  }
+
+  /**
+   * Returns the value cached for {@code key}, computing it with {@code loader} if absent.
+   * Concurrent callers for the same key wait for a single computation.
+   */
+  public V get(K key, Supplier<? extends V> loader) {
+    try {
+      return cache.get(key, loader::get);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private DescriptorCache(Cache<K, V> cache) {
+    this.cache = cache;
+  }
+}
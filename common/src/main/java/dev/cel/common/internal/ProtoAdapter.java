@@ -27,6 +27,7 @@ import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.EnumValueDescriptor;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Internal;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MapEntry;
 import com.google.protobuf.Message;
@@ -36,11 +37,14 @@ import dev.cel.common.annotations.Internal;
 import dev.cel.common.exceptions.CelNumericOverflowException;
 import dev.cel.common.values.CelByteString;
 import dev.cel.common.values.NullValue;
+import dev.cel.common.values.PrimitiveDoubleList;
+import dev.cel.common.values.PrimitiveLongList;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * The {@code ProtoAdapter} utilities handle conversion between native Java objects which represent
@@ -188,6 +192,10 @@ public final class ProtoAdapter {
       return Optional.of(map);
     }
     if (fieldDescriptor.isRepeated()) {
+      List<?> primitiveList = adaptToPrimitiveList(fieldDescriptor, (List<?>) fieldValue);
+      if (primitiveList != null) {
+        return Optional.of(primitiveList);
+      }
       BidiConverter bidiConverter = fieldToValueConverter(fieldDescriptor);
       if (bidiConverter == BidiConverter.IDENTITY) {
         return Optional.of(fieldValue);
@@ -268,6 +276,100 @@ public final class ProtoAdapter {
         fieldToValueConverter(fieldDescriptor).backwardConverter().convert(fieldValue));
   }
 
+  /**
+   * Copies a packed repeated int or double field into a primitive-backed list, reading the
+   * elements without boxing when the field is backed by a protobuf primitive list. Unsigned int
+   * fields are only copied when unsigned longs are disabled, as their elements are otherwise
+   * adapted to {@link UnsignedLong}. Returns null for all other fields.
+   */
+  @SuppressWarnings("unchecked")
+  private @Nullable List<?> adaptToPrimitiveList(
+      FieldDescriptor fieldDescriptor, List<?> fieldValue) {
+    if (!fieldDescriptor.isPacked()) {
+      return null;
+    }
+    int size = fieldValue.size();
+    switch (fieldDescriptor.getType()) {
+      case FIXED64:
+      case UINT64:
+        if (celOptions.enableUnsignedLongs()) {
+          return null;
+        }
+        return adaptToPrimitiveLongList(fieldValue);
+      case SFIXED64:
+      case SINT64:
+      case INT64:
+        return adaptToPrimitiveLongList(fieldValue);
+      case FIXED32:
+      case UINT32:
+        if (celOptions.enableUnsignedLongs()) {
+          return null;
+        }
+        return adaptIntsToPrimitiveLongList(fieldValue, /* unsigned= */ true);
+      case SFIXED32:
+      case SINT32:
+      case INT32:
+        return adaptIntsToPrimitiveLongList(fieldValue, /* unsigned= */ false);
+      case DOUBLE:
+        if (fieldValue instanceof Internal.DoubleList) {
+          Internal.DoubleList doubleList = (Internal.DoubleList) fieldValue;
+          double[] values = new double[size];
+          for (int i = 0; i < size; i++) {
+            values[i] = doubleList.getDouble(i);
+          }
+          return PrimitiveDoubleList.wrap(values);
+        }
+        return PrimitiveDoubleList.copyOf((List<? extends Number>) fieldValue);
+      case FLOAT:
+        if (fieldValue instanceof Internal.FloatList) {
+          Internal.FloatList floatList = (Internal.FloatList) fieldValue;
+          double[] values = new double[size];
+          for (int i = 0; i < size; i++) {
+            values[i] = floatList.getFloat(i);
+          }
+          return PrimitiveDoubleList.wrap(values);
+        }
+        return PrimitiveDoubleList.copyOf((List<? extends Number>) fieldValue);
+      default:
+        return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PrimitiveLongList adaptToPrimitiveLongList(List<?> fieldValue) {
+    if (fieldValue instanceof Internal.LongList) {
+      Internal.LongList longList = (Internal.LongList) fieldValue;
+      long[] values = new long[longList.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = longList.getLong(i);
+      }
+      return PrimitiveLongList.wrap(values);
+    }
+    return PrimitiveLongList.copyOf((List<? extends Number>) fieldValue);
+  }
+
+  /**
+   * Widens the elements of a 32-bit int field to longs, zero-extending them when {@code unsigned}
+   * is set.
+   */
+  private static PrimitiveLongList adaptIntsToPrimitiveLongList(
+      List<?> fieldValue, boolean unsigned) {
+    long[] values = new long[fieldValue.size()];
+    if (fieldValue instanceof Internal.IntList) {
+      Internal.IntList intList = (Internal.IntList) fieldValue;
+      for (int i = 0; i < values.length; i++) {
+        int value = intList.getInt(i);
+        values[i] = unsigned ? UnsignedInts.toLong(value) : value;
+      }
+    } else {
+      for (int i = 0; i < values.length; i++) {
+        int value = ((Number) fieldValue.get(i)).intValue();
+        values[i] = unsigned ? UnsignedInts.toLong(value) : value;
+      }
+    }
+    return PrimitiveLongList.wrap(values);
+  }
+
   private static List<?> filterOutNullValues(List<?> originalList) {
     List<Object> filteredList = null;
 
@@ -26,13 +26,8 @@ import com.google.protobuf.Timestamp;
 import dev.cel.common.annotations.Internal;
 import java.io.Serializable;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.Comparator;
-import java.util.Date;
-import java.util.GregorianCalendar;
-import java.util.Locale;
-import java.util.TimeZone;
 
 /**
  * Utility methods for handling {@code protobuf/duration.proto} and {@code
@@ -46,7 +41,7 @@ import java.util.TimeZone;
  */
 @Internal
 // Forked from protobuf-java-utils. Retaining units/date API for parity.
-@SuppressWarnings({"GoodTime-ApiWithNumericTimeUnit", "JavaUtilDate"})
+@SuppressWarnings("GoodTime-ApiWithNumericTimeUnit")
 public final class ProtoTimeUtils {
 
   // Timestamp for "0001-01-01T00:00:00Z"
@@ -68,14 +63,13 @@ public final class ProtoTimeUtils {
 
   private static final long SECONDS_PER_MINUTE = 60L;
   private static final long SECONDS_PER_HOUR = SECONDS_PER_MINUTE * 60;
+  private static final long SECONDS_PER_DAY = SECONDS_PER_HOUR * 24;
+  // Largest offset from UTC accepted by java.time.ZoneOffset.
+  private static final long MAX_OFFSET_SECONDS = SECONDS_PER_HOUR * 18;
 
-  private static final ThreadLocal<SimpleDateFormat> TIMESTAMP_FORMAT =
-      new ThreadLocal<SimpleDateFormat>() {
-        @Override
-        protected SimpleDateFormat initialValue() {
-          return createTimestampFormat();
-        }
-      };
+  // Days between 0000-03-01 and 1970-01-01 in the proleptic Gregorian calendar.
+  private static final long DAYS_0000_TO_1970 = 719468L;
+  private static final long DAYS_PER_400_YEARS = 146097L;
 
   private enum TimestampComparator implements Comparator<Timestamp>, Serializable {
     INSTANCE;
@@ -111,16 +105,6 @@ public final class ProtoTimeUtils {
   public static final Duration DURATION_ZERO =
       Duration.newBuilder().setSeconds(0L).setNanos(0).build();
 
-  private static SimpleDateFormat createTimestampFormat() {
-    SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ENGLISH);
-    GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
-    // We use Proleptic Gregorian Calendar (i.e., Gregorian calendar extends
-    // backwards to year one) for timestamp formatting.
-    calendar.setGregorianChange(new Date(Long.MIN_VALUE));
-    sdf.setCalendar(calendar);
-    return sdf;
-  }
-
   /** Convert a {@link Instant} object to proto-based {@link Timestamp}. */
   public static Timestamp toProtoTimestamp(Instant instant) {
     return normalizedTimestamp(instant.getEpochSecond(), instant.getNano());
@@ -247,20 +231,58 @@ public final class ProtoTimeUtils {
   public static String toString(Timestamp timestamp) {
     checkValid(timestamp);
 
-    long seconds = timestamp.getSeconds();
-    int nanos = timestamp.getNanos();
+    return formatTimestamp(timestamp.getSeconds(), timestamp.getNanos());
+  }
 
-    StringBuilder result = new StringBuilder();
-    // Format the seconds part.
-    Date date = new Date(seconds * MILLIS_PER_SECOND);
-    result.append(TIMESTAMP_FORMAT.get().format(date));
-    // Format the nanos part.
+  /**
+   * Formats the given epoch seconds and nanos as an RFC 3339 UTC date string, in the same manner as
+   * {@link #toString(Timestamp)}. The date is computed arithmetically in the proleptic Gregorian
+   * calendar, without allocating calendar or formatter objects.
+   *
+   * @throws IllegalArgumentException if the seconds and nanos are not a valid timestamp.
+   */
+  public static String formatTimestamp(long seconds, int nanos) {
+    if (!isTimestampValid(seconds, nanos)) {
+      throw new IllegalArgumentException(
+          Strings.lenientFormat(
+              "Timestamp is not valid. Seconds (%s) and nanos (%s) are out of range.",
+              seconds, nanos));
+    }
+
+    long days = Math.floorDiv(seconds, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+
+    // Civil date from days since epoch, counting years from March 1st so that the leap day is the
+    // last day of the year. See http://howardhinnant.github.io/date_algorithms.html.
+    long shiftedDays = days + DAYS_0000_TO_1970;
+    long era = Math.floorDiv(shiftedDays, DAYS_PER_400_YEARS);
+    int dayOfEra = (int) (shiftedDays - era * DAYS_PER_400_YEARS);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    int year = (int) (era * 400 + yearOfEra) + (month <= 2 ? 1 : 0);
+
+    char[] buf = new char[30];
+    writeDigits(buf, 0, year, 4);
+    buf[4] = '-';
+    writeDigits(buf, 5, month, 2);
+    buf[7] = '-';
+    writeDigits(buf, 8, day, 2);
+    buf[10] = 'T';
+    writeDigits(buf, 11, secondOfDay / 3600, 2);
+    buf[13] = ':';
+    writeDigits(buf, 14, secondOfDay / 60 % 60, 2);
+    buf[16] = ':';
+    writeDigits(buf, 17, secondOfDay % 60, 2);
+    int length = 19;
     if (nanos != 0) {
-      result.append(".");
-      result.append(formatNanos(nanos));
+      buf[length++] = '.';
+      length = writeNanos(buf, length, nanos);
     }
-    result.append("Z");
-    return result.toString();
+    buf[length++] = 'Z';
+    return new String(buf, 0, length);
   }
 
   /**
@@ -304,52 +326,9 @@ public final class ProtoTimeUtils {
    * @throws ParseException if parsing fails
    */
   public static Timestamp parse(String value) throws ParseException {
-    int dayOffset = value.indexOf('T');
-    if (dayOffset == -1) {
-      throw new ParseException("Failed to parse timestamp: invalid timestamp \"" + value + "\"", 0);
-    }
-    int timezoneOffsetPosition = value.indexOf('Z', dayOffset);
-    if (timezoneOffsetPosition == -1) {
-      timezoneOffsetPosition = value.indexOf('+', dayOffset);
-    }
-    if (timezoneOffsetPosition == -1) {
-      timezoneOffsetPosition = value.indexOf('-', dayOffset);
-    }
-    if (timezoneOffsetPosition == -1) {
-      throw new ParseException("Failed to parse timestamp: missing valid timezone offset.", 0);
-    }
-    // Parse seconds and nanos.
-    String timeValue = value.substring(0, timezoneOffsetPosition);
-    String secondValue = timeValue;
-    String nanoValue = "";
-    int pointPosition = timeValue.indexOf('.');
-    if (pointPosition != -1) {
-      secondValue = timeValue.substring(0, pointPosition);
-      nanoValue = timeValue.substring(pointPosition + 1);
-    }
-    Date date = TIMESTAMP_FORMAT.get().parse(secondValue);
-    long seconds = date.getTime() / MILLIS_PER_SECOND;
-    int nanos = nanoValue.isEmpty() ? 0 : parseNanos(nanoValue);
-    // Parse timezone offsets.
-    if (value.charAt(timezoneOffsetPosition) == 'Z') {
-      if (value.length() != timezoneOffsetPosition + 1) {
-        throw new ParseException(
-            "Failed to parse timestamp: invalid trailing data \""
-                + value.substring(timezoneOffsetPosition)
-                + "\"",
-            0);
-      }
-    } else {
-      String offsetValue = value.substring(timezoneOffsetPosition + 1);
-      long offset = parseTimezoneOffset(offsetValue);
-      if (value.charAt(timezoneOffsetPosition) == '+') {
-        seconds -= offset;
-      } else {
-        seconds += offset;
-      }
-    }
+    Instant instant = parseInstant(value);
     try {
-      Timestamp timestamp = normalizedTimestamp(seconds, nanos);
+      Timestamp timestamp = normalizedTimestamp(instant.getEpochSecond(), instant.getNano());
       return checkValid(timestamp);
     } catch (IllegalArgumentException e) {
       ParseException ex =
@@ -360,6 +339,155 @@ public final class ProtoTimeUtils {
     }
   }
 
+  /**
+   * Parses an RFC 3339 date string of the form {@code yyyy-MM-ddTHH:mm:ss[.f*](Z|±HH:MM)} into an
+   * {@link Instant}. Unlike {@link #parse(String)}, the result is not checked against the range of
+   * {@link Timestamp}.
+   *
+   * <p>The string is scanned in a single pass without intermediate substrings, and the date is
+   * converted arithmetically in the proleptic Gregorian calendar.
+   *
+   * <p>As with a lenient calendar, fields past their range roll over into the next larger field:
+   * the leap second {@code 23:59:60} is the first second of the next day, and {@code 2021-02-29}
+   * is {@code 2021-03-01}. Fractional digits past nanosecond precision are ignored, and the
+   * fraction may be empty. Each field must still have its fixed number of digits.
+   *
+   * @throws ParseException if parsing fails. The error offset is the index of the offending
+   *     character.
+   */
+  public static Instant parseInstant(String value) throws ParseException {
+    return parseInstant(value, /* isoOffsetDateTime= */ false);
+  }
+
+  /**
+   * Parses an ISO-8601 date-time with an offset into an {@link Instant}, accepting the same strings
+   * as {@link java.time.OffsetDateTime#parse(CharSequence)}. In addition to the strings accepted by
+   * {@link #parseInstant(String)}, the {@code T} and {@code Z} designators may be lowercase, the
+   * seconds may be omitted, the fraction may be empty, and the offset may be written as {@code
+   * ±HH}, {@code ±HH:MM} or {@code ±HH:MM:SS} up to 18 hours.
+   *
+   * @throws ParseException if parsing fails. The error offset is the index of the offending
+   *     character.
+   */
+  public static Instant parseIsoInstant(String value) throws ParseException {
+    return parseInstant(value, /* isoOffsetDateTime= */ true);
+  }
+
+  private static Instant parseInstant(String value, boolean isoOffsetDateTime)
+      throws ParseException {
+    int length = value.length();
+    int year = parseDigits(value, 0, 4);
+    expectChar(value, 4, '-');
+    int month = parseDigits(value, 5, 2);
+    expectChar(value, 7, '-');
+    int day = parseDigits(value, 8, 2);
+    expectDesignator(value, 10, 'T', isoOffsetDateTime);
+    int hour = parseDigits(value, 11, 2);
+    expectChar(value, 13, ':');
+    int minute = parseDigits(value, 14, 2);
+    int pos = 16;
+    int second = 0;
+    boolean hasSeconds = !isoOffsetDateTime || (pos < length && value.charAt(pos) == ':');
+    if (hasSeconds) {
+      expectChar(value, pos, ':');
+      second = parseDigits(value, pos + 1, 2);
+      pos += 3;
+    }
+    if (isoOffsetDateTime) {
+      if (month < 1 || month > 12) {
+        throw invalidTimestamp(value, 5);
+      }
+      if (day < 1 || day > daysInMonth(year, month)) {
+        throw invalidTimestamp(value, 8);
+      }
+      if (hour > 23) {
+        throw invalidTimestamp(value, 11);
+      }
+      if (minute > 59) {
+        throw invalidTimestamp(value, 14);
+      }
+      if (second > 59) {
+        throw invalidTimestamp(value, 17);
+      }
+    }
+
+    int nanos = 0;
+    if (hasSeconds && pos < length && value.charAt(pos) == '.') {
+      pos++;
+      int digits = 0;
+      while (pos < length && isDigit(value.charAt(pos))) {
+        if (digits < 9) {
+          nanos = nanos * 10 + (value.charAt(pos) - '0');
+          digits++;
+        } else if (isoOffsetDateTime) {
+          throw invalidTimestamp(value, pos);
+        }
+        pos++;
+      }
+      for (int i = digits; i < 9; i++) {
+        nanos *= 10;
+      }
+    }
+
+    long offsetSeconds = 0;
+    if (pos >= length) {
+      throw new ParseException("Failed to parse timestamp: missing valid timezone offset.", pos);
+    }
+    char zone = value.charAt(pos);
+    if (zone == 'Z' || (isoOffsetDateTime && zone == 'z')) {
+      pos++;
+    } else if (zone == '+' || zone == '-') {
+      int offsetHours = parseDigits(value, pos + 1, 2);
+      int offsetMinutes = 0;
+      int offsetSecondsOfMinute = 0;
+      int offsetStart = pos + 1;
+      pos += 3;
+      if (!isoOffsetDateTime || (pos < length && value.charAt(pos) == ':')) {
+        expectChar(value, pos, ':');
+        offsetMinutes = parseDigits(value, pos + 1, 2);
+        pos += 3;
+        if (isoOffsetDateTime && pos < length && value.charAt(pos) == ':') {
+          offsetSecondsOfMinute = parseDigits(value, pos + 1, 2);
+          pos += 3;
+        }
+      }
+      offsetSeconds =
+          offsetHours * SECONDS_PER_HOUR
+              + offsetMinutes * SECONDS_PER_MINUTE
+              + offsetSecondsOfMinute;
+      if (isoOffsetDateTime
+          && (offsetMinutes > 59
+              || offsetSecondsOfMinute > 59
+              || offsetSeconds > MAX_OFFSET_SECONDS)) {
+        throw invalidTimestamp(value, offsetStart);
+      }
+      if (zone == '-') {
+        offsetSeconds = -offsetSeconds;
+      }
+    } else {
+      throw new ParseException("Failed to parse timestamp: missing valid timezone offset.", pos);
+    }
+    if (pos != length) {
+      throw new ParseException(
+          "Failed to parse timestamp: invalid trailing data \"" + value.substring(pos) + "\"", pos);
+    }
+
+    // Fields past their range roll over into the next larger one. Months are normalized first, so
+    // that the day can then be counted from the start of the month.
+    int monthIndex = month - 1;
+    long days =
+        daysSinceEpoch(year + Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1, 1)
+            + day
+            - 1;
+    long seconds =
+        days * SECONDS_PER_DAY
+            + hour * SECONDS_PER_HOUR
+            + minute * SECONDS_PER_MINUTE
+            + second
+            - offsetSeconds;
+    return Instant.ofEpochSecond(seconds, nanos);
+  }
+
   /** Adds two durations */
   public static Duration add(Duration d1, Duration d2) {
     java.time.Duration javaDuration1 = ProtoTimeUtils.toJavaDuration(checkValid(d1));
@@ -448,36 +576,96 @@ public final class ProtoTimeUtils {
         .build();
   }
 
-  private static long parseTimezoneOffset(String value) throws ParseException {
-    int pos = value.indexOf(':');
-    if (pos == -1) {
-      throw new ParseException("Invalid offset value: " + value, 0);
-    }
-    String hours = value.substring(0, pos);
-    String minutes = value.substring(pos + 1);
-    try {
-      return (Long.parseLong(hours) * 60 + Long.parseLong(minutes)) * 60;
-    } catch (NumberFormatException e) {
-      ParseException ex = new ParseException("Invalid offset value: " + value, 0);
-      ex.initCause(e);
-      throw ex;
+  /** Days since 1970-01-01 of the given proleptic Gregorian date. */
+  private static long daysSinceEpoch(int year, int month, int day) {
+    // Years are counted from March 1st. See http://howardhinnant.github.io/date_algorithms.html.
+    long shiftedYear = month <= 2 ? year - 1 : year;
+    long era = Math.floorDiv(shiftedYear, 400);
+    int yearOfEra = (int) (shiftedYear - era * 400);
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  private static int daysInMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        boolean isLeapYear = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+        return isLeapYear ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
     }
   }
 
-  private static int parseNanos(String value) throws ParseException {
+  private static int parseDigits(String value, int start, int count) throws ParseException {
     int result = 0;
-    for (int i = 0; i < 9; ++i) {
-      result = result * 10;
-      if (i < value.length()) {
-        if (value.charAt(i) < '0' || value.charAt(i) > '9') {
-          throw new ParseException("Invalid nanoseconds.", 0);
-        }
-        result += value.charAt(i) - '0';
+    for (int i = start; i < start + count; i++) {
+      if (i >= value.length() || !isDigit(value.charAt(i))) {
+        throw invalidTimestamp(value, i);
       }
+      result = result * 10 + (value.charAt(i) - '0');
     }
     return result;
   }
 
+  private static void expectChar(String value, int index, char expected) throws ParseException {
+    if (index >= value.length() || value.charAt(index) != expected) {
+      throw invalidTimestamp(value, index);
+    }
+  }
+
+  /**
+   * Expects the date-time designator {@code expected} at {@code index}, which may also be lowercase
+   * when {@code ignoreCase} is set.
+   */
+  private static void expectDesignator(
+      String value, int index, char expected, boolean ignoreCase) throws ParseException {
+    if (index < value.length()
+        && ignoreCase
+        && value.charAt(index) == Character.toLowerCase(expected)) {
+      return;
+    }
+    expectChar(value, index, expected);
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static ParseException invalidTimestamp(String value, int errorOffset) {
+    return new ParseException(
+        "Failed to parse timestamp: invalid timestamp \"" + value + "\"", errorOffset);
+  }
+
+  /** Writes {@code value} as exactly {@code width} zero-padded decimal digits. */
+  private static void writeDigits(char[] buf, int pos, int value, int width) {
+    for (int i = pos + width - 1; i >= pos; i--) {
+      buf[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  /**
+   * Writes 3, 6, or 9 fractional digits depending on the precision of {@code nanos}, returning the
+   * position after the last digit.
+   */
+  private static int writeNanos(char[] buf, int pos, int nanos) {
+    if (nanos % NANOS_PER_MILLISECOND == 0) {
+      writeDigits(buf, pos, nanos / NANOS_PER_MILLISECOND, 3);
+      return pos + 3;
+    } else if (nanos % NANOS_PER_MICROSECOND == 0) {
+      writeDigits(buf, pos, nanos / NANOS_PER_MICROSECOND, 6);
+      return pos + 6;
+    }
+    writeDigits(buf, pos, nanos, 9);
+    return pos + 9;
+  }
+
   /**
    * Returns true if the given number of seconds and nanos is a valid {@link Duration}. The {@code
    * seconds} value must be in the range [-315,576,000,000, +315,576,000,000]. The {@code nanos}
@@ -558,14 +746,8 @@ public final class ProtoTimeUtils {
   }
 
   private static String formatNanos(int nanos) {
-    // Determine whether to use 3, 6, or 9 digits for the nano part.
-    if (nanos % NANOS_PER_MILLISECOND == 0) {
-      return String.format(Locale.ENGLISH, "%1$03d", nanos / NANOS_PER_MILLISECOND);
-    } else if (nanos % NANOS_PER_MICROSECOND == 0) {
-      return String.format(Locale.ENGLISH, "%1$06d", nanos / NANOS_PER_MICROSECOND);
-    } else {
-      return String.format(Locale.ENGLISH, "%1$09d", nanos);
-    }
+    char[] buf = new char[9];
+    return new String(buf, 0, writeNanos(buf, 0, nanos));
   }
 
   private ProtoTimeUtils() {}
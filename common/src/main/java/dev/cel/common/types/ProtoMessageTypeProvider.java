@@ -32,6 +32,7 @@ import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import dev.cel.common.CelDescriptorUtil;
 import dev.cel.common.CelDescriptors;
+import dev.cel.common.internal.DescriptorCache;
 import dev.cel.common.internal.FileDescriptorSetConverter;
 import java.util.Arrays;
 import java.util.Collection;
@@ -39,6 +40,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
 
 /**
  * The {@code ProtoMessageTypeProvider} implements the {@link CelTypeProvider} interface to provide
@@ -67,6 +69,13 @@ public final class ProtoMessageTypeProvider implements CelTypeProvider {
           .put(FieldDescriptor.Type.UINT64, SimpleType.UINT)
           .buildOrThrow();
 
+  // Providers are shared by every environment built from the same descriptors, so that the message
+  // types and their field type lookups are only created once per process.
+  private static final DescriptorCache<CelDescriptors, ProtoMessageTypeProvider> PROVIDERS =
+      DescriptorCache.createWithIdentityKeys();
+  private static final DescriptorCache<CelDescriptors, ProtoMessageTypeProvider>
+      JSON_FIELD_NAME_PROVIDERS = DescriptorCache.createWithIdentityKeys();
+
   private final ImmutableMap<String, CelType> allTypes;
   private final boolean allowJsonFieldNames;
 
@@ -197,6 +206,11 @@ public final class ProtoMessageTypeProvider implements CelTypeProvider {
     private final ProtoMessageTypeProvider protoMessageTypeProvider;
     private final ImmutableMap<String, FieldDescriptor> fields;
 
+    // The types of all resolvable fields, built on the first lookup and immutable thereafter. Until
+    // then this is null. Threads racing to build the table produce equal tables, so either one may
+    // be kept.
+    private volatile @Nullable ImmutableMap<String, CelType> fieldTypes;
+
     private static ImmutableMap<String, FieldDescriptor> collectJsonFieldDescriptorMap(
         Descriptor descriptor) {
       ImmutableMap.Builder<String, FieldDescriptor> builder = ImmutableMap.builder();
@@ -234,11 +248,21 @@ public final class ProtoMessageTypeProvider implements CelTypeProvider {
     }
 
     private Optional<CelType> findField(String fieldName) {
-      FieldDescriptor fieldDescriptor = fields.get(fieldName);
-      if (fieldDescriptor == null) {
-        return Optional.empty();
+      return Optional.ofNullable(fieldTypes().get(fieldName));
+    }
+
+    private ImmutableMap<String, CelType> fieldTypes() {
+      ImmutableMap<String, CelType> types = fieldTypes;
+      if (types == null) {
+        ImmutableMap.Builder<String, CelType> typesBuilder = ImmutableMap.builder();
+        for (Map.Entry<String, FieldDescriptor> field : fields.entrySet()) {
+          findFieldInternal(field.getValue())
+              .ifPresent(type -> typesBuilder.put(field.getKey(), type));
+        }
+        types = typesBuilder.buildOrThrow();
+        fieldTypes = types;
       }
-      return findFieldInternal(fieldDescriptor);
+      return types;
     }
 
     private Optional<CelType> findFieldInternal(FieldDescriptor fieldDescriptor) {
@@ -349,13 +373,13 @@ public final class ProtoMessageTypeProvider implements CelTypeProvider {
             "Both CelDescriptors and FileDescriptors cannot be set at the same time.");
       }
 
-      if (celDescriptors == null) {
-        celDescriptors =
-            CelDescriptorUtil.getAllDescriptorsFromFileDescriptor(
-                fileDescriptors.build(), resolveTypeDependencies);
-      }
+      CelDescriptors descriptors =
+          celDescriptors != null
+              ? celDescriptors
+              : CelDescriptorUtil.getAllDescriptorsFromFileDescriptor(fds, resolveTypeDependencies);
 
-      return new ProtoMessageTypeProvider(celDescriptors, allowJsonFieldNames);
+      return (allowJsonFieldNames ? JSON_FIELD_NAME_PROVIDERS : PROVIDERS)
+          .get(descriptors, () -> new ProtoMessageTypeProvider(descriptors, allowJsonFieldNames));
     }
 
     private Builder() {}
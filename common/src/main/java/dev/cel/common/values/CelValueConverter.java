@@ -56,8 +56,11 @@ public class CelValueConverter {
    * <p>The value may be a {@link CelValue}, a {@link Collection} or a {@link Map}.
    */
   public Object maybeUnwrap(Object value) {
-    if (value instanceof CelValue || value instanceof CelPreAdaptedList) {
-      return value instanceof CelValue ? unwrap((CelValue) value) : value;
+    if (value instanceof CelValue) {
+      return unwrap((CelValue) value);
+    }
+    if (isPreAdaptedList(value)) {
+      return value;
     }
 
     return mapContainer(value, maybeUnwrapFunction);
@@ -142,7 +145,7 @@ public class CelValueConverter {
   public Object toRuntimeValue(Object value) {
     Preconditions.checkNotNull(value);
 
-    if (value instanceof CelValue || value instanceof CelPreAdaptedList) {
+    if (value instanceof CelValue || isPreAdaptedList(value)) {
       return value;
     }
 
@@ -176,6 +179,13 @@ public class CelValueConverter {
     return value;
   }
 
+  /** Returns true if the list is known to only contain runtime values already. */
+  private static boolean isPreAdaptedList(Object value) {
+    return value instanceof CelPreAdaptedList
+        || value instanceof PrimitiveLongList
+        || value instanceof PrimitiveDoubleList;
+  }
+
   /** Adapts a {@link CelValue} to a plain old Java Object. */
   private Object unwrap(CelValue celValue) {
     Preconditions.checkNotNull(celValue);
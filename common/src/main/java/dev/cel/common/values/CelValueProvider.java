@@ -15,6 +15,7 @@
 package dev.cel.common.values;
 
 import com.google.errorprone.annotations.Immutable;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -28,7 +29,30 @@ public interface CelValueProvider {
    */
   Optional<Object> newValue(String structType, Map<String, Object> fields);
 
+  /**
+   * Returns a factory for values of {@code structType} with its fields resolved ahead of time. The
+   * {@code fieldNames} are distinct, and the factory receives field values in the same order.
+   *
+   * <p>Returns empty if the provider cannot bind the type or one of its fields ahead of time. In
+   * that case, values are constructed through {@link #newValue} instead.
+   */
+  default Optional<StructFactory> newStructFactory(String structType, List<String> fieldNames) {
+    return Optional.empty();
+  }
+
   default CelValueConverter celValueConverter() {
     return CelValueConverter.getDefaultInstance();
   }
+
+  /** Constructs values of a single struct type whose fields were resolved ahead of time. */
+  @Immutable
+  interface StructFactory {
+
+    /**
+     * Constructs a new struct value, or a primitive value in case the struct is a wrapper. Each
+     * element of {@code fieldValues} initializes the field at the same position; a null element
+     * leaves the field unset.
+     */
+    Object newValue(Object[] fieldValues);
+  }
 }
@@ -20,6 +20,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.Immutable;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -50,6 +51,13 @@ public final class CombinedCelValueProvider implements CelValueProvider {
     return Optional.empty();
   }
 
+  @Override
+  public Optional<StructFactory> newStructFactory(String structType, List<String> fieldNames) {
+    // Later providers are only consulted when the earlier ones cannot construct the value, which is
+    // not known ahead of time unless the first provider binds the type.
+    return celValueProviders.get(0).newStructFactory(structType, fieldNames);
+  }
+
   @Override
   public CelValueConverter celValueConverter() {
     return CombinedCelValueConverter.combine(
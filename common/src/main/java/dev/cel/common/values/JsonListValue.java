@@ -0,0 +1,285 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.CelJsonReader;
+import dev.cel.common.types.CelType;
+import dev.cel.common.types.ListType;
+import dev.cel.common.types.SimpleType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable CEL {@code list(dyn)} over a JSON array in a UTF-8 encoded buffer.
+ *
+ * <p>The offsets of the elements are indexed on first access, skipping over them without decoding
+ * them, and an element is only decoded once it is read. Nested objects and arrays are returned as
+ * lazy {@link JsonMapValue} and {@link JsonListValue} instances. See {@link JsonMapValue} for how
+ * JSON values are mapped to CEL values.
+ */
+@Immutable
+@SuppressWarnings("Immutable") // The index is computed idempotently.
+public final class JsonListValue extends CelValue implements List<Object>, RandomAccess {
+  private static final CelType LIST_TYPE = ListType.create(SimpleType.DYN);
+
+  private final JsonText text;
+  // Offset of the opening bracket.
+  private final int start;
+  private final List<Object> elements = new Elements();
+  private volatile @Nullable Index index;
+
+  /**
+   * Returns a list over the remaining bytes of {@code json}, which must hold a UTF-8 encoded JSON
+   * array. The contents of the buffer must not be modified afterwards.
+   *
+   * @throws IllegalArgumentException if the buffer does not start with a JSON array.
+   */
+  public static JsonListValue wrap(ByteBuffer json) {
+    JsonText text = JsonText.wrap(json, '[');
+    return new JsonListValue(text, text.root());
+  }
+
+  /**
+   * Returns a list over {@code json}, which must hold a UTF-8 encoded JSON array. The array must
+   * not be modified afterwards.
+   *
+   * @throws IllegalArgumentException if the array does not start with a JSON array.
+   */
+  public static JsonListValue wrap(byte[] json) {
+    return wrap(ByteBuffer.wrap(json));
+  }
+
+  @Override
+  public Object get(int i) {
+    Index index = index();
+    Object value = index.values[i];
+    if (value == null) {
+      // Racing threads decode equal values, which are safely published as they are immutable.
+      value = text.decodeValue(index.offsets[i]);
+      index.values[i] = value;
+    }
+    return value;
+  }
+
+  @Override
+  public int size() {
+    return index().offsets.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return elements.contains(o);
+  }
+
+  @Override
+  public Iterator<Object> iterator() {
+    return elements.iterator();
+  }
+
+  @Override
+  public Object[] toArray() {
+    return elements.toArray();
+  }
+
+  @Override
+  public <T> T[] toArray(T[] a) {
+    return elements.toArray(a);
+  }
+
+  @Override
+  public boolean containsAll(Collection<?> c) {
+    return elements.containsAll(c);
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    return elements.indexOf(o);
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    return elements.lastIndexOf(o);
+  }
+
+  @Override
+  public ListIterator<Object> listIterator() {
+    return elements.listIterator();
+  }
+
+  @Override
+  public ListIterator<Object> listIterator(int index) {
+    return elements.listIterator(index);
+  }
+
+  @Override
+  public List<Object> subList(int fromIndex, int toIndex) {
+    return elements.subList(fromIndex, toIndex);
+  }
+
+  @Override
+  public boolean add(Object o) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void add(int index, Object element) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean addAll(Collection<?> c) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<?> c) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object set(int index, Object element) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object remove(int index) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object value() {
+    return this;
+  }
+
+  @Override
+  public boolean isZeroValue() {
+    return isEmpty();
+  }
+
+  @Override
+  public CelType celType() {
+    return LIST_TYPE;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o == this || elements.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return elements.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    // Payloads are typically too large to be printed in full.
+    return "JsonListValue{offset=" + start + "}";
+  }
+
+  private Index index() {
+    Index result = index;
+    if (result == null) {
+      result = buildIndex();
+      index = result;
+    }
+    return result;
+  }
+
+  /** Scans the offsets of the elements, skipping over them. */
+  private Index buildIndex() {
+    int[] offsets = new int[8];
+    int size = 0;
+    CelJsonReader reader = text.readerAt(start);
+    try {
+      reader.beginArray();
+      while (reader.hasNextMember()) {
+        if (size == offsets.length) {
+          offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = (int) reader.offset();
+        reader.skipValue();
+      }
+      text.checkEnd(reader, start);
+    } catch (IOException e) {
+      // In-memory readers do not throw IOException.
+      throw new AssertionError(e);
+    }
+    return new Index(Arrays.copyOf(offsets, size));
+  }
+
+  private static final class Index {
+    private final int[] offsets;
+    // Decoded elements, filled in on first access.
+    private final Object[] values;
+
+    private Index(int[] offsets) {
+      this.offsets = offsets;
+      this.values = new Object[offsets.length];
+    }
+  }
+
+  /** Read-only view used to implement the bulk operations of {@link List}. */
+  private final class Elements extends AbstractList<Object> implements RandomAccess {
+    @Override
+    public Object get(int i) {
+      return JsonListValue.this.get(i);
+    }
+
+    @Override
+    public int size() {
+      return JsonListValue.this.size();
+    }
+  }
+
+  JsonListValue(JsonText text, int start) {
+    this.text = text;
+    this.start = start;
+  }
+}
@@ -0,0 +1,351 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.CelJsonReader;
+import dev.cel.common.exceptions.CelAttributeNotFoundException;
+import dev.cel.common.types.CelType;
+import dev.cel.common.types.MapType;
+import dev.cel.common.types.SimpleType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractCollection;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable CEL {@code map(string, dyn)} over a JSON object in a UTF-8 encoded buffer, such as
+ * a raw request body.
+ *
+ * <p>Nothing is decoded up front. The keys of the object are indexed on first access, skipping over
+ * nested values without decoding them, and a value is only decoded once it is selected. Nested
+ * objects and arrays are themselves returned as lazy {@link JsonMapValue} and {@link
+ * JsonListValue} instances, so evaluating {@code request.user.id} decodes a single string
+ * regardless of the size of the payload.
+ *
+ * <p>JSON values are mapped the same way as by {@code dev.cel.common.CelJsonReader}: numbers
+ * become {@code double} and {@code null} becomes {@link NullValue#NULL_VALUE}. When an object has
+ * duplicate keys, the last one wins.
+ *
+ * <p>{@link #wrap} only checks that the buffer starts with a JSON object. Any other syntax error,
+ * including malformed UTF-8 or content following the object, is reported as an {@link
+ * IllegalArgumentException} when the malformed part is accessed.
+ */
+@Immutable
+@SuppressWarnings("Immutable") // The index is computed idempotently.
+public final class JsonMapValue extends CelValue
+    implements SelectableValue<Object>, Map<Object, Object> {
+  private static final CelType MAP_TYPE = MapType.create(SimpleType.STRING, SimpleType.DYN);
+
+  private final JsonText text;
+  // Offset of the opening brace.
+  private final int start;
+  private volatile @Nullable Index index;
+
+  /**
+   * Returns a map over the remaining bytes of {@code json}, which must hold a UTF-8 encoded JSON
+   * object. The contents of the buffer must not be modified afterwards.
+   *
+   * @throws IllegalArgumentException if the buffer does not start with a JSON object.
+   */
+  public static JsonMapValue wrap(ByteBuffer json) {
+    JsonText text = JsonText.wrap(json, '{');
+    return new JsonMapValue(text, text.root());
+  }
+
+  /**
+   * Returns a map over {@code json}, which must hold a UTF-8 encoded JSON object. The array must
+   * not be modified afterwards.
+   *
+   * @throws IllegalArgumentException if the array does not start with a JSON object.
+   */
+  public static JsonMapValue wrap(byte[] json) {
+    return wrap(ByteBuffer.wrap(json));
+  }
+
+  @Override
+  public int size() {
+    return index().keys.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return values().contains(value);
+  }
+
+  @Override
+  public @Nullable Object get(Object key) {
+    int i = indexOf(key);
+    return i < 0 ? null : valueAt(i);
+  }
+
+  @Override
+  public Object put(Object key, Object value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void putAll(Map<?, ?> m) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<Object> keySet() {
+    return new AbstractSet<Object>() {
+      @Override
+      public Iterator<Object> iterator() {
+        return new IndexIterator<>(i -> index().keys[i]);
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public int size() {
+        return JsonMapValue.this.size();
+      }
+    };
+  }
+
+  @Override
+  public Collection<Object> values() {
+    return new AbstractCollection<Object>() {
+      @Override
+      public Iterator<Object> iterator() {
+        return new IndexIterator<>(JsonMapValue.this::valueAt);
+      }
+
+      @Override
+      public int size() {
+        return JsonMapValue.this.size();
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<Object, Object>> entrySet() {
+    return new AbstractSet<Entry<Object, Object>>() {
+      @Override
+      public Iterator<Entry<Object, Object>> iterator() {
+        return new IndexIterator<>(i -> new SimpleImmutableEntry<>(index().keys[i], valueAt(i)));
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        if (!(o instanceof Entry)) {
+          return false;
+        }
+        Entry<?, ?> entry = (Entry<?, ?>) o;
+        int i = indexOf(entry.getKey());
+        return i >= 0 && valueAt(i).equals(entry.getValue());
+      }
+
+      @Override
+      public int size() {
+        return JsonMapValue.this.size();
+      }
+    };
+  }
+
+  @Override
+  public Object select(Object field) {
+    Object value = get(field);
+    if (value == null) {
+      throw CelAttributeNotFoundException.forMissingMapKey(field.toString());
+    }
+    return value;
+  }
+
+  @Override
+  public Optional<?> find(Object field) {
+    return Optional.ofNullable(get(field));
+  }
+
+  @Override
+  public Object value() {
+    return this;
+  }
+
+  @Override
+  public boolean isZeroValue() {
+    return isEmpty();
+  }
+
+  @Override
+  public CelType celType() {
+    return MAP_TYPE;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof Map)) {
+      return false;
+    }
+    Map<?, ?> other = (Map<?, ?>) o;
+    return size() == other.size() && entrySet().containsAll(other.entrySet());
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 0;
+    for (Entry<Object, Object> entry : entrySet()) {
+      hash += entry.hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    // Payloads are typically too large to be printed in full.
+    return "JsonMapValue{offset=" + start + "}";
+  }
+
+  /** Returns the index of the entry with the given key, or -1 if there is none. */
+  private int indexOf(Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+    Integer i = index().positions.get(key);
+    return i == null ? -1 : i;
+  }
+
+  private Object valueAt(int i) {
+    Index index = index();
+    Object value = index.values[i];
+    if (value == null) {
+      // Racing threads decode equal values, which are safely published as they are immutable.
+      value = text.decodeValue(index.valueOffsets[i]);
+      index.values[i] = value;
+    }
+    return value;
+  }
+
+  private Index index() {
+    Index result = index;
+    if (result == null) {
+      result = buildIndex();
+      index = result;
+    }
+    return result;
+  }
+
+  /** Scans the keys of the object, skipping over the values. */
+  private Index buildIndex() {
+    // Insertion-ordered, so that iteration follows the payload. Later duplicates replace earlier
+    // ones in place.
+    Map<String, Integer> offsets = new LinkedHashMap<>();
+    CelJsonReader reader = text.readerAt(start);
+    try {
+      reader.beginObject();
+      while (reader.hasNextMember()) {
+        String key = reader.nextName();
+        offsets.put(key, (int) reader.offset());
+        reader.skipValue();
+      }
+      text.checkEnd(reader, start);
+    } catch (IOException e) {
+      // In-memory readers do not throw IOException.
+      throw new AssertionError(e);
+    }
+    return new Index(offsets);
+  }
+
+  private static final class Index {
+    private final String[] keys;
+    private final int[] valueOffsets;
+    private final Map<String, Integer> positions;
+    // Decoded values, filled in on first access.
+    private final Object[] values;
+
+    private Index(Map<String, Integer> offsets) {
+      int size = offsets.size();
+      this.keys = new String[size];
+      this.valueOffsets = new int[size];
+      this.positions = new HashMap<>(size * 2);
+      this.values = new Object[size];
+      int i = 0;
+      for (Map.Entry<String, Integer> entry : offsets.entrySet()) {
+        keys[i] = entry.getKey();
+        valueOffsets[i] = entry.getValue();
+        positions.put(entry.getKey(), i);
+        i++;
+      }
+    }
+  }
+
+  private final class IndexIterator<T> implements Iterator<T> {
+    private final IntFunction<T> elementAt;
+    private final int size = size();
+    private int next;
+
+    private IndexIterator(IntFunction<T> elementAt) {
+      this.elementAt = elementAt;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return elementAt.apply(next++);
+    }
+  }
+
+  JsonMapValue(JsonText text, int start) {
+    this.text = text;
+    this.start = start;
+  }
+}
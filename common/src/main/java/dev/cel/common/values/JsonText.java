@@ -0,0 +1,94 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.CelJsonReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 encoded JSON text shared by {@link JsonMapValue} and {@link JsonListValue}, which read it
+ * in place through {@link CelJsonReader}.
+ *
+ * <p>Values are addressed by the offset of their first byte. Skipping a value only matches quotes
+ * and brackets, so malformed content inside a skipped subtree is reported once it is decoded.
+ */
+@Immutable
+@SuppressWarnings("Immutable") // The buffer is never written, and only read at absolute offsets.
+final class JsonText {
+  private final ByteBuffer bytes;
+  private final int root;
+
+  /**
+   * Returns the text held by the remaining bytes of {@code bytes}, after checking that its
+   * top-level value starts with {@code open}. Nothing else is read.
+   */
+  static JsonText wrap(ByteBuffer bytes, char open) {
+    ByteBuffer slice = bytes.slice();
+    CelJsonReader reader = CelJsonReader.createAt(slice, 0);
+    try {
+      if (reader.peekValue() != open) {
+        throw reader.syntaxError("expected '" + open + "'");
+      }
+      return new JsonText(slice, (int) reader.offset());
+    } catch (IOException e) {
+      // In-memory readers do not throw IOException.
+      throw new AssertionError(e);
+    }
+  }
+
+  /** Returns the offset of the top-level value. */
+  int root() {
+    return root;
+  }
+
+  /** Returns a reader positioned at {@code offset}. */
+  CelJsonReader readerAt(int offset) {
+    return CelJsonReader.createAt(bytes, offset);
+  }
+
+  /**
+   * Checks that nothing follows the container just read by {@code reader}, if it started at the
+   * top-level {@code offset}.
+   */
+  void checkEnd(CelJsonReader reader, int offset) throws IOException {
+    if (offset == root && reader.hasNext()) {
+      throw reader.syntaxError("unexpected content after the JSON value");
+    }
+  }
+
+  /** Decodes the value starting at {@code offset}. Objects and arrays are decoded lazily. */
+  Object decodeValue(int offset) {
+    switch (bytes.get(offset)) {
+      case '{':
+        return new JsonMapValue(this, offset);
+      case '[':
+        return new JsonListValue(this, offset);
+      default:
+        try {
+          return readerAt(offset).next();
+        } catch (IOException e) {
+          // In-memory readers do not throw IOException.
+          throw new AssertionError(e);
+        }
+    }
+  }
+
+  private JsonText(ByteBuffer bytes, int root) {
+    this.bytes = bytes;
+    this.root = root;
+  }
+}
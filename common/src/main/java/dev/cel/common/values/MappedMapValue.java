@@ -0,0 +1,464 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.primitives.UnsignedLong;
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.exceptions.CelAttributeNotFoundException;
+import dev.cel.common.types.CelType;
+import dev.cel.common.types.MapType;
+import dev.cel.common.types.SimpleType;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractCollection;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable CEL map backed by a serialized, sorted table in a {@link ByteBuffer}.
+ *
+ * <p>The buffer is typically a read-only memory mapping of a file, so that large reference tables
+ * live outside of the Java heap and are shared by every process mapping the same file. Lookups
+ * binary search the table in place and only decode the matched value. Iterating over the map
+ * decodes entries on demand.
+ *
+ * <p>Keys may be {@code bool}, {@code int}, {@code uint} or {@code string}. Values may be {@code
+ * bool}, {@code int}, {@code uint}, {@code double} or {@code string}. Tables are produced with
+ * {@link #write}.
+ */
+@Immutable
+@SuppressWarnings("Immutable") // The buffer is read-only and only accessed through absolute reads.
+public final class MappedMapValue extends CelValue
+    implements SelectableValue<Object>, Map<Object, Object> {
+  private static final int MAGIC = 0x43454c4d; // "CELM"
+  private static final int VERSION = 1;
+  // Magic, version and entry count.
+  private static final int HEADER_SIZE = 12;
+
+  private static final byte TAG_BOOL = 1;
+  private static final byte TAG_INT = 2;
+  private static final byte TAG_UINT = 3;
+  private static final byte TAG_DOUBLE = 4;
+  private static final byte TAG_STRING = 5;
+
+  private static final CelType MAP_TYPE = MapType.create(SimpleType.DYN, SimpleType.DYN);
+
+  private final ByteBuffer buffer;
+  private final int size;
+
+  /**
+   * Returns a map reading from the remaining bytes of {@code buffer}, which must hold a table
+   * produced by {@link #write}. The contents of the buffer must not be modified afterwards.
+   *
+   * @throws IllegalArgumentException if the buffer does not hold a table.
+   */
+  public static MappedMapValue wrap(ByteBuffer buffer) {
+    ByteBuffer table = buffer.slice().asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+    if (table.limit() < HEADER_SIZE || table.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("Buffer does not contain a CEL map table");
+    }
+    int version = table.getInt(4);
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported CEL map table version: " + version);
+    }
+    int size = table.getInt(8);
+    if (size < 0 || HEADER_SIZE + 4L * size > table.limit()) {
+      throw new IllegalArgumentException("Truncated CEL map table");
+    }
+    return new MappedMapValue(table, size);
+  }
+
+  /**
+   * Serializes {@code map} into the table format read by {@link #wrap}.
+   *
+   * @throws IllegalArgumentException if a key or value has an unsupported type, if two keys
+   *     denote the same CEL value (e.g. {@code 1} as an Integer and as a Long) or if the table
+   *     would exceed 2GB.
+   */
+  public static void write(Map<?, ?> map, OutputStream output) throws IOException {
+    List<byte[][]> entries = new ArrayList<>(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      byte[] key = encode(entry.getKey(), /* isKey= */ true);
+      byte[] value = encode(entry.getValue(), /* isKey= */ false);
+      if (key == null || value == null) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Unsupported map entry: %s -> %s",
+                describe(entry.getKey()), describe(entry.getValue())));
+      }
+      entries.add(new byte[][] {key, value});
+    }
+    Comparator<byte[]> keyOrder = UnsignedBytes.lexicographicalComparator();
+    entries.sort((x, y) -> keyOrder.compare(x[0], y[0]));
+
+    long position = HEADER_SIZE + 4L * entries.size();
+    int[] offsets = new int[entries.size()];
+    for (int i = 0; i < entries.size(); i++) {
+      byte[][] entry = entries.get(i);
+      if (i > 0 && keyOrder.compare(entries.get(i - 1)[0], entry[0]) == 0) {
+        throw new IllegalArgumentException(
+            "Duplicate map key: " + decode(ByteBuffer.wrap(entry[0]), 0));
+      }
+      offsets[i] = (int) position;
+      position += entry[0].length + entry[1].length;
+    }
+    // Offsets are 32-bit, and the table must fit in a single mapping.
+    if (position > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("CEL map table exceeds 2GB");
+    }
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(entries.size());
+    for (int offset : offsets) {
+      out.writeInt(offset);
+    }
+    for (byte[][] entry : entries) {
+      out.write(entry[0]);
+      out.write(entry[1]);
+    }
+    out.flush();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return values().contains(value);
+  }
+
+  @Override
+  public @Nullable Object get(Object key) {
+    int index = indexOf(key);
+    return index < 0 ? null : valueAt(index);
+  }
+
+  @Override
+  public Object put(Object key, Object value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void putAll(Map<?, ?> m) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<Object> keySet() {
+    return new AbstractSet<Object>() {
+      @Override
+      public Iterator<Object> iterator() {
+        return new TableIterator<>(MappedMapValue.this::keyAt);
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<Object> values() {
+    return new AbstractCollection<Object>() {
+      @Override
+      public Iterator<Object> iterator() {
+        return new TableIterator<>(MappedMapValue.this::valueAt);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<Object, Object>> entrySet() {
+    return new AbstractSet<Entry<Object, Object>>() {
+      @Override
+      public Iterator<Entry<Object, Object>> iterator() {
+        return new TableIterator<>(i -> new SimpleImmutableEntry<>(keyAt(i), valueAt(i)));
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        if (!(o instanceof Entry)) {
+          return false;
+        }
+        Entry<?, ?> entry = (Entry<?, ?>) o;
+        int index = indexOf(entry.getKey());
+        return index >= 0 && valueAt(index).equals(entry.getValue());
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Object select(Object field) {
+    Object value = get(field);
+    if (value == null) {
+      throw CelAttributeNotFoundException.forMissingMapKey(field.toString());
+    }
+    return value;
+  }
+
+  @Override
+  public Optional<?> find(Object field) {
+    return Optional.ofNullable(get(field));
+  }
+
+  @Override
+  public Object value() {
+    return this;
+  }
+
+  @Override
+  public boolean isZeroValue() {
+    return size == 0;
+  }
+
+  @Override
+  public CelType celType() {
+    return MAP_TYPE;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof Map)) {
+      return false;
+    }
+    Map<?, ?> other = (Map<?, ?>) o;
+    return size == other.size() && entrySet().containsAll(other.entrySet());
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 0;
+    for (Entry<Object, Object> entry : entrySet()) {
+      hash += entry.hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    // Tables are typically too large to be printed in full.
+    return "MappedMapValue{size=" + size + "}";
+  }
+
+  /** Returns the index of the entry with the given key, or -1 if there is none. */
+  private int indexOf(Object key) {
+    byte[] encodedKey = encode(key, /* isKey= */ true);
+    if (encodedKey == null) {
+      return -1;
+    }
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison = compareKey(entryPosition(mid), encodedKey);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /** Compares the encoded key at {@code position} with {@code key}, as unsigned bytes. */
+  private int compareKey(int position, byte[] key) {
+    int length = encodedLength(buffer, position);
+    int common = Math.min(length, key.length);
+    for (int i = 0; i < common; i++) {
+      int comparison = UnsignedBytes.compare(buffer.get(position + i), key[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(length, key.length);
+  }
+
+  private int entryPosition(int index) {
+    return buffer.getInt(HEADER_SIZE + 4 * index);
+  }
+
+  private Object keyAt(int index) {
+    return decode(buffer, entryPosition(index));
+  }
+
+  private Object valueAt(int index) {
+    int position = entryPosition(index);
+    return decode(buffer, position + encodedLength(buffer, position));
+  }
+
+  private static int encodedLength(ByteBuffer buffer, int position) {
+    byte tag = buffer.get(position);
+    switch (tag) {
+      case TAG_BOOL:
+        return 2;
+      case TAG_INT:
+      case TAG_UINT:
+      case TAG_DOUBLE:
+        return 9;
+      case TAG_STRING:
+        return 5 + buffer.getInt(position + 1);
+      default:
+        throw new IllegalStateException("Corrupt CEL map table: unknown tag " + tag);
+    }
+  }
+
+  private static Object decode(ByteBuffer buffer, int position) {
+    byte tag = buffer.get(position);
+    switch (tag) {
+      case TAG_BOOL:
+        return buffer.get(position + 1) != 0;
+      case TAG_INT:
+        return buffer.getLong(position + 1);
+      case TAG_UINT:
+        return UnsignedLong.fromLongBits(buffer.getLong(position + 1));
+      case TAG_DOUBLE:
+        return buffer.getDouble(position + 1);
+      case TAG_STRING:
+        byte[] utf8 = new byte[buffer.getInt(position + 1)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 5);
+        view.get(utf8);
+        return new String(utf8, UTF_8);
+      default:
+        throw new IllegalStateException("Corrupt CEL map table: unknown tag " + tag);
+    }
+  }
+
+  /** Encodes a key or value, or returns null if its type is not supported. */
+  private static byte @Nullable [] encode(Object value, boolean isKey) {
+    if (value instanceof String) {
+      byte[] utf8 = ((String) value).getBytes(UTF_8);
+      return ByteBuffer.allocate(5 + utf8.length)
+          .put(TAG_STRING)
+          .putInt(utf8.length)
+          .put(utf8)
+          .array();
+    }
+    if (value instanceof Long || value instanceof Integer) {
+      return ByteBuffer.allocate(9).put(TAG_INT).putLong(((Number) value).longValue()).array();
+    }
+    if (value instanceof UnsignedLong) {
+      return ByteBuffer.allocate(9)
+          .put(TAG_UINT)
+          .putLong(((UnsignedLong) value).longValue())
+          .array();
+    }
+    if (value instanceof Boolean) {
+      return new byte[] {TAG_BOOL, (byte) ((Boolean) value ? 1 : 0)};
+    }
+    if (!isKey && (value instanceof Double || value instanceof Float)) {
+      return ByteBuffer.allocate(9)
+          .put(TAG_DOUBLE)
+          .putDouble(((Number) value).doubleValue())
+          .array();
+    }
+    return null;
+  }
+
+  private static String describe(@Nullable Object value) {
+    return value == null ? "null" : value + " (" + value.getClass().getName() + ")";
+  }
+
+  /** Iterates over the entries of the table in key order. */
+  private final class TableIterator<T> implements Iterator<T> {
+    private final IntFunction<T> elementAt;
+    private int next;
+
+    private TableIterator(IntFunction<T> elementAt) {
+      this.elementAt = elementAt;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return elementAt.apply(next++);
+    }
+  }
+
+  private MappedMapValue(ByteBuffer buffer, int size) {
+    this.buffer = buffer;
+    this.size = size;
+  }
+}
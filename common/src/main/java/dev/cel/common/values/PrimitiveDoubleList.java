@@ -0,0 +1,136 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.annotations.Internal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An immutable CEL {@code list(double)} backed by a primitive {@code double[]}.
+ *
+ * <p>Elements are only boxed when read through the {@link java.util.List} interface. Functions
+ * which recognize this representation read elements through {@link #getDouble} instead.
+ *
+ * <p>CEL Library Internals. Do Not Use.
+ */
+@Immutable
+@Internal
+@SuppressWarnings("Immutable") // The backing array is never exposed or mutated.
+public final class PrimitiveDoubleList extends AbstractList<Double> implements RandomAccess {
+  private static final PrimitiveDoubleList EMPTY = new PrimitiveDoubleList(new double[0]);
+
+  private final double[] values;
+
+  /** Returns a list containing a copy of {@code values}. */
+  public static PrimitiveDoubleList copyOf(double[] values) {
+    return wrap(values.clone());
+  }
+
+  /** Returns a list containing the values of {@code numbers}, which must not contain nulls. */
+  public static PrimitiveDoubleList copyOf(Collection<? extends Number> numbers) {
+    double[] values = new double[numbers.size()];
+    int i = 0;
+    for (Number number : numbers) {
+      values[i++] = number.doubleValue();
+    }
+    return wrap(values);
+  }
+
+  /**
+   * Returns a list backed by {@code values} without copying it. The caller must not modify the
+   * array afterwards.
+   */
+  public static PrimitiveDoubleList wrap(double[] values) {
+    return values.length == 0 ? EMPTY : new PrimitiveDoubleList(values);
+  }
+
+  /** Returns the element at {@code index} without boxing it. */
+  public double getDouble(int index) {
+    return values[index];
+  }
+
+  /** Returns a copy of the elements as an array. */
+  public double[] toDoubleArray() {
+    return values.clone();
+  }
+
+  @Override
+  public Double get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    // Elements are compared as by Double#equals, as required by the List contract.
+    if (o instanceof Double) {
+      long target = Double.doubleToLongBits((Double) o);
+      for (int i = 0; i < values.length; i++) {
+        if (Double.doubleToLongBits(values[i]) == target) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    if (o instanceof Double) {
+      long target = Double.doubleToLongBits((Double) o);
+      for (int i = values.length - 1; i >= 0; i--) {
+        if (Double.doubleToLongBits(values[i]) == target) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof PrimitiveDoubleList) {
+      return Arrays.equals(values, ((PrimitiveDoubleList) o).values);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as List#hashCode, without boxing.
+    int hash = 1;
+    for (double value : values) {
+      hash = 31 * hash + Double.hashCode(value);
+    }
+    return hash;
+  }
+
+  private PrimitiveDoubleList(double[] values) {
+    this.values = values;
+  }
+}
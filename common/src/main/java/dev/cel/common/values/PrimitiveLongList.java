@@ -0,0 +1,137 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.annotations.Internal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An immutable CEL {@code list(int)} backed by a primitive {@code long[]}. It also holds {@code
+ * list(uint)} values when unsigned longs are disabled, in which case uints are represented as
+ * longs.
+ *
+ * <p>Elements are only boxed when read through the {@link java.util.List} interface. Functions
+ * which recognize this representation read elements through {@link #getLong} instead.
+ *
+ * <p>CEL Library Internals. Do Not Use.
+ */
+@Immutable
+@Internal
+@SuppressWarnings("Immutable") // The backing array is never exposed or mutated.
+public final class PrimitiveLongList extends AbstractList<Long> implements RandomAccess {
+  private static final PrimitiveLongList EMPTY = new PrimitiveLongList(new long[0]);
+
+  private final long[] values;
+
+  /** Returns a list containing a copy of {@code values}. */
+  public static PrimitiveLongList copyOf(long[] values) {
+    return wrap(values.clone());
+  }
+
+  /** Returns a list containing the values of {@code numbers}, which must not contain nulls. */
+  public static PrimitiveLongList copyOf(Collection<? extends Number> numbers) {
+    long[] values = new long[numbers.size()];
+    int i = 0;
+    for (Number number : numbers) {
+      values[i++] = number.longValue();
+    }
+    return wrap(values);
+  }
+
+  /**
+   * Returns a list backed by {@code values} without copying it. The caller must not modify the
+   * array afterwards.
+   */
+  public static PrimitiveLongList wrap(long[] values) {
+    return values.length == 0 ? EMPTY : new PrimitiveLongList(values);
+  }
+
+  /** Returns the element at {@code index} without boxing it. */
+  public long getLong(int index) {
+    return values[index];
+  }
+
+  /** Returns a copy of the elements as an array. */
+  public long[] toLongArray() {
+    return values.clone();
+  }
+
+  @Override
+  public Long get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    if (o instanceof Long) {
+      long target = (Long) o;
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] == target) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    if (o instanceof Long) {
+      long target = (Long) o;
+      for (int i = values.length - 1; i >= 0; i--) {
+        if (values[i] == target) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof PrimitiveLongList) {
+      return Arrays.equals(values, ((PrimitiveLongList) o).values);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as List#hashCode, without boxing.
+    int hash = 1;
+    for (long value : values) {
+      hash = 31 * hash + Long.hashCode(value);
+    }
+    return hash;
+  }
+
+  private PrimitiveLongList(long[] values) {
+    this.values = values;
+  }
+}
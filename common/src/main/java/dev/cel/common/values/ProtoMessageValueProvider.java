@@ -23,6 +23,7 @@ import dev.cel.common.annotations.Internal;
 import dev.cel.common.internal.DynamicProto;
 import dev.cel.common.internal.ProtoAdapter;
 import dev.cel.common.internal.ProtoMessageFactory;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -34,7 +35,7 @@ import java.util.Optional;
  */
 @Immutable
 @Internal
-public class ProtoMessageValueProvider implements CelValueProvider {
+public final class ProtoMessageValueProvider implements CelValueProvider {
   private final ProtoAdapter protoAdapter;
   private final ProtoMessageFactory protoMessageFactory;
   private final ProtoCelValueConverter protoCelValueConverter;
@@ -67,6 +68,27 @@ public class ProtoMessageValueProvider implements CelValueProvider {
     }
   }
 
+  @Override
+  public Optional<StructFactory> newStructFactory(String structType, List<String> fieldNames) {
+    Message.Builder builder = protoMessageFactory.newBuilder(structType).orElse(null);
+    if (builder == null) {
+      return Optional.empty();
+    }
+    Descriptor descriptor = builder.getDescriptorForType();
+    FieldDescriptor[] fieldDescriptors = new FieldDescriptor[fieldNames.size()];
+    for (int i = 0; i < fieldDescriptors.length; i++) {
+      try {
+        fieldDescriptors[i] = findField(descriptor, fieldNames.get(i));
+      } catch (IllegalArgumentException e) {
+        // Report the undeclared field when the struct is evaluated rather than when it is planned.
+        return Optional.empty();
+      }
+    }
+    return Optional.of(
+        new ProtoMessageStructFactory(
+            builder.getDefaultInstanceForType(), fieldDescriptors, this));
+  }
+
   private FieldDescriptor findField(Descriptor descriptor, String fieldName) {
     if (celOptions.enableJsonFieldNames()) {
       for (FieldDescriptor fd : descriptor.getFields()) {
@@ -92,6 +114,48 @@ public class ProtoMessageValueProvider implements CelValueProvider {
                         fieldName, descriptor.getFullName())));
   }
 
+  /** Populates a builder of a prototype message with fields bound ahead of time. */
+  @Immutable
+  private static final class ProtoMessageStructFactory implements StructFactory {
+    @SuppressWarnings("Immutable") // Default instances are immutable.
+    private final Message prototype;
+
+    // Array contents are not mutated
+    @SuppressWarnings("Immutable")
+    private final FieldDescriptor[] fieldDescriptors;
+
+    private final ProtoMessageValueProvider valueProvider;
+
+    @Override
+    public Object newValue(Object[] fieldValues) {
+      Message.Builder builder = prototype.newBuilderForType();
+      try {
+        for (int i = 0; i < fieldDescriptors.length; i++) {
+          if (fieldValues[i] == null) {
+            continue;
+          }
+          FieldDescriptor fieldDescriptor = fieldDescriptors[i];
+          Optional<Object> fieldValue =
+              valueProvider.protoAdapter.adaptValueToFieldType(fieldDescriptor, fieldValues[i]);
+          fieldValue.ifPresent(o -> builder.setField(fieldDescriptor, o));
+        }
+
+        return valueProvider.protoCelValueConverter.toRuntimeValue(builder.build());
+      } catch (ArrayIndexOutOfBoundsException e) {
+        throw new IllegalArgumentException(e.getMessage());
+      }
+    }
+
+    private ProtoMessageStructFactory(
+        Message prototype,
+        FieldDescriptor[] fieldDescriptors,
+        ProtoMessageValueProvider valueProvider) {
+      this.prototype = prototype;
+      this.fieldDescriptors = fieldDescriptors;
+      this.valueProvider = valueProvider;
+    }
+  }
+
   public static ProtoMessageValueProvider newInstance(
       CelOptions celOptions, DynamicProto dynamicProto) {
     return new ProtoMessageValueProvider(celOptions, dynamicProto);
@@ -0,0 +1,156 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.testing.junit.testparameterinjector.TestParameter;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.common.ast.CelConstant;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelReference;
+import dev.cel.common.types.SimpleType;
+import dev.cel.common.types.StructTypeReference;
+import dev.cel.compiler.CelCompiler;
+import dev.cel.compiler.CelCompilerFactory;
+import dev.cel.expr.conformance.proto3.TestAllTypes;
+import dev.cel.parser.CelStandardMacro;
+import java.util.Optional;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public final class CelCompactAstTest {
+
+  private static final CelCompiler COMPILER =
+      CelCompilerFactory.standardCelCompilerBuilder()
+          .setStandardMacros(CelStandardMacro.STANDARD_MACROS)
+          .setOptions(CelOptions.current().populateMacroCalls(true).build())
+          .setContainer(CelContainer.ofName("cel.expr.conformance.proto3"))
+          .addMessageTypes(TestAllTypes.getDescriptor())
+          .addVar("msg", StructTypeReference.create("cel.expr.conformance.proto3.TestAllTypes"))
+          .build();
+
+  @Test
+  public void roundTrip_checkedAst(
+      @TestParameter({
+            "'foo'",
+            "'가나다' + '😦😁😑'",
+            "[1, 2, 3].exists(x, x > 0)",
+            "{'a': [1u, 2u], 'b': []}['a'].size() == 2",
+            "has(msg.single_int64) && msg.single_int64 == 1",
+            "TestAllTypes{single_int64: 1, repeated_string: ['a']}.single_int64",
+            "[1, 2].map(x, x * 2).filter(y, y > 2) == [4]",
+            "null == msg.single_any",
+            "b'abc' == bytes('abc') ? 1.5 : -0.0",
+            "duration('1s') < duration('2s')"
+          })
+          String expression)
+      throws Exception {
+    CelAbstractSyntaxTree ast = COMPILER.compile(expression).getAst();
+
+    CelCompactAst compactAst = CelCompactAst.fromCelAst(ast);
+
+    assertThat(compactAst.toCelAst()).isEqualTo(ast);
+    assertThat(compactAst.isChecked()).isTrue();
+    assertThat(compactAst.getResultType()).isEqualTo(ast.getResultType());
+  }
+
+  @Test
+  public void roundTrip_parsedAst() throws Exception {
+    CelAbstractSyntaxTree ast =
+        COMPILER.parse("[1, 2, 3].exists(x, x > 0) && TestAllTypes{}.single_int64 == 0").getAst();
+
+    CelCompactAst compactAst = CelCompactAst.fromCelAst(ast);
+
+    assertThat(compactAst.toCelAst()).isEqualTo(ast);
+    assertThat(compactAst.isChecked()).isFalse();
+    assertThat(compactAst.getResultType()).isEqualTo(SimpleType.DYN);
+  }
+
+  @Test
+  public void roundTrip_sparseIdsAndFlags() {
+    CelExpr expr =
+        CelExpr.ofCall(
+            10,
+            Optional.of(CelExpr.ofSelect(20, CelExpr.ofIdent(21, "a"), "b", true)),
+            "f",
+            ImmutableList.of(
+                CelExpr.ofList(
+                    30,
+                    ImmutableList.of(CelExpr.ofIdent(31, "x"), CelExpr.ofIdent(32, "y")),
+                    ImmutableList.of(1)),
+                CelExpr.ofStruct(
+                    40,
+                    "Msg",
+                    ImmutableList.of(
+                        CelExpr.ofStructEntry(41, "f", CelExpr.ofNotSet(42), true),
+                        CelExpr.ofStructEntry(43, "g", CelExpr.ofIdent(44, "x"), false))),
+                CelExpr.ofMap(
+                    50,
+                    ImmutableList.of(
+                        CelExpr.ofMapEntry(
+                            51,
+                            CelExpr.ofConstant(52, CelConstant.ofValue(1L)),
+                            CelExpr.ofConstant(53, CelConstant.ofValue(1.0)),
+                            true))),
+                CelExpr.ofComprehension(
+                    60,
+                    "i",
+                    "v",
+                    CelExpr.ofIdent(61, "x"),
+                    "__result__",
+                    CelExpr.ofConstant(62, CelConstant.ofValue(true)),
+                    CelExpr.ofConstant(63, CelConstant.ofValue(true)),
+                    CelExpr.ofIdent(64, "__result__"),
+                    CelExpr.ofIdent(65, "__result__"))));
+    CelSource source =
+        CelSource.newBuilder("a.b.f(...)")
+            .setDescription("desc")
+            .addPositions(10, 3)
+            .addPositions(1000, 7)
+            .addMacroCalls(
+                60, CelExpr.ofCall(66, Optional.empty(), "m", ImmutableList.of()))
+            .build();
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            expr,
+            source,
+            ImmutableMap.of(21L, CelReference.newBuilder().setName("a").build()),
+            ImmutableMap.of(10L, SimpleType.BOOL, 30L, SimpleType.DYN, 65L, SimpleType.BOOL));
+
+    CelCompactAst compactAst = CelCompactAst.fromCelAst(ast);
+
+    assertThat(compactAst.toCelAst()).isEqualTo(ast);
+    assertThat(compactAst.nodeCount()).isEqualTo(22);
+  }
+
+  @Test
+  public void lookups_matchAst() throws Exception {
+    CelAbstractSyntaxTree ast =
+        COMPILER.compile("[1, 2, 3].exists(x, x > msg.single_int64)").getAst();
+
+    CelCompactAst compactAst = CelCompactAst.fromCelAst(ast);
+
+    for (long id = -1; id < 32; id++) {
+      assertThat(compactAst.getType(id)).isEqualTo(ast.getType(id));
+      assertThat(compactAst.getReference(id)).isEqualTo(ast.getReference(id));
+      assertThat(compactAst.getPosition(id))
+          .isEqualTo(Optional.ofNullable(ast.getSource().getPositionsMap().get(id)));
+    }
+  }
+}
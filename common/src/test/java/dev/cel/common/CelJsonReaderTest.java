@@ -0,0 +1,246 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.testing.junit.testparameterinjector.TestParameter;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.common.values.NullValue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public class CelJsonReaderTest {
+
+  @Test
+  public void parse_primitives() {
+    assertThat(CelJsonReader.parse("null")).isEqualTo(NullValue.NULL_VALUE);
+    assertThat(CelJsonReader.parse(" true ")).isEqualTo(true);
+    assertThat(CelJsonReader.parse("false")).isEqualTo(false);
+    assertThat(CelJsonReader.parse("0")).isEqualTo(0.0d);
+    assertThat(CelJsonReader.parse("-12")).isEqualTo(-12.0d);
+    assertThat(CelJsonReader.parse("1.5e3")).isEqualTo(1500.0d);
+    assertThat(CelJsonReader.parse("2E-2")).isEqualTo(0.02d);
+    assertThat(CelJsonReader.parse("\"hello\"")).isEqualTo("hello");
+  }
+
+  @Test
+  public void parse_stringEscapes() {
+    assertThat(CelJsonReader.parse("\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\\ud83d\\ude00\""))
+        .isEqualTo("a\"b\\c/d\n\té😀");
+  }
+
+  @Test
+  public void parse_nestedCollections() {
+    Object value =
+        CelJsonReader.parse("{\"a\": [1, \"two\", {}], \"b\": {\"c\": null}, \"d\": []}");
+
+    assertThat(value)
+        .isEqualTo(
+            ImmutableMap.of(
+                "a",
+                ImmutableList.of(1.0d, "two", ImmutableMap.of()),
+                "b",
+                ImmutableMap.of("c", NullValue.NULL_VALUE),
+                "d",
+                ImmutableList.of()));
+  }
+
+  @Test
+  public void parse_duplicateKeys_lastWins() {
+    assertThat(CelJsonReader.parse("{\"a\": 1, \"b\": 2, \"a\": 3}"))
+        .isEqualTo(ImmutableMap.of("a", 3.0d, "b", 2.0d));
+  }
+
+  @Test
+  public void parse_stringLargerThanBuffer() {
+    String longString = Strings.repeat("abc\\n", 5000);
+
+    assertThat(CelJsonReader.parse("[\"" + longString + "\"]"))
+        .isEqualTo(ImmutableList.of(Strings.repeat("abc\n", 5000)));
+  }
+
+  @Test
+  public void readsSequenceOfValues() throws Exception {
+    CelJsonReader reader = CelJsonReader.create(new StringReader("{\"a\": 1}\n[true]\n\"x\"\n"));
+
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next()).isEqualTo(ImmutableMap.of("a", 1.0d));
+    assertThat(reader.next()).isEqualTo(ImmutableList.of(true));
+    assertThat(reader.next()).isEqualTo("x");
+    assertThat(reader.hasNext()).isFalse();
+    assertThrows(NoSuchElementException.class, reader::next);
+  }
+
+  @Test
+  public void readsFromInputStream_oneCharacterAtATime() throws Exception {
+    byte[] bytes = "{\"키\": [\"값\", 1]}".getBytes(UTF_8);
+    Reader slowReader =
+        new Reader() {
+          private final Reader delegate =
+              new InputStreamReader(new ByteArrayInputStream(bytes), UTF_8);
+
+          @Override
+          public int read(char[] cbuf, int off, int len) throws IOException {
+            return delegate.read(cbuf, off, Math.min(len, 1));
+          }
+
+          @Override
+          public void close() throws IOException {
+            delegate.close();
+          }
+        };
+
+    assertThat(CelJsonReader.create(slowReader).next())
+        .isEqualTo(ImmutableMap.of("키", ImmutableList.of("값", 1.0d)));
+    assertThat(CelJsonReader.create(new ByteArrayInputStream(bytes)).next())
+        .isEqualTo(ImmutableMap.of("키", ImmutableList.of("값", 1.0d)));
+  }
+
+  @Test
+  public void parse_roundTripsWriterOutput() {
+    ImmutableMap<String, Object> value =
+        ImmutableMap.of(
+            "list",
+            ImmutableList.of(1.25d, "x\u0000y", false, NullValue.NULL_VALUE),
+            "map",
+            ImmutableMap.of("nested", ImmutableList.of(ImmutableMap.of())));
+
+    assertThat(CelJsonReader.parse(CelJsonWriter.toJsonString(value))).isEqualTo(value);
+  }
+
+  @Test
+  public void parse_malformed_throws(
+      @TestParameter({
+            "",
+            "{",
+            "[1,]",
+            "{\"a\" 1}",
+            "{a: 1}",
+            "01",
+            "1.2.3",
+            "1.",
+            "-",
+            "1e",
+            "tru",
+            "\"unterminated",
+            "\"bad\\escape\"",
+            "\"\\u12g4\"",
+            "[1] 2",
+            "\"tab\there\""
+          })
+          String json) {
+    assertThrows(RuntimeException.class, () -> CelJsonReader.parse(json));
+  }
+
+  @Test
+  public void parse_malformed_reportsOffset() {
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> CelJsonReader.parse("[1, 2, x]"));
+
+    assertThat(e)
+        .hasMessageThat()
+        .isEqualTo("Malformed JSON at offset 7: unexpected character 'x'");
+  }
+
+  @Test
+  public void parse_invalidNumber_reportsStartOffset() {
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> CelJsonReader.parse("[1, 01]"));
+
+    assertThat(e).hasMessageThat().isEqualTo("Malformed JSON at offset 4: invalid number");
+  }
+
+  @Test
+  public void createAt_visitsMembersInPlace() throws Exception {
+    ByteBuffer json = ByteBuffer.wrap("{\"a\": [1, {\"b\": x}], \"c\": \"d\"}".getBytes(UTF_8));
+    CelJsonReader reader = CelJsonReader.createAt(json, 0);
+
+    reader.beginObject();
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.nextName()).isEqualTo("a");
+    // Skipping does not decode the malformed nested value.
+    reader.skipValue();
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.nextName()).isEqualTo("c");
+    assertThat(reader.offset()).isEqualTo(26);
+    assertThat(reader.next()).isEqualTo("d");
+    assertThat(reader.hasNextMember()).isFalse();
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void createAt_visitsNestedContainers() throws Exception {
+    ByteBuffer json =
+        ByteBuffer.wrap("{\"a\": {\"b\": [1, 2]}, \"c\": []}".getBytes(UTF_8));
+    CelJsonReader reader = CelJsonReader.createAt(json, 0);
+
+    reader.beginObject();
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.nextName()).isEqualTo("a");
+    reader.beginObject();
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.nextName()).isEqualTo("b");
+    reader.beginArray();
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.next()).isEqualTo(1.0d);
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.next()).isEqualTo(2.0d);
+    assertThat(reader.hasNextMember()).isFalse();
+    assertThat(reader.hasNextMember()).isFalse();
+    // Iteration resumes in the outermost object.
+    assertThat(reader.hasNextMember()).isTrue();
+    assertThat(reader.nextName()).isEqualTo("c");
+    reader.beginArray();
+    assertThat(reader.hasNextMember()).isFalse();
+    assertThat(reader.hasNextMember()).isFalse();
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void readsMalformedUtf8_throws() {
+    byte[] bytes = {'[', '"', 'a', (byte) 0xc3, '"', ']'};
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> CelJsonReader.create(new ByteArrayInputStream(bytes)).next());
+
+    assertThat(e).hasMessageThat().contains("malformed UTF-8 in string");
+  }
+
+  @Test
+  public void parse_deeplyNested_throws() {
+    String json = Strings.repeat("[", 1000) + Strings.repeat("]", 1000);
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> CelJsonReader.parse(json));
+
+    assertThat(e).hasMessageThat().contains("nesting depth exceeds");
+  }
+}
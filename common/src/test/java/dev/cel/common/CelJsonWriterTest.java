@@ -0,0 +1,160 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.UnsignedLong;
+import com.google.protobuf.Empty;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.Value;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.common.values.CelByteString;
+import dev.cel.common.values.NullValue;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public class CelJsonWriterTest {
+
+  @Test
+  public void toJsonString_primitives() {
+    assertThat(CelJsonWriter.toJsonString(NullValue.NULL_VALUE)).isEqualTo("null");
+    assertThat(CelJsonWriter.toJsonString(true)).isEqualTo("true");
+    assertThat(CelJsonWriter.toJsonString(1L)).isEqualTo("1");
+    assertThat(CelJsonWriter.toJsonString(-5)).isEqualTo("-5");
+    assertThat(CelJsonWriter.toJsonString(Long.MAX_VALUE)).isEqualTo("\"9223372036854775807\"");
+    assertThat(CelJsonWriter.toJsonString(UnsignedLong.valueOf(1L))).isEqualTo("1");
+    assertThat(CelJsonWriter.toJsonString(UnsignedLong.fromLongBits(-1L)))
+        .isEqualTo("\"18446744073709551615\"");
+    assertThat(CelJsonWriter.toJsonString(1.5d)).isEqualTo("1.5");
+    assertThat(CelJsonWriter.toJsonString(2.0d)).isEqualTo("2");
+    assertThat(CelJsonWriter.toJsonString(-0.0d)).isEqualTo("-0");
+    assertThat(CelJsonWriter.toJsonString(1e300)).isEqualTo("1.0E300");
+    assertThat(CelJsonWriter.toJsonString(Double.NaN)).isEqualTo("\"NaN\"");
+    assertThat(CelJsonWriter.toJsonString(Double.NEGATIVE_INFINITY)).isEqualTo("\"-Infinity\"");
+    assertThat(CelJsonWriter.toJsonString(CelByteString.copyFromUtf8("foo"))).isEqualTo("\"Zm9v\"");
+  }
+
+  @Test
+  public void toJsonString_escapesStrings() {
+    assertThat(CelJsonWriter.toJsonString("a\"b\\c\nd\u0001é😀"))
+        .isEqualTo("\"a\\\"b\\\\c\\nd\\u0001é😀\"");
+  }
+
+  @Test
+  public void toJsonString_timeValues() {
+    assertThat(CelJsonWriter.toJsonString(Instant.ofEpochSecond(1)))
+        .isEqualTo("\"1970-01-01T00:00:01Z\"");
+    assertThat(CelJsonWriter.toJsonString(Timestamp.newBuilder().setSeconds(1).build()))
+        .isEqualTo("\"1970-01-01T00:00:01Z\"");
+    assertThat(CelJsonWriter.toJsonString(Duration.ofMillis(1500))).isEqualTo("\"1.500s\"");
+    assertThat(
+            CelJsonWriter.toJsonString(
+                com.google.protobuf.Duration.newBuilder().setSeconds(3).build()))
+        .isEqualTo("\"3s\"");
+  }
+
+  @Test
+  public void toJsonString_wellKnownMessages() {
+    assertThat(
+            CelJsonWriter.toJsonString(
+                FieldMask.newBuilder().addPaths("foo_bar").addPaths("baz").build()))
+        .isEqualTo("\"fooBar,baz\"");
+    assertThat(CelJsonWriter.toJsonString(Empty.getDefaultInstance())).isEqualTo("{}");
+    Value value =
+        Value.newBuilder()
+            .setStructValue(
+                Struct.newBuilder()
+                    .putFields(
+                        "list",
+                        Value.newBuilder()
+                            .setListValue(
+                                ListValue.newBuilder()
+                                    .addValues(Value.newBuilder().setNumberValue(1))
+                                    .addValues(Value.newBuilder().setBoolValue(false))
+                                    .addValues(Value.newBuilder().setNullValueValue(0)))
+                            .build()))
+            .build();
+    assertThat(CelJsonWriter.toJsonString(value)).isEqualTo("{\"list\":[1,false,null]}");
+  }
+
+  @Test
+  public void toJsonString_nestedCollections() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("a", ImmutableList.of(1L, "two", ImmutableMap.of()));
+    map.put("b", ImmutableMap.of("c", NullValue.NULL_VALUE));
+    map.put("d", ImmutableList.of());
+
+    assertThat(CelJsonWriter.toJsonString(map))
+        .isEqualTo("{\"a\":[1,\"two\",{}],\"b\":{\"c\":null},\"d\":[]}");
+  }
+
+  @Test
+  public void write_outputStream_isUtf8() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    CelJsonWriter.write(ImmutableMap.of("키", "값"), out);
+
+    assertThat(out.toString(UTF_8.name())).isEqualTo("{\"키\":\"값\"}");
+  }
+
+  @Test
+  public void write_appendable_matchesProtoJsonAdapter() throws Exception {
+    ImmutableMap<String, Object> map =
+        ImmutableMap.of(
+            "int", 42L,
+            "uint", UnsignedLong.valueOf(7L),
+            "list", Arrays.asList(1.25d, "x", true),
+            "bytes", CelByteString.copyFromUtf8("hi"),
+            "time", Instant.ofEpochSecond(0));
+    StringBuilder sb = new StringBuilder();
+
+    CelJsonWriter.write(map, sb);
+
+    assertThat(CelJsonReader.parse(sb.toString()))
+        .isEqualTo(
+            CelJsonReader.parse(
+                CelJsonWriter.toJsonString(CelProtoJsonAdapter.adaptToJsonStructValue(map))));
+  }
+
+  @Test
+  public void toJsonString_nonStringKey_throws() {
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> CelJsonWriter.toJsonString(ImmutableMap.of(1L, "a")));
+
+    assertThat(e).hasMessageThat().contains("cannot be adapted to a JSON object key");
+  }
+
+  @Test
+  public void toJsonString_unsupportedValue_throws() {
+    assertThrows(IllegalArgumentException.class, () -> CelJsonWriter.toJsonString(new Object()));
+  }
+}
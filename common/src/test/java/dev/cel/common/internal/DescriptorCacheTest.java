@@ -0,0 +1,93 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dev.cel.common.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import dev.cel.common.CelDescriptorUtil;
+import dev.cel.common.CelDescriptors;
+import dev.cel.expr.conformance.proto3.TestAllTypes;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class DescriptorCacheTest {
+
+  @Test
+  public void get_returnsCachedValue() {
+    DescriptorCache<String, Object> cache = DescriptorCache.create();
+
+    Object value = cache.get("key", Object::new);
+
+    assertThat(cache.get("key", Object::new)).isSameInstanceAs(value);
+    assertThat(cache.get(new String("key"), Object::new)).isSameInstanceAs(value);
+  }
+
+  @Test
+  public void get_identityKeys_comparesKeysByIdentity() {
+    DescriptorCache<String, Object> cache = DescriptorCache.createWithIdentityKeys();
+    String key = new String("key");
+
+    Object value = cache.get(key, Object::new);
+
+    assertThat(cache.get(key, Object::new)).isSameInstanceAs(value);
+    assertThat(cache.get(new String("key"), Object::new)).isNotSameInstanceAs(value);
+  }
+
+  @Test
+  public void get_exceedsMaximumSize_evictsEntries() {
+    DescriptorCache<String, Object> cache = DescriptorCache.createWithMaximumSize(1);
+    Object first = cache.get("first", Object::new);
+
+    Object second = cache.get("second", Object::new);
+
+    assertThat(cache.get("second", Object::new)).isSameInstanceAs(second);
+    assertThat(cache.get("first", Object::new)).isNotSameInstanceAs(first);
+  }
+
+  @Test
+  public void get_loaderThrows_propagatesException() {
+    DescriptorCache<String, Object> cache = DescriptorCache.create();
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                cache.get(
+                    "key",
+                    () -> {
+                      throw new IllegalArgumentException("bad descriptor");
+                    }));
+
+    assertThat(e).hasMessageThat().isEqualTo("bad descriptor");
+  }
+
+  @Test
+  public void getAllDescriptorsFromFileDescriptor_sharedAcrossCalls() {
+    ImmutableSet<FileDescriptor> files = ImmutableSet.of(TestAllTypes.getDescriptor().getFile());
+
+    CelDescriptors descriptors = CelDescriptorUtil.getAllDescriptorsFromFileDescriptor(files);
+
+    assertThat(CelDescriptorUtil.getAllDescriptorsFromFileDescriptor(files))
+        .isSameInstanceAs(descriptors);
+    CelDescriptorPool pool = DefaultDescriptorPool.create(descriptors);
+    assertThat(DefaultDescriptorPool.create(descriptors)).isSameInstanceAs(pool);
+  }
+}
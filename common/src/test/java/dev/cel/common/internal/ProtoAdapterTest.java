@@ -24,6 +24,7 @@ import com.google.protobuf.Any;
 import com.google.protobuf.BoolValue;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.DoubleValue;
 import com.google.protobuf.Duration;
 import com.google.protobuf.Empty;
@@ -41,6 +42,9 @@ import com.google.protobuf.Value;
 import com.google.type.Expr;
 import dev.cel.common.CelOptions;
 import dev.cel.common.values.CelByteString;
+import dev.cel.common.values.PrimitiveDoubleList;
+import dev.cel.common.values.PrimitiveLongList;
+import dev.cel.expr.conformance.proto3.TestAllTypes;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -235,6 +239,79 @@ public final class ProtoAdapterTest {
           .isEqualTo(Value.newBuilder().setStringValue("Zm9v").build());
     }
 
+    @Test
+    public void adaptFieldToValue_packedRepeatedInts_primitiveList() {
+      ProtoAdapter protoAdapter = new ProtoAdapter(DYNAMIC_PROTO, CelOptions.DEFAULT);
+      TestAllTypes msg =
+          TestAllTypes.newBuilder().addRepeatedInt32(-3).addRepeatedInt32(7).build();
+      FieldDescriptor field = TestAllTypes.getDescriptor().findFieldByName("repeated_int32");
+
+      Object value = protoAdapter.adaptFieldToValue(field, msg.getField(field)).get();
+
+      assertThat(value).isInstanceOf(PrimitiveLongList.class);
+      assertThat(value).isEqualTo(ImmutableList.of(-3L, 7L));
+    }
+
+    @Test
+    public void adaptFieldToValue_packedRepeatedUint32_unsignedLongsDisabled_primitiveList() {
+      CelOptions celOptions = CelOptions.newBuilder().enableUnsignedLongs(false).build();
+      ProtoAdapter protoAdapter = new ProtoAdapter(DYNAMIC_PROTO, celOptions);
+      TestAllTypes msg =
+          TestAllTypes.newBuilder().addRepeatedUint32(-1).addRepeatedUint32(7).build();
+      FieldDescriptor field = TestAllTypes.getDescriptor().findFieldByName("repeated_uint32");
+
+      Object value = protoAdapter.adaptFieldToValue(field, msg.getField(field)).get();
+
+      assertThat(value).isInstanceOf(PrimitiveLongList.class);
+      assertThat(value).isEqualTo(ImmutableList.of(4294967295L, 7L));
+    }
+
+    @Test
+    public void adaptFieldToValue_packedRepeatedUint64_unsignedLongsDisabled_primitiveList() {
+      CelOptions celOptions = CelOptions.newBuilder().enableUnsignedLongs(false).build();
+      ProtoAdapter protoAdapter = new ProtoAdapter(DYNAMIC_PROTO, celOptions);
+      TestAllTypes msg =
+          TestAllTypes.newBuilder().addRepeatedUint64(-1L).addRepeatedUint64(7L).build();
+      FieldDescriptor field = TestAllTypes.getDescriptor().findFieldByName("repeated_uint64");
+
+      Object value = protoAdapter.adaptFieldToValue(field, msg.getField(field)).get();
+
+      assertThat(value).isInstanceOf(PrimitiveLongList.class);
+      assertThat(value).isEqualTo(ImmutableList.of(-1L, 7L));
+    }
+
+    @Test
+    public void adaptFieldToValue_packedRepeatedUints_unsignedLongsEnabled_unsignedLongs() {
+      CelOptions celOptions = CelOptions.newBuilder().enableUnsignedLongs(true).build();
+      ProtoAdapter protoAdapter = new ProtoAdapter(DYNAMIC_PROTO, celOptions);
+      TestAllTypes msg =
+          TestAllTypes.newBuilder().addRepeatedFixed32(-1).addRepeatedUint64(-1L).build();
+      FieldDescriptor fixed32Field =
+          TestAllTypes.getDescriptor().findFieldByName("repeated_fixed32");
+      FieldDescriptor uint64Field = TestAllTypes.getDescriptor().findFieldByName("repeated_uint64");
+
+      Object fixed32Value =
+          protoAdapter.adaptFieldToValue(fixed32Field, msg.getField(fixed32Field)).get();
+      Object uint64Value =
+          protoAdapter.adaptFieldToValue(uint64Field, msg.getField(uint64Field)).get();
+
+      assertThat(fixed32Value).isEqualTo(ImmutableList.of(UnsignedLong.valueOf(4294967295L)));
+      assertThat(uint64Value).isEqualTo(ImmutableList.of(UnsignedLong.fromLongBits(-1L)));
+    }
+
+    @Test
+    public void adaptFieldToValue_packedRepeatedFloats_primitiveList() {
+      ProtoAdapter protoAdapter = new ProtoAdapter(DYNAMIC_PROTO, CelOptions.DEFAULT);
+      TestAllTypes msg =
+          TestAllTypes.newBuilder().addRepeatedFloat(1.5F).addRepeatedFloat(-2.25F).build();
+      FieldDescriptor field = TestAllTypes.getDescriptor().findFieldByName("repeated_float");
+
+      Object value = protoAdapter.adaptFieldToValue(field, msg.getField(field)).get();
+
+      assertThat(value).isInstanceOf(PrimitiveDoubleList.class);
+      assertThat(value).isEqualTo(ImmutableList.of(1.5D, -2.25D));
+    }
+
     @Test
     public void adaptValueToProto_unsupportedJsonConversion() {
       ProtoAdapter protoAdapter = new ProtoAdapter(DYNAMIC_PROTO, CelOptions.DEFAULT);
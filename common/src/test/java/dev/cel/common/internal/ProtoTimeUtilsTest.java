@@ -17,11 +17,16 @@ package dev.cel.common.internal;
 import static com.google.common.truth.Truth.assertThat;
 import static dev.cel.common.internal.ProtoTimeUtils.DURATION_SECONDS_MAX;
 import static dev.cel.common.internal.ProtoTimeUtils.DURATION_SECONDS_MIN;
+import static org.junit.Assert.assertThrows;
 
 import com.google.protobuf.Duration;
 import com.google.protobuf.Timestamp;
+import com.google.testing.junit.testparameterinjector.TestParameter;
 import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import com.google.testing.junit.testparameterinjector.TestParameters;
+import java.text.ParseException;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -69,4 +74,123 @@ public class ProtoTimeUtilsTest {
 
     assertThat(duration).isEqualTo(java.time.Duration.ofSeconds(DURATION_SECONDS_MIN - 1));
   }
+
+  @Test
+  public void formatTimestamp_matchesInstant(
+      @TestParameter({
+            "-62135596800", // 0001-01-01T00:00:00Z
+            "-2208988800", // 1900-01-01T00:00:00Z
+            "-1",
+            "0",
+            "68256000", // 1972-03-01T00:00:00Z
+            "951782400", // 2000-02-29T00:00:00Z
+            "1709251199", // 2024-02-29T23:59:59Z
+            "253402300799" // 9999-12-31T23:59:59Z
+          })
+          long seconds,
+      @TestParameter({"0", "21000000", "21000", "21"}) int nanos) {
+    String formatted = ProtoTimeUtils.formatTimestamp(seconds, nanos);
+
+    assertThat(formatted).isEqualTo(Instant.ofEpochSecond(seconds, nanos).toString());
+  }
+
+  @Test
+  @TestParameters("{text: '1972-01-01T10:00:20.021-05:00'}")
+  @TestParameters("{text: '2000-02-29T23:59:59.999999999+14:00'}")
+  @TestParameters("{text: '0001-01-01T00:00:00Z'}")
+  @TestParameters("{text: '9999-12-31T23:59:59.5Z'}")
+  @TestParameters("{text: '2024-06-15T08:30:00+05:30'}")
+  public void parseInstant_matchesOffsetDateTime(String text) throws Exception {
+    Instant instant = ProtoTimeUtils.parseInstant(text);
+
+    assertThat(instant).isEqualTo(OffsetDateTime.parse(text).toInstant());
+  }
+
+  @Test
+  @TestParameters("{text: '1972-01-01T10:00:20.021-05:00'}")
+  @TestParameters("{text: '2024-06-15t08:30:00z'}")
+  @TestParameters("{text: '2024-06-15T08:30:00.123z'}")
+  @TestParameters("{text: '2024-06-15T08:30Z'}")
+  @TestParameters("{text: '2024-06-15T08:30+05:30'}")
+  @TestParameters("{text: '2024-06-15T08:30:00.Z'}")
+  @TestParameters("{text: '2024-06-15T08:30:00+05'}")
+  @TestParameters("{text: '2024-06-15T08:30:00-01:30:15'}")
+  @TestParameters("{text: '2024-06-15T08:30:00+18:00'}")
+  @TestParameters("{text: '2024-06-15T08:30:00-18:00'}")
+  public void parseIsoInstant_matchesOffsetDateTime(String text) throws Exception {
+    Instant instant = ProtoTimeUtils.parseIsoInstant(text);
+
+    assertThat(instant).isEqualTo(OffsetDateTime.parse(text).toInstant());
+  }
+
+  @Test
+  @TestParameters("{text: '2021-01-01 00:00:00Z', errorOffset: 10}")
+  @TestParameters("{text: '2021-01-01T00Z', errorOffset: 13}")
+  @TestParameters("{text: '2021-01-01T00:00.5Z', errorOffset: 16}")
+  @TestParameters("{text: '2021-01-01T00:00:00.0123456789Z', errorOffset: 29}")
+  @TestParameters("{text: '2021-01-01T00:00:00+5', errorOffset: 21}")
+  @TestParameters("{text: '2021-01-01T00:00:00+0530', errorOffset: 22}")
+  @TestParameters("{text: '2021-01-01T00:00:00+05:3', errorOffset: 24}")
+  @TestParameters("{text: '2021-01-01T00:00:00+05:60', errorOffset: 20}")
+  @TestParameters("{text: '2021-01-01T00:00:00+18:01', errorOffset: 20}")
+  @TestParameters("{text: '2021-01-01T00:00:60Z', errorOffset: 17}")
+  @TestParameters("{text: '2021-02-29T00:00:00Z', errorOffset: 8}")
+  @TestParameters("{text: '2021-13-01T00:00:00Z', errorOffset: 5}")
+  public void parseIsoInstant_invalid_throws(String text, int errorOffset) {
+    ParseException e =
+        assertThrows(ParseException.class, () -> ProtoTimeUtils.parseIsoInstant(text));
+
+    assertThat(e.getErrorOffset()).isEqualTo(errorOffset);
+  }
+
+  @Test
+  public void parse_roundTripsToString() throws Exception {
+    Timestamp ts = Timestamp.newBuilder().setSeconds(-1234567890L).setNanos(120000).build();
+
+    assertThat(ProtoTimeUtils.parse(ProtoTimeUtils.toString(ts))).isEqualTo(ts);
+  }
+
+  @Test
+  @TestParameters("{text: '2016-12-31T23:59:60Z', expected: '2017-01-01T00:00:00Z'}")
+  @TestParameters("{text: '2021-02-29T00:00:00Z', expected: '2021-03-01T00:00:00Z'}")
+  @TestParameters("{text: '2021-13-01T00:00:00Z', expected: '2022-01-01T00:00:00Z'}")
+  @TestParameters("{text: '2021-01-32T00:00:00Z', expected: '2021-02-01T00:00:00Z'}")
+  @TestParameters("{text: '2021-00-00T24:00:00Z', expected: '2020-12-01T00:00:00Z'}")
+  @TestParameters("{text: '2021-01-01T00:00:00.0123456789Z', expected: '2021-01-01T00:00:00.012345678Z'}")
+  @TestParameters("{text: '2021-01-01T00:00:00.Z', expected: '2021-01-01T00:00:00Z'}")
+  public void parseInstant_lenientFields_matchesCalendar(String text, String expected)
+      throws Exception {
+    // Out of range fields roll over as they did with the lenient SimpleDateFormat parser.
+    assertThat(ProtoTimeUtils.parseInstant(text)).isEqualTo(Instant.parse(expected));
+  }
+
+  @Test
+  @TestParameters("{text: 'bad timestamp string', errorOffset: 0}")
+  @TestParameters("{text: '2021-01-01 00:00:00Z', errorOffset: 10}")
+  @TestParameters("{text: '2021-01-01t00:00:00Z', errorOffset: 10}")
+  @TestParameters("{text: '2021-01-01T00:00Z', errorOffset: 16}")
+  @TestParameters("{text: '2021-01-01T00:00:00z', errorOffset: 19}")
+  @TestParameters("{text: '2021-01-01T00:00:00', errorOffset: 19}")
+  @TestParameters("{text: '2021-01-01T00:00:00+5:00', errorOffset: 21}")
+  @TestParameters("{text: '2021-01-01T00:00:00Zjunk', errorOffset: 20}")
+  public void parseInstant_invalid_throws(String text, int errorOffset) {
+    ParseException e = assertThrows(ParseException.class, () -> ProtoTimeUtils.parseInstant(text));
+
+    assertThat(e.getErrorOffset()).isEqualTo(errorOffset);
+  }
+
+  @Test
+  public void formatTimestamp_outOfRange_throws() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ProtoTimeUtils.formatTimestamp(ProtoTimeUtils.TIMESTAMP_SECONDS_MIN - 1, 0));
+  }
+
+  @Test
+  public void parse_outOfRange_throws() {
+    ParseException e =
+        assertThrows(ParseException.class, () -> ProtoTimeUtils.parse("0000-12-31T23:59:59Z"));
+
+    assertThat(e).hasMessageThat().contains("Timestamp is out of range");
+  }
 }
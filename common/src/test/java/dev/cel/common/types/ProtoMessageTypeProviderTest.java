@@ -211,6 +211,18 @@ public final class ProtoMessageTypeProviderTest {
     assertThat(valueType.kind()).isEqualTo(CelKind.STRUCT);
   }
 
+  @Test
+  public void findField_repeatedLookup_returnsSameType() {
+    ProtoMessageType protoType =
+        (ProtoMessageType)
+            proto3Provider.findType("cel.expr.conformance.proto3.TestAllTypes").get();
+
+    CelType fieldType = protoType.findField("map_int64_nested_type").get().type();
+
+    assertThat(protoType.findField("map_int64_nested_type").get().type())
+        .isSameInstanceAs(fieldType);
+  }
+
   @Test
   public void findType_withWellKnownTypes() {
     Optional<CelType> celType = proto3Provider.findType("cel.expr.conformance.proto3.TestAllTypes");
@@ -275,4 +287,24 @@ public final class ProtoMessageTypeProviderTest {
     assertThat(snakeCasedField).isEmpty();
     assertThat(jsonNameField).isPresent();
   }
+
+  @Test
+  public void build_sameFileDescriptors_sharesProvider() {
+    ProtoMessageTypeProvider typeProvider =
+        ProtoMessageTypeProvider.newBuilder()
+            .addFileDescriptors(SingleFile.getDescriptor().getFile())
+            .build();
+
+    assertThat(
+            ProtoMessageTypeProvider.newBuilder()
+                .addFileDescriptors(SingleFile.getDescriptor().getFile())
+                .build())
+        .isSameInstanceAs(typeProvider);
+    assertThat(
+            ProtoMessageTypeProvider.newBuilder()
+                .addFileDescriptors(SingleFile.getDescriptor().getFile())
+                .setAllowJsonFieldNames(true)
+                .build())
+        .isNotSameInstanceAs(typeProvider);
+  }
 }
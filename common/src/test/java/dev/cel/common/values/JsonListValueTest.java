@@ -0,0 +1,86 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class JsonListValueTest {
+
+  @Test
+  public void get_decodesElements() {
+    JsonListValue list = wrap("[1, -2.5e1, \"a\", true, null, {\"b\": [ ]}, []]");
+
+    assertThat(list)
+        .containsExactly(
+            1.0,
+            -25.0,
+            "a",
+            true,
+            NullValue.NULL_VALUE,
+            ImmutableMap.of("b", ImmutableList.of()),
+            ImmutableList.of())
+        .inOrder();
+    assertThat(list.get(5)).isInstanceOf(JsonMapValue.class);
+    assertThat(list.get(6)).isInstanceOf(JsonListValue.class);
+  }
+
+  @Test
+  public void equals_matchesListSemantics() {
+    JsonListValue list = wrap("[\"a\", [1]]");
+    ImmutableList<Object> expected = ImmutableList.of("a", ImmutableList.of(1.0));
+
+    assertThat(list).isEqualTo(expected);
+    assertThat(expected).isEqualTo(list);
+    assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(list.indexOf(ImmutableList.of(1.0))).isEqualTo(1);
+  }
+
+  @Test
+  public void emptyList() {
+    JsonListValue list = wrap("[ ]");
+
+    assertThat(list).isEmpty();
+    assertThat(list.isZeroValue()).isTrue();
+  }
+
+  @Test
+  public void mutation_throws() {
+    JsonListValue list = wrap("[1]");
+
+    assertThrows(UnsupportedOperationException.class, () -> list.add(2.0));
+    assertThrows(UnsupportedOperationException.class, () -> list.set(0, 2.0));
+  }
+
+  @Test
+  public void missingSeparator_reportedOnAccess() {
+    JsonListValue list = wrap("[1 2]");
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, list::size);
+    assertThat(e).hasMessageThat().contains("expected ',' or ']' but found '2'");
+  }
+
+  private static JsonListValue wrap(String json) {
+    return JsonListValue.wrap(json.getBytes(UTF_8));
+  }
+}
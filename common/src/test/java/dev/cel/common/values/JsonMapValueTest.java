@@ -0,0 +1,172 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dev.cel.common.exceptions.CelAttributeNotFoundException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class JsonMapValueTest {
+
+  private static final String PAYLOAD =
+      "{\"user\": {\"id\": \"u-1\", \"roles\": [\"admin\", \"dev\"]},"
+          + " \"score\": 0.5, \"count\": 3, \"active\": true, \"parent\": null,"
+          + " \"name\": \"Jos\\u00e9 \\\"J\\\"\\n\", \"city\": \"Zürich\"}";
+
+  @Test
+  public void get_decodesValues() {
+    JsonMapValue map = wrap(PAYLOAD);
+
+    assertThat(map).hasSize(7);
+    assertThat(map.get("score")).isEqualTo(0.5);
+    assertThat(map.get("count")).isEqualTo(3.0);
+    assertThat(map.get("active")).isEqualTo(true);
+    assertThat(map.get("parent")).isEqualTo(NullValue.NULL_VALUE);
+    assertThat(map.get("name")).isEqualTo("José \"J\"\n");
+    assertThat(map.get("city")).isEqualTo("Zürich");
+  }
+
+  @Test
+  public void get_nestedContainers_areLazy() {
+    JsonMapValue map = wrap(PAYLOAD);
+
+    Object user = map.get("user");
+    assertThat(user).isInstanceOf(JsonMapValue.class);
+    Object roles = ((JsonMapValue) user).get("roles");
+    assertThat(roles).isInstanceOf(JsonListValue.class);
+    assertThat(roles).isEqualTo(ImmutableList.of("admin", "dev"));
+    assertThat(map.get("user")).isSameInstanceAs(user);
+  }
+
+  @Test
+  public void get_missingOrNonStringKey_returnsNull() {
+    JsonMapValue map = wrap(PAYLOAD);
+
+    assertThat(map.get("missing")).isNull();
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.containsKey("id")).isFalse();
+  }
+
+  @Test
+  public void duplicateKeys_lastOneWins() {
+    JsonMapValue map = wrap("{\"a\": 1, \"b\": 2, \"a\": 3}");
+
+    assertThat(map).containsExactly("a", 3.0, "b", 2.0).inOrder();
+  }
+
+  @Test
+  public void equals_matchesMapSemantics() {
+    JsonMapValue map = wrap("{\"a\": {\"b\": [1, \"c\"]}, \"d\": false}");
+    ImmutableMap<String, Object> expected =
+        ImmutableMap.of("a", ImmutableMap.of("b", ImmutableList.of(1.0, "c")), "d", false);
+
+    assertThat(map).isEqualTo(expected);
+    assertThat(expected).isEqualTo(map);
+    assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+  }
+
+  @Test
+  public void selectAndFind() {
+    JsonMapValue map = wrap(PAYLOAD);
+
+    assertThat(map.select("score")).isEqualTo(0.5);
+    assertThat(map.find("score")).hasValue(0.5);
+    assertThat(map.find("missing")).isEmpty();
+    CelAttributeNotFoundException e =
+        assertThrows(CelAttributeNotFoundException.class, () -> map.select("missing"));
+    assertThat(e).hasMessageThat().contains("key 'missing' is not present in map.");
+  }
+
+  @Test
+  public void wrap_readsFromBufferPosition() {
+    byte[] json = "{\"a\": \"b\"}".getBytes(UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(json.length + 3);
+    buffer.put(new byte[3]).put(json).position(3);
+
+    assertThat(JsonMapValue.wrap(buffer)).containsExactly("a", "b");
+  }
+
+  @Test
+  public void emptyMap() {
+    JsonMapValue map = wrap(" {} ");
+
+    assertThat(map).isEmpty();
+    assertThat(map.isZeroValue()).isTrue();
+  }
+
+  @Test
+  public void mutation_throws() {
+    JsonMapValue map = wrap(PAYLOAD);
+
+    assertThrows(UnsupportedOperationException.class, () -> map.put("a", "b"));
+    assertThrows(UnsupportedOperationException.class, () -> map.remove("score"));
+  }
+
+  @Test
+  public void wrap_notAnObject_throws() {
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> wrap("[1, 2]"));
+    assertThat(e).hasMessageThat().contains("expected '{'");
+  }
+
+  @Test
+  public void trailingContent_reportedOnAccess() {
+    JsonMapValue map = wrap("{\"a\": 1} {}");
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, map::size);
+    assertThat(e).hasMessageThat().contains("unexpected content after the JSON value");
+  }
+
+  @Test
+  public void truncated_reportedOnAccess() {
+    JsonMapValue map = wrap("{\"a\": {\"b\": 1}");
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, map::size);
+    assertThat(e).hasMessageThat().contains("unexpected end of input");
+  }
+
+  @Test
+  public void malformedUtf8_reportedOnAccess() {
+    byte[] json = "{\"a\": \"?\", \"b\": 1}".getBytes(UTF_8);
+    json[7] = (byte) 0xff;
+    JsonMapValue map = JsonMapValue.wrap(json);
+
+    assertThat(map.get("b")).isEqualTo(1.0);
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> map.get("a"));
+    assertThat(e).hasMessageThat().contains("offset 7: malformed UTF-8 in string");
+  }
+
+  @Test
+  public void malformedValue_reportedOnAccess() {
+    JsonMapValue map = wrap("{\"a\": 1, \"b\": 01}");
+
+    assertThat(map.get("a")).isEqualTo(1.0);
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> map.get("b"));
+    assertThat(e).hasMessageThat().contains("Malformed JSON at offset 14: invalid number");
+  }
+
+  private static JsonMapValue wrap(String json) {
+    return JsonMapValue.wrap(json.getBytes(UTF_8));
+  }
+}
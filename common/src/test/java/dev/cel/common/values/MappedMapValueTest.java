@@ -0,0 +1,162 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.common.values;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.UnsignedLong;
+import dev.cel.common.exceptions.CelAttributeNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MappedMapValueTest {
+
+  private static final ImmutableMap<Object, Object> TABLE =
+      ImmutableMap.<Object, Object>builder()
+          .put("10.0.0.1", "blocked")
+          .put("192.168.0.1", 0.25)
+          .put("", "empty")
+          .put(42L, true)
+          .put(-1L, "negative")
+          .put(UnsignedLong.valueOf(7), 7L)
+          .put(false, UnsignedLong.MAX_VALUE)
+          .buildOrThrow();
+
+  @Test
+  public void get_roundTripsAllEntries() throws Exception {
+    MappedMapValue map = wrap(TABLE);
+
+    assertThat(map).hasSize(TABLE.size());
+    for (Map.Entry<Object, Object> entry : TABLE.entrySet()) {
+      assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+  @Test
+  public void get_missingKey_returnsNull() throws Exception {
+    MappedMapValue map = wrap(TABLE);
+
+    assertThat(map.get("10.0.0.2")).isNull();
+    assertThat(map.get(43L)).isNull();
+    assertThat(map.get(UnsignedLong.valueOf(42))).isNull();
+    assertThat(map.get(true)).isNull();
+    assertThat(map.get(1.0)).isNull();
+    assertThat(map.containsKey("10.0.0.2")).isFalse();
+  }
+
+  @Test
+  public void integerKey_matchesLong() throws Exception {
+    MappedMapValue map = wrap(ImmutableMap.of(1, 2));
+
+    assertThat(map.get(1L)).isEqualTo(2L);
+  }
+
+  @Test
+  public void equals_matchesMapSemantics() throws Exception {
+    MappedMapValue map = wrap(TABLE);
+
+    assertThat(map).isEqualTo(TABLE);
+    assertThat(TABLE).isEqualTo(map);
+    assertThat(map.hashCode()).isEqualTo(TABLE.hashCode());
+    assertThat(map.entrySet()).containsExactlyElementsIn(TABLE.entrySet());
+  }
+
+  @Test
+  public void selectAndFind() throws Exception {
+    MappedMapValue map = wrap(TABLE);
+
+    assertThat(map.select("10.0.0.1")).isEqualTo("blocked");
+    assertThat(map.find("10.0.0.1")).hasValue("blocked");
+    assertThat(map.find("10.0.0.2")).isEmpty();
+    CelAttributeNotFoundException e =
+        assertThrows(CelAttributeNotFoundException.class, () -> map.select("10.0.0.2"));
+    assertThat(e).hasMessageThat().contains("key '10.0.0.2' is not present in map.");
+  }
+
+  @Test
+  public void wrap_readsFromBufferPosition() throws Exception {
+    byte[] table = serialize(TABLE);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(table.length + 3);
+    buffer.put(new byte[3]).put(table).position(3);
+
+    assertThat(MappedMapValue.wrap(buffer)).isEqualTo(TABLE);
+  }
+
+  @Test
+  public void emptyMap() throws Exception {
+    MappedMapValue map = wrap(ImmutableMap.of());
+
+    assertThat(map).isEmpty();
+    assertThat(map.isZeroValue()).isTrue();
+    assertThat(map.get("a")).isNull();
+  }
+
+  @Test
+  public void mutation_throws() throws Exception {
+    MappedMapValue map = wrap(TABLE);
+
+    assertThrows(UnsupportedOperationException.class, () -> map.put("a", "b"));
+    assertThrows(UnsupportedOperationException.class, () -> map.remove(42L));
+  }
+
+  @Test
+  public void wrap_invalidBuffer_throws() {
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> MappedMapValue.wrap(ByteBuffer.wrap(new byte[] {1, 2, 3, 4})));
+    assertThat(e).hasMessageThat().contains("does not contain a CEL map table");
+  }
+
+  @Test
+  public void write_unsupportedValue_throws() {
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> serialize(ImmutableMap.of("a", ImmutableMap.of())));
+    assertThat(e).hasMessageThat().contains("Unsupported map entry");
+  }
+
+  @Test
+  public void write_doubleKey_throws() {
+    assertThrows(IllegalArgumentException.class, () -> serialize(ImmutableMap.of(1.0, "a")));
+  }
+
+  @Test
+  public void write_duplicateKey_throws() {
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class, () -> serialize(ImmutableMap.of(1, "a", 1L, "b")));
+    assertThat(e).hasMessageThat().contains("Duplicate map key: 1");
+  }
+
+  private static MappedMapValue wrap(Map<?, ?> map) throws IOException {
+    return MappedMapValue.wrap(ByteBuffer.wrap(serialize(map)));
+  }
+
+  private static byte[] serialize(Map<?, ?> map) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    MappedMapValue.write(map, output);
+    return output.toByteArray();
+  }
+}
@@ -226,4 +226,72 @@ public class ProtoMessageValueProviderTest {
     assertThat(protoMessageValue.isZeroValue()).isFalse();
     assertThat(protoMessageValue.select("single_int32")).isEqualTo(1L);
   }
+
+  @Test
+  public void newStructFactory_createProtoMessage_fieldsPopulated() {
+    ProtoMessageValueProvider protoMessageValueProvider =
+        ProtoMessageValueProvider.newInstance(CelOptions.DEFAULT, DYNAMIC_PROTO);
+    CelValueProvider.StructFactory structFactory =
+        protoMessageValueProvider
+            .newStructFactory(
+                TestAllTypes.getDescriptor().getFullName(),
+                ImmutableList.of(
+                    "single_int32", "single_string", "cel.expr.conformance.proto2.int32_ext"))
+            .get();
+
+    ProtoMessageValue protoMessageValue =
+        (ProtoMessageValue) structFactory.newValue(new Object[] {1, null, 2});
+
+    assertThat(protoMessageValue.select("single_int32")).isEqualTo(1L);
+    assertThat(protoMessageValue.select("cel.expr.conformance.proto2.int32_ext")).isEqualTo(2);
+    assertThat(protoMessageValue.select("single_string")).isEqualTo("");
+  }
+
+  @Test
+  public void newStructFactory_createWrapper() {
+    ProtoMessageValueProvider protoMessageValueProvider =
+        ProtoMessageValueProvider.newInstance(CelOptions.DEFAULT, DYNAMIC_PROTO);
+    CelValueProvider.StructFactory structFactory =
+        protoMessageValueProvider
+            .newStructFactory("google.protobuf.Int64Value", ImmutableList.of("value"))
+            .get();
+
+    assertThat(structFactory.newValue(new Object[] {5L})).isEqualTo(5L);
+  }
+
+  @Test
+  public void newStructFactory_invalidMessageName_returnsEmpty() {
+    ProtoMessageValueProvider protoMessageValueProvider =
+        ProtoMessageValueProvider.newInstance(CelOptions.DEFAULT, DYNAMIC_PROTO);
+
+    assertThat(protoMessageValueProvider.newStructFactory("bogus", ImmutableList.of())).isEmpty();
+  }
+
+  @Test
+  public void newStructFactory_invalidField_returnsEmpty() {
+    ProtoMessageValueProvider protoMessageValueProvider =
+        ProtoMessageValueProvider.newInstance(CelOptions.DEFAULT, DYNAMIC_PROTO);
+
+    assertThat(
+            protoMessageValueProvider.newStructFactory(
+                TestAllTypes.getDescriptor().getFullName(), ImmutableList.of("bogus")))
+        .isEmpty();
+  }
+
+  @Test
+  public void newStructFactory_onCombinedProvider_onlyBindsFirstProvider() {
+    CelValueProvider celValueProvider = (structType, fields) -> Optional.empty();
+    ProtoMessageValueProvider protoMessageValueProvider =
+        ProtoMessageValueProvider.newInstance(CelOptions.DEFAULT, DYNAMIC_PROTO);
+    String typeName = TestAllTypes.getDescriptor().getFullName();
+
+    assertThat(
+            CombinedCelValueProvider.combine(protoMessageValueProvider, celValueProvider)
+                .newStructFactory(typeName, ImmutableList.of("single_int32")))
+        .isPresent();
+    assertThat(
+            CombinedCelValueProvider.combine(celValueProvider, protoMessageValueProvider)
+                .newStructFactory(typeName, ImmutableList.of("single_int32")))
+        .isEmpty();
+  }
 }
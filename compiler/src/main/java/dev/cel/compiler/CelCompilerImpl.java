@@ -25,6 +25,7 @@ import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import dev.cel.checker.CelChecker;
 import dev.cel.checker.CelCheckerBuilder;
+import dev.cel.checker.CelCheckerLegacyImpl;
 import dev.cel.checker.CelStandardDeclarations;
 import dev.cel.checker.ProtoTypeMask;
 import dev.cel.checker.TypeProvider;
@@ -106,6 +107,29 @@ public final class CelCompilerImpl implements CelCompiler, EnvVisitable {
     return parser.toParserBuilder();
   }
 
+  /**
+   * Returns a compiler which additionally declares {@code varDecls} and {@code functionDecls}.
+   *
+   * <p>The parser is shared with the returned compiler. When the checker is a {@link
+   * CelCheckerLegacyImpl}, its declarations are shared as well, so that the cost of extending the
+   * compiler is proportional to the number of declarations added.
+   */
+  public CelCompilerImpl extend(
+      Iterable<CelVarDecl> varDecls, Iterable<CelFunctionDecl> functionDecls) {
+    CelChecker extendedChecker;
+    if (checker instanceof CelCheckerLegacyImpl) {
+      extendedChecker = ((CelCheckerLegacyImpl) checker).extend(varDecls, functionDecls);
+    } else {
+      extendedChecker =
+          checker
+              .toCheckerBuilder()
+              .addVarDeclarations(varDecls)
+              .addFunctionDeclarations(functionDecls)
+              .build();
+    }
+    return new CelCompilerImpl(parser, extendedChecker);
+  }
+
   /** Combines a prebuilt {@link CelParser} and {@link CelChecker} into {@link CelCompilerImpl}. */
   static CelCompilerImpl combine(CelParser parser, CelChecker checker) {
     return new CelCompilerImpl(parser, checker);
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Ints;
 import dev.cel.checker.CelCheckerBuilder;
 import dev.cel.common.CelFunctionDecl;
 import dev.cel.common.CelIssue;
@@ -34,6 +35,8 @@ import dev.cel.common.internal.ComparisonFunctions;
 import dev.cel.common.types.ListType;
 import dev.cel.common.types.SimpleType;
 import dev.cel.common.types.TypeParamType;
+import dev.cel.common.values.PrimitiveDoubleList;
+import dev.cel.common.values.PrimitiveLongList;
 import dev.cel.compiler.CelCompilerLibrary;
 import dev.cel.parser.CelMacro;
 import dev.cel.parser.CelMacroExprFactory;
@@ -103,7 +106,7 @@ public final class CelListsExtensions
                 "Returns a list of integers from 0 to n-1.",
                 ListType.create(SimpleType.INT),
                 SimpleType.INT)),
-        CelFunctionBinding.from("lists_range", Long.class, CelListsExtensions::genRange)),
+        CelFunctionBinding.from("lists_range", Long.class, CelListsExtensions::range)),
     DISTINCT(
         CelFunctionDecl.newFunctionDeclaration(
             "distinct",
@@ -307,6 +310,15 @@ public final class CelListsExtensions
     return builder.build();
   }
 
+  /** Implements {@code lists.range} over a {@code long[]}, avoiding a boxed value per element. */
+  private static List<Long> range(long end) {
+    long[] values = new long[Ints.checkedCast(Math.max(end, 0))];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    }
+    return PrimitiveLongList.wrap(values);
+  }
+
   private static class RuntimeEqualityObjectWrapper {
     private final Object object;
     private final int hashCode;
@@ -358,7 +370,18 @@ public final class CelListsExtensions
     }
   }
 
-  private static ImmutableList<Object> sort(Collection<Object> objects) {
+  private static List<?> sort(Collection<Object> objects) {
+    // Primitive arrays sort in the same order as CelObjectComparator for values of one type.
+    if (objects instanceof PrimitiveLongList) {
+      long[] values = ((PrimitiveLongList) objects).toLongArray();
+      Arrays.sort(values);
+      return PrimitiveLongList.wrap(values);
+    }
+    if (objects instanceof PrimitiveDoubleList) {
+      double[] values = ((PrimitiveDoubleList) objects).toDoubleArray();
+      Arrays.sort(values);
+      return PrimitiveDoubleList.wrap(values);
+    }
     return ImmutableList.sortedCopyOf(new CelObjectComparator(), objects);
   }
 
@@ -35,6 +35,8 @@ import dev.cel.common.exceptions.CelNumericOverflowException;
 import dev.cel.common.internal.ComparisonFunctions;
 import dev.cel.common.types.ListType;
 import dev.cel.common.types.SimpleType;
+import dev.cel.common.values.PrimitiveDoubleList;
+import dev.cel.common.values.PrimitiveLongList;
 import dev.cel.compiler.CelCompilerLibrary;
 import dev.cel.parser.CelMacro;
 import dev.cel.parser.CelMacroExprFactory;
@@ -830,6 +832,26 @@ public final class CelMathExtensions
     if (list.isEmpty()) {
       throw new IllegalStateException("math.@max(list) argument must not be empty");
     }
+    if (list instanceof PrimitiveLongList) {
+      PrimitiveLongList longList = (PrimitiveLongList) list;
+      long max = longList.getLong(0);
+      for (int i = 1; i < longList.size(); i++) {
+        max = Math.max(max, longList.getLong(i));
+      }
+      return max;
+    }
+    if (list instanceof PrimitiveDoubleList) {
+      // Double#compare matches the ordering used for boxed doubles, including NaN and -0.0.
+      PrimitiveDoubleList doubleList = (PrimitiveDoubleList) list;
+      double max = doubleList.getDouble(0);
+      for (int i = 1; i < doubleList.size(); i++) {
+        double value = doubleList.getDouble(i);
+        if (Double.compare(value, max) > 0) {
+          max = value;
+        }
+      }
+      return max;
+    }
 
     Comparable max = list.get(0);
     for (int i = 1; i < list.size(); i++) {
@@ -1000,6 +1022,25 @@ public final class CelMathExtensions
     if (list.isEmpty()) {
       throw new IllegalStateException("math.@min(list) argument must not be empty");
     }
+    if (list instanceof PrimitiveLongList) {
+      PrimitiveLongList longList = (PrimitiveLongList) list;
+      long min = longList.getLong(0);
+      for (int i = 1; i < longList.size(); i++) {
+        min = Math.min(min, longList.getLong(i));
+      }
+      return min;
+    }
+    if (list instanceof PrimitiveDoubleList) {
+      PrimitiveDoubleList doubleList = (PrimitiveDoubleList) list;
+      double min = doubleList.getDouble(0);
+      for (int i = 1; i < doubleList.size(); i++) {
+        double value = doubleList.getDouble(i);
+        if (Double.compare(value, min) < 0) {
+          min = value;
+        }
+      }
+      return min;
+    }
 
     Comparable min = list.get(0);
     for (int i = 1; i < list.size(); i++) {
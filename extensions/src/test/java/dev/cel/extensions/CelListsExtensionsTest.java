@@ -26,6 +26,8 @@ import dev.cel.common.CelContainer;
 import dev.cel.common.CelValidationException;
 import dev.cel.common.CelValidationResult;
 import dev.cel.common.types.SimpleType;
+import dev.cel.common.values.PrimitiveDoubleList;
+import dev.cel.common.values.PrimitiveLongList;
 import dev.cel.expr.conformance.test.SimpleTest;
 import dev.cel.parser.CelStandardMacro;
 import dev.cel.runtime.CelEvaluationException;
@@ -240,6 +242,23 @@ public class CelListsExtensionsTest extends CelExtensionTestBase {
     assertThat(result).isEqualTo(eval(cel, expected));
   }
 
+  @Test
+  public void sort_primitiveList_success() throws Exception {
+    Object longs =
+        eval(
+            cel,
+            "non_list.sort()",
+            ImmutableMap.of("non_list", PrimitiveLongList.wrap(new long[] {4, 1, 3, 2})));
+    Object doubles =
+        eval(
+            cel,
+            "non_list.sort()",
+            ImmutableMap.of("non_list", PrimitiveDoubleList.wrap(new double[] {2.5, -1.0, 0.5})));
+
+    assertThat(longs).isEqualTo(eval(cel, "[1, 2, 3, 4]"));
+    assertThat(doubles).isEqualTo(eval(cel, "[-1.0, 0.5, 2.5]"));
+  }
+
   @Test
   @TestParameters("{expression: '[3.0, 2, 1u].sort()', expected: '[1u, 2, 3.0]'}")
   @TestParameters("{expression: '[4, 3, 2, 1].sort()', expected: '[1, 2, 3, 4]'}")
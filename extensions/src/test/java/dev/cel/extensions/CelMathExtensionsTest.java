@@ -31,6 +31,8 @@ import dev.cel.common.CelOverloadDecl;
 import dev.cel.common.CelValidationException;
 import dev.cel.common.types.ListType;
 import dev.cel.common.types.SimpleType;
+import dev.cel.common.values.PrimitiveDoubleList;
+import dev.cel.common.values.PrimitiveLongList;
 import dev.cel.compiler.CelCompiler;
 import dev.cel.compiler.CelCompilerFactory;
 import dev.cel.runtime.CelEvaluationException;
@@ -303,6 +305,30 @@ public class CelMathExtensionsTest {
         .contains("math.@max(list) argument must not be empty");
   }
 
+  @Test
+  public void greatestAndLeast_primitiveListVariable_success() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder()
+            .addLibraries(CelExtensions.math())
+            .addVar("ints", ListType.create(SimpleType.INT))
+            .addVar("doubles", ListType.create(SimpleType.DOUBLE))
+            .build();
+    CelAbstractSyntaxTree ast =
+        celCompiler
+            .compile(
+                "[math.greatest(ints), math.least(ints), math.greatest(doubles),"
+                    + " math.least(doubles)]")
+            .getAst();
+    ImmutableMap<String, Object> variables =
+        ImmutableMap.of(
+            "ints", PrimitiveLongList.wrap(new long[] {3, -7, 12, 5}),
+            "doubles", PrimitiveDoubleList.wrap(new double[] {2.5, -0.5, 9.75}));
+
+    Object result = cel.createProgram(ast).eval(variables);
+
+    assertThat(result).isEqualTo(ImmutableList.of(12L, -7L, 9.75D, -0.5D));
+  }
+
   @Test
   @TestParameters("{expr: '100.greatest(1) == 1'}")
   @TestParameters("{expr: 'dyn(100).greatest(1) == 1'}")
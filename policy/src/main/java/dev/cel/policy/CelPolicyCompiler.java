@@ -15,6 +15,7 @@
 package dev.cel.policy;
 
 import dev.cel.common.CelAbstractSyntaxTree;
+import java.util.List;
 
 /** Public interface for compiling CEL policies. */
 public interface CelPolicyCompiler {
@@ -42,4 +43,20 @@ public interface CelPolicyCompiler {
    */
   CelAbstractSyntaxTree compose(CelPolicy policy, CelCompiledRule compiledRule)
       throws CelPolicyValidationException;
+
+  /**
+   * Compiles several policies into a single CEL AST which evaluates to a list holding the output
+   * of each policy, in the order provided.
+   *
+   * <p>The policies are composed individually and then optimized together, so subexpressions
+   * common to several policies are extracted into a shared {@code cel.@block} and computed at most
+   * once per evaluation. Policies declaring imports are not supported.
+   *
+   * @throws UnsupportedOperationException if the compiler does not support compiling multiple
+   *     policies together.
+   */
+  default CelAbstractSyntaxTree compileAll(List<CelPolicy> policies)
+      throws CelPolicyValidationException {
+    throw new UnsupportedOperationException("Compiling multiple policies is not supported.");
+  }
 }
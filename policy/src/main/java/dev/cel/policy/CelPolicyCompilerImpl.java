@@ -14,15 +14,18 @@
 
 package dev.cel.policy;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
+import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import dev.cel.bundle.Cel;
 import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelContainer;
 import dev.cel.common.CelIssue;
+import dev.cel.common.CelMutableAst;
 import dev.cel.common.CelSource;
 import dev.cel.common.CelSourceLocation;
 import dev.cel.common.CelValidationException;
@@ -30,9 +33,11 @@ import dev.cel.common.CelValidationResult;
 import dev.cel.common.CelVarDecl;
 import dev.cel.common.ast.CelConstant;
 import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelMutableExpr.CelMutableList;
 import dev.cel.common.formats.ValueString;
 import dev.cel.common.types.CelType;
 import dev.cel.common.types.SimpleType;
+import dev.cel.optimizer.AstMutator;
 import dev.cel.optimizer.CelAstOptimizer;
 import dev.cel.optimizer.CelOptimizationException;
 import dev.cel.optimizer.CelOptimizer;
@@ -61,6 +66,7 @@ import java.util.Optional;
 final class CelPolicyCompilerImpl implements CelPolicyCompiler {
   private static final String DEFAULT_VARIABLE_PREFIX = "variables.";
   private static final int DEFAULT_ITERATION_LIMIT = 1000;
+  private static final String POLICY_LIST_FUNCTION = "cel.@policies";
   private final Cel cel;
   private final String variablesPrefix;
   private final int iterationLimit;
@@ -103,6 +109,71 @@ final class CelPolicyCompilerImpl implements CelPolicyCompiler {
   public CelAbstractSyntaxTree compose(CelPolicy policy, CelCompiledRule compiledRule)
       throws CelPolicyValidationException {
     Cel cel = compiledRule.cel();
+    return optimizeComposedAst(composeRule(policy, compiledRule), cel);
+  }
+
+  @Override
+  public CelAbstractSyntaxTree compileAll(List<CelPolicy> policies)
+      throws CelPolicyValidationException {
+    return compilePolicies(policies).combinedAst();
+  }
+
+  /**
+   * Compiles the policies together as {@link #compileAll} does, and also returns the composed AST
+   * of each individual policy. Those ASTs are checked but not optimized.
+   */
+  CompiledPolicies compilePolicies(List<CelPolicy> policies) throws CelPolicyValidationException {
+    checkArgument(!policies.isEmpty(), "At least one policy must be provided.");
+    ImmutableList.Builder<CelAbstractSyntaxTree> policyAsts = ImmutableList.builder();
+    List<CelMutableAst> composedAsts = new ArrayList<>();
+    for (CelPolicy policy : policies) {
+      if (!policy.imports().isEmpty()) {
+        // Imports alter the container of a single policy, whereas the combined expression is
+        // checked in the shared environment.
+        throw new CelPolicyValidationException(
+            String.format(
+                "Policy '%s' declares imports, which are not supported when compiling multiple"
+                    + " policies together.",
+                policy.name().value()));
+      }
+      CelAbstractSyntaxTree policyAst = composeRule(policy, compileRule(policy));
+      policyAsts.add(policyAst);
+      composedAsts.add(CelMutableAst.fromCelAst(policyAst));
+    }
+
+    // Stitch the policies together as arguments of a placeholder call, then turn it into a list
+    // so that the outputs of each policy are returned in order.
+    CelMutableAst combinedAst =
+        AstMutator.newInstance(iterationLimit).newGlobalCall(POLICY_LIST_FUNCTION, composedAsts);
+    combinedAst.expr().setList(CelMutableList.create(combinedAst.expr().call().args()));
+
+    CelAbstractSyntaxTree ast;
+    try {
+      ast = cel.check(combinedAst.toParsedAst()).getAst();
+    } catch (CelValidationException e) {
+      throw new CelPolicyValidationException("Unexpected error while combining policies.", e);
+    }
+
+    return CompiledPolicies.create(optimizeComposedAst(ast, cel), policyAsts.build());
+  }
+
+  /** The combined AST of several policies, along with the composed AST of each policy. */
+  @AutoValue
+  abstract static class CompiledPolicies {
+
+    abstract CelAbstractSyntaxTree combinedAst();
+
+    abstract ImmutableList<CelAbstractSyntaxTree> policyAsts();
+
+    private static CompiledPolicies create(
+        CelAbstractSyntaxTree combinedAst, ImmutableList<CelAbstractSyntaxTree> policyAsts) {
+      return new AutoValue_CelPolicyCompilerImpl_CompiledPolicies(combinedAst, policyAsts);
+    }
+  }
+
+  private CelAbstractSyntaxTree composeRule(CelPolicy policy, CelCompiledRule compiledRule)
+      throws CelPolicyValidationException {
+    Cel cel = compiledRule.cel();
     CelOptimizer composingOptimizer =
         CelOptimizerFactory.standardCelOptimizerBuilder(cel)
             .addAstOptimizers(
@@ -141,6 +212,11 @@ final class CelPolicyCompilerImpl implements CelPolicyCompiler {
       throw new CelPolicyValidationException("Unexpected error while composing rules.", e);
     }
 
+    return ast;
+  }
+
+  private CelAbstractSyntaxTree optimizeComposedAst(CelAbstractSyntaxTree ast, Cel cel)
+      throws CelPolicyValidationException {
     CelOptimizer astOptimizer =
         CelOptimizerFactory.standardCelOptimizerBuilder(cel).addAstOptimizers(optimizers).build();
     try {
@@ -0,0 +1,177 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.policy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.bundle.Cel;
+import dev.cel.common.CelAbstractSyntaxTree;
+import dev.cel.policy.CelPolicyCompilerImpl.CompiledPolicies;
+import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.CelVariableResolver;
+import dev.cel.runtime.Program;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A set of independent policies evaluated together against the same input.
+ *
+ * <p>All policies are compiled into a single program through {@link
+ * CelPolicyCompiler#compileAll}, so subexpressions shared across policies (e.g. the same attribute
+ * selections or {@code matches()} tests) are computed at most once per evaluation, and the outputs
+ * of every policy are produced in a single pass.
+ *
+ * <p>An error or unknown raised by one policy would otherwise surface for the whole set. When that
+ * happens, the policies are evaluated individually so that each result is attributed to the policy
+ * which produced it. Such an evaluation therefore costs the failed combined pass plus a separate
+ * evaluation of every policy, without any sharing between them.
+ */
+@Immutable
+public final class CelPolicySet {
+
+  private final ImmutableList<String> policyNames;
+  private final Program combinedProgram;
+  private final ImmutableList<Program> policyPrograms;
+
+  /** The result of evaluating a single policy within the set. */
+  @AutoValue
+  public abstract static class PolicyResult {
+
+    /** Name of the evaluated policy. */
+    public abstract String policyName();
+
+    /** Output of the policy. Empty if the evaluation has failed. */
+    public abstract Optional<Object> output();
+
+    /** Error raised while evaluating the policy, if any. */
+    public abstract Optional<CelEvaluationException> error();
+
+    private static PolicyResult ofOutput(String policyName, Object output) {
+      return new AutoValue_CelPolicySet_PolicyResult(
+          policyName, Optional.of(output), Optional.empty());
+    }
+
+    private static PolicyResult ofError(String policyName, CelEvaluationException error) {
+      return new AutoValue_CelPolicySet_PolicyResult(
+          policyName, Optional.empty(), Optional.of(error));
+    }
+  }
+
+  /** Returns the names of the policies in the set, in the order their results are reported. */
+  public ImmutableList<String> policyNames() {
+    return policyNames;
+  }
+
+  /** Evaluates every policy in the set using {@code input} as the source of variables. */
+  public ImmutableList<PolicyResult> eval(Map<String, ?> input) {
+    return evalInternal(program -> program.eval(input));
+  }
+
+  /** Evaluates every policy in the set using a custom variable {@code resolver}. */
+  public ImmutableList<PolicyResult> eval(CelVariableResolver resolver) {
+    return evalInternal(program -> program.eval(resolver));
+  }
+
+  private ImmutableList<PolicyResult> evalInternal(Evaluation evaluation) {
+    try {
+      Object result = evaluation.eval(combinedProgram);
+      if (result instanceof List && ((List<?>) result).size() == policyNames.size()) {
+        List<?> outputs = (List<?>) result;
+        ImmutableList.Builder<PolicyResult> results = ImmutableList.builder();
+        for (int i = 0; i < outputs.size(); i++) {
+          results.add(PolicyResult.ofOutput(policyNames.get(i), outputs.get(i)));
+        }
+        return results.build();
+      }
+    } catch (CelEvaluationException e) {
+      // Attribute the failure to the individual policies below.
+    }
+
+    ImmutableList.Builder<PolicyResult> results = ImmutableList.builder();
+    for (int i = 0; i < policyPrograms.size(); i++) {
+      try {
+        results.add(
+            PolicyResult.ofOutput(policyNames.get(i), evaluation.eval(policyPrograms.get(i))));
+      } catch (CelEvaluationException e) {
+        results.add(PolicyResult.ofError(policyNames.get(i), e));
+      }
+    }
+    return results.build();
+  }
+
+  @FunctionalInterface
+  private interface Evaluation {
+    Object eval(Program program) throws CelEvaluationException;
+  }
+
+  /**
+   * Compiles the policies with {@code compiler} and plans them with {@code cel}, which must be the
+   * environment the compiler was built from.
+   *
+   * @throws CelPolicyValidationException if any of the policies fails to compile, or declares
+   *     imports.
+   */
+  public static CelPolicySet create(Cel cel, CelPolicyCompiler compiler, List<CelPolicy> policies)
+      throws CelPolicyValidationException {
+    checkNotNull(cel);
+    checkNotNull(compiler);
+    ImmutableList<String> policyNames =
+        policies.stream().map(policy -> policy.name().value()).collect(toImmutableList());
+
+    CelAbstractSyntaxTree combinedAst;
+    ImmutableList<CelAbstractSyntaxTree> policyAsts;
+    if (compiler instanceof CelPolicyCompilerImpl) {
+      // The composed AST of each policy is a by-product of the combined compilation.
+      CompiledPolicies compiledPolicies =
+          ((CelPolicyCompilerImpl) compiler).compilePolicies(policies);
+      combinedAst = compiledPolicies.combinedAst();
+      policyAsts = compiledPolicies.policyAsts();
+    } else {
+      combinedAst = compiler.compileAll(policies);
+      ImmutableList.Builder<CelAbstractSyntaxTree> policyAstsBuilder = ImmutableList.builder();
+      for (CelPolicy policy : policies) {
+        policyAstsBuilder.add(compiler.compile(policy));
+      }
+      policyAsts = policyAstsBuilder.build();
+    }
+
+    ImmutableList.Builder<Program> policyPrograms = ImmutableList.builder();
+    Program combinedProgram;
+    try {
+      combinedProgram = cel.createProgram(combinedAst);
+      for (CelAbstractSyntaxTree policyAst : policyAsts) {
+        policyPrograms.add(cel.createProgram(policyAst));
+      }
+    } catch (CelEvaluationException e) {
+      throw new CelPolicyValidationException("Failed to plan the policy set.", e);
+    }
+
+    return new CelPolicySet(policyNames, combinedProgram, policyPrograms.build());
+  }
+
+  private CelPolicySet(
+      ImmutableList<String> policyNames,
+      Program combinedProgram,
+      ImmutableList<Program> policyPrograms) {
+    this.policyNames = policyNames;
+    this.combinedProgram = combinedProgram;
+    this.policyPrograms = policyPrograms;
+  }
+}
@@ -15,6 +15,7 @@
 package dev.cel.policy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static dev.cel.common.formats.YamlEventReader.scalarValue;
 import static dev.cel.common.formats.YamlHelper.ERROR;
 import static dev.cel.common.formats.YamlHelper.assertRequiredFields;
 import static dev.cel.common.formats.YamlHelper.assertYamlType;
@@ -23,6 +24,7 @@ import com.google.common.collect.ImmutableSet;
 import dev.cel.common.CelIssue;
 import dev.cel.common.formats.ParserContext;
 import dev.cel.common.formats.ValueString;
+import dev.cel.common.formats.YamlEventReader;
 import dev.cel.common.formats.YamlHelper;
 import dev.cel.common.formats.YamlHelper.YamlNodeType;
 import dev.cel.common.formats.YamlParserContextImpl;
@@ -33,11 +35,9 @@ import dev.cel.policy.CelPolicy.Match.Result;
 import dev.cel.policy.CelPolicy.Variable;
 import java.util.List;
 import java.util.Map;
-import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
 import org.yaml.snakeyaml.nodes.Node;
-import org.yaml.snakeyaml.nodes.NodeTuple;
-import org.yaml.snakeyaml.nodes.ScalarNode;
-import org.yaml.snakeyaml.nodes.SequenceNode;
 
 final class CelPolicyYamlParser implements CelPolicyParser {
 
@@ -64,31 +64,36 @@ final class CelPolicyYamlParser implements CelPolicyParser {
     return parser.parseYaml();
   }
 
+  /**
+   * Parses a policy from the stream of YAML events, without composing the document into a node
+   * tree first. Only the values of custom tags are composed, as {@link TagVisitor}s work on nodes.
+   * The node-based {@link PolicyParserContext} methods replay their node as events.
+   */
   private static class ParserImpl implements PolicyParserContext<Node> {
 
     private final TagVisitor<Node> tagVisitor;
     private final boolean enableSimpleVariables;
     private final CelPolicySource policySource;
-    private final ParserContext<Node> ctx;
+    private final YamlParserContextImpl ctx;
+    private final ParserContext<Event> events;
 
     private CelPolicy parseYaml() throws CelPolicyValidationException {
-      Node node;
       String policySourceString = policySource.getContent().toString();
+      CelPolicy celPolicy;
       try {
-        Node yamlNode =
-            YamlHelper.parseYamlSource(policySourceString)
+        YamlEventReader reader =
+            YamlHelper.parseYamlEvents(policySourceString)
                 .orElseThrow(
                     () ->
                         new CelPolicyValidationException(
                             String.format(
                                 "YAML document empty or malformed: %s", policySourceString)));
-        node = yamlNode;
-      } catch (RuntimeException e) {
+        celPolicy = parsePolicy(reader);
+        reader.finish();
+      } catch (YAMLException e) {
         throw new CelPolicyValidationException("YAML document is malformed: " + e.getMessage(), e);
       }
 
-      CelPolicy celPolicy = parsePolicy(this, node);
-
       if (!ctx.getIssues().isEmpty()) {
         throw new CelPolicyValidationException(
             CelIssue.toDisplayString(ctx.getIssues(), celPolicy.policySource()));
@@ -105,40 +110,47 @@ final class CelPolicyYamlParser implements CelPolicyParser {
 
     @Override
     public CelPolicy parsePolicy(PolicyParserContext<Node> ctx, Node node) {
-      NewPolicyMetadata newPolicyMetadata = newPolicy(node);
+      return parsePolicy(YamlEventReader.forNode(node));
+    }
+
+    private CelPolicy parsePolicy(YamlEventReader reader) {
+      Event node = reader.peek();
+      NewPolicyMetadata newPolicyMetadata =
+          NewPolicyMetadata.create(policySource, events.collectMetadata(node));
       CelPolicy.Builder policyBuilder = newPolicyMetadata.policyBuilder();
-      if (!assertYamlType(ctx, newPolicyMetadata.id(), node, YamlNodeType.MAP)) {
+      if (!assertYamlType(events, newPolicyMetadata.id(), node, YamlNodeType.MAP)) {
+        reader.skipNode();
         return policyBuilder.build();
       }
 
-      MappingNode rootNode = (MappingNode) node;
-      for (NodeTuple nodeTuple : rootNode.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
-        long keyId = ctx.collectMetadata(keyNode);
-        if (!assertYamlType(ctx, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
+        long keyId = events.collectMetadata(keyNode);
+        if (!assertYamlType(events, keyId, keyNode, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
 
-        Node valueNode = nodeTuple.getValueNode();
-        String fieldName = ((ScalarNode) keyNode).getValue();
+        String fieldName = scalarValue(keyNode);
         switch (fieldName) {
           case "imports":
-            parseImports(policyBuilder, ctx, valueNode);
+            parseImports(policyBuilder, reader);
             break;
           case "name":
-            policyBuilder.setName(ctx.newYamlString(valueNode));
+            policyBuilder.setName(events.newYamlString(reader.nextNode()));
             break;
           case "description":
-            policyBuilder.setDescription(ctx.newYamlString(valueNode));
+            policyBuilder.setDescription(events.newYamlString(reader.nextNode()));
             break;
           case "display_name":
-            policyBuilder.setDisplayName(ctx.newYamlString(valueNode));
+            policyBuilder.setDisplayName(events.newYamlString(reader.nextNode()));
             break;
           case "rule":
-            policyBuilder.setRule(parseRule(ctx, policyBuilder, valueNode));
+            policyBuilder.setRule(parseRule(policyBuilder, reader));
             break;
           default:
-            tagVisitor.visitPolicyTag(ctx, keyId, fieldName, valueNode, policyBuilder);
+            tagVisitor.visitPolicyTag(this, keyId, fieldName, reader.readNode(), policyBuilder);
             break;
         }
       }
@@ -148,83 +160,95 @@ final class CelPolicyYamlParser implements CelPolicyParser {
           .build();
     }
 
-    private void parseImports(
-        CelPolicy.Builder policyBuilder, PolicyParserContext<Node> ctx, Node node) {
-      long id = ctx.collectMetadata(node);
-      if (!assertYamlType(ctx, id, node, YamlNodeType.LIST)) {
+    private void parseImports(CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long id = events.collectMetadata(node);
+      if (!assertYamlType(events, id, node, YamlNodeType.LIST)) {
+        reader.skipNode();
         return;
       }
 
-      SequenceNode importListNode = (SequenceNode) node;
-      for (Node importNode : importListNode.getValue()) {
-        parseImport(policyBuilder, ctx, importNode);
+      reader.next();
+      while (reader.hasNextEntry()) {
+        parseImport(policyBuilder, reader);
       }
     }
 
-    private void parseImport(
-        CelPolicy.Builder policyBuilder, PolicyParserContext<Node> ctx, Node node) {
-      long importId = ctx.collectMetadata(node);
-      if (!assertYamlType(ctx, importId, node, YamlNodeType.MAP)) {
+    private void parseImport(CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long importId = events.collectMetadata(node);
+      if (!assertYamlType(events, importId, node, YamlNodeType.MAP)) {
+        reader.skipNode();
         return;
       }
 
-      MappingNode mappingNode = (MappingNode) node;
-      for (NodeTuple nodeTuple : mappingNode.getValue()) {
-        Node key = nodeTuple.getKeyNode();
-        long keyId = ctx.collectMetadata(key);
-        if (!assertYamlType(ctx, keyId, key, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event key = reader.nextNode();
+        long keyId = events.collectMetadata(key);
+        if (!assertYamlType(events, keyId, key, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
 
-        String fieldName = ((ScalarNode) key).getValue();
+        String fieldName = scalarValue(key);
         if (!fieldName.equals("name")) {
-          ctx.reportError(
+          events.reportError(
               keyId, String.format("Invalid import key: %s, expected 'name'", fieldName));
+          reader.skipNode();
           continue;
         }
 
-        Node value = nodeTuple.getValueNode();
-        long valueId = ctx.collectMetadata(value);
-        if (!assertYamlType(ctx, valueId, value, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+        Event value = reader.nextNode();
+        long valueId = events.collectMetadata(value);
+        if (!assertYamlType(events, valueId, value, YamlNodeType.STRING, YamlNodeType.TEXT)) {
           continue;
         }
 
-        policyBuilder.addImport(Import.create(valueId, ctx.newYamlString(value)));
+        policyBuilder.addImport(Import.create(valueId, events.newYamlString(value)));
       }
     }
 
     @Override
     public CelPolicy.Rule parseRule(
         PolicyParserContext<Node> ctx, CelPolicy.Builder policyBuilder, Node node) {
-      long valueId = ctx.collectMetadata(node);
+      return parseRule(policyBuilder, YamlEventReader.forNode(node));
+    }
+
+    private CelPolicy.Rule parseRule(CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long valueId = events.collectMetadata(node);
       CelPolicy.Rule.Builder ruleBuilder = CelPolicy.Rule.newBuilder(valueId);
-      if (!assertYamlType(ctx, valueId, node, YamlNodeType.MAP)) {
+      if (!assertYamlType(events, valueId, node, YamlNodeType.MAP)) {
+        reader.skipNode();
         return ruleBuilder.build();
       }
 
-      for (NodeTuple nodeTuple : ((MappingNode) node).getValue()) {
-        Node key = nodeTuple.getKeyNode();
-        long tagId = ctx.collectMetadata(key);
-        if (!assertYamlType(ctx, tagId, key, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event key = reader.nextNode();
+        long tagId = events.collectMetadata(key);
+        if (!assertYamlType(events, tagId, key, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
-        String fieldName = ((ScalarNode) key).getValue();
-        Node value = nodeTuple.getValueNode();
+        String fieldName = scalarValue(key);
         switch (fieldName) {
           case "id":
-            ruleBuilder.setRuleId(ctx.newYamlString(value));
+            ruleBuilder.setRuleId(events.newYamlString(reader.nextNode()));
             break;
           case "description":
-            ruleBuilder.setDescription(ctx.newYamlString(value));
+            ruleBuilder.setDescription(events.newYamlString(reader.nextNode()));
             break;
           case "variables":
-            ruleBuilder.addVariables(parseVariables(ctx, policyBuilder, value));
+            ruleBuilder.addVariables(parseVariables(policyBuilder, reader));
             break;
           case "match":
-            ruleBuilder.addMatches(parseMatches(ctx, policyBuilder, value));
+            ruleBuilder.addMatches(parseMatches(policyBuilder, reader));
             break;
           default:
-            tagVisitor.visitRuleTag(ctx, tagId, fieldName, value, policyBuilder, ruleBuilder);
+            tagVisitor.visitRuleTag(
+                this, tagId, fieldName, reader.readNode(), policyBuilder, ruleBuilder);
             break;
         }
       }
@@ -232,16 +256,18 @@ final class CelPolicyYamlParser implements CelPolicyParser {
     }
 
     private ImmutableSet<CelPolicy.Match> parseMatches(
-        PolicyParserContext<Node> ctx, CelPolicy.Builder policyBuilder, Node node) {
-      long valueId = ctx.collectMetadata(node);
+        CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long valueId = events.collectMetadata(node);
       ImmutableSet.Builder<CelPolicy.Match> matchesBuilder = ImmutableSet.builder();
-      if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      if (!assertYamlType(events, valueId, node, YamlNodeType.LIST)) {
+        reader.skipNode();
         return matchesBuilder.build();
       }
 
-      SequenceNode matchListNode = (SequenceNode) node;
-      for (Node elementNode : matchListNode.getValue()) {
-        matchesBuilder.add(parseMatch(ctx, policyBuilder, elementNode));
+      reader.next();
+      while (reader.hasNextEntry()) {
+        matchesBuilder.add(parseMatch(policyBuilder, reader));
       }
 
       return matchesBuilder.build();
@@ -250,24 +276,30 @@ final class CelPolicyYamlParser implements CelPolicyParser {
     @Override
     public CelPolicy.Match parseMatch(
         PolicyParserContext<Node> ctx, CelPolicy.Builder policyBuilder, Node node) {
-      long nodeId = ctx.collectMetadata(node);
-      if (!assertYamlType(ctx, nodeId, node, YamlNodeType.MAP)) {
+      return parseMatch(policyBuilder, YamlEventReader.forNode(node));
+    }
+
+    private CelPolicy.Match parseMatch(CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long nodeId = events.collectMetadata(node);
+      if (!assertYamlType(events, nodeId, node, YamlNodeType.MAP)) {
+        reader.skipNode();
         return ERROR_MATCH;
       }
-      MappingNode matchNode = (MappingNode) node;
       CelPolicy.Match.Builder matchBuilder =
           CelPolicy.Match.newBuilder(nodeId).setCondition(ValueString.of(ctx.nextId(), "true"));
-      for (NodeTuple nodeTuple : matchNode.getValue()) {
-        Node key = nodeTuple.getKeyNode();
-        long tagId = ctx.collectMetadata(key);
-        if (!assertYamlType(ctx, tagId, key, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+      reader.next();
+      while (reader.hasNextEntry()) {
+        Event key = reader.nextNode();
+        long tagId = events.collectMetadata(key);
+        if (!assertYamlType(events, tagId, key, YamlNodeType.STRING, YamlNodeType.TEXT)) {
+          reader.skipNode();
           continue;
         }
-        String fieldName = ((ScalarNode) key).getValue();
-        Node value = nodeTuple.getValueNode();
+        String fieldName = scalarValue(key);
         switch (fieldName) {
           case "condition":
-            matchBuilder.setCondition(ctx.newSourceString(value));
+            matchBuilder.setCondition(events.newSourceString(reader.nextNode()));
             break;
           case "output":
             matchBuilder
@@ -275,7 +307,8 @@ final class CelPolicyYamlParser implements CelPolicyParser {
                 .filter(result -> result.kind().equals(Match.Result.Kind.RULE))
                 .ifPresent(
                     result -> ctx.reportError(tagId, "Only the rule or the output may be set"));
-            matchBuilder.setResult(Match.Result.ofOutput(ctx.newSourceString(value)));
+            matchBuilder.setResult(
+                Match.Result.ofOutput(events.newSourceString(reader.nextNode())));
             break;
           case "explanation":
             matchBuilder
@@ -286,7 +319,7 @@ final class CelPolicyYamlParser implements CelPolicyParser {
                         ctx.reportError(
                             tagId,
                             "Explanation can only be set on output match cases, not nested rules"));
-            matchBuilder.setExplanation(ctx.newYamlString(value));
+            matchBuilder.setExplanation(events.newYamlString(reader.nextNode()));
             break;
           case "rule":
             matchBuilder
@@ -301,15 +334,16 @@ final class CelPolicyYamlParser implements CelPolicyParser {
                         ctx.reportError(
                             result.id(),
                             "Explanation can only be set on output match cases, not nested rules"));
-            matchBuilder.setResult(Match.Result.ofRule(parseRule(ctx, policyBuilder, value)));
+            matchBuilder.setResult(Match.Result.ofRule(parseRule(policyBuilder, reader)));
             break;
           default:
-            tagVisitor.visitMatchTag(ctx, tagId, fieldName, value, policyBuilder, matchBuilder);
+            tagVisitor.visitMatchTag(
+                this, tagId, fieldName, reader.readNode(), policyBuilder, matchBuilder);
             break;
         }
       }
 
-      if (!assertRequiredFields(ctx, nodeId, matchBuilder.getMissingRequiredFieldNames())) {
+      if (!assertRequiredFields(events, nodeId, matchBuilder.getMissingRequiredFieldNames())) {
         return ERROR_MATCH;
       }
 
@@ -317,16 +351,18 @@ final class CelPolicyYamlParser implements CelPolicyParser {
     }
 
     private ImmutableSet<CelPolicy.Variable> parseVariables(
-        PolicyParserContext<Node> ctx, CelPolicy.Builder policyBuilder, Node node) {
-      long valueId = ctx.collectMetadata(node);
+        CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long valueId = events.collectMetadata(node);
       ImmutableSet.Builder<CelPolicy.Variable> variableBuilder = ImmutableSet.builder();
-      if (!assertYamlType(ctx, valueId, node, YamlNodeType.LIST)) {
+      if (!assertYamlType(events, valueId, node, YamlNodeType.LIST)) {
+        reader.skipNode();
         return variableBuilder.build();
       }
 
-      SequenceNode variableListNode = (SequenceNode) node;
-      for (Node elementNode : variableListNode.getValue()) {
-        variableBuilder.add(parseVariable(ctx, policyBuilder, elementNode));
+      reader.next();
+      while (reader.hasNextEntry()) {
+        variableBuilder.add(parseVariable(policyBuilder, reader));
       }
 
       return variableBuilder.build();
@@ -335,37 +371,44 @@ final class CelPolicyYamlParser implements CelPolicyParser {
     @Override
     public CelPolicy.Variable parseVariable(
         PolicyParserContext<Node> ctx, CelPolicy.Builder policyBuilder, Node node) {
-      long id = ctx.collectMetadata(node);
-      if (!assertYamlType(ctx, id, node, YamlNodeType.MAP)) {
+      return parseVariable(policyBuilder, YamlEventReader.forNode(node));
+    }
+
+    private CelPolicy.Variable parseVariable(
+        CelPolicy.Builder policyBuilder, YamlEventReader reader) {
+      Event node = reader.peek();
+      long id = events.collectMetadata(node);
+      if (!assertYamlType(events, id, node, YamlNodeType.MAP)) {
+        reader.skipNode();
         return ERROR_VARIABLE;
       }
 
-      MappingNode variableMap = (MappingNode) node;
+      reader.next();
       Variable.Builder builder = Variable.newBuilder();
 
       if (enableSimpleVariables) {
-        return parseVariableInline(ctx, id, variableMap, builder);
+        return parseVariableInline(id, reader, builder);
       }
-      return parseVariableObject(ctx, policyBuilder, id, variableMap, builder);
+      return parseVariableObject(policyBuilder, id, reader, builder);
     }
 
     private Variable parseVariableInline(
-        PolicyParserContext<Node> ctx, long id, MappingNode variableMap, Variable.Builder builder) {
+        long id, YamlEventReader reader, Variable.Builder builder) {
       int iterations = 0;
-      for (NodeTuple nodeTuple : variableMap.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
-        long keyId = ctx.collectMetadata(keyNode);
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
+        long keyId = events.collectMetadata(keyNode);
         builder
-            .setName(ctx.newYamlString(keyNode))
-            .setExpression(ctx.newSourceString(nodeTuple.getValueNode()));
+            .setName(events.newYamlString(keyNode))
+            .setExpression(events.newSourceString(reader.nextNode()));
         iterations++;
 
         if (iterations > 1) {
-          ctx.reportError(keyId, "Only one variable may be defined inline");
+          events.reportError(keyId, "Only one variable may be defined inline");
         }
       }
 
-      if (!assertRequiredFields(ctx, id, builder.getMissingRequiredFieldNames())) {
+      if (!assertRequiredFields(events, id, builder.getMissingRequiredFieldNames())) {
         return ERROR_VARIABLE;
       }
 
@@ -373,36 +416,35 @@ final class CelPolicyYamlParser implements CelPolicyParser {
     }
 
     private Variable parseVariableObject(
-        PolicyParserContext<Node> ctx,
         CelPolicy.Builder policyBuilder,
         long id,
-        MappingNode variableMap,
+        YamlEventReader reader,
         Variable.Builder builder) {
-      for (NodeTuple nodeTuple : variableMap.getValue()) {
-        Node keyNode = nodeTuple.getKeyNode();
-        long keyId = ctx.collectMetadata(keyNode);
-        Node valueNode = nodeTuple.getValueNode();
-        String keyName = ((ScalarNode) keyNode).getValue();
+      while (reader.hasNextEntry()) {
+        Event keyNode = reader.nextNode();
+        long keyId = events.collectMetadata(keyNode);
+        String keyName = scalarValue(keyNode);
         switch (keyName) {
           case "name":
-            builder.setName(ctx.newYamlString(valueNode));
+            builder.setName(events.newYamlString(reader.nextNode()));
             break;
           case "expression":
-            builder.setExpression(ctx.newSourceString(valueNode));
+            builder.setExpression(events.newSourceString(reader.nextNode()));
             break;
           case "description":
-            builder.setDescription(ctx.newYamlString(valueNode));
+            builder.setDescription(events.newYamlString(reader.nextNode()));
             break;
           case "display_name":
-            builder.setDisplayName(ctx.newYamlString(valueNode));
+            builder.setDisplayName(events.newYamlString(reader.nextNode()));
             break;
           default:
-            tagVisitor.visitVariableTag(ctx, keyId, keyName, valueNode, policyBuilder, builder);
+            tagVisitor.visitVariableTag(
+                this, keyId, keyName, reader.readNode(), policyBuilder, builder);
             break;
         }
       }
 
-      if (!assertRequiredFields(ctx, id, builder.getMissingRequiredFieldNames())) {
+      if (!assertRequiredFields(events, id, builder.getMissingRequiredFieldNames())) {
         return ERROR_VARIABLE;
       }
 
@@ -421,6 +463,7 @@ final class CelPolicyYamlParser implements CelPolicyParser {
               .setDescription(description)
               .build();
       this.ctx = YamlParserContextImpl.newInstance(policySource);
+      this.events = ctx.eventContext();
     }
 
     @Override
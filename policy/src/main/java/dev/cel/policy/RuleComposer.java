@@ -19,9 +19,12 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.stream.Collectors.toCollection;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import dev.cel.bundle.Cel;
+import dev.cel.checker.Types;
 import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelMutableAst;
 import dev.cel.common.CelMutableSource;
@@ -35,6 +38,9 @@ import dev.cel.common.navigation.CelNavigableMutableAst;
 import dev.cel.common.navigation.CelNavigableMutableExpr;
 import dev.cel.common.types.CelType;
 import dev.cel.common.types.CelTypes;
+import dev.cel.common.types.OptionalType;
+import dev.cel.common.types.SimpleType;
+import dev.cel.common.types.TypeParamType;
 import dev.cel.extensions.CelOptionalLibrary.Function;
 import dev.cel.optimizer.AstMutator;
 import dev.cel.optimizer.CelAstOptimizer;
@@ -45,27 +51,45 @@ import dev.cel.policy.CelCompiledRule.CelCompiledVariable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /** Package-private class for composing various rules into a single expression using optimizer. */
 final class RuleComposer implements CelAstOptimizer {
+  // Type parameter shared by both branches of every composition (`_?_:_`, `or`, `orValue`).
+  private static final TypeParamType COMPOSED_OUTPUT_TYPE = TypeParamType.create("_composed");
+
   private final CelCompiledRule compiledRule;
   private final String variablePrefix;
   private final AstMutator astMutator;
 
   @Override
   public OptimizationResult optimize(CelAbstractSyntaxTree ast, Cel cel) {
-    Step result = optimizeRule(cel, compiledRule);
+    Step result = optimizeRule(() -> cel, compiledRule);
     return OptimizationResult.create(result.expr.toParsedAst());
   }
 
-  private Step optimizeRule(Cel cel, CelCompiledRule compiledRule) {
-    cel =
-        cel.toCelBuilder()
-            .addVarDeclarations(
-                compiledRule.variables().stream()
-                    .map(CelCompiledVariable::celVarDecl)
-                    .collect(toImmutableList()))
-            .build();
+  /**
+   * Composes the matches of a rule into a single expression.
+   *
+   * <p>Output types are reconciled locally from the already checked match outputs, so the growing
+   * composed expression is not re-checked after every match. The environment with the rule's
+   * variables is only built when a local mismatch needs to be reported, in which case the composed
+   * expression is checked in full to produce the same diagnostics. The optimizer type-checks the
+   * final result once composition completes.
+   */
+  private Step optimizeRule(Supplier<Cel> parentCel, CelCompiledRule compiledRule) {
+    Supplier<Cel> cel =
+        Suppliers.memoize(
+            () ->
+                parentCel
+                    .get()
+                    .toCelBuilder()
+                    .addVarDeclarations(
+                        compiledRule.variables().stream()
+                            .map(CelCompiledVariable::celVarDecl)
+                            .collect(toImmutableList()))
+                    .build());
 
     Step output = null;
     // If the rule has an optional output, the last result in the ternary should return
@@ -80,6 +104,9 @@ final class RuleComposer implements CelAstOptimizer {
     long lastOutputId = 0;
     // The expected output type of the rule, used to verify that all branches agree on the type.
     CelType lastOutputType = null;
+    // The type of the value produced by the accumulated output, unwrapped from optional_type if
+    // the output is optional. Null while the output is only the implicit `optional.none()`.
+    CelType outputValueType = null;
     for (CelCompiledMatch match : Lists.reverse(compiledRule.matches())) {
       CelAbstractSyntaxTree conditionAst = match.condition();
       boolean isTriviallyTrue = match.isConditionTriviallyTrue();
@@ -99,18 +126,31 @@ final class RuleComposer implements CelAstOptimizer {
                   !isTriviallyTrue, condAst, CelMutableAst.fromCelAst(matchOutput.ast()));
           currentSourceId = matchOutput.sourceId();
 
-          output = combine(astMutator, step, output);
-
-          String outputFailureMessage =
-              String.format(
-                  "incompatible output types: block has output type %s, but previous outputs have"
-                      + " type %s",
-                  lastOutputType == null ? "" : CelTypes.format(lastOutputType),
-                  CelTypes.format(matchOutput.ast().getResultType()));
-          lastOutputType =
-              assertComposedAstIsValid(
-                      cel, output.expr, outputFailureMessage, currentSourceId, lastOutputId)
-                  .getResultType();
+          Step combinedOutput = combine(astMutator, step, output);
+          CelType combinedValueType =
+              combineValueTypes(
+                  step, matchOutput.ast().getResultType(), combinedOutput, outputValueType);
+          if (combinedValueType == null) {
+            String outputFailureMessage =
+                String.format(
+                    "incompatible output types: block has output type %s, but previous outputs"
+                        + " have type %s",
+                    lastOutputType == null ? "" : CelTypes.format(lastOutputType),
+                    CelTypes.format(matchOutput.ast().getResultType()));
+            combinedValueType =
+                unwrapValueType(
+                    combinedOutput,
+                    assertComposedAstIsValid(
+                            cel.get(),
+                            combinedOutput.expr,
+                            outputFailureMessage,
+                            currentSourceId,
+                            lastOutputId)
+                        .getResultType());
+          }
+          output = combinedOutput;
+          outputValueType = combinedValueType;
+          lastOutputType = wrapValueType(output, outputValueType);
 
           break;
         case RULE:
@@ -123,18 +163,27 @@ final class RuleComposer implements CelAstOptimizer {
                   matchNestedRule.hasOptionalOutput(), !isTriviallyTrue, condAst, nestedRule.expr);
           currentSourceId = getFirstOutputSourceId(matchNestedRule);
 
-          output = combine(astMutator, ruleStep, output);
-
-          lastOutputType =
-              assertComposedAstIsValid(
-                      cel,
-                      output.expr,
-                      String.format(
-                          "failed composing the subrule '%s' due to incompatible output types.",
-                          matchNestedRule.ruleId().map(ValueString::value).orElse("")),
-                      currentSourceId,
-                      lastOutputId)
-                  .getResultType();
+          Step combinedRule = combine(astMutator, ruleStep, output);
+          CelType combinedRuleValueType =
+              combineValueTypes(ruleStep, nestedRule.valueType, combinedRule, outputValueType);
+          if (combinedRuleValueType == null) {
+            combinedRuleValueType =
+                unwrapValueType(
+                    combinedRule,
+                    assertComposedAstIsValid(
+                            cel.get(),
+                            combinedRule.expr,
+                            String.format(
+                                "failed composing the subrule '%s' due to incompatible output"
+                                    + " types.",
+                                matchNestedRule.ruleId().map(ValueString::value).orElse("")),
+                            currentSourceId,
+                            lastOutputId)
+                        .getResultType());
+          }
+          output = combinedRule;
+          outputValueType = combinedRuleValueType;
+          lastOutputType = wrapValueType(output, outputValueType);
           break;
       }
 
@@ -146,9 +195,57 @@ final class RuleComposer implements CelAstOptimizer {
     resultExpr = inlineCompiledVariables(resultExpr, compiledRule.variables());
     resultExpr = astMutator.renumberIdsConsecutively(resultExpr);
 
-    return output.isOptional
-        ? Step.newUnconditionalOptionalStep(newTrueLiteral(), resultExpr)
-        : Step.newUnconditionalNonOptionalStep(newTrueLiteral(), resultExpr);
+    return new Step(
+        output.isOptional,
+        /* isConditional= */ false,
+        newTrueLiteral(),
+        resultExpr,
+        outputValueType);
+  }
+
+  /**
+   * Computes the value type of {@code combinedStep}, the result of combining {@code currentStep}
+   * with the accumulated output. Returns null if the two value types cannot be unified.
+   *
+   * <p>Every composition form unifies the value types of its two branches: {@code cond ? a : b},
+   * {@code a.or(b)}, {@code a.orValue(b)} and their {@code optional.of} wrapped variants. This
+   * mirrors the overload resolution the type-checker performs for those functions.
+   */
+  private static CelType combineValueTypes(
+      Step currentStep,
+      CelType currentValueType,
+      Step combinedStep,
+      CelType accumulatedValueType) {
+    if (combinedStep == currentStep || accumulatedValueType == null) {
+      // The accumulated output was either pruned away or is the implicit optional.none().
+      return currentValueType;
+    }
+    if (currentValueType == null) {
+      return accumulatedValueType;
+    }
+    Map<CelType, CelType> substitutions =
+        Types.isAssignable(
+            ImmutableMap.of(),
+            ImmutableList.of(currentValueType, accumulatedValueType),
+            ImmutableList.of(COMPOSED_OUTPUT_TYPE, COMPOSED_OUTPUT_TYPE));
+    if (substitutions == null) {
+      return null;
+    }
+    return Types.substitute(substitutions, COMPOSED_OUTPUT_TYPE, /* typeParamToDyn= */ true);
+  }
+
+  private static CelType wrapValueType(Step step, CelType valueType) {
+    if (valueType == null) {
+      valueType = SimpleType.DYN;
+    }
+    return step.isOptional ? OptionalType.create(valueType) : valueType;
+  }
+
+  private static CelType unwrapValueType(Step step, CelType type) {
+    if (!step.isOptional) {
+      return type;
+    }
+    return type.parameters().isEmpty() ? SimpleType.DYN : type.parameters().get(0);
   }
 
   static RuleComposer newInstance(
@@ -336,12 +433,28 @@ final class RuleComposer implements CelAstOptimizer {
     /** The output expression for the step. */
     private final CelMutableAst expr;
 
+    /**
+     * The type of the output value, unwrapped from optional_type for optional steps. Only tracked
+     * for steps representing a fully composed rule, and null otherwise.
+     */
+    private final CelType valueType;
+
     private Step(
         boolean isOptional, boolean isConditional, CelMutableAst cond, CelMutableAst expr) {
+      this(isOptional, isConditional, cond, expr, /* valueType= */ null);
+    }
+
+    private Step(
+        boolean isOptional,
+        boolean isConditional,
+        CelMutableAst cond,
+        CelMutableAst expr,
+        CelType valueType) {
       this.isOptional = isOptional;
       this.isConditional = isConditional;
       this.cond = cond;
       this.expr = expr;
+      this.valueType = valueType;
     }
 
     private static Step newNonOptionalStep(
@@ -389,6 +389,116 @@ public final class CelPolicyCompilerImplTest {
     assertThat(evalResult).isFalse();
   }
 
+  @Test
+  public void compose_outputsUnifyToCommonType() throws Exception {
+    Cel cel =
+        newCel().toCelBuilder().addVar("x", SimpleType.INT).addVar("y", SimpleType.DYN).build();
+    String policySource =
+        "name: unified_outputs\n"
+            + "rule:\n"
+            + "  match:\n"
+            + "    - condition: 'x > 10'\n"
+            + "      output: '[x]'\n"
+            + "    - condition: 'x > 5'\n"
+            + "      output: 'y'\n"
+            + "    - output: '[]'\n";
+    CelPolicy policy = POLICY_PARSER.parse(policySource);
+
+    CelAbstractSyntaxTree ast =
+        CelPolicyCompilerFactory.newPolicyCompiler(cel).build().compile(policy);
+
+    CelAbstractSyntaxTree equivalentAst =
+        cel.compile("x > 10 ? [x] : (x > 5 ? y : [])").getAst();
+    assertThat(ast.getResultType()).isEqualTo(equivalentAst.getResultType());
+    assertThat(cel.createProgram(ast).eval(ImmutableMap.of("x", 20L, "y", ImmutableList.of())))
+        .isEqualTo(ImmutableList.of(20L));
+    assertThat(
+            cel.createProgram(ast).eval(ImmutableMap.of("x", 7L, "y", ImmutableList.of("a"))))
+        .isEqualTo(ImmutableList.of("a"));
+  }
+
+  @Test
+  public void compose_conflictingOutputs_throws() throws Exception {
+    Cel cel = newCel().toCelBuilder().addVar("x", SimpleType.INT).build();
+    String policySource =
+        "name: conflicting_outputs\n"
+            + "rule:\n"
+            + "  match:\n"
+            + "    - condition: 'x > 10'\n"
+            + "      output: 'x'\n"
+            + "    - condition: 'x > 5'\n"
+            + "      output: \"'medium'\"\n"
+            + "    - output: '0'\n";
+    CelPolicy policy = POLICY_PARSER.parse(policySource);
+
+    CelPolicyValidationException e =
+        assertThrows(
+            CelPolicyValidationException.class,
+            () -> CelPolicyCompilerFactory.newPolicyCompiler(cel).build().compile(policy));
+
+    assertThat(e).hasMessageThat().contains("incompatible output types");
+  }
+
+  @Test
+  public void compose_nestedRulesWithVariables() throws Exception {
+    Cel cel = newCel().toCelBuilder().addVar("x", SimpleType.INT).build();
+    String policySource =
+        "name: nested_rules_with_variables\n"
+            + "rule:\n"
+            + "  variables:\n"
+            + "    - name: limit\n"
+            + "      expression: '10'\n"
+            + "  match:\n"
+            + "    - condition: 'x > variables.limit'\n"
+            + "      rule:\n"
+            + "        id: nested_rule\n"
+            + "        variables:\n"
+            + "          - name: doubled\n"
+            + "            expression: 'x * 2'\n"
+            + "        match:\n"
+            + "          - condition: 'variables.doubled > 100'\n"
+            + "            output: \"'huge'\"\n"
+            + "          - output: \"'big:' + string(variables.doubled)\"\n"
+            + "    - output: \"'small'\"\n";
+    CelPolicy policy = POLICY_PARSER.parse(policySource);
+
+    CelAbstractSyntaxTree ast =
+        CelPolicyCompilerFactory.newPolicyCompiler(cel).build().compile(policy);
+
+    assertThat(ast.getResultType()).isEqualTo(SimpleType.STRING);
+    assertThat(cel.createProgram(ast).eval(ImmutableMap.of("x", 60L))).isEqualTo("huge");
+    assertThat(cel.createProgram(ast).eval(ImmutableMap.of("x", 20L))).isEqualTo("big:40");
+    assertThat(cel.createProgram(ast).eval(ImmutableMap.of("x", 1L))).isEqualTo("small");
+  }
+
+  @Test
+  public void compose_nestedRuleConflictingOutput_throws() throws Exception {
+    Cel cel = newCel().toCelBuilder().addVar("x", SimpleType.INT).build();
+    String policySource =
+        "name: nested_rule_conflicting_output\n"
+            + "rule:\n"
+            + "  match:\n"
+            + "    - condition: 'x > 10'\n"
+            + "      rule:\n"
+            + "        id: nested_rule\n"
+            + "        variables:\n"
+            + "          - name: doubled\n"
+            + "            expression: 'x * 2'\n"
+            + "        match:\n"
+            + "          - output: 'variables.doubled'\n"
+            + "    - output: \"'small'\"\n";
+    CelPolicy policy = POLICY_PARSER.parse(policySource);
+
+    CelPolicyValidationException e =
+        assertThrows(
+            CelPolicyValidationException.class,
+            () -> CelPolicyCompilerFactory.newPolicyCompiler(cel).build().compile(policy));
+
+    assertThat(e)
+        .hasMessageThat()
+        .contains("failed composing the subrule 'nested_rule' due to incompatible output types.");
+  }
+
   @Test
   public void compose_ruleWithNoOutputs_throws() throws Exception {
     Cel cel = newCel();
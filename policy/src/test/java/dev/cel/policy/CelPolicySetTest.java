@@ -0,0 +1,221 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.policy;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.testing.junit.testparameterinjector.TestParameter;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.bundle.Cel;
+import dev.cel.common.CelAbstractSyntaxTree;
+import dev.cel.common.CelFunctionDecl;
+import dev.cel.common.CelOptions;
+import dev.cel.common.CelOverloadDecl;
+import dev.cel.common.types.MapType;
+import dev.cel.common.types.SimpleType;
+import dev.cel.extensions.CelOptionalLibrary;
+import dev.cel.parser.CelStandardMacro;
+import dev.cel.parser.CelUnparserFactory;
+import dev.cel.policy.CelPolicySet.PolicyResult;
+import dev.cel.runtime.CelFunctionBinding;
+import dev.cel.testing.CelRuntimeFlavor;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public final class CelPolicySetTest {
+
+  private static final CelPolicyParser POLICY_PARSER =
+      CelPolicyParserFactory.newYamlParserBuilder().build();
+  private static final CelOptions CEL_OPTIONS =
+      CelOptions.current().populateMacroCalls(true).build();
+
+  private static final String ADMIN_POLICY =
+      "name: admin\n"
+          + "rule:\n"
+          + "  match:\n"
+          + "    - condition: \"request.auth.claims.group == 'admin'\"\n"
+          + "      output: \"'allow'\"\n"
+          + "    - output: \"'deny'\"\n";
+  private static final String AUDIT_POLICY =
+      "name: audit\n"
+          + "rule:\n"
+          + "  match:\n"
+          + "    - condition: \"request.auth.claims.group != 'admin'\"\n"
+          + "      output: 'true'\n"
+          + "    - output: 'false'\n";
+  private static final String QUOTA_POLICY =
+      "name: quota\n"
+          + "rule:\n"
+          + "  match:\n"
+          + "    - condition: 'request.size / request.chunks > 10'\n"
+          + "      output: \"'throttle'\"\n"
+          + "    - output: \"'ok'\"\n";
+
+  @TestParameter private CelRuntimeFlavor runtimeFlavor;
+
+  @Test
+  public void compileAll_sharesSubexpressionsAcrossPolicies() throws Exception {
+    Cel cel = newCel();
+
+    CelAbstractSyntaxTree ast =
+        CelPolicyCompilerFactory.newPolicyCompiler(cel)
+            .build()
+            .compileAll(ImmutableList.of(parse(ADMIN_POLICY), parse(AUDIT_POLICY)));
+
+    String unparsed = CelUnparserFactory.newUnparser().unparse(ast);
+    assertThat(unparsed).startsWith("cel.@block([");
+    assertThat(unparsed).contains("request.auth.claims.group");
+    assertThat(ast.getResultType().parameters()).containsExactly(SimpleType.DYN);
+  }
+
+  @Test
+  public void compileAll_rejectsImports() throws Exception {
+    Cel cel = newCel();
+    CelPolicy policyWithImports =
+        parse("imports:\n  - name: google.protobuf.Duration\n" + ADMIN_POLICY);
+
+    CelPolicyValidationException e =
+        assertThrows(
+            CelPolicyValidationException.class,
+            () ->
+                CelPolicyCompilerFactory.newPolicyCompiler(cel)
+                    .build()
+                    .compileAll(ImmutableList.of(policyWithImports)));
+
+    assertThat(e).hasMessageThat().contains("Policy 'admin' declares imports");
+  }
+
+  @Test
+  public void eval_returnsResultPerPolicy() throws Exception {
+    Cel cel = newCel();
+    CelPolicySet policySet = newPolicySet(cel);
+
+    ImmutableList<PolicyResult> results =
+        policySet.eval(
+            ImmutableMap.of(
+                "request",
+                ImmutableMap.of(
+                    "auth", ImmutableMap.of("claims", ImmutableMap.of("group", "admin")),
+                    "size", 100L,
+                    "chunks", 5L)));
+
+    assertThat(policySet.policyNames()).containsExactly("admin", "audit", "quota").inOrder();
+    assertThat(results.stream().map(PolicyResult::output))
+        .containsExactly(Optional.of("allow"), Optional.of(false), Optional.of("throttle"))
+        .inOrder();
+  }
+
+  @Test
+  public void eval_errorInOnePolicy_attributedToThatPolicy() throws Exception {
+    Cel cel = newCel();
+    CelPolicySet policySet = newPolicySet(cel);
+
+    ImmutableList<PolicyResult> results =
+        policySet.eval(
+            ImmutableMap.of(
+                "request",
+                ImmutableMap.of(
+                    "auth", ImmutableMap.of("claims", ImmutableMap.of("group", "dev")),
+                    "size", 100L,
+                    "chunks", 0L)));
+
+    assertThat(results.get(0).output()).hasValue("deny");
+    assertThat(results.get(1).output()).hasValue(true);
+    assertThat(results.get(2).output()).isEmpty();
+    assertThat(results.get(2).error().get()).hasMessageThat().contains("/ by zero");
+  }
+
+  @Test
+  public void eval_errorInOnePolicy_reevaluatesPoliciesIndividually() throws Exception {
+    AtomicInteger invocations = new AtomicInteger();
+    Cel cel =
+        newCel()
+            .toCelBuilder()
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "counted",
+                    CelOverloadDecl.newGlobalOverload(
+                        "counted_string", SimpleType.STRING, SimpleType.STRING)))
+            .addFunctionBindings(
+                CelFunctionBinding.fromOverloads(
+                    "counted",
+                    CelFunctionBinding.from(
+                        "counted_string",
+                        String.class,
+                        arg -> {
+                          invocations.incrementAndGet();
+                          return arg;
+                        })))
+            .build();
+    CelPolicy countedPolicy =
+        parse(
+            "name: counted\n"
+                + "rule:\n"
+                + "  match:\n"
+                + "    - output: 'counted(request.auth.claims.group)'\n");
+    CelPolicySet policySet =
+        CelPolicySet.create(
+            cel,
+            CelPolicyCompilerFactory.newPolicyCompiler(cel).build(),
+            ImmutableList.of(countedPolicy, parse(QUOTA_POLICY)));
+
+    policySet.eval(newRequest(/* chunks= */ 5L));
+    assertThat(invocations.get()).isEqualTo(1);
+
+    ImmutableList<PolicyResult> results = policySet.eval(newRequest(/* chunks= */ 0L));
+
+    // The failed combined evaluation and the individual evaluation each call the function once.
+    assertThat(invocations.get()).isEqualTo(3);
+    assertThat(results.get(0).output()).hasValue("dev");
+    assertThat(results.get(1).error()).isPresent();
+  }
+
+  private static ImmutableMap<String, Object> newRequest(long chunks) {
+    return ImmutableMap.of(
+        "request",
+        ImmutableMap.of(
+            "auth", ImmutableMap.of("claims", ImmutableMap.of("group", "dev")),
+            "size", 100L,
+            "chunks", chunks));
+  }
+
+  private CelPolicySet newPolicySet(Cel cel) throws Exception {
+    return CelPolicySet.create(
+        cel,
+        CelPolicyCompilerFactory.newPolicyCompiler(cel).build(),
+        ImmutableList.of(parse(ADMIN_POLICY), parse(AUDIT_POLICY), parse(QUOTA_POLICY)));
+  }
+
+  private static CelPolicy parse(String policySource) throws Exception {
+    return POLICY_PARSER.parse(policySource);
+  }
+
+  private Cel newCel() {
+    return runtimeFlavor
+        .builder()
+        .setStandardMacros(CelStandardMacro.STANDARD_MACROS)
+        .addCompilerLibraries(CelOptionalLibrary.INSTANCE)
+        .addRuntimeLibraries(CelOptionalLibrary.INSTANCE)
+        .addVar("request", MapType.create(SimpleType.STRING, SimpleType.DYN))
+        .setOptions(CEL_OPTIONS)
+        .build();
+  }
+}
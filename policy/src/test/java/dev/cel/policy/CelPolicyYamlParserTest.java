@@ -17,9 +17,11 @@ package dev.cel.policy;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.testing.junit.testparameterinjector.TestParameter;
 import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.common.CelSourceLocation;
 import dev.cel.common.formats.ValueString;
 import dev.cel.policy.CelPolicy.Import;
 import dev.cel.policy.PolicyTestHelper.TestYamlPolicy;
@@ -186,6 +188,99 @@ public final class CelPolicyYamlParserTest {
                 + " | ......^");
   }
 
+  @Test
+  public void parseYamlPolicy_nestedRules() throws Exception {
+    String policySource =
+        "name: nested_policy\n"
+            + "rule:\n"
+            + "  variables:\n"
+            + "    - name: outer\n"
+            + "      expression: 'true'\n"
+            + "  match:\n"
+            + "    - condition: variables.outer\n"
+            + "      rule:\n"
+            + "        variables:\n"
+            + "          - name: inner\n"
+            + "            expression: 'false'\n"
+            + "        match:\n"
+            + "          - condition: variables.inner\n"
+            + "            output: \"'inner'\"\n"
+            + "          - output: \"'fallback'\"\n"
+            + "    - output: \"'outer'\"\n";
+
+    CelPolicy policy = POLICY_PARSER.parse(policySource);
+
+    CelPolicy.Rule rule = policy.rule();
+    assertThat(Iterables.getOnlyElement(rule.variables()).name().value()).isEqualTo("outer");
+    assertThat(rule.matches()).hasSize(2);
+    CelPolicy.Match nestedMatch = rule.matches().asList().get(0);
+    assertThat(nestedMatch.condition().value()).isEqualTo("variables.outer");
+    assertThat(nestedMatch.result().kind()).isEqualTo(CelPolicy.Match.Result.Kind.RULE);
+    CelPolicy.Rule nestedRule = nestedMatch.result().rule();
+    CelPolicy.Variable innerVariable = Iterables.getOnlyElement(nestedRule.variables());
+    assertThat(innerVariable.name().value()).isEqualTo("inner");
+    assertThat(innerVariable.expression().value()).isEqualTo("false");
+    assertThat(nestedRule.matches()).hasSize(2);
+    ValueString innerOutput = nestedRule.matches().asList().get(0).result().output();
+    assertThat(innerOutput.value()).isEqualTo("'inner'");
+    assertThat(rule.matches().asList().get(1).result().output().value()).isEqualTo("'outer'");
+    // Positions are recorded for values nested at any depth. Columns are zero-based, and quoted
+    // values start after the quote.
+    assertThat(location(policy, innerVariable.name())).isEqualTo(CelSourceLocation.of(10, 18));
+    assertThat(location(policy, innerOutput)).isEqualTo(CelSourceLocation.of(14, 21));
+  }
+
+  @Test
+  public void parseYamlPolicy_withAliases_expandsAnchoredValues() throws Exception {
+    String policySource =
+        "name: alias_policy\n"
+            + "rule:\n"
+            + "  variables:\n"
+            + "    - name: shared\n"
+            + "      expression: &cond 'request.auth != null'\n"
+            + "  match:\n"
+            + "    - condition: *cond\n"
+            + "      output: &out \"'allow'\"\n"
+            + "    - output: *out\n";
+
+    CelPolicy policy = POLICY_PARSER.parse(policySource);
+
+    ImmutableList<CelPolicy.Match> matches = policy.rule().matches().asList();
+    assertThat(matches.get(0).condition().value()).isEqualTo("request.auth != null");
+    assertThat(matches.get(0).result().output().value()).isEqualTo("'allow'");
+    assertThat(matches.get(1).result().output().value()).isEqualTo("'allow'");
+  }
+
+  @Test
+  public void parseYamlPolicy_malformedInput_throws(
+      @TestParameter MalformedPolicyTestCase testCase) {
+    CelPolicyValidationException e =
+        assertThrows(
+            CelPolicyValidationException.class, () -> POLICY_PARSER.parse(testCase.yamlPolicy));
+
+    assertThat(e).hasMessageThat().startsWith("YAML document is malformed: ");
+    assertThat(e).hasMessageThat().contains(testCase.expectedError);
+  }
+
+  private enum MalformedPolicyTestCase {
+    UNTERMINATED_QUOTED_SCALAR("name: 'unterminated\n", "found unexpected end of stream"),
+    UNTERMINATED_FLOW_SEQUENCE(
+        "rule:\n" + "  match: [\n" + "    {output: 'a'}\n",
+        "expected ',' or ']', but got <stream end>"),
+    TAB_INDENTATION("rule:\n" + "\tmatch: []\n", "found character '\\t(TAB)'"),
+    UNDEFINED_ALIAS(
+        "name: policy\n" + "rule:\n" + "  match:\n" + "    - output: *missing\n",
+        "found undefined alias missing");
+
+    private final String yamlPolicy;
+    private final String expectedError;
+
+    MalformedPolicyTestCase(String yamlPolicy, String expectedError) {
+      this.yamlPolicy = yamlPolicy;
+      this.expectedError = expectedError;
+    }
+  }
+
   @Test
   public void parseYamlPolicy_errors(@TestParameter PolicyParseErrorTestCase testCase) {
     CelPolicyValidationException e =
@@ -400,7 +495,42 @@ public final class CelPolicyYamlParserTest {
             + "- foo: bar",
         "ERROR: <input>:2:3: Invalid import key: foo, expected 'name'\n"
             + " | - foo: bar\n"
-            + " | ..^");
+            + " | ..^"),
+    NESTED_RULE_MISSING_VARIABLE_EXPRESSION(
+        "rule:\n"
+            + "  match:\n"
+            + "    - condition: 'true'\n"
+            + "      rule:\n"
+            + "        variables:\n"
+            + "          - name: 'v'\n"
+            + "        match:\n"
+            + "          - output: 'v'",
+        "ERROR: <input>:6:13: Missing required attribute(s): expression\n"
+            + " |           - name: 'v'\n"
+            + " | ............^"),
+    NESTED_RULE_UNSUPPORTED_MATCH_TAG(
+        "rule:\n"
+            + "  match:\n"
+            + "    - condition: 'true'\n"
+            + "      rule:\n"
+            + "        match:\n"
+            + "          - output: 'hi'\n"
+            + "            alt_name: 'x'",
+        "ERROR: <input>:7:13: Unsupported match tag: alt_name\n"
+            + " |             alt_name: 'x'\n"
+            + " | ............^"),
+    NESTED_RULE_ILLEGAL_YAML_TYPE_ON_VARIABLES(
+        "rule:\n"
+            + "  match:\n"
+            + "    - condition: 'true'\n"
+            + "      rule:\n"
+            + "        variables: illegal\n"
+            + "        match:\n"
+            + "          - output: 'hi'",
+        "ERROR: <input>:5:20: Got yaml node type tag:yaml.org,2002:str, wanted type(s)"
+            + " [tag:yaml.org,2002:seq]\n"
+            + " |         variables: illegal\n"
+            + " | ...................^");
 
     private final String yamlPolicy;
     private final String expectedErrorMessage;
@@ -410,4 +540,9 @@ public final class CelPolicyYamlParserTest {
       this.expectedErrorMessage = expectedErrorMessage;
     }
   }
+
+  private static CelSourceLocation location(CelPolicy policy, ValueString value) {
+    int offset = policy.policySource().getPositionsMap().get(value.id());
+    return policy.policySource().getOffsetLocation(offset).get();
+  }
 }
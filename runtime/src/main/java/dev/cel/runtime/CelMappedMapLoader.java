@@ -0,0 +1,67 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime;
+
+import dev.cel.common.values.MappedMapValue;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Loads large, static reference tables as CEL maps backed by memory-mapped files.
+ *
+ * <p>A loaded map can be bound to a variable of type {@code map(K, V)} (or {@code dyn}) and
+ * supports indexing, {@code in} and {@code has()} like any other map. The table is read directly
+ * from the page cache, so it does not occupy the Java heap and is shared between all processes
+ * mapping the same file. See {@link MappedMapValue} for the supported key and value types.
+ *
+ * <p>The file must not be modified while it is mapped. Replace it atomically (e.g. by renaming a
+ * newly written file over it) and load it again instead.
+ */
+public final class CelMappedMapLoader {
+
+  /**
+   * Maps the table in {@code path}, which must have been written by {@link #write}.
+   *
+   * @throws IllegalArgumentException if the file does not hold a table or is larger than 2GB.
+   */
+  public static MappedMapValue load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("CEL map table exceeds 2GB: " + path);
+      }
+      // The mapping stays valid after the channel is closed.
+      return MappedMapValue.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    }
+  }
+
+  /**
+   * Writes {@code map} to {@code path} as a table that can be loaded with {@link #load}.
+   *
+   * @throws IllegalArgumentException if the map contains unsupported keys or values.
+   */
+  public static void write(Map<?, ?> map, Path path) throws IOException {
+    try (OutputStream output = Files.newOutputStream(path)) {
+      MappedMapValue.write(map, output);
+    }
+  }
+
+  private CelMappedMapLoader() {}
+}
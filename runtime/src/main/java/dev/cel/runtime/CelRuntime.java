@@ -21,6 +21,7 @@ import com.google.protobuf.Message;
 import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelOptions;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * The CelRuntime creates executable {@code Program} instances from {@code CelAbstractSyntaxTree}
@@ -108,5 +109,40 @@ public interface CelRuntime {
      * UnknownTracking} is disabled, this is equivalent to eval.
      */
     Object advanceEvaluation(UnknownContext context) throws CelEvaluationException;
+
+    /**
+     * Advance evaluation based on the current unknown context and late-bound functions {@code
+     * lateBoundFunctionResolver}.
+     *
+     * <p>Late-bound functions may return a CelUnknownSet to defer their result to a later round of
+     * incremental evaluation.
+     *
+     * @throws UnsupportedOperationException if the program does not support late-bound functions
+     *     in incremental evaluation.
+     */
+    default Object advanceEvaluation(
+        UnknownContext context, CelFunctionResolver lateBoundFunctionResolver)
+        throws CelEvaluationException {
+      throw new UnsupportedOperationException(
+          "Late-bound functions are not supported in incremental evaluation by this program.");
+    }
+
+    /**
+     * Returns a snapshot of the tiered evaluation state of this program, or an empty optional if
+     * tiered evaluation is not enabled or has no effect. See {@link
+     * CelRuntimeBuilder#setTieredEvaluation}.
+     */
+    default Optional<ProgramTierMetrics> tierMetrics() {
+      return Optional.empty();
+    }
+
+    /**
+     * Returns a snapshot of the coverage recorded from sampled evaluations of this program, or an
+     * empty optional if coverage sampling is not enabled. See {@link
+     * CelRuntimeBuilder#setCoverageSampleRate}.
+     */
+    default Optional<ProgramCoverage> coverage() {
+      return Optional.empty();
+    }
   }
 }
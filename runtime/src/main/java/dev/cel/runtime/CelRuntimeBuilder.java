@@ -25,6 +25,7 @@ import dev.cel.common.CelContainer;
 import dev.cel.common.CelOptions;
 import dev.cel.common.types.CelTypeProvider;
 import dev.cel.common.values.CelValueProvider;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /** Interface for building an instance of CelRuntime */
@@ -204,6 +205,70 @@ public interface CelRuntimeBuilder {
   @CanIgnoreReturnValue
   CelRuntimeBuilder setContainer(CelContainer container);
 
+  /**
+   * Enables concurrent evaluation of independent subexpressions on the supplied executor.
+   *
+   * <p>When set, the branches of exhaustively evaluated logical operators ({@code &&}, {@code ||}
+   * and {@code ?:} with short-circuiting disabled) and the slots of {@code cel.@block} which call
+   * late-bound functions are evaluated concurrently, provided the planner can prove that they do
+   * not share mutable evaluation state. Results and error precedence are identical to sequential
+   * evaluation. Late-bound function implementations must be thread-safe.
+   *
+   * <p>Slots which end up unreferenced are cancelled once evaluation returns. The threads of those
+   * which have already started are interrupted, so late-bound functions should respond to
+   * interruption if they block.
+   *
+   * <p>Note that this option is only supported for planner-based runtime.
+   */
+  @CanIgnoreReturnValue
+  CelRuntimeBuilder setParallelEvaluationExecutor(Executor executor);
+
+  /**
+   * Enables inline evaluation of standard arithmetic, comparison and logical operators.
+   *
+   * <p>When enabled, calls which the type-checker resolved to a single standard overload (for
+   * example, {@code _+_} on two {@code int} operands) are planned as specialized nodes which
+   * compute the result directly instead of going through function dispatch. Operands of an
+   * unexpected runtime type, unknowns and errors fall back to regular dispatch, so evaluation
+   * results, errors and iteration limits are unchanged. Overloads replaced by a custom function
+   * binding are never specialized.
+   *
+   * <p>Note that this option is only supported for planner-based runtime.
+   */
+  @CanIgnoreReturnValue
+  CelRuntimeBuilder setOperatorSpecializationEnabled(boolean value);
+
+  /**
+   * Enables tiered evaluation of programs.
+   *
+   * <p>Programs start out evaluating their initial plan. Once a program has been evaluated {@code
+   * promotionThreshold} times, it is re-planned on {@code promotionExecutor} with standard operator
+   * specialization (see {@link #setOperatorSpecializationEnabled}) and the optimized plan is
+   * swapped in atomically. Concurrent evaluations are unaffected by the swap, and both plans
+   * produce identical results. The tier of a program can be inspected through {@link
+   * CelRuntime.Program#tierMetrics()}.
+   *
+   * <p>Tiered evaluation has no effect when operator specialization is already enabled, as programs
+   * are then planned with specialization from the start and are never promoted.
+   *
+   * <p>Note that this option is only supported for planner-based runtime.
+   */
+  @CanIgnoreReturnValue
+  CelRuntimeBuilder setTieredEvaluation(int promotionThreshold, Executor promotionExecutor);
+
+  /**
+   * Enables coverage collection from roughly one in {@code sampleRate} evaluations of each program.
+   * A rate of 1 records every evaluation, and 0 (the default) disables collection.
+   *
+   * <p>Sampled evaluations count how often each expression node is evaluated, and how often it
+   * produces {@code true} or {@code false}, using lock-free striped counters. Unlike collecting
+   * coverage through a {@link CelEvaluationListener}, this is cheap enough to leave enabled for
+   * production traffic. Counters are exposed through {@link CelRuntime.Program#coverage()}.
+   *
+   * <p>Note that this option is only supported for planner-based runtime.
+   */
+  @CanIgnoreReturnValue
+  CelRuntimeBuilder setCoverageSampleRate(int sampleRate);
 
   /** Build a new instance of the {@code CelRuntime}. */
   @CheckReturnValue
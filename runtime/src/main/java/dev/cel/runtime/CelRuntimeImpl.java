@@ -14,7 +14,9 @@
 
 package dev.cel.runtime;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableList;
@@ -45,6 +47,7 @@ import dev.cel.common.values.CelValueConverter;
 import dev.cel.common.values.CelValueProvider;
 import dev.cel.common.values.CombinedCelValueProvider;
 import dev.cel.common.values.ProtoMessageValueProvider;
+import dev.cel.runtime.planner.CoverageCounters;
 import dev.cel.runtime.planner.PlannedProgram;
 import dev.cel.runtime.planner.ProgramPlanner;
 import dev.cel.runtime.standard.TypeFunction;
@@ -53,6 +56,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
 
@@ -72,8 +76,12 @@ public abstract class CelRuntimeImpl implements CelRuntime {
 
   abstract CelContainer container();
 
+  // For an extended runtime, only the bindings added on top of extendedRuntime().
   abstract ImmutableMap<String, CelFunctionBinding> functionBindings();
 
+  // The runtime this one was extended from, if any.
+  abstract @Nullable CelRuntimeImpl extendedRuntime();
+
   abstract ImmutableSet<Descriptors.FileDescriptor> fileDescriptors();
 
   // Callers must guarantee that a custom runtime library is immutable. CEL provided ones are
@@ -95,9 +103,42 @@ public abstract class CelRuntimeImpl implements CelRuntime {
   @AutoValue.CopyAnnotations
   abstract @Nullable ExtensionRegistry extensionRegistry();
 
+  // Executors are expected to be thread-safe.
+  @SuppressWarnings("Immutable")
+  @AutoValue.CopyAnnotations
+  abstract @Nullable Executor parallelEvaluationExecutor();
+
+  abstract boolean operatorSpecializationEnabled();
+
+  abstract int tieredPromotionThreshold();
+
+  // Executors are expected to be thread-safe.
+  @SuppressWarnings("Immutable")
+  @AutoValue.CopyAnnotations
+  abstract @Nullable Executor tieredPromotionExecutor();
+
+  abstract @Nullable ProgramPlanner promotedPlanner();
+
+  abstract int coverageSampleRate();
+
   @Override
   public Program createProgram(CelAbstractSyntaxTree ast) throws CelEvaluationException {
-    return toRuntimeProgram(planner().plan(ast));
+    PlannedProgram program = (PlannedProgram) planner().plan(ast);
+    if (coverageSampleRate() > 0) {
+      program = program.withCoverage(CoverageCounters.create(ast, coverageSampleRate()));
+    }
+    ProgramPlanner promotedPlanner = promotedPlanner();
+    if (promotedPlanner == null) {
+      return toRuntimeProgram(program);
+    }
+
+    return toRuntimeProgram(
+        TieredProgram.create(
+            ast,
+            program,
+            promotedPlanner,
+            tieredPromotionThreshold(),
+            tieredPromotionExecutor()));
   }
 
   private static final CelFunctionResolver EMPTY_FUNCTION_RESOLVER =
@@ -118,6 +159,35 @@ public abstract class CelRuntimeImpl implements CelRuntime {
   public Program toRuntimeProgram(dev.cel.runtime.Program program) {
     return new Program() {
 
+      /** Returns the plan to evaluate, counting the evaluation if the program is tiered. */
+      private PlannedProgram plannedProgram() {
+        if (program instanceof TieredProgram) {
+          return ((TieredProgram) program).acquire();
+        }
+        return (PlannedProgram) program;
+      }
+
+      @Override
+      public Optional<ProgramTierMetrics> tierMetrics() {
+        if (program instanceof TieredProgram) {
+          return Optional.of(((TieredProgram) program).metrics());
+        }
+        return Optional.empty();
+      }
+
+      @Override
+      public Optional<ProgramCoverage> coverage() {
+        PlannedProgram plannedProgram =
+            program instanceof TieredProgram
+                ? ((TieredProgram) program).current()
+                : (PlannedProgram) program;
+        CoverageCounters counters = plannedProgram.coverage();
+        if (counters == null) {
+          return Optional.empty();
+        }
+        return Optional.of(snapshotCoverage(counters));
+      }
+
       @Override
       public Object eval() throws CelEvaluationException {
         return program.eval();
@@ -136,7 +206,7 @@ public abstract class CelRuntimeImpl implements CelRuntime {
 
       @Override
       public Object eval(Message message) throws CelEvaluationException {
-        PlannedProgram plannedProgram = (PlannedProgram) program;
+        PlannedProgram plannedProgram = plannedProgram();
         return plannedProgram.evalOrThrow(
             plannedProgram.interpretable(),
             ProtoMessageActivationFactory.fromProto(message, plannedProgram.options()),
@@ -164,21 +234,21 @@ public abstract class CelRuntimeImpl implements CelRuntime {
 
       @Override
       public Object trace(CelEvaluationListener listener) throws CelEvaluationException {
-        return ((PlannedProgram) program)
+        return plannedProgram()
             .trace(GlobalResolver.EMPTY, EMPTY_FUNCTION_RESOLVER, null, listener);
       }
 
       @Override
       public Object trace(Map<String, ?> mapValue, CelEvaluationListener listener)
           throws CelEvaluationException {
-        return ((PlannedProgram) program)
+        return plannedProgram()
             .trace(Activation.copyOf(mapValue), EMPTY_FUNCTION_RESOLVER, null, listener);
       }
 
       @Override
       public Object trace(Message message, CelEvaluationListener listener)
           throws CelEvaluationException {
-        PlannedProgram plannedProgram = (PlannedProgram) program;
+        PlannedProgram plannedProgram = plannedProgram();
         return plannedProgram.evalOrThrow(
             plannedProgram.interpretable(),
             ProtoMessageActivationFactory.fromProto(message, plannedProgram.options()),
@@ -190,7 +260,7 @@ public abstract class CelRuntimeImpl implements CelRuntime {
       @Override
       public Object trace(CelVariableResolver resolver, CelEvaluationListener listener)
           throws CelEvaluationException {
-        return ((PlannedProgram) program)
+        return plannedProgram()
             .trace(
                 (name) -> resolver.find(name).orElse(null),
                 EMPTY_FUNCTION_RESOLVER,
@@ -204,7 +274,7 @@ public abstract class CelRuntimeImpl implements CelRuntime {
           CelFunctionResolver lateBoundFunctionResolver,
           CelEvaluationListener listener)
           throws CelEvaluationException {
-        return ((PlannedProgram) program)
+        return plannedProgram()
             .trace(
                 (name) -> resolver.find(name).orElse(null),
                 lateBoundFunctionResolver,
@@ -218,14 +288,14 @@ public abstract class CelRuntimeImpl implements CelRuntime {
           CelFunctionResolver lateBoundFunctionResolver,
           CelEvaluationListener listener)
           throws CelEvaluationException {
-        return ((PlannedProgram) program)
+        return plannedProgram()
             .trace(Activation.copyOf(mapValue), lateBoundFunctionResolver, null, listener);
       }
 
       @Override
       public Object trace(PartialVars partialVars, CelEvaluationListener listener)
           throws CelEvaluationException {
-        return ((PlannedProgram) program)
+        return plannedProgram()
             .trace(
                 (name) -> partialVars.resolver().find(name).orElse(null),
                 EMPTY_FUNCTION_RESOLVER,
@@ -235,13 +305,73 @@ public abstract class CelRuntimeImpl implements CelRuntime {
 
       @Override
       public Object advanceEvaluation(UnknownContext context) throws CelEvaluationException {
-        throw new UnsupportedOperationException("Unsupported operation.");
+        throw new UnsupportedOperationException(
+            "Incremental evaluation is not supported by the planner runtime.");
+      }
+
+      @Override
+      public Object advanceEvaluation(
+          UnknownContext context, CelFunctionResolver lateBoundFunctionResolver)
+          throws CelEvaluationException {
+        throw new UnsupportedOperationException(
+            "Incremental evaluation is not supported by the planner runtime.");
       }
     };
   }
 
+  private static ProgramCoverage snapshotCoverage(CoverageCounters counters) {
+    ImmutableMap.Builder<Long, ProgramCoverage.NodeCoverage> nodes = ImmutableMap.builder();
+    for (long exprId = 0; exprId <= counters.maxExprId(); exprId++) {
+      long hitCount = counters.hitCount(exprId);
+      if (hitCount > 0) {
+        nodes.put(
+            exprId,
+            ProgramCoverage.NodeCoverage.create(
+                hitCount, counters.trueCount(exprId), counters.falseCount(exprId)));
+      }
+    }
+    return ProgramCoverage.create(
+        counters.sampleRate(), counters.sampledEvaluations(), nodes.buildOrThrow());
+  }
+
   @Override
-  public abstract Builder toRuntimeBuilder();
+  public Builder toRuntimeBuilder() {
+    CelRuntimeImpl extendedRuntime = extendedRuntime();
+    if (extendedRuntime == null) {
+      return autoToRuntimeBuilder();
+    }
+    return extendedRuntime.toRuntimeBuilder().addFunctionBindings(functionBindings().values());
+  }
+
+  abstract Builder autoToRuntimeBuilder();
+
+  /**
+   * Returns a runtime which additionally binds {@code functionBindings}.
+   *
+   * <p>The providers, descriptor pool and function overloads of this runtime are shared with the
+   * returned one rather than built again.
+   *
+   * @throws IllegalArgumentException if an overload ID is already bound by this runtime.
+   */
+  public CelRuntimeImpl extend(Iterable<CelFunctionBinding> functionBindings) {
+    ImmutableList<CelFunctionBinding> newFunctionBindings = ImmutableList.copyOf(functionBindings);
+    Map<String, CelFunctionBinding> addedFunctionBindings = new HashMap<>();
+    for (CelFunctionBinding binding : newFunctionBindings) {
+      addedFunctionBindings.put(binding.getOverloadId(), binding);
+    }
+
+    // The planner rejects overload IDs which are already bound.
+    Builder builder =
+        autoToRuntimeBuilder()
+            .setPlanner(planner().extend(newFunctionBindings))
+            .setFunctionBindings(ImmutableMap.copyOf(addedFunctionBindings))
+            .setExtendedRuntime(this);
+    ProgramPlanner promotedPlanner = promotedPlanner();
+    if (promotedPlanner != null) {
+      builder.setPromotedPlanner(promotedPlanner.extend(newFunctionBindings));
+    }
+    return builder.autoBuild();
+  }
 
   /**
    * CEL Library Internals. Do not use. Consumers should use {@code CelRuntimeFactory} instead.
@@ -253,7 +383,10 @@ public abstract class CelRuntimeImpl implements CelRuntime {
         .setFunctionBindings(ImmutableMap.of())
         .setStandardFunctions(CelStandardFunctions.newBuilder().build())
         .setContainer(CelContainer.newBuilder().build())
-        .setExtensionRegistry(ExtensionRegistry.getEmptyRegistry());
+        .setExtensionRegistry(ExtensionRegistry.getEmptyRegistry())
+        .setOperatorSpecializationEnabled(false)
+        .setTieredPromotionThreshold(0)
+        .setCoverageSampleRate(0);
   }
 
   /** Builder for {@link CelRuntimeImpl}. */
@@ -280,6 +413,31 @@ public abstract class CelRuntimeImpl implements CelRuntime {
     @Override
     public abstract Builder setContainer(CelContainer container);
 
+    @Override
+    public abstract Builder setParallelEvaluationExecutor(Executor executor);
+
+    @Override
+    public abstract Builder setOperatorSpecializationEnabled(boolean value);
+
+    @Override
+    @CanIgnoreReturnValue
+    public Builder setTieredEvaluation(int promotionThreshold, Executor promotionExecutor) {
+      checkArgument(promotionThreshold > 0, "promotionThreshold must be positive");
+      return setTieredPromotionThreshold(promotionThreshold)
+          .setTieredPromotionExecutor(checkNotNull(promotionExecutor));
+    }
+
+    abstract Builder setTieredPromotionThreshold(int promotionThreshold);
+
+    abstract Builder setTieredPromotionExecutor(Executor promotionExecutor);
+
+    abstract Builder setPromotedPlanner(ProgramPlanner promotedPlanner);
+
+    @Override
+    public abstract Builder setCoverageSampleRate(int sampleRate);
+
+    abstract int coverageSampleRate();
+
     abstract CelOptions options();
 
     abstract CelContainer container();
@@ -292,6 +450,12 @@ public abstract class CelRuntimeImpl implements CelRuntime {
 
     abstract ExtensionRegistry extensionRegistry();
 
+    abstract @Nullable Executor parallelEvaluationExecutor();
+
+    abstract boolean operatorSpecializationEnabled();
+
+    abstract @Nullable Executor tieredPromotionExecutor();
+
     abstract ImmutableMap<String, CelFunctionBinding> functionBindings();
 
     abstract ImmutableSet.Builder<Descriptors.FileDescriptor> fileDescriptorsBuilder();
@@ -386,6 +550,8 @@ public abstract class CelRuntimeImpl implements CelRuntime {
 
     abstract Builder setFunctionBindings(ImmutableMap<String, CelFunctionBinding> value);
 
+    abstract Builder setExtendedRuntime(@Nullable CelRuntimeImpl value);
+
     @Override
     public Builder setTypeFactory(Function<String, Message.Builder> typeFactory) {
       throw new UnsupportedOperationException("Unsupported. Use a custom value provider instead.");
@@ -427,13 +593,10 @@ public abstract class CelRuntimeImpl implements CelRuntime {
     abstract CelRuntimeImpl autoBuild();
 
     private static DefaultDispatcher newDispatcher(
-        CelStandardFunctions standardFunctions,
-        Collection<CelFunctionBinding> customFunctionBindings,
-        RuntimeEquality runtimeEquality,
-        CelOptions options) {
+        Collection<CelFunctionBinding> standardFunctionBindings,
+        Collection<CelFunctionBinding> customFunctionBindings) {
       DefaultDispatcher.Builder builder = DefaultDispatcher.newBuilder();
-      for (CelFunctionBinding binding :
-          standardFunctions.newFunctionBindings(runtimeEquality, options)) {
+      for (CelFunctionBinding binding : standardFunctionBindings) {
         String functionName = binding.getOverloadId();
         if (binding instanceof InternalCelFunctionBinding) {
           functionName = ((InternalCelFunctionBinding) binding).getFunctionName();
@@ -476,6 +639,7 @@ public abstract class CelRuntimeImpl implements CelRuntime {
     public CelRuntime build() {
       CelOptions options = options();
       assertAllowedCelOptions(options);
+      checkArgument(coverageSampleRate() >= 0, "sampleRate must not be negative");
       CelDescriptors celDescriptors =
           CelDescriptorUtil.getAllDescriptorsFromFileDescriptor(fileDescriptorsBuilder().build());
 
@@ -531,10 +695,20 @@ public abstract class CelRuntimeImpl implements CelRuntime {
         mutableFunctionBindings.put(binding.getOverloadId(), binding);
       }
 
+      ImmutableSet<CelFunctionBinding> standardFunctionBindings =
+          standardFunctions().newFunctionBindings(runtimeEquality, options());
       DefaultDispatcher dispatcher =
-          newDispatcher(
-              standardFunctions(), mutableFunctionBindings.values(), runtimeEquality, options());
+          newDispatcher(standardFunctionBindings, mutableFunctionBindings.values());
+
+      // Only standard overloads which have not been replaced by a custom binding may be evaluated
+      // inline by the planner.
+      ImmutableSet<String> specializableOverloadIds =
+          standardFunctionBindings.stream()
+              .map(CelFunctionBinding::getOverloadId)
+              .filter(overloadId -> !mutableFunctionBindings.containsKey(overloadId))
+              .collect(toImmutableSet());
 
+      ImmutableSet<String> lateBoundFunctionNames = lateBoundFunctionNamesBuilder().build();
       ProgramPlanner planner =
           ProgramPlanner.newPlanner(
               combinedTypeProvider,
@@ -543,9 +717,27 @@ public abstract class CelRuntimeImpl implements CelRuntime {
               celValueConverter,
               container(),
               options(),
-              lateBoundFunctionNamesBuilder().build());
+              lateBoundFunctionNames,
+              parallelEvaluationExecutor(),
+              operatorSpecializationEnabled() ? specializableOverloadIds : ImmutableSet.of());
       setPlanner(planner);
 
+      if (tieredPromotionExecutor() != null && !operatorSpecializationEnabled()) {
+        // Hot programs are re-planned with all standard operators specialized. Programs which are
+        // already planned that way have nothing to gain from promotion, so they are not tiered.
+        setPromotedPlanner(
+            ProgramPlanner.newPlanner(
+                combinedTypeProvider,
+                protoMessageValueProvider,
+                dispatcher,
+                celValueConverter,
+                container(),
+                options(),
+                lateBoundFunctionNames,
+                parallelEvaluationExecutor(),
+                specializableOverloadIds));
+      }
+
       setFunctionBindings(ImmutableMap.copyOf(mutableFunctionBindings));
       return autoBuild();
     }
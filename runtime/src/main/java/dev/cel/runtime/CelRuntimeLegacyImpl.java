@@ -50,6 +50,7 @@ import dev.cel.runtime.standard.TimestampFunction.TimestampOverload;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
 
@@ -63,7 +64,7 @@ import org.jspecify.annotations.Nullable;
 @Internal
 public final class CelRuntimeLegacyImpl implements CelRuntime {
 
-  private final Interpreter interpreter;
+  private final DefaultInterpreter interpreter;
   private final CelOptions options;
 
   private final boolean standardEnvironmentEnabled;
@@ -87,14 +88,47 @@ public final class CelRuntimeLegacyImpl implements CelRuntime {
 
   private final ImmutableList<CelFunctionBinding> celFunctionBindings;
 
+  // The runtime this one was extended from, in which case the function bindings above only hold
+  // the bindings added by the extension.
+  private final @Nullable CelRuntimeLegacyImpl parent;
+
   @Override
   public CelRuntime.Program createProgram(CelAbstractSyntaxTree ast) {
     checkState(ast.isChecked(), "programs must be created from checked expressions");
     return ProgramImpl.from(interpreter.createInterpretable(ast), options);
   }
 
+  /**
+   * Returns a runtime which additionally binds {@code functionBindings}.
+   *
+   * <p>The type providers, descriptors and function overloads of this runtime are shared with the
+   * returned one, so the cost of extending a runtime is proportional to the number of bindings
+   * added.
+   *
+   * @throws IllegalArgumentException if an overload ID is already bound by this runtime.
+   */
+  public CelRuntimeLegacyImpl extend(Iterable<CelFunctionBinding> functionBindings) {
+    ImmutableList<CelFunctionBinding> newFunctionBindings = ImmutableList.copyOf(functionBindings);
+    return new CelRuntimeLegacyImpl(
+        interpreter.extend(newFunctionBindings),
+        options,
+        standardEnvironmentEnabled,
+        extensionRegistry,
+        customTypeFactory,
+        overriddenStandardFunctions,
+        celValueProvider,
+        fileDescriptors,
+        celRuntimeLibraries,
+        newFunctionBindings,
+        this);
+  }
+
   @Override
   public CelRuntimeBuilder toRuntimeBuilder() {
+    if (parent != null) {
+      return parent.toRuntimeBuilder().addFunctionBindings(celFunctionBindings);
+    }
+
     CelRuntimeBuilder builder =
         new Builder()
             .setOptions(options)
@@ -257,6 +291,31 @@ public final class CelRuntimeLegacyImpl implements CelRuntime {
           "This method is not supported for the legacy runtime");
     }
 
+    @Override
+    public CelRuntimeBuilder setParallelEvaluationExecutor(Executor executor) {
+      throw new UnsupportedOperationException(
+          "This method is not supported for the legacy runtime");
+    }
+
+    @Override
+    public CelRuntimeBuilder setOperatorSpecializationEnabled(boolean value) {
+      throw new UnsupportedOperationException(
+          "This method is not supported for the legacy runtime");
+    }
+
+    @Override
+    public CelRuntimeBuilder setTieredEvaluation(
+        int promotionThreshold, Executor promotionExecutor) {
+      throw new UnsupportedOperationException(
+          "This method is not supported for the legacy runtime");
+    }
+
+    @Override
+    public CelRuntimeBuilder setCoverageSampleRate(int sampleRate) {
+      throw new UnsupportedOperationException(
+          "This method is not supported for the legacy runtime");
+    }
+
     /** Build a new {@code CelRuntimeLegacyImpl} instance from the builder config. */
     @Override
     public CelRuntimeLegacyImpl build() {
@@ -367,7 +426,8 @@ public final class CelRuntimeLegacyImpl implements CelRuntime {
           celValueProvider,
           fileDescriptors,
           runtimeLibraries,
-          ImmutableList.copyOf(customFunctionBindings.values()));
+          ImmutableList.copyOf(customFunctionBindings.values()),
+          /* parent= */ null);
     }
 
     private ImmutableSet<CelFunctionBinding> newStandardFunctionBindings(
@@ -446,7 +506,7 @@ public final class CelRuntimeLegacyImpl implements CelRuntime {
   }
 
   private CelRuntimeLegacyImpl(
-      Interpreter interpreter,
+      DefaultInterpreter interpreter,
       CelOptions options,
       boolean standardEnvironmentEnabled,
       ExtensionRegistry extensionRegistry,
@@ -455,7 +515,8 @@ public final class CelRuntimeLegacyImpl implements CelRuntime {
       @Nullable CelValueProvider celValueProvider,
       ImmutableSet<FileDescriptor> fileDescriptors,
       ImmutableSet<CelRuntimeLibrary> celRuntimeLibraries,
-      ImmutableList<CelFunctionBinding> celFunctionBindings) {
+      ImmutableList<CelFunctionBinding> celFunctionBindings,
+      @Nullable CelRuntimeLegacyImpl parent) {
     this.interpreter = interpreter;
     this.options = options;
     this.standardEnvironmentEnabled = standardEnvironmentEnabled;
@@ -466,5 +527,6 @@ public final class CelRuntimeLegacyImpl implements CelRuntime {
     this.fileDescriptors = fileDescriptors;
     this.celRuntimeLibraries = celRuntimeLibraries;
     this.celFunctionBindings = celFunctionBindings;
+    this.parent = parent;
   }
 }
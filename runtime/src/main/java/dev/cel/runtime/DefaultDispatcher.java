@@ -18,10 +18,12 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.Immutable;
 import dev.cel.common.CelErrorCode;
@@ -33,6 +35,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Default implementation of dispatcher.
@@ -45,21 +50,68 @@ public final class DefaultDispatcher implements CelFunctionResolver {
 
   private final ImmutableMap<String, CelResolvedOverload> overloads;
 
+  // The dispatcher this one was extended from, which resolves the overloads not bound above.
+  private final @Nullable DefaultDispatcher parent;
+
+  // The IDs of the overloads bound by this dispatcher and its ancestors, as a view over the IDs
+  // of each dispatcher in the chain.
+  @SuppressWarnings("Immutable") // Union of immutable sets.
+  private final Set<String> overloadIds;
+
   public Optional<CelResolvedOverload> findOverload(String functionName) {
-    return Optional.ofNullable(overloads.get(functionName));
+    return Optional.ofNullable(getOverload(functionName));
   }
 
   @Override
   public Optional<CelResolvedOverload> findOverloadMatchingArgs(String functionName, Object[] args)
       throws CelEvaluationException {
-    return findOverloadMatchingArgs(functionName, overloads.keySet(), overloads, args);
+    return findOverloadMatchingArgs(functionName, overloadIds, this::getOverload, args);
   }
 
   @Override
   public Optional<CelResolvedOverload> findOverloadMatchingArgs(
       String functionName, Collection<String> overloadIds, Object[] args)
       throws CelEvaluationException {
-    return findOverloadMatchingArgs(functionName, overloadIds, overloads, args);
+    return findOverloadMatchingArgs(functionName, overloadIds, this::getOverload, args);
+  }
+
+  /**
+   * Returns a dispatcher which additionally binds {@code functionBindings}.
+   *
+   * <p>The overloads of this dispatcher are shared with the returned one rather than copied, so the
+   * cost of extending a dispatcher is proportional to the number of bindings added.
+   *
+   * @throws IllegalArgumentException if an overload ID is already bound by this dispatcher, or is
+   *     bound more than once by {@code functionBindings} without each of its bindings being a
+   *     dynamic dispatch overload.
+   */
+  public DefaultDispatcher extend(Iterable<CelFunctionBinding> functionBindings) {
+    Builder builder = newBuilder();
+    for (CelFunctionBinding binding : functionBindings) {
+      checkArgument(
+          !overloadIds.contains(binding.getOverloadId()),
+          "Duplicate overload ID binding: %s",
+          binding.getOverloadId());
+      String functionName = binding.getOverloadId();
+      if (binding instanceof InternalCelFunctionBinding) {
+        functionName = ((InternalCelFunctionBinding) binding).getFunctionName();
+      }
+      builder.addOverload(
+          functionName,
+          binding.getOverloadId(),
+          binding.getArgTypes(),
+          binding.isStrict(),
+          binding.getDefinition());
+    }
+    return new DefaultDispatcher(builder.build().overloads, this);
+  }
+
+  private @Nullable CelResolvedOverload getOverload(String overloadId) {
+    CelResolvedOverload overload = overloads.get(overloadId);
+    if (overload == null && parent != null) {
+      return parent.getOverload(overloadId);
+    }
+    return overload;
   }
 
   /** Finds the overload that matches the given function name, overload IDs, and arguments. */
@@ -69,11 +121,20 @@ public final class DefaultDispatcher implements CelFunctionResolver {
       Map<String, ? extends CelResolvedOverload> overloads,
       Object[] args)
       throws CelEvaluationException {
+    return findOverloadMatchingArgs(functionName, overloadIds, overloads::get, args);
+  }
+
+  private static Optional<CelResolvedOverload> findOverloadMatchingArgs(
+      String functionName,
+      Collection<String> overloadIds,
+      Function<String, ? extends @Nullable CelResolvedOverload> overloads,
+      Object[] args)
+      throws CelEvaluationException {
     int matchingOverloadCount = 0;
     CelResolvedOverload match = null;
     List<String> candidates = null;
     for (String overloadId : overloadIds) {
-      CelResolvedOverload overload = overloads.get(overloadId);
+      CelResolvedOverload overload = overloads.apply(overloadId);
       // If the overload is null, it means that the function was not registered; however, it is
       // possible that the overload refers to a late-bound function.
       if (overload != null && overload.canHandle(args)) {
@@ -110,7 +171,7 @@ public final class DefaultDispatcher implements CelFunctionResolver {
    */
   Optional<CelResolvedOverload> findSingleNonStrictOverload(List<String> overloadIds) {
     for (String overloadId : overloadIds) {
-      CelResolvedOverload overload = overloads.get(overloadId);
+      CelResolvedOverload overload = getOverload(overloadId);
       if (overload != null && !overload.isStrict()) {
         if (overloadIds.size() > 1) {
           throw new IllegalStateException(
@@ -220,7 +281,7 @@ public final class DefaultDispatcher implements CelFunctionResolver {
                 overloadEntry.argTypes()));
       }
 
-      return new DefaultDispatcher(resolvedOverloads.buildOrThrow());
+      return new DefaultDispatcher(resolvedOverloads.buildOrThrow(), /* parent= */ null);
     }
 
     private Builder() {
@@ -228,7 +289,22 @@ public final class DefaultDispatcher implements CelFunctionResolver {
     }
   }
 
-  DefaultDispatcher(ImmutableMap<String, CelResolvedOverload> overloads) {
+  DefaultDispatcher(
+      ImmutableMap<String, CelResolvedOverload> overloads, @Nullable DefaultDispatcher parent) {
     this.overloads = overloads;
+    this.parent = parent;
+    this.overloadIds =
+        parent == null ? overloads.keySet() : Sets.union(parent.overloadIds, overloads.keySet());
+  }
+
+  /** Returns the IDs of the overloads bound by this dispatcher, excluding those of its parent. */
+  @VisibleForTesting
+  ImmutableSet<String> boundOverloadIds() {
+    return overloads.keySet();
+  }
+
+  @VisibleForTesting
+  @Nullable DefaultDispatcher parent() {
+    return parent;
   }
 }
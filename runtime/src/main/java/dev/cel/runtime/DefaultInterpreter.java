@@ -77,6 +77,11 @@ final class DefaultInterpreter implements Interpreter {
    */
   @AutoValue
   abstract static class IntermediateResult {
+    private static final IntermediateResult TRUE_RESULT =
+        new AutoValue_DefaultInterpreter_IntermediateResult(CelAttribute.EMPTY, true);
+    private static final IntermediateResult FALSE_RESULT =
+        new AutoValue_DefaultInterpreter_IntermediateResult(CelAttribute.EMPTY, false);
+
     abstract CelAttribute attribute();
 
     abstract Object value();
@@ -89,6 +94,10 @@ final class DefaultInterpreter implements Interpreter {
     }
 
     static IntermediateResult create(Object value) {
+      // Results of logical operators and comparisons are shared rather than allocated per node.
+      if (value instanceof Boolean) {
+        return (Boolean) value ? TRUE_RESULT : FALSE_RESULT;
+      }
       return create(CelAttribute.EMPTY, value);
     }
   }
@@ -116,6 +125,15 @@ final class DefaultInterpreter implements Interpreter {
     return new DefaultInterpretable(typeResolver, typeProvider, dispatcher, ast, celOptions);
   }
 
+  /**
+   * Returns an interpreter which additionally binds {@code functionBindings}, sharing the type
+   * providers and the overloads already bound by this interpreter.
+   */
+  DefaultInterpreter extend(Iterable<CelFunctionBinding> functionBindings) {
+    return new DefaultInterpreter(
+        typeResolver, typeProvider, dispatcher.extend(functionBindings), celOptions);
+  }
+
   @Immutable
   @VisibleForTesting
   static final class DefaultInterpretable implements Interpretable, UnknownTrackingInterpretable {
@@ -124,6 +142,7 @@ final class DefaultInterpreter implements Interpreter {
     private final DefaultDispatcher dispatcher;
     private final Metadata metadata;
     private final CelAbstractSyntaxTree ast;
+    private final ExprIndex exprIndex;
     private final CelOptions celOptions;
 
     DefaultInterpretable(
@@ -138,6 +157,7 @@ final class DefaultInterpreter implements Interpreter {
       this.ast = checkNotNull(ast);
       this.metadata = new DefaultMetadata(ast);
       this.celOptions = checkNotNull(celOptions);
+      this.exprIndex = ExprIndex.create(ast, this::constantValue);
     }
 
     @Override
@@ -228,17 +248,28 @@ final class DefaultInterpreter implements Interpreter {
         Optional<CelEvaluationListener> listener) {
       int comprehensionMaxIterations =
           celOptions.enableComprehension() ? celOptions.comprehensionMaxIterations() : 0;
-      return new ExecutionFrame(listener, resolver, functionResolver, comprehensionMaxIterations);
+      // Listeners observe every subexpression, so memoized results are not reused when tracing.
+      Optional<EvaluationMemo> evaluationMemo =
+          listener.isPresent() ? Optional.empty() : resolver.evaluationMemo();
+      return new ExecutionFrame(
+          listener, resolver, functionResolver, evaluationMemo, comprehensionMaxIterations);
     }
 
     private IntermediateResult evalInternal(ExecutionFrame frame, CelExpr expr)
         throws CelEvaluationException {
+      IntermediateResult memoized = frame.getMemoizedResult(expr.id());
+      if (memoized != null) {
+        return memoized;
+      }
       try {
         ExprKind.Kind exprKind = expr.exprKind().getKind();
         IntermediateResult result;
         switch (exprKind) {
           case CONSTANT:
-            result = IntermediateResult.create(evalConstant(frame, expr, expr.constant()));
+            result = exprIndex.findConstantResult(expr.id());
+            if (result == null) {
+              result = IntermediateResult.create(evalConstant(frame, expr, expr.constant()));
+            }
             break;
           case IDENT:
             result = evalIdent(frame, expr);
@@ -266,10 +297,13 @@ final class DefaultInterpreter implements Interpreter {
                 "unexpected expression kind: " + expr.exprKind().getKind());
         }
 
-        frame
-            .getEvaluationListener()
-            .ifPresent(
-                listener -> listener.callback(expr, maybeAdaptToCelUnknownSet(result.value())));
+        CelEvaluationListener listener = frame.getEvaluationListener();
+        if (listener != null) {
+          listener.callback(expr, maybeAdaptToCelUnknownSet(result.value()));
+        }
+        if (!isUnknownOrError(result.value())) {
+          frame.maybeMemoizeResult(expr.id(), result);
+        }
         return result;
       } catch (CelRuntimeException e) {
         throw CelEvaluationExceptionBuilder.newBuilder(e).setMetadata(metadata, expr.id()).build();
@@ -291,6 +325,15 @@ final class DefaultInterpreter implements Interpreter {
 
     private Object evalConstant(
         ExecutionFrame unusedFrame, CelExpr unusedExpr, CelConstant constExpr) {
+      Object value = constantValue(constExpr);
+      if (value == null) {
+        throw new IllegalStateException("unsupported constant case: " + constExpr.getKind());
+      }
+      return value;
+    }
+
+    /** Returns the runtime value of the constant, or null if its kind is not supported. */
+    private Object constantValue(CelConstant constExpr) {
       switch (constExpr.getKind()) {
         case NULL_VALUE:
           return celOptions.evaluateCanonicalTypesToNativeValues()
@@ -318,13 +361,17 @@ final class DefaultInterpreter implements Interpreter {
 
           return ByteString.copyFrom(celByteString.toByteArray());
         default:
-          throw new IllegalStateException("unsupported constant case: " + constExpr.getKind());
+          return null;
       }
     }
 
     private IntermediateResult evalIdent(ExecutionFrame frame, CelExpr expr)
         throws CelEvaluationException {
-      CelReference reference = ast.getReferenceOrThrow(expr.id());
+      IntermediateResult constantResult = exprIndex.findConstantResult(expr.id());
+      if (constantResult != null) {
+        return constantResult;
+      }
+      CelReference reference = exprIndex.getReferenceOrThrow(expr.id());
       if (reference.value().isPresent()) {
         return IntermediateResult.create(evalConstant(frame, expr, reference.value().get()));
       }
@@ -366,10 +413,13 @@ final class DefaultInterpreter implements Interpreter {
 
     private IntermediateResult evalSelect(ExecutionFrame frame, CelExpr expr, CelSelect selectExpr)
         throws CelEvaluationException {
-      Optional<CelReference> referenceOptional = ast.getReference(expr.id());
-      if (referenceOptional.isPresent()) {
-        CelReference reference = referenceOptional.get();
+      CelReference reference = exprIndex.findReference(expr.id());
+      if (reference != null) {
         // This indicates it's a qualified name.
+        IntermediateResult constantResult = exprIndex.findConstantResult(expr.id());
+        if (constantResult != null) {
+          return constantResult;
+        }
         if (reference.value().isPresent()) {
           // If the value is identified as a constant, skip attribute tracking.
           return IntermediateResult.create(evalConstant(frame, expr, reference.value().get()));
@@ -413,7 +463,7 @@ final class DefaultInterpreter implements Interpreter {
 
     private IntermediateResult evalCall(ExecutionFrame frame, CelExpr expr, CelCall callExpr)
         throws CelEvaluationException {
-      CelReference reference = ast.getReferenceOrThrow(expr.id());
+      CelReference reference = exprIndex.getReferenceOrThrow(expr.id());
       Preconditions.checkState(!reference.overloadIds().isEmpty());
 
       // Handle cases with special semantics. Those cannot have overloads.
@@ -904,13 +954,11 @@ final class DefaultInterpreter implements Interpreter {
 
     private IntermediateResult evalStruct(ExecutionFrame frame, CelExpr expr, CelStruct structExpr)
         throws CelEvaluationException {
-      CelReference reference =
-          ast.getReference(expr.id())
-              .orElseThrow(
-                  () ->
-                      new IllegalStateException(
-                          "Could not find a reference for CelStruct expression at ID: "
-                              + expr.id()));
+      CelReference reference = exprIndex.findReference(expr.id());
+      if (reference == null) {
+        throw new IllegalStateException(
+            "Could not find a reference for CelStruct expression at ID: " + expr.id());
+      }
 
       // Message creation.
       CallArgumentChecker argChecker = CallArgumentChecker.create(frame.getResolver());
@@ -1022,46 +1070,51 @@ final class DefaultInterpreter implements Interpreter {
         accuValue = maybeAdaptToListView(accuValue);
       }
       int i = 0;
-      for (Object elem : iterRange) {
-        frame.incrementIterations(metadata, compreExpr.id());
+      frame.enterComprehensionLoop();
+      try {
+        for (Object elem : iterRange) {
+          frame.incrementIterations(metadata, compreExpr.id());
 
-        CelAttribute iterAttr = CelAttribute.EMPTY;
-        if (iterRange instanceof List) {
-          iterAttr = iterRangeRaw.attribute().qualify(CelAttribute.Qualifier.ofInt(i));
-        }
+          CelAttribute iterAttr = CelAttribute.EMPTY;
+          if (iterRange instanceof List) {
+            iterAttr = iterRangeRaw.attribute().qualify(CelAttribute.Qualifier.ofInt(i));
+          }
 
-        Map<String, IntermediateResult> loopVars = new HashMap<>();
-        if (!Strings.isNullOrEmpty(compre.iterVar2())) {
-          String iterVar2 = compre.iterVar2();
-          if (iterRangeRaw.value() instanceof List) {
-            loopVars.put(iterVar, IntermediateResult.create((long) i));
+          Map<String, IntermediateResult> loopVars = new HashMap<>();
+          if (!Strings.isNullOrEmpty(compre.iterVar2())) {
+            String iterVar2 = compre.iterVar2();
+            if (iterRangeRaw.value() instanceof List) {
+              loopVars.put(iterVar, IntermediateResult.create((long) i));
+              loopVars.put(
+                  iterVar2,
+                  IntermediateResult.create(iterAttr, RuntimeHelpers.maybeAdaptPrimitive(elem)));
+            } else if (iterRangeRaw.value() instanceof Map) {
+              Object key = elem;
+              Object value = ((Map<?, ?>) iterRangeRaw.value()).get(key);
+              loopVars.put(
+                  iterVar, IntermediateResult.create(RuntimeHelpers.maybeAdaptPrimitive(key)));
+              loopVars.put(
+                  iterVar2, IntermediateResult.create(RuntimeHelpers.maybeAdaptPrimitive(value)));
+            }
+          } else {
             loopVars.put(
-                iterVar2,
+                iterVar,
                 IntermediateResult.create(iterAttr, RuntimeHelpers.maybeAdaptPrimitive(elem)));
-          } else if (iterRangeRaw.value() instanceof Map) {
-            Object key = elem;
-            Object value = ((Map<?, ?>) iterRangeRaw.value()).get(key);
-            loopVars.put(
-                iterVar, IntermediateResult.create(RuntimeHelpers.maybeAdaptPrimitive(key)));
-            loopVars.put(
-                iterVar2, IntermediateResult.create(RuntimeHelpers.maybeAdaptPrimitive(value)));
           }
-        } else {
-          loopVars.put(
-              iterVar,
-              IntermediateResult.create(iterAttr, RuntimeHelpers.maybeAdaptPrimitive(elem)));
-        }
-        loopVars.put(accuVar, accuValue);
-        i++;
+          loopVars.put(accuVar, accuValue);
+          i++;
 
-        frame.pushScope(Collections.unmodifiableMap(loopVars));
-        IntermediateResult evalObject = evalBooleanStrict(frame, compre.loopCondition());
-        if (!isUnknownValue(evalObject.value()) && !(boolean) evalObject.value()) {
+          frame.pushScope(Collections.unmodifiableMap(loopVars));
+          IntermediateResult evalObject = evalBooleanStrict(frame, compre.loopCondition());
+          if (!isUnknownValue(evalObject.value()) && !(boolean) evalObject.value()) {
+            frame.popScope();
+            break;
+          }
+          accuValue = evalNonstrictly(frame, compre.loopStep());
           frame.popScope();
-          break;
         }
-        accuValue = evalNonstrictly(frame, compre.loopStep());
-        frame.popScope();
+      } finally {
+        frame.exitComprehensionLoop();
       }
 
       accuValue = maybeAdaptViewToList(accuValue);
@@ -1104,16 +1157,17 @@ final class DefaultInterpreter implements Interpreter {
     }
 
     private CelType getCheckedTypeOrThrow(CelExpr expr) throws CelEvaluationException {
-      return ast.getType(expr.id())
-          .orElseThrow(
-              () ->
-                  CelEvaluationExceptionBuilder.newBuilder(
-                          "expected a runtime type for expression ID '%d' from checked expression,"
-                              + " but found none.",
-                          expr.id())
-                      .setErrorCode(CelErrorCode.TYPE_NOT_FOUND)
-                      .setMetadata(metadata, expr.id())
-                      .build());
+      CelType checkedType = exprIndex.findType(expr.id());
+      if (checkedType == null) {
+        throw CelEvaluationExceptionBuilder.newBuilder(
+                "expected a runtime type for expression ID '%d' from checked expression,"
+                    + " but found none.",
+                expr.id())
+            .setErrorCode(CelErrorCode.TYPE_NOT_FOUND)
+            .setMetadata(metadata, expr.id())
+            .build();
+      }
+      return checkedType;
     }
   }
 
@@ -1146,13 +1200,17 @@ final class DefaultInterpreter implements Interpreter {
 
   /** This class tracks the state meaningful to a single evaluation pass. */
   static class ExecutionFrame {
-    private final Optional<CelEvaluationListener> evaluationListener;
+    // Null if evaluation is not being traced.
+    private final CelEvaluationListener evaluationListener;
     private final int maxIterations;
     private final ArrayDeque<RuntimeUnknownResolver> resolvers;
     private final Optional<? extends CelFunctionResolver> lateBoundFunctionResolver;
+    // Null unless known results are retained between rounds of incremental evaluation.
+    private final EvaluationMemo evaluationMemo;
     private final Set<String> activeLazyAttributes = new HashSet<>();
     private RuntimeUnknownResolver currentResolver;
     private int iterations;
+    private int comprehensionLoopDepth;
     private boolean requireCycleCheck;
     @VisibleForTesting int scopeLevel;
 
@@ -1160,11 +1218,13 @@ final class DefaultInterpreter implements Interpreter {
         Optional<CelEvaluationListener> evaluationListener,
         RuntimeUnknownResolver resolver,
         Optional<? extends CelFunctionResolver> lateBoundFunctionResolver,
+        Optional<EvaluationMemo> evaluationMemo,
         int maxIterations) {
-      this.evaluationListener = evaluationListener;
+      this.evaluationListener = evaluationListener.orElse(null);
       this.resolvers = new ArrayDeque<>();
       this.resolvers.add(resolver);
       this.lateBoundFunctionResolver = lateBoundFunctionResolver;
+      this.evaluationMemo = evaluationMemo.orElse(null);
       this.currentResolver = resolver;
       this.maxIterations = maxIterations;
     }
@@ -1188,7 +1248,8 @@ final class DefaultInterpreter implements Interpreter {
       activeLazyAttributes.remove(name);
     }
 
-    private Optional<CelEvaluationListener> getEvaluationListener() {
+    /** Returns the listener tracing this evaluation, or null if there is none. */
+    private CelEvaluationListener getEvaluationListener() {
       return evaluationListener;
     }
 
@@ -1223,6 +1284,33 @@ final class DefaultInterpreter implements Interpreter {
       return currentResolver.resolveSimpleName(name, exprId);
     }
 
+    /** Returns the result retained from a previous round of evaluation, or null. */
+    private IntermediateResult getMemoizedResult(long exprId) {
+      if (evaluationMemo == null || comprehensionLoopDepth > 0) {
+        return null;
+      }
+      return evaluationMemo.get(exprId);
+    }
+
+    /**
+     * Retains a known result for later rounds of incremental evaluation, unless it was computed
+     * within a comprehension loop where the result depends on the iteration.
+     */
+    private void maybeMemoizeResult(long exprId, IntermediateResult result) {
+      if (evaluationMemo == null || comprehensionLoopDepth > 0) {
+        return;
+      }
+      evaluationMemo.put(exprId, result);
+    }
+
+    private void enterComprehensionLoop() {
+      comprehensionLoopDepth++;
+    }
+
+    private void exitComprehensionLoop() {
+      comprehensionLoopDepth--;
+    }
+
     private Optional<Object> resolveAttribute(CelAttribute attr) {
       return currentResolver.resolveAttribute(attr);
     }
@@ -0,0 +1,48 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Known subexpression results retained across the rounds of incremental evaluation of a single
+ * program, keyed by expression ID.
+ *
+ * <p>Resolving an unknown attribute never changes the value of a subexpression which was already
+ * known, so each round only re-evaluates the subexpressions which were unknown in the previous one.
+ * Results computed within a comprehension loop depend on the iteration and are never retained.
+ *
+ * <p>Rounds of evaluation are sequential, but may run on different threads.
+ */
+final class EvaluationMemo {
+  private final Map<Long, DefaultInterpreter.IntermediateResult> results =
+      new ConcurrentHashMap<>();
+
+  static EvaluationMemo create() {
+    return new EvaluationMemo();
+  }
+
+  /** Returns the retained result of the expression, or null if there is none. */
+  DefaultInterpreter.IntermediateResult get(long exprId) {
+    return results.get(exprId);
+  }
+
+  void put(long exprId, DefaultInterpreter.IntermediateResult result) {
+    results.put(exprId, result);
+  }
+
+  private EvaluationMemo() {}
+}
@@ -0,0 +1,198 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dev.cel.runtime;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.CelAbstractSyntaxTree;
+import dev.cel.common.ast.CelConstant;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelExpr.CelComprehension;
+import dev.cel.common.ast.CelReference;
+import dev.cel.common.types.CelType;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * References, checked types and constant results of an AST, resolved once when a program is
+ * created and stored in arrays indexed by expression ID.
+ *
+ * <p>This spares the interpreter from boxing and hashing the expression ID on every lookup, and
+ * from allocating a new result each time a constant is evaluated. Expression IDs assigned by the
+ * parser are dense and non-negative. If the IDs of an AST are negative or too sparse to be stored
+ * in arrays, references and types are looked up in the maps of the AST instead and constant results
+ * are not retained.
+ */
+@Immutable
+final class ExprIndex {
+  private static final int MAX_SPARSE_IDS = 1024;
+
+  private final CelAbstractSyntaxTree ast;
+
+  // Arrays are not mutated after construction. Null if the expression IDs are too sparse.
+  @SuppressWarnings("Immutable")
+  private final CelReference[] references;
+
+  @SuppressWarnings("Immutable")
+  private final CelType[] types;
+
+  @SuppressWarnings("Immutable")
+  private final DefaultInterpreter.IntermediateResult[] constantResults;
+
+  /** Returns the reference of the expression, or null if it has none. */
+  CelReference findReference(long exprId) {
+    if (references == null) {
+      return ast.getReferenceMap().get(exprId);
+    }
+    return exprId >= 0 && exprId < references.length ? references[(int) exprId] : null;
+  }
+
+  CelReference getReferenceOrThrow(long exprId) {
+    CelReference reference = findReference(exprId);
+    if (reference == null) {
+      throw new NoSuchElementException("Expr Id not found: " + exprId);
+    }
+    return reference;
+  }
+
+  /** Returns the checked type of the expression, or null if it has none. */
+  CelType findType(long exprId) {
+    if (types == null) {
+      return ast.getTypeMap().get(exprId);
+    }
+    return exprId >= 0 && exprId < types.length ? types[(int) exprId] : null;
+  }
+
+  /**
+   * Returns the result of a constant expression or of an identifier referring to a constant (such
+   * as an enum value), or null if the expression is not constant.
+   */
+  DefaultInterpreter.IntermediateResult findConstantResult(long exprId) {
+    if (constantResults == null || exprId < 0 || exprId >= constantResults.length) {
+      return null;
+    }
+    return constantResults[(int) exprId];
+  }
+
+  /**
+   * Builds the index of the given AST. {@code constantEvaluator} converts constants into their
+   * runtime values, or returns null for constants it does not support. Those are left to be
+   * evaluated, and to fail, only if the interpreter reaches them.
+   */
+  static ExprIndex create(
+      CelAbstractSyntaxTree ast, Function<CelConstant, Object> constantEvaluator) {
+    ArrayDeque<CelExpr> pending = new ArrayDeque<>();
+    pending.push(ast.getExpr());
+    ImmutableMap.Builder<Long, CelConstant> constants = ImmutableMap.builder();
+    long minId = 0;
+    long maxId = 0;
+    int exprCount = 0;
+    while (!pending.isEmpty()) {
+      CelExpr expr = pending.pop();
+      exprCount++;
+      minId = Math.min(minId, expr.id());
+      maxId = Math.max(maxId, expr.id());
+      pushChildren(expr, pending);
+      if (expr.getKind().equals(CelExpr.ExprKind.Kind.CONSTANT)) {
+        constants.put(expr.id(), expr.constant());
+      }
+    }
+    for (Map.Entry<Long, CelReference> entry : ast.getReferenceMap().entrySet()) {
+      minId = Math.min(minId, entry.getKey());
+      maxId = Math.max(maxId, entry.getKey());
+      if (entry.getValue().value().isPresent()) {
+        constants.put(entry.getKey(), entry.getValue().value().get());
+      }
+    }
+    for (Long exprId : ast.getTypeMap().keySet()) {
+      minId = Math.min(minId, exprId);
+      maxId = Math.max(maxId, exprId);
+    }
+
+    if (minId < 0 || maxId > 4L * exprCount + MAX_SPARSE_IDS) {
+      return new ExprIndex(ast, null, null, null);
+    }
+
+    int size = (int) maxId + 1;
+    CelReference[] references = new CelReference[size];
+    ast.getReferenceMap().forEach((id, reference) -> references[id.intValue()] = reference);
+    CelType[] types = new CelType[size];
+    ast.getTypeMap().forEach((id, type) -> types[id.intValue()] = type);
+    DefaultInterpreter.IntermediateResult[] constantResults =
+        new DefaultInterpreter.IntermediateResult[size];
+    constants
+        .buildKeepingLast()
+        .forEach(
+            (id, constant) -> {
+              Object value = constantEvaluator.apply(constant);
+              if (value != null) {
+                constantResults[id.intValue()] =
+                    DefaultInterpreter.IntermediateResult.create(value);
+              }
+            });
+    return new ExprIndex(ast, references, types, constantResults);
+  }
+
+  private static void pushChildren(CelExpr expr, ArrayDeque<CelExpr> pending) {
+    switch (expr.getKind()) {
+      case SELECT:
+        pending.push(expr.select().operand());
+        break;
+      case CALL:
+        expr.call().target().ifPresent(pending::push);
+        expr.call().args().forEach(pending::push);
+        break;
+      case LIST:
+        expr.list().elements().forEach(pending::push);
+        break;
+      case STRUCT:
+        expr.struct().entries().forEach(entry -> pending.push(entry.value()));
+        break;
+      case MAP:
+        expr.map()
+            .entries()
+            .forEach(
+                entry -> {
+                  pending.push(entry.key());
+                  pending.push(entry.value());
+                });
+        break;
+      case COMPREHENSION:
+        CelComprehension comprehension = expr.comprehension();
+        pending.push(comprehension.iterRange());
+        pending.push(comprehension.accuInit());
+        pending.push(comprehension.loopCondition());
+        pending.push(comprehension.loopStep());
+        pending.push(comprehension.result());
+        break;
+      default:
+        break;
+    }
+  }
+
+  private ExprIndex(
+      CelAbstractSyntaxTree ast,
+      CelReference[] references,
+      CelType[] types,
+      DefaultInterpreter.IntermediateResult[] constantResults) {
+    this.ast = ast;
+    this.references = references;
+    this.types = types;
+    this.constantResults = constantResults;
+  }
+}
@@ -0,0 +1,63 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dev.cel.runtime;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.Immutable;
+
+/**
+ * A point-in-time snapshot of the coverage recorded from sampled evaluations of a program.
+ *
+ * <p>See {@link CelRuntimeBuilder#setCoverageSampleRate}.
+ */
+@AutoValue
+@Immutable
+public abstract class ProgramCoverage {
+
+  /** Counters recorded for a single expression node. */
+  @AutoValue
+  @Immutable
+  public abstract static class NodeCoverage {
+
+    /** Number of sampled evaluations of the node. */
+    public abstract long hitCount();
+
+    /** Number of sampled evaluations of the node which produced {@code true}. */
+    public abstract long trueCount();
+
+    /** Number of sampled evaluations of the node which produced {@code false}. */
+    public abstract long falseCount();
+
+    static NodeCoverage create(long hitCount, long trueCount, long falseCount) {
+      return new AutoValue_ProgramCoverage_NodeCoverage(hitCount, trueCount, falseCount);
+    }
+  }
+
+  /** Roughly one in {@code sampleRate} evaluations is recorded. */
+  public abstract int sampleRate();
+
+  /** Number of evaluations which have been recorded. */
+  public abstract long sampledEvaluations();
+
+  /** Counters of every node evaluated at least once, keyed by expression ID. */
+  public abstract ImmutableMap<Long, NodeCoverage> nodes();
+
+  static ProgramCoverage create(
+      int sampleRate, long sampledEvaluations, ImmutableMap<Long, NodeCoverage> nodes) {
+    return new AutoValue_ProgramCoverage(sampleRate, sampledEvaluations, nodes);
+  }
+}
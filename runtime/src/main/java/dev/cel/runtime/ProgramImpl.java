@@ -124,6 +124,13 @@ abstract class ProgramImpl implements CelRuntime.Program {
     return evalInternal(context, Optional.empty(), Optional.empty());
   }
 
+  @Override
+  public Object advanceEvaluation(
+      UnknownContext context, CelFunctionResolver lateBoundFunctionResolver)
+      throws CelEvaluationException {
+    return evalInternal(context, Optional.of(lateBoundFunctionResolver), Optional.empty());
+  }
+
   private Object evalInternal(GlobalResolver resolver) throws CelEvaluationException {
     return evalInternal(UnknownContext.create(resolver), Optional.empty(), Optional.empty());
   }
@@ -167,13 +174,13 @@ abstract class ProgramImpl implements CelRuntime.Program {
               + " implementation.");
 
       UnknownTrackingInterpretable interpreter = (UnknownTrackingInterpretable) impl;
-      return interpreter.evalTrackingUnknowns(
+      RuntimeUnknownResolver.Builder resolver =
           RuntimeUnknownResolver.builder()
               .setResolver(context.variableResolver())
-              .setAttributeResolver(context.createAttributeResolver())
-              .build(),
-          lateBoundFunctionResolver,
-          listener);
+              .setAttributeResolver(context.createAttributeResolver());
+      context.evaluationMemo().ifPresent(resolver::setEvaluationMemo);
+      return interpreter.evalTrackingUnknowns(
+          resolver.build(), lateBoundFunctionResolver, listener);
     } else {
       if (lateBoundFunctionResolver.isPresent() && listener.isPresent()) {
         return impl.eval(
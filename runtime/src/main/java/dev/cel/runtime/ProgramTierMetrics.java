@@ -0,0 +1,66 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime;
+
+import com.google.auto.value.AutoValue;
+import com.google.errorprone.annotations.Immutable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A point-in-time snapshot of the tiered evaluation state of a program.
+ *
+ * <p>See {@link CelRuntimeBuilder#setTieredEvaluation}.
+ */
+@AutoValue
+@Immutable
+public abstract class ProgramTierMetrics {
+
+  /** The execution tier a program is currently evaluated in. */
+  public enum Tier {
+    /** The program is evaluated in its initially planned form. */
+    BASELINE,
+
+    /** The promotion threshold was reached and the optimized form is being planned. */
+    PROMOTING,
+
+    /** The program has been swapped for its optimized form. */
+    PROMOTED,
+
+    /** Planning the optimized form failed. The program stays in its baseline form. */
+    PROMOTION_FAILED,
+  }
+
+  /** The tier evaluations are currently served from. */
+  public abstract Tier tier();
+
+  /** Total number of evaluations of the program, across all tiers. */
+  public abstract long evaluationCount();
+
+  /** Number of evaluations after which the program is promoted. */
+  public abstract long promotionThreshold();
+
+  /** Time taken to plan the optimized form, if the program has been promoted. */
+  public abstract Optional<Duration> promotionLatency();
+
+  static ProgramTierMetrics create(
+      Tier tier,
+      long evaluationCount,
+      long promotionThreshold,
+      Optional<Duration> promotionLatency) {
+    return new AutoValue_ProgramTierMetrics(
+        tier, evaluationCount, promotionThreshold, promotionLatency);
+  }
+}
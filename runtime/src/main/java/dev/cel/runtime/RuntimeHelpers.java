@@ -145,6 +145,14 @@ public class RuntimeHelpers {
     return x / y;
   }
 
+  public static long int64Mod(long x, long y) {
+    try {
+      return x % y;
+    } catch (ArithmeticException e) {
+      throw new CelDivideByZeroException(e);
+    }
+  }
+
   public static long int64Multiply(long x, long y, CelOptions celOptions) {
     if (celOptions.errorOnIntWrap()) {
       return Math.multiplyExact(x, y);
@@ -40,20 +40,25 @@ public class RuntimeUnknownResolver {
 
   private final boolean attributeTrackingEnabled;
 
+  /** Known subexpression results retained across rounds of evaluation, if any. */
+  private final Optional<EvaluationMemo> evaluationMemo;
+
   private RuntimeUnknownResolver(
       GlobalResolver resolver,
       CelAttributeResolver attributeResolver,
-      boolean attributeTrackingEnabled) {
+      boolean attributeTrackingEnabled,
+      Optional<EvaluationMemo> evaluationMemo) {
     this.resolver = resolver;
     this.attributeResolver = attributeResolver;
     this.attributeTrackingEnabled = attributeTrackingEnabled;
+    this.evaluationMemo = evaluationMemo;
   }
 
   public static RuntimeUnknownResolver fromResolver(GlobalResolver resolver) {
     // This prevents calculating the attribute trail if it will never be used for
     // efficiency, but doesn't change observable behavior.
     return new RuntimeUnknownResolver(
-        resolver, DEFAULT_RESOLVER, /* attributeTrackingEnabled= */ false);
+        resolver, DEFAULT_RESOLVER, /* attributeTrackingEnabled= */ false, Optional.empty());
   }
 
   public static Builder builder() {
@@ -64,10 +69,12 @@ public class RuntimeUnknownResolver {
   public static class Builder {
     private CelAttributeResolver attributeResolver;
     private GlobalResolver resolver;
+    private Optional<EvaluationMemo> evaluationMemo;
 
     private Builder() {
       resolver = GlobalResolver.EMPTY;
       attributeResolver = DEFAULT_RESOLVER;
+      evaluationMemo = Optional.empty();
     }
 
     @CanIgnoreReturnValue
@@ -82,8 +89,14 @@ public class RuntimeUnknownResolver {
       return this;
     }
 
+    @CanIgnoreReturnValue
+    Builder setEvaluationMemo(EvaluationMemo evaluationMemo) {
+      this.evaluationMemo = Optional.of(evaluationMemo);
+      return this;
+    }
+
     public RuntimeUnknownResolver build() {
-      return new RuntimeUnknownResolver(resolver, attributeResolver, true);
+      return new RuntimeUnknownResolver(resolver, attributeResolver, true, evaluationMemo);
     }
   }
 
@@ -139,6 +152,10 @@ public class RuntimeUnknownResolver {
     return Optional.ofNullable(resolved).map(InterpreterUtil::maybeAdaptToAccumulatedUnknowns);
   }
 
+  Optional<EvaluationMemo> evaluationMemo() {
+    return evaluationMemo;
+  }
+
   ScopedResolver withScope(Map<String, DefaultInterpreter.IntermediateResult> vars) {
     return new ScopedResolver(this, vars);
   }
@@ -151,7 +168,11 @@ public class RuntimeUnknownResolver {
     private ScopedResolver(
         RuntimeUnknownResolver parent,
         Map<String, DefaultInterpreter.IntermediateResult> shadowedVars) {
-      super(parent.resolver, parent.attributeResolver, parent.attributeTrackingEnabled);
+      super(
+          parent.resolver,
+          parent.attributeResolver,
+          parent.attributeTrackingEnabled,
+          parent.evaluationMemo);
       this.parent = parent;
       this.shadowedVars = shadowedVars;
       this.lazyEvalResultCache = new HashMap<>();
@@ -0,0 +1,165 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime;
+
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.CelAbstractSyntaxTree;
+import dev.cel.runtime.ProgramTierMetrics.Tier;
+import dev.cel.runtime.planner.CoverageCounters;
+import dev.cel.runtime.planner.PlannedProgram;
+import dev.cel.runtime.planner.ProgramPlanner;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A program which starts out evaluating its baseline plan and, once it has been evaluated a
+ * configured number of times, is re-planned in the background with an optimizing planner.
+ *
+ * <p>The optimized plan is published atomically. Evaluations which are already in flight complete
+ * on the plan they started with, and both plans produce identical results.
+ */
+@Immutable
+final class TieredProgram implements Program {
+
+  private final long promotionThreshold;
+
+  private final CelAbstractSyntaxTree ast;
+
+  private final ProgramPlanner promotedPlanner;
+
+  @SuppressWarnings("Immutable") // Executors are expected to be thread-safe.
+  private final Executor promotionExecutor;
+
+  // Tiering state is updated atomically and never affects evaluation results.
+  @SuppressWarnings("Immutable")
+  private final AtomicLong evaluationCount = new AtomicLong();
+
+  @SuppressWarnings("Immutable")
+  private final AtomicReference<PlannedProgram> current;
+
+  @SuppressWarnings("Immutable")
+  private final AtomicReference<Tier> tier = new AtomicReference<>(Tier.BASELINE);
+
+  @SuppressWarnings("Immutable")
+  private final AtomicReference<Optional<Duration>> promotionLatency =
+      new AtomicReference<>(Optional.empty());
+
+  /**
+   * Returns the plan to evaluate, counting the evaluation towards promotion. Promotion is scheduled
+   * exactly once, by the caller that reaches the threshold.
+   */
+  PlannedProgram acquire() {
+    if (evaluationCount.incrementAndGet() == promotionThreshold) {
+      schedulePromotion();
+    }
+    return current.get();
+  }
+
+  /** Returns the plan evaluations are currently served from, without counting an evaluation. */
+  PlannedProgram current() {
+    return current.get();
+  }
+
+  ProgramTierMetrics metrics() {
+    return ProgramTierMetrics.create(
+        tier.get(), evaluationCount.get(), promotionThreshold, promotionLatency.get());
+  }
+
+  private void schedulePromotion() {
+    tier.set(Tier.PROMOTING);
+    try {
+      promotionExecutor.execute(this::promote);
+    } catch (RejectedExecutionException e) {
+      tier.set(Tier.PROMOTION_FAILED);
+    }
+  }
+
+  private void promote() {
+    long startNanos = System.nanoTime();
+    try {
+      PlannedProgram promoted = (PlannedProgram) promotedPlanner.plan(ast);
+      CoverageCounters coverage = current.get().coverage();
+      if (coverage != null) {
+        // Both plans share the same expression IDs, so coverage keeps accumulating across tiers.
+        promoted = promoted.withCoverage(coverage);
+      }
+      promotionLatency.set(Optional.of(Duration.ofNanos(System.nanoTime() - startNanos)));
+      current.set(promoted);
+      tier.set(Tier.PROMOTED);
+    } catch (CelEvaluationException | RuntimeException e) {
+      // The baseline plan remains fully functional.
+      tier.set(Tier.PROMOTION_FAILED);
+    }
+  }
+
+  @Override
+  public Object eval() throws CelEvaluationException {
+    return acquire().eval();
+  }
+
+  @Override
+  public Object eval(Map<String, ?> mapValue) throws CelEvaluationException {
+    return acquire().eval(mapValue);
+  }
+
+  @Override
+  public Object eval(Map<String, ?> mapValue, CelFunctionResolver lateBoundFunctionResolver)
+      throws CelEvaluationException {
+    return acquire().eval(mapValue, lateBoundFunctionResolver);
+  }
+
+  @Override
+  public Object eval(CelVariableResolver resolver) throws CelEvaluationException {
+    return acquire().eval(resolver);
+  }
+
+  @Override
+  public Object eval(CelVariableResolver resolver, CelFunctionResolver lateBoundFunctionResolver)
+      throws CelEvaluationException {
+    return acquire().eval(resolver, lateBoundFunctionResolver);
+  }
+
+  @Override
+  public Object eval(PartialVars partialVars) throws CelEvaluationException {
+    return acquire().eval(partialVars);
+  }
+
+  static TieredProgram create(
+      CelAbstractSyntaxTree ast,
+      PlannedProgram baseline,
+      ProgramPlanner promotedPlanner,
+      long promotionThreshold,
+      Executor promotionExecutor) {
+    return new TieredProgram(ast, baseline, promotedPlanner, promotionThreshold, promotionExecutor);
+  }
+
+  private TieredProgram(
+      CelAbstractSyntaxTree ast,
+      PlannedProgram baseline,
+      ProgramPlanner promotedPlanner,
+      long promotionThreshold,
+      Executor promotionExecutor) {
+    this.ast = ast;
+    this.current = new AtomicReference<>(baseline);
+    this.promotedPlanner = promotedPlanner;
+    this.promotionThreshold = promotionThreshold;
+    this.promotionExecutor = promotionExecutor;
+  }
+}
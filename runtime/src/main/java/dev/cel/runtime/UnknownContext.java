@@ -50,13 +50,20 @@ public class UnknownContext {
   @SuppressWarnings("Immutable")
   private final ImmutableMap<CelAttribute, Object> resolvedAttributes;
 
+  // The memo is shared by all contexts derived from the one it was created for, and is only
+  // written to by the evaluator.
+  @SuppressWarnings("Immutable")
+  private final Optional<EvaluationMemo> evaluationMemo;
+
   private UnknownContext(
       GlobalResolver resolver,
       ImmutableList<CelAttributePattern> unresolvedAttributes,
-      ImmutableMap<CelAttribute, Object> resolvedAttributes) {
+      ImmutableMap<CelAttribute, Object> resolvedAttributes,
+      Optional<EvaluationMemo> evaluationMemo) {
     this.unresolvedAttributes = unresolvedAttributes;
     this.variableResolver = resolver;
     this.resolvedAttributes = resolvedAttributes;
+    this.evaluationMemo = evaluationMemo;
   }
 
   /**
@@ -66,14 +73,17 @@ public class UnknownContext {
    * any attributes.
    */
   public static UnknownContext create(GlobalResolver resolver) {
-    return new UnknownContext(resolver, ImmutableList.of(), ImmutableMap.of());
+    return new UnknownContext(resolver, ImmutableList.of(), ImmutableMap.of(), Optional.empty());
   }
 
   /** Creates an unknown context from a list */
   public static UnknownContext create(
       CelVariableResolver resolver, Collection<CelAttributePattern> attributes) {
     return new UnknownContext(
-        createExprVariableResolver(resolver), ImmutableList.copyOf(attributes), ImmutableMap.of());
+        createExprVariableResolver(resolver),
+        ImmutableList.copyOf(attributes),
+        ImmutableMap.of(),
+        Optional.empty());
   }
 
   /** Extends an existing {@code UnknownContext} by adding more attribute patterns to it. */
@@ -84,7 +94,24 @@ public class UnknownContext {
             .addAll(this.unresolvedAttributes)
             .addAll(attributePatterns)
             .build(),
-        this.resolvedAttributes);
+        this.resolvedAttributes,
+        this.evaluationMemo);
+  }
+
+  /**
+   * Creates a new unknown context which retains the known subexpression results of each round of
+   * evaluation, so that later rounds only re-evaluate the subexpressions which depended on
+   * unresolved attributes.
+   *
+   * <p>The retained results are shared with all contexts derived from the returned one, which must
+   * therefore only be used to evaluate a single program.
+   */
+  public UnknownContext withResultMemoization() {
+    return new UnknownContext(
+        this.variableResolver,
+        this.unresolvedAttributes,
+        this.resolvedAttributes,
+        Optional.of(EvaluationMemo.create()));
   }
 
   /** Adapts a CelVariableResolver to the legacy impl equivalent GlobalResolver. */
@@ -102,6 +129,10 @@ public class UnknownContext {
     return DefaultAttributeResolver.create(unresolvedAttributes, resolvedAttributes);
   }
 
+  Optional<EvaluationMemo> evaluationMemo() {
+    return evaluationMemo;
+  }
+
   /** Accessor for the underlying variable resolver. */
   public GlobalResolver variableResolver() {
     return variableResolver;
@@ -123,7 +154,8 @@ public class UnknownContext {
         ImmutableMap.<CelAttribute, Object>builder()
             .putAll(this.resolvedAttributes)
             .putAll(resolvedAttributes)
-            .buildOrThrow());
+            .buildOrThrow(),
+        this.evaluationMemo);
   }
 
   private boolean patternMaskedByResolvedAttribute(
@@ -0,0 +1,169 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.async;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+import dev.cel.runtime.CelAttribute;
+import dev.cel.runtime.CelFunctionBinding;
+import dev.cel.runtime.CelFunctionOverload;
+import dev.cel.runtime.CelFunctionResolver;
+import dev.cel.runtime.CelLateFunctionBindings;
+import dev.cel.runtime.CelUnknownSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Tracks the calls to {@link CelAsyncFunctionBinding}s made while evaluating an {@link
+ * CelAsyncRuntime.AsyncProgram} to completion.
+ *
+ * <p>A call whose result is not available yet evaluates to an unknown set holding an attribute
+ * which identifies the call (e.g. {@code @async_call.fetch_string[0]}). The root of the
+ * attribute is not a legal identifier, so it cannot collide with the attributes of variables. The
+ * resolve loop starts the call for each such attribute and records its result, which is returned
+ * by the same call in later rounds. Results are wrapped in an {@link Optional} until then, so a
+ * call may complete with null.
+ *
+ * <p>Rounds of evaluation are sequential, but may run on different threads.
+ */
+@ThreadSafe
+final class AsyncCallTracker {
+  private static final CelAttribute CALL_ROOT = CelAttribute.fromQualifiedIdentifier("@async_call");
+
+  private final ImmutableMap<String, CelAsyncFunctionBinding> bindings;
+  private final CelLateFunctionBindings functionResolver;
+  private final AtomicLong nextCallId = new AtomicLong();
+  private final Map<AsyncCall, CelAttribute> callAttributes = new ConcurrentHashMap<>();
+  private final Map<CelAttribute, AsyncCall> calls = new ConcurrentHashMap<>();
+  private final Set<CelAttribute> pendingCalls = ConcurrentHashMap.newKeySet();
+  private final Map<CelAttribute, Optional<Object>> results = new ConcurrentHashMap<>();
+
+  static AsyncCallTracker create(ImmutableMap<String, CelAsyncFunctionBinding> bindings) {
+    return new AsyncCallTracker(bindings);
+  }
+
+  /** Returns the late-bound functions to evaluate each round with. */
+  CelFunctionResolver functionResolver() {
+    return functionResolver;
+  }
+
+  /**
+   * Starts the call identified by {@code attribute}, or returns empty if the attribute was not
+   * produced by this tracker. The future completes with the result of the call wrapped in an
+   * {@link Optional}, which is passed back to {@link #recordCallResults}.
+   */
+  Optional<ListenableFuture<Object>> maybeStartCall(CelAttribute attribute) {
+    if (!pendingCalls.remove(attribute)) {
+      return Optional.empty();
+    }
+    AsyncCall call = calls.get(attribute);
+    ListenableFuture<Object> result =
+        bindings.get(call.overloadId()).definition().apply(call.args().toArray());
+    return Optional.of(Futures.transform(result, Optional::ofNullable, directExecutor()));
+  }
+
+  /**
+   * Records the results of completed calls, returning the remaining entries which are resolved
+   * attribute values.
+   */
+  ImmutableMap<CelAttribute, Object> recordCallResults(Map<CelAttribute, Object> resolved) {
+    ImmutableMap.Builder<CelAttribute, Object> attributeValues = ImmutableMap.builder();
+    for (Map.Entry<CelAttribute, Object> entry : resolved.entrySet()) {
+      if (calls.containsKey(entry.getKey())) {
+        @SuppressWarnings("unchecked") // Wrapped by maybeStartCall.
+        Optional<Object> result = (Optional<Object>) entry.getValue();
+        results.put(entry.getKey(), result);
+      } else {
+        attributeValues.put(entry);
+      }
+    }
+    return attributeValues.buildOrThrow();
+  }
+
+  private @Nullable Object call(String overloadId, Object[] args) {
+    AsyncCall call = AsyncCall.create(overloadId, args);
+    CelAttribute attribute =
+        callAttributes.computeIfAbsent(
+            call,
+            unused -> {
+              CelAttribute newAttribute =
+                  CALL_ROOT
+                      .qualify(CelAttribute.Qualifier.ofString(overloadId))
+                      .qualify(CelAttribute.Qualifier.ofInt(nextCallId.getAndIncrement()));
+              calls.put(newAttribute, call);
+              return newAttribute;
+            });
+    Optional<Object> result = results.get(attribute);
+    if (result != null) {
+      return result.orElse(null);
+    }
+    pendingCalls.add(attribute);
+    return CelUnknownSet.create(attribute);
+  }
+
+  /** Function overload which defers to the tracker for the result of an async call. */
+  private static final class DeferredOverload implements CelFunctionOverload {
+    @SuppressWarnings("Immutable") // The tracker is only mutated between rounds of evaluation.
+    private final AsyncCallTracker tracker;
+
+    private final String overloadId;
+
+    @Override
+    public Object apply(Object[] args) {
+      return tracker.call(overloadId, args);
+    }
+
+    private DeferredOverload(AsyncCallTracker tracker, String overloadId) {
+      this.tracker = tracker;
+      this.overloadId = overloadId;
+    }
+  }
+
+  @AutoValue
+  abstract static class AsyncCall {
+    abstract String overloadId();
+
+    abstract ImmutableList<Object> args();
+
+    static AsyncCall create(String overloadId, Object[] args) {
+      return new AutoValue_AsyncCallTracker_AsyncCall(overloadId, ImmutableList.copyOf(args));
+    }
+  }
+
+  private AsyncCallTracker(ImmutableMap<String, CelAsyncFunctionBinding> bindings) {
+    this.bindings = bindings;
+    this.functionResolver =
+        CelLateFunctionBindings.from(
+            bindings.values().stream()
+                .map(
+                    binding ->
+                        CelFunctionBinding.from(
+                            binding.overloadId(),
+                            binding.argTypes(),
+                            new DeferredOverload(this, binding.overloadId())))
+                .collect(toImmutableList()));
+  }
+}
@@ -34,8 +34,10 @@ import dev.cel.runtime.CelRuntime.Program;
 import dev.cel.runtime.CelUnknownSet;
 import dev.cel.runtime.UnknownContext;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -45,10 +47,13 @@ import java.util.concurrent.ExecutionException;
  *
  * <ol>
  *   <li>Evaluate the expression (synchronously), identifying unknowns or final result
- *   <li>If unknowns identified, schedule lookups (calls to *Resolver.resolve) on the executor
+ *   <li>If unknowns identified, schedule lookups (calls to *Resolver.resolve) on the executor and
+ *       start the async function calls which were deferred (see {@link CelAsyncFunctionBinding})
  *   <li>On any failure, return failed future. CEL errors can be introduced by the return value of
  *       resolver.
- *   <li>On all successful, generate new context for next round of evaluation on the executor
+ *   <li>On all successful, generate new context for next round of evaluation on the executor.
+ *       Known subexpression results are retained between rounds, so only the subexpressions which
+ *       depended on the resolved unknowns are re-evaluated.
  *   <li>repeat until a final (non-unknown) result, no progress is made, or iteration limit reached.
  * </ol>
  */
@@ -59,14 +64,17 @@ final class AsyncProgramImpl implements CelAsyncRuntime.AsyncProgram {
   private final UnknownContext startingUnknownContext;
   private final Program program;
   private final ListeningExecutorService executor;
+  private final ImmutableMap<String, CelAsyncFunctionBinding> asyncFunctionBindings;
 
   AsyncProgramImpl(
       Program program,
       ListeningExecutorService executor,
+      ImmutableMap<String, CelAsyncFunctionBinding> asyncFunctionBindings,
       int maxEvaluateIterations,
       UnknownContext startingUnknownContext) {
     this.program = program;
     this.executor = executor;
+    this.asyncFunctionBindings = asyncFunctionBindings;
     this.maxEvaluateIterations = maxEvaluateIterations;
     // The following is populated from CelAsyncRuntime. The impl is immutable, thus safe to reuse as
     // a starting context.
@@ -109,14 +117,27 @@ final class AsyncProgramImpl implements CelAsyncRuntime.AsyncProgram {
       CelUnknownSet unknowns,
       UnknownContext ctx,
       Iterable<CelResolvableAttributePattern> resolvableAttributePatterns,
+      AsyncCallTracker asyncCalls,
       int iteration) {
     Map<CelAttribute, ListenableFuture<Object>> futureMap = new LinkedHashMap<>();
+    Set<CelUnknownAttributeValueResolver> usedResolvers = new LinkedHashSet<>();
     for (CelAttribute attr : unknowns.attributes()) {
+      Optional<ListenableFuture<Object>> maybeCall = asyncCalls.maybeStartCall(attr);
+      if (maybeCall.isPresent()) {
+        futureMap.put(attr, maybeCall.get());
+        continue;
+      }
+
       Optional<CelUnknownAttributeValueResolver> maybeResolver =
           lookupResolver(resolvableAttributePatterns, attr);
 
-      maybeResolver.ifPresent((resolver) -> futureMap.put(attr, resolver.resolve(executor, attr)));
+      maybeResolver.ifPresent(
+          (resolver) -> {
+            futureMap.put(attr, resolver.resolve(executor, attr));
+            usedResolvers.add(resolver);
+          });
     }
+    usedResolvers.forEach((resolver) -> resolver.flushPending(executor));
 
     if (futureMap.isEmpty()) {
       return immediateFailedFuture(
@@ -130,8 +151,9 @@ final class AsyncProgramImpl implements CelAsyncRuntime.AsyncProgram {
         allAsMapOnSuccess(futureMap),
         (result) ->
             evalPass(
-                ctx.withResolvedAttributes(result),
+                ctx.withResolvedAttributes(asyncCalls.recordCallResults(result)),
                 resolvableAttributePatterns,
+                asyncCalls,
                 unknowns,
                 iteration),
         executor);
@@ -140,11 +162,15 @@ final class AsyncProgramImpl implements CelAsyncRuntime.AsyncProgram {
   private ListenableFuture<Object> evalPass(
       UnknownContext ctx,
       Iterable<CelResolvableAttributePattern> resolvableAttributePatterns,
+      AsyncCallTracker asyncCalls,
       CelUnknownSet lastSet,
       int iteration) {
     Object result;
     try {
-      result = program.advanceEvaluation(ctx);
+      result =
+          asyncFunctionBindings.isEmpty()
+              ? program.advanceEvaluation(ctx)
+              : program.advanceEvaluation(ctx, asyncCalls.functionResolver());
     } catch (CelEvaluationException e) {
       return immediateFailedFuture(e);
     }
@@ -160,7 +186,7 @@ final class AsyncProgramImpl implements CelAsyncRuntime.AsyncProgram {
             new CelEvaluationException("Max Evaluation iterations exceeded: " + iteration));
       }
       return resolveAndReevaluate(
-          (CelUnknownSet) result, ctx, resolvableAttributePatterns, iteration);
+          (CelUnknownSet) result, ctx, resolvableAttributePatterns, asyncCalls, iteration);
     }
 
     return immediateFuture(result);
@@ -179,9 +205,14 @@ final class AsyncProgramImpl implements CelAsyncRuntime.AsyncProgram {
         startingUnknownContext.extend(
             ImmutableList.copyOf(resolvableAttributePatterns).stream()
                 .map(CelResolvableAttributePattern::attributePattern)
-                .collect(toImmutableList()));
+                .collect(toImmutableList()))
+            .withResultMemoization();
 
     return evalPass(
-        newAsyncContext, resolvableAttributePatterns, CelUnknownSet.create(ImmutableSet.of()), 0);
+        newAsyncContext,
+        resolvableAttributePatterns,
+        AsyncCallTracker.create(asyncFunctionBindings),
+        CelUnknownSet.create(ImmutableSet.of()),
+        0);
   }
 }
@@ -0,0 +1,115 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.async;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Binding for a late-bound function overload whose result is computed asynchronously.
+ *
+ * <p>When evaluation reaches a call to an async function, the call is recorded and evaluates to an
+ * unknown value for the current round. The rest of the expression is still evaluated, so all of
+ * the async calls and unknown attributes which do not depend on each other are started together.
+ * The next round of evaluation resumes with the results of the completed calls. See {@link
+ * AsyncProgramImpl}.
+ *
+ * <p>The function must still be declared in the compiler environment under the same overload id.
+ *
+ * <p>Error handling: a failed future ends evaluation with a failed future, as with {@link
+ * CelUnknownAttributeValueResolver}. To handle an error in the CEL evaluator, complete the future
+ * with a value that is an instance of an unchecked exception.
+ */
+@AutoValue
+public abstract class CelAsyncFunctionBinding {
+
+  /**
+   * Implementation of an async function overload.
+   *
+   * <p>The implementation must be effectively immutable: multiple calls with the same arguments
+   * must return the same value. Calls with equal arguments within an evaluation are only made once.
+   */
+  @FunctionalInterface
+  @ThreadSafe
+  public interface AsyncOverload {
+    ListenableFuture<Object> apply(Object[] args);
+  }
+
+  /**
+   * Helper interface for describing unary async functions where the type-parameter is used to
+   * improve compile-time correctness of function bindings.
+   */
+  @FunctionalInterface
+  @ThreadSafe
+  public interface AsyncUnary<T> {
+    ListenableFuture<Object> apply(T arg);
+  }
+
+  /** Async function overload implemented with a {@link CompletableFuture}. */
+  @FunctionalInterface
+  @ThreadSafe
+  public interface CompletableFutureOverload {
+    CompletableFuture<?> apply(Object[] args);
+  }
+
+  public abstract String overloadId();
+
+  public abstract ImmutableList<Class<?>> argTypes();
+
+  public abstract AsyncOverload definition();
+
+  /** Create a unary async binding from the {@code overloadId}, {@code arg}, and {@code impl}. */
+  @SuppressWarnings("unchecked") // Safe from CelFunctionOverload.canHandle check before invocation
+  public static <T> CelAsyncFunctionBinding from(
+      String overloadId, Class<T> arg, AsyncUnary<T> impl) {
+    return from(overloadId, ImmutableList.of(arg), args -> impl.apply((T) args[0]));
+  }
+
+  /** Create an async binding from the {@code overloadId}, {@code argTypes}, and {@code impl}. */
+  public static CelAsyncFunctionBinding from(
+      String overloadId, Iterable<Class<?>> argTypes, AsyncOverload impl) {
+    return new AutoValue_CelAsyncFunctionBinding(
+        overloadId, ImmutableList.copyOf(argTypes), impl);
+  }
+
+  /**
+   * Create an async binding from the {@code overloadId}, {@code argTypes}, and an {@code impl}
+   * returning a {@link CompletableFuture}.
+   */
+  public static CelAsyncFunctionBinding fromCompletableFuture(
+      String overloadId, Iterable<Class<?>> argTypes, CompletableFutureOverload impl) {
+    return from(overloadId, argTypes, args -> toListenableFuture(impl.apply(args)));
+  }
+
+  private static ListenableFuture<Object> toListenableFuture(CompletableFuture<?> future) {
+    SettableFuture<Object> result = SettableFuture.create();
+    future.whenComplete(
+        (value, t) -> {
+          if (t == null) {
+            result.set(value);
+          } else if (t instanceof CompletionException && t.getCause() != null) {
+            result.setException(t.getCause());
+          } else {
+            result.setException(t);
+          }
+        });
+    return result;
+  }
+}
@@ -21,7 +21,12 @@ import java.util.concurrent.ExecutorService;
 public interface CelAsyncRuntimeBuilder {
   int DEFAULT_MAX_EVALUATE_ITERATIONS = 10;
 
-  /** Set the CEL runtime for running incremental evaluation. */
+  /**
+   * Set the CEL runtime for running incremental evaluation.
+   *
+   * <p>Runtimes built from {@link dev.cel.runtime.CelRuntimeFactory#plannerRuntimeBuilder()} do
+   * not support incremental evaluation, and are rejected by {@link #build()}.
+   */
   @CanIgnoreReturnValue
   CelAsyncRuntimeBuilder setRuntime(CelRuntime runtime);
 
@@ -45,6 +50,20 @@ public interface CelAsyncRuntimeBuilder {
   @CanIgnoreReturnValue
   CelAsyncRuntimeBuilder setVariableResolver(ThreadSafeCelVariableResolver variableResolver);
 
+  /**
+   * Adds bindings for functions whose results are computed asynchronously.
+   *
+   * <p>Evaluation defers each call to these functions to the next round of evaluation, in the same
+   * manner as an unknown attribute. The functions must be declared in the compiler environment and
+   * must not be bound in the configured runtime.
+   */
+  @CanIgnoreReturnValue
+  CelAsyncRuntimeBuilder addAsyncFunctionBindings(CelAsyncFunctionBinding... bindings);
+
+  /** See {@link #addAsyncFunctionBindings(CelAsyncFunctionBinding...)}. */
+  @CanIgnoreReturnValue
+  CelAsyncRuntimeBuilder addAsyncFunctionBindings(Iterable<CelAsyncFunctionBinding> bindings);
+
   /**
    * Sets the executorService for generated AsyncPrograms.
    *
@@ -16,6 +16,7 @@ package dev.cel.runtime.async;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import javax.annotation.concurrent.ThreadSafe;
@@ -23,7 +24,11 @@ import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.CelRuntime;
 import dev.cel.runtime.CelRuntimeFactory;
+import dev.cel.runtime.CelRuntimeImpl;
 import dev.cel.runtime.UnknownContext;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
@@ -33,16 +38,19 @@ final class CelAsyncRuntimeImpl implements CelAsyncRuntime {
   private final CelRuntime runtime;
   private final ListeningExecutorService executorService;
   private final ThreadSafeCelVariableResolver variableResolver;
+  private final ImmutableMap<String, CelAsyncFunctionBinding> asyncFunctionBindings;
   private final int maxEvaluateIterations;
 
   private CelAsyncRuntimeImpl(
       ThreadSafeCelVariableResolver variableResolver,
       CelRuntime runtime,
       ListeningExecutorService executorService,
+      ImmutableMap<String, CelAsyncFunctionBinding> asyncFunctionBindings,
       int maxEvaluateIterations) {
     this.variableResolver = variableResolver;
     this.runtime = runtime;
     this.executorService = executorService;
+    this.asyncFunctionBindings = asyncFunctionBindings;
     this.maxEvaluateIterations = maxEvaluateIterations;
   }
 
@@ -55,6 +63,7 @@ final class CelAsyncRuntimeImpl implements CelAsyncRuntime {
     return new AsyncProgramImpl(
         runtime.createProgram(ast),
         executorService,
+        asyncFunctionBindings,
         maxEvaluateIterations,
         newAsyncContext());
   }
@@ -68,11 +77,13 @@ final class CelAsyncRuntimeImpl implements CelAsyncRuntime {
     private CelRuntime runtime;
     private ListeningExecutorService executorService;
     private Optional<ThreadSafeCelVariableResolver> variableResolver;
+    private final Map<String, CelAsyncFunctionBinding> asyncFunctionBindings;
     private int maxEvaluateIterations;
 
     private Builder() {
       runtime = CelRuntimeFactory.standardCelRuntimeBuilder().build();
       variableResolver = Optional.empty();
+      asyncFunctionBindings = new LinkedHashMap<>();
       maxEvaluateIterations = DEFAULT_MAX_EVALUATE_ITERATIONS;
     }
 
@@ -95,6 +106,17 @@ final class CelAsyncRuntimeImpl implements CelAsyncRuntime {
       return this;
     }
 
+    @Override
+    public Builder addAsyncFunctionBindings(CelAsyncFunctionBinding... bindings) {
+      return addAsyncFunctionBindings(Arrays.asList(bindings));
+    }
+
+    @Override
+    public Builder addAsyncFunctionBindings(Iterable<CelAsyncFunctionBinding> bindings) {
+      bindings.forEach(binding -> asyncFunctionBindings.put(binding.overloadId(), binding));
+      return this;
+    }
+
     @Override
     public Builder setExecutorService(ExecutorService executorService) {
       this.executorService = MoreExecutors.listeningDecorator(executorService);
@@ -104,10 +126,16 @@ final class CelAsyncRuntimeImpl implements CelAsyncRuntime {
     @Override
     public CelAsyncRuntime build() {
       Preconditions.checkNotNull(executorService, "executorService must be specified.");
+      // Rounds of evaluation are driven by advanceEvaluation, which the planner does not support.
+      // The runtime may be wrapped (e.g. by Cel), so its builder identifies the implementation.
+      Preconditions.checkArgument(
+          !(runtime.toRuntimeBuilder() instanceof CelRuntimeImpl.Builder),
+          "The planner runtime does not support incremental evaluation.");
       return new CelAsyncRuntimeImpl(
           variableResolver.orElse((unused) -> Optional.empty()),
           runtime,
           executorService,
+          ImmutableMap.copyOf(asyncFunctionBindings),
           maxEvaluateIterations);
     }
   }
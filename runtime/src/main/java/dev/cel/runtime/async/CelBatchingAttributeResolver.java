@@ -0,0 +1,326 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.async;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import dev.cel.runtime.CelAttribute;
+import dev.cel.runtime.CelEvaluationException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Attribute resolver which is shared across evaluations to reduce the number of backend lookups.
+ *
+ * <ul>
+ *   <li>Requests for an attribute which is already being looked up, by any evaluation, share the
+ *       in-flight lookup.
+ *   <li>Distinct attributes are queued and looked up together with a single multi-get call. The
+ *       queue is flushed once an evaluation has requested all of the attributes for its current
+ *       round, or when it reaches the maximum batch size. Attributes requested concurrently by
+ *       other evaluations join the same batch.
+ *   <li>Resolved values may optionally be cached for a fixed duration.
+ * </ul>
+ *
+ * <p>A single instance is intended to be used for many {@link CelResolvableAttributePattern}s and
+ * programs. Usage statistics are available through {@link #stats()}.
+ */
+@ThreadSafe
+public final class CelBatchingAttributeResolver extends CelUnknownAttributeValueResolver {
+
+  /**
+   * Synchronous style multi-get. Implementation should return a value for each of the given
+   * attributes. A thrown exception fails the lookup of all attributes in the batch.
+   *
+   * <p>The lookup is run in an executor managed by the CEL runtime.
+   */
+  @FunctionalInterface
+  @ThreadSafe
+  public interface BatchResolver {
+    Map<CelAttribute, Object> resolveAll(ImmutableSet<CelAttribute> attributes) throws Exception;
+  }
+
+  /**
+   * Async style multi-get. Implementation should return a future representing the lookup of all of
+   * the given attributes. A failed future fails the lookup of all attributes in the batch.
+   */
+  @FunctionalInterface
+  @ThreadSafe
+  public interface AsyncBatchResolver {
+    ListenableFuture<Map<CelAttribute, Object>> resolveAll(ImmutableSet<CelAttribute> attributes);
+  }
+
+  /** Snapshot of the usage statistics of a {@link CelBatchingAttributeResolver}. */
+  @AutoValue
+  public abstract static class Stats {
+    /** Number of attribute lookups requested by evaluations. */
+    public abstract long requestCount();
+
+    /** Number of requests served from the cache. */
+    public abstract long cacheHitCount();
+
+    /** Number of requests which shared a lookup already in flight. */
+    public abstract long coalescedCount();
+
+    /** Number of multi-get calls issued. */
+    public abstract long batchCount();
+
+    /** Total number of attributes looked up across all multi-get calls. */
+    public abstract long batchedAttributeCount();
+
+    /** Largest number of attributes looked up in a single multi-get call. */
+    public abstract long maxObservedBatchSize();
+
+    /** Average number of attributes looked up per multi-get call. */
+    public double averageBatchSize() {
+      return batchCount() == 0 ? 0 : (double) batchedAttributeCount() / batchCount();
+    }
+  }
+
+  /** Normalized multi-get, see {@link Builder#setBatchResolver} and related. */
+  @FunctionalInterface
+  private interface BatchLookup {
+    ListenableFuture<Map<CelAttribute, Object>> lookup(
+        ListeningExecutorService executorService, ImmutableSet<CelAttribute> attributes);
+  }
+
+  private final BatchLookup batchLookup;
+  private final int maxBatchSize;
+  private final Optional<Cache<CelAttribute, Object>> cache;
+  private final Map<CelAttribute, SettableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  @GuardedBy("this")
+  private Map<CelAttribute, SettableFuture<Object>> pending = new LinkedHashMap<>();
+
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong cacheHitCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+  private final AtomicLong batchCount = new AtomicLong();
+  private final AtomicLong batchedAttributeCount = new AtomicLong();
+  private final AtomicLong maxObservedBatchSize = new AtomicLong();
+
+  @Override
+  ListenableFuture<Object> resolve(
+      ListeningExecutorService executorService, CelAttribute attribute) {
+    requestCount.incrementAndGet();
+    if (cache.isPresent()) {
+      Object cached = cache.get().getIfPresent(attribute);
+      if (cached != null) {
+        cacheHitCount.incrementAndGet();
+        return Futures.immediateFuture(cached);
+      }
+    }
+
+    SettableFuture<Object> newLookup = SettableFuture.create();
+    SettableFuture<Object> existing = inFlight.putIfAbsent(attribute, newLookup);
+    if (existing != null) {
+      coalescedCount.incrementAndGet();
+      return Futures.nonCancellationPropagating(existing);
+    }
+
+    Map<CelAttribute, SettableFuture<Object>> fullBatch = null;
+    synchronized (this) {
+      pending.put(attribute, newLookup);
+      if (pending.size() >= maxBatchSize) {
+        fullBatch = takePending();
+      }
+    }
+    if (fullBatch != null) {
+      startBatch(executorService, fullBatch);
+    }
+    return Futures.nonCancellationPropagating(newLookup);
+  }
+
+  @Override
+  void flushPending(ListeningExecutorService executorService) {
+    Map<CelAttribute, SettableFuture<Object>> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = takePending();
+    }
+    startBatch(executorService, batch);
+  }
+
+  /** Returns a snapshot of the usage statistics of this resolver. */
+  public Stats stats() {
+    return new AutoValue_CelBatchingAttributeResolver_Stats(
+        requestCount.get(),
+        cacheHitCount.get(),
+        coalescedCount.get(),
+        batchCount.get(),
+        batchedAttributeCount.get(),
+        maxObservedBatchSize.get());
+  }
+
+  @GuardedBy("this")
+  private Map<CelAttribute, SettableFuture<Object>> takePending() {
+    Map<CelAttribute, SettableFuture<Object>> batch = pending;
+    pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  private void startBatch(
+      ListeningExecutorService executorService, Map<CelAttribute, SettableFuture<Object>> batch) {
+    ImmutableSet<CelAttribute> attributes = ImmutableSet.copyOf(batch.keySet());
+    batchCount.incrementAndGet();
+    batchedAttributeCount.addAndGet(attributes.size());
+    maxObservedBatchSize.accumulateAndGet(attributes.size(), Math::max);
+
+    ListenableFuture<Map<CelAttribute, Object>> lookup;
+    try {
+      lookup = batchLookup.lookup(executorService, attributes);
+    } catch (RuntimeException e) {
+      lookup = Futures.immediateFailedFuture(e);
+    }
+
+    Futures.addCallback(
+        lookup,
+        new FutureCallback<Map<CelAttribute, Object>>() {
+          @Override
+          public void onSuccess(Map<CelAttribute, Object> values) {
+            for (Map.Entry<CelAttribute, SettableFuture<Object>> entry : batch.entrySet()) {
+              CelAttribute attribute = entry.getKey();
+              Object value = values.get(attribute);
+              if (value == null) {
+                complete(
+                    attribute,
+                    entry.getValue(),
+                    Futures.immediateFailedFuture(
+                        new CelEvaluationException(
+                            String.format("Batch lookup returned no value for: %s", attribute))));
+                continue;
+              }
+              cache.ifPresent(c -> c.put(attribute, value));
+              complete(attribute, entry.getValue(), Futures.immediateFuture(value));
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            for (Map.Entry<CelAttribute, SettableFuture<Object>> entry : batch.entrySet()) {
+              complete(entry.getKey(), entry.getValue(), Futures.immediateFailedFuture(t));
+            }
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private void complete(
+      CelAttribute attribute, SettableFuture<Object> lookup, ListenableFuture<Object> result) {
+    // Later requests either hit the cache or start a new lookup.
+    inFlight.remove(attribute, lookup);
+    lookup.setFuture(result);
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /** Builder for {@link CelBatchingAttributeResolver}. */
+  public static final class Builder {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private BatchLookup batchLookup;
+    private int maxBatchSize;
+    private Optional<Duration> cacheTtl;
+    private Ticker ticker;
+
+    /** Sets a synchronous multi-get, run on the executor of the evaluating async runtime. */
+    @CanIgnoreReturnValue
+    public Builder setBatchResolver(BatchResolver batchResolver) {
+      this.batchLookup =
+          (executorService, attributes) ->
+              executorService.submit(() -> batchResolver.resolveAll(attributes));
+      return this;
+    }
+
+    /** Sets an async multi-get. */
+    @CanIgnoreReturnValue
+    public Builder setAsyncBatchResolver(AsyncBatchResolver batchResolver) {
+      this.batchLookup = (unused, attributes) -> batchResolver.resolveAll(attributes);
+      return this;
+    }
+
+    /** Sets the maximum number of attributes looked up by a single multi-get call. */
+    @CanIgnoreReturnValue
+    public Builder setMaxBatchSize(int maxBatchSize) {
+      Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Caches resolved values for the given duration after they are resolved. Values are not
+     * cached by default.
+     */
+    @CanIgnoreReturnValue
+    public Builder setCacheTtl(Duration cacheTtl) {
+      Preconditions.checkArgument(!cacheTtl.isNegative(), "cacheTtl must not be negative");
+      this.cacheTtl = Optional.of(cacheTtl);
+      return this;
+    }
+
+    /** Sets the time source for cache expiration. Intended for testing. */
+    @CanIgnoreReturnValue
+    public Builder setTicker(Ticker ticker) {
+      this.ticker = ticker;
+      return this;
+    }
+
+    public CelBatchingAttributeResolver build() {
+      Preconditions.checkNotNull(batchLookup, "batchResolver must be specified.");
+      return new CelBatchingAttributeResolver(
+          batchLookup,
+          maxBatchSize,
+          cacheTtl.map(
+              ttl -> CacheBuilder.newBuilder().expireAfterWrite(ttl).ticker(ticker).build()));
+    }
+
+    private Builder() {
+      maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+      cacheTtl = Optional.empty();
+      ticker = Ticker.systemTicker();
+    }
+  }
+
+  private CelBatchingAttributeResolver(
+      BatchLookup batchLookup,
+      int maxBatchSize,
+      Optional<Cache<CelAttribute, Object>> cache) {
+    this.batchLookup = batchLookup;
+    this.maxBatchSize = maxBatchSize;
+    this.cache = cache;
+  }
+}
@@ -68,6 +68,12 @@ public abstract class CelUnknownAttributeValueResolver {
   abstract ListenableFuture<Object> resolve(
       ListeningExecutorService executorService, CelAttribute attribute);
 
+  /**
+   * Called once an evaluation has requested all of the attributes for its current round of
+   * evaluation from this resolver. Resolvers which defer lookups must start them by now.
+   */
+  void flushPending(ListeningExecutorService executorService) {}
+
   private static final class SyncImpl extends CelUnknownAttributeValueResolver {
     private final Resolver resolver;
 
@@ -17,6 +17,7 @@ package dev.cel.runtime.planner;
 import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.GlobalResolver;
 import java.util.Arrays;
+import org.jspecify.annotations.Nullable;
 
 /** Handles memoization, lazy evaluation, and cycle detection for cel.@block slots. */
 final class BlockMemoizer {
@@ -27,14 +28,27 @@ final class BlockMemoizer {
   private final PlannedInterpretable[] slotExprs;
   private final Object[] slotVals;
   private final ExecutionFrame frame;
+  // Slots whose evaluation has been started ahead of time on another thread, indexed by slot.
+  private final ForkedTask @Nullable [] prefetchedSlots;
 
   static BlockMemoizer create(PlannedInterpretable[] slotExprs, ExecutionFrame frame) {
-    return new BlockMemoizer(slotExprs, frame);
+    return new BlockMemoizer(slotExprs, frame, null);
   }
 
-  private BlockMemoizer(PlannedInterpretable[] slotExprs, ExecutionFrame frame) {
+  static BlockMemoizer create(
+      PlannedInterpretable[] slotExprs,
+      ExecutionFrame frame,
+      ForkedTask @Nullable [] prefetchedSlots) {
+    return new BlockMemoizer(slotExprs, frame, prefetchedSlots);
+  }
+
+  private BlockMemoizer(
+      PlannedInterpretable[] slotExprs,
+      ExecutionFrame frame,
+      ForkedTask @Nullable [] prefetchedSlots) {
     this.slotExprs = slotExprs;
     this.frame = frame;
+    this.prefetchedSlots = prefetchedSlots;
     this.slotVals = new Object[slotExprs.length];
     Arrays.fill(this.slotVals, UNSET);
   }
@@ -56,7 +70,10 @@ final class BlockMemoizer {
 
     slotVals[idx] = IN_PROGRESS;
     try {
-      Object result = slotExprs[idx].eval(resolver, frame);
+      Object result =
+          prefetchedSlots != null && prefetchedSlots[idx] != null
+              ? prefetchedSlots[idx].join()
+              : slotExprs[idx].eval(resolver, frame);
       slotVals[idx] = result;
       return result;
     } catch (CelEvaluationException e) {
@@ -0,0 +1,134 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.runtime.GlobalResolver;
+import java.util.concurrent.Executor;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A set of independent subexpressions, some of which are evaluated concurrently on an {@link
+ * Executor}.
+ *
+ * <p>Only subexpressions which the planner has proven not to touch thread-confined evaluation
+ * state (comprehension iteration counters and {@code cel.@block} slots) are forked. The rest are
+ * evaluated on the calling thread while the forked ones are in flight. Results are always
+ * collected in argument order, so callers observe the same values and error precedence as with
+ * sequential evaluation.
+ */
+@Immutable
+final class ConcurrentBranches {
+
+  @SuppressWarnings("Immutable") // Executors are expected to be thread-safe.
+  private final Executor executor;
+
+  // Array contents are not mutated
+  @SuppressWarnings("Immutable")
+  private final PlannedInterpretable[] branches;
+
+  // Array contents are not mutated
+  @SuppressWarnings("Immutable")
+  private final boolean[] isForked;
+
+  /**
+   * Starts evaluation of the forked branches. The returned array holds a task at each forked index
+   * and null elsewhere.
+   *
+   * <p>Returns null if the branches must be evaluated sequentially. This is the case when an
+   * evaluation listener is attached, as listeners are not required to be thread-safe.
+   */
+  ForkedTask @Nullable [] fork(GlobalResolver resolver, ExecutionFrame frame) {
+    if (frame.getListener() != null) {
+      return null;
+    }
+
+    ForkedTask[] tasks = new ForkedTask[branches.length];
+    for (int i = 0; i < branches.length; i++) {
+      if (isForked[i]) {
+        tasks[i] = ForkedTask.fork(executor, branches[i], resolver, frame);
+      }
+    }
+    return tasks;
+  }
+
+  /**
+   * Non-strictly evaluates all branches, in the same manner as {@link
+   * EvalHelpers#evalNonstrictly}. Returns null if the branches must be evaluated sequentially by
+   * the caller.
+   */
+  Object @Nullable [] evalNonstrictly(GlobalResolver resolver, ExecutionFrame frame) {
+    ForkedTask[] tasks = fork(resolver, frame);
+    if (tasks == null) {
+      return null;
+    }
+    return collectNonstrictly(tasks, resolver, frame);
+  }
+
+  /**
+   * Collects the non-strict results of all branches given the tasks previously returned by {@link
+   * #fork}. Branches which were not forked are evaluated on the calling thread first, so that they
+   * overlap with the forked ones.
+   */
+  Object[] collectNonstrictly(ForkedTask[] tasks, GlobalResolver resolver, ExecutionFrame frame) {
+    Object[] results = new Object[branches.length];
+    for (int i = 0; i < branches.length; i++) {
+      if (tasks[i] == null) {
+        results[i] = EvalHelpers.evalNonstrictly(branches[i], resolver, frame);
+      }
+    }
+    for (int i = 0; i < branches.length; i++) {
+      if (tasks[i] != null) {
+        results[i] = EvalHelpers.joinNonstrictly(tasks[i]);
+      }
+    }
+    return results;
+  }
+
+  /** Cancels all forked tasks which have not completed yet. */
+  static void cancel(ForkedTask @Nullable [] tasks) {
+    if (tasks == null) {
+      return;
+    }
+    for (ForkedTask task : tasks) {
+      if (task != null) {
+        task.cancel();
+      }
+    }
+  }
+
+  /**
+   * Creates an instance which forks {@code branches[i]} when {@code isForked[i]} is set. Returns
+   * null if no branch is forked.
+   */
+  static @Nullable ConcurrentBranches create(
+      Executor executor, PlannedInterpretable[] branches, boolean[] isForked) {
+    Preconditions.checkArgument(branches.length == isForked.length);
+    for (boolean forked : isForked) {
+      if (forked) {
+        return new ConcurrentBranches(executor, branches, isForked);
+      }
+    }
+    return null;
+  }
+
+  private ConcurrentBranches(
+      Executor executor, PlannedInterpretable[] branches, boolean[] isForked) {
+    this.executor = executor;
+    this.branches = branches;
+    this.isForked = isForked;
+  }
+}
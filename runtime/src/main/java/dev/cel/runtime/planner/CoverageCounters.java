@@ -0,0 +1,135 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dev.cel.runtime.planner;
+
+import com.google.common.base.Preconditions;
+import dev.cel.common.CelAbstractSyntaxTree;
+import dev.cel.common.annotations.Internal;
+import dev.cel.common.navigation.CelNavigableAst;
+import dev.cel.common.navigation.CelNavigableExpr;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Per-expression hit and boolean outcome counters, collected from a sample of the evaluations of
+ * a planned program.
+ *
+ * <p>Counters are striped {@link LongAdder}s indexed by expression ID, so recording never blocks
+ * and contends only lightly across threads. Evaluations which are not sampled pay no more than a
+ * null check per node.
+ *
+ * <p>CEL-Java internals. Do not use.
+ */
+@Internal
+@ThreadSafe
+public final class CoverageCounters {
+
+  private final int sampleRate;
+  private final LongAdder sampledEvaluations = new LongAdder();
+  private final LongAdder[] hits;
+  private final LongAdder[] trueOutcomes;
+  private final LongAdder[] falseOutcomes;
+
+  /** Returns true if the evaluation about to start should record coverage. */
+  boolean sample() {
+    if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+      return false;
+    }
+    sampledEvaluations.increment();
+    return true;
+  }
+
+  void record(long exprId, Object result) {
+    if (exprId < 0 || exprId >= hits.length) {
+      return;
+    }
+    int index = (int) exprId;
+    hits[index].increment();
+    if (result instanceof Boolean) {
+      if ((Boolean) result) {
+        trueOutcomes[index].increment();
+      } else {
+        falseOutcomes[index].increment();
+      }
+    }
+  }
+
+  /** Roughly one in {@code sampleRate} evaluations is recorded. */
+  public int sampleRate() {
+    return sampleRate;
+  }
+
+  /** Number of evaluations which have been recorded. */
+  public long sampledEvaluations() {
+    return sampledEvaluations.sum();
+  }
+
+  /** Largest expression ID which is tracked. */
+  public long maxExprId() {
+    return hits.length - 1;
+  }
+
+  /** Number of sampled evaluations of the expression. */
+  public long hitCount(long exprId) {
+    return sum(hits, exprId);
+  }
+
+  /** Number of sampled evaluations of the expression which produced {@code true}. */
+  public long trueCount(long exprId) {
+    return sum(trueOutcomes, exprId);
+  }
+
+  /** Number of sampled evaluations of the expression which produced {@code false}. */
+  public long falseCount(long exprId) {
+    return sum(falseOutcomes, exprId);
+  }
+
+  private static long sum(LongAdder[] counters, long exprId) {
+    if (exprId < 0 || exprId >= counters.length) {
+      return 0;
+    }
+    return counters[(int) exprId].sum();
+  }
+
+  /** Creates counters for every expression in {@code ast}, recording one in {@code sampleRate}. */
+  public static CoverageCounters create(CelAbstractSyntaxTree ast, int sampleRate) {
+    Preconditions.checkArgument(sampleRate > 0, "sampleRate must be positive");
+    long maxId =
+        CelNavigableAst.fromAst(ast)
+            .getRoot()
+            .allNodes()
+            .mapToLong(CelNavigableExpr::id)
+            .max()
+            .orElse(0);
+    return new CoverageCounters(sampleRate, Math.toIntExact(maxId + 1));
+  }
+
+  private static LongAdder[] newCounters(int size) {
+    LongAdder[] counters = new LongAdder[size];
+    for (int i = 0; i < size; i++) {
+      counters[i] = new LongAdder();
+    }
+    return counters;
+  }
+
+  private CoverageCounters(int sampleRate, int size) {
+    this.sampleRate = sampleRate;
+    this.hits = newCounters(size);
+    this.trueOutcomes = newCounters(size);
+    this.falseOutcomes = newCounters(size);
+  }
+}
@@ -18,6 +18,7 @@ import com.google.errorprone.annotations.Immutable;
 import dev.cel.common.ast.CelExpr;
 import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.GlobalResolver;
+import org.jspecify.annotations.Nullable;
 
 /** Eval implementation of {@code cel.@block}. */
 @Immutable
@@ -28,23 +29,45 @@ final class EvalBlock extends PlannedInterpretable {
 
   private final PlannedInterpretable resultExpr;
 
+  // Slots which are eagerly evaluated on an executor while the result expression is evaluated.
+  private final @Nullable ConcurrentBranches prefetchedSlots;
+
   static EvalBlock create(
-      CelExpr expr, PlannedInterpretable[] slotExprs, PlannedInterpretable resultExpr) {
-    return new EvalBlock(expr, slotExprs, resultExpr);
+      CelExpr expr,
+      PlannedInterpretable[] slotExprs,
+      PlannedInterpretable resultExpr,
+      @Nullable ConcurrentBranches prefetchedSlots) {
+    return new EvalBlock(expr, slotExprs, resultExpr, prefetchedSlots);
   }
 
   private EvalBlock(
-      CelExpr expr, PlannedInterpretable[] slotExprs, PlannedInterpretable resultExpr) {
+      CelExpr expr,
+      PlannedInterpretable[] slotExprs,
+      PlannedInterpretable resultExpr,
+      @Nullable ConcurrentBranches prefetchedSlots) {
     super(expr);
     this.slotExprs = slotExprs;
     this.resultExpr = resultExpr;
+    this.prefetchedSlots = prefetchedSlots;
   }
 
   @Override
   Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
-    BlockMemoizer memoizer = BlockMemoizer.create(slotExprs, frame);
+    if (prefetchedSlots == null) {
+      BlockMemoizer memoizer = BlockMemoizer.create(slotExprs, frame);
+      frame.setBlockMemoizer(memoizer);
+      return resultExpr.eval(resolver, frame);
+    }
+
+    ForkedTask[] slotTasks = prefetchedSlots.fork(resolver, frame);
+    BlockMemoizer memoizer = BlockMemoizer.create(slotExprs, frame, slotTasks);
     frame.setBlockMemoizer(memoizer);
-    return resultExpr.eval(resolver, frame);
+    try {
+      return resultExpr.eval(resolver, frame);
+    } finally {
+      // Slots that were never referenced need not be evaluated, or keep running past this call.
+      ConcurrentBranches.cancel(slotTasks);
+    }
   }
 
   @Immutable
@@ -47,6 +47,18 @@ final class EvalConditional extends PlannedInterpretable {
     return falsy.eval(resolver, frame);
   }
 
+  PlannedInterpretable condition() {
+    return args[0];
+  }
+
+  PlannedInterpretable truthy() {
+    return args[1];
+  }
+
+  PlannedInterpretable falsy() {
+    return args[2];
+  }
+
   static EvalConditional create(CelExpr expr, PlannedInterpretable[] args) {
     return new EvalConditional(expr, args);
   }
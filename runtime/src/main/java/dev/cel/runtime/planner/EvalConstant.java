@@ -29,6 +29,11 @@ final class EvalConstant extends PlannedInterpretable {
     return constant;
   }
 
+  @Override
+  Object constantValue() {
+    return constant;
+  }
+
   static EvalConstant create(CelExpr expr, Object value) {
     return new EvalConstant(expr, value);
   }
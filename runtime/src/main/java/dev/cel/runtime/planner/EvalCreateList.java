@@ -20,6 +20,7 @@ import dev.cel.common.ast.CelExpr;
 import dev.cel.runtime.AccumulatedUnknowns;
 import dev.cel.runtime.GlobalResolver;
 import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 
 @Immutable
 final class EvalCreateList extends PlannedInterpretable {
@@ -30,8 +31,16 @@ final class EvalCreateList extends PlannedInterpretable {
   @SuppressWarnings("Immutable")
   private final boolean[] isOptional;
 
+  // Pre-built list shared across evaluations when every element is a constant.
+  @SuppressWarnings("Immutable")
+  private final @Nullable ImmutableList<Object> constantList;
+
   @Override
   Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) {
+    if (constantList != null && !frame.isObserved()) {
+      return constantList;
+    }
+
     ImmutableList.Builder<Object> builder = ImmutableList.builderWithExpectedSize(values.length);
     AccumulatedUnknowns unknowns = null;
     for (int i = 0; i < values.length; i++) {
@@ -66,13 +75,44 @@ final class EvalCreateList extends PlannedInterpretable {
     return builder.build();
   }
 
+  @Override
+  @Nullable Object constantValue() {
+    return constantList;
+  }
+
   static EvalCreateList create(CelExpr expr, PlannedInterpretable[] values, boolean[] isOptional) {
-    return new EvalCreateList(expr, values, isOptional);
+    return new EvalCreateList(expr, values, isOptional, foldConstantList(values, isOptional));
+  }
+
+  /**
+   * Builds the list once at plan time if all of its elements are known constants. Returns null if
+   * the list must be constructed per evaluation.
+   */
+  private static @Nullable ImmutableList<Object> foldConstantList(
+      PlannedInterpretable[] values, boolean[] isOptional) {
+    ImmutableList.Builder<Object> builder = ImmutableList.builderWithExpectedSize(values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (isOptional[i]) {
+        return null;
+      }
+      Object element = values[i].constantValue();
+      if (element == null) {
+        return null;
+      }
+      builder.add(element);
+    }
+
+    return builder.build();
   }
 
-  private EvalCreateList(CelExpr expr, PlannedInterpretable[] values, boolean[] isOptional) {
+  private EvalCreateList(
+      CelExpr expr,
+      PlannedInterpretable[] values,
+      boolean[] isOptional,
+      @Nullable ImmutableList<Object> constantList) {
     super(expr);
     this.values = values;
     this.isOptional = isOptional;
+    this.constantList = constantList;
   }
 }
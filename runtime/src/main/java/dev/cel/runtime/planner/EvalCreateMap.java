@@ -27,6 +27,7 @@ import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.GlobalResolver;
 import java.util.HashSet;
 import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 
 @Immutable
 final class EvalCreateMap extends PlannedInterpretable {
@@ -43,8 +44,16 @@ final class EvalCreateMap extends PlannedInterpretable {
   @SuppressWarnings("Immutable")
   private final boolean[] isOptional;
 
+  // Pre-built map shared across evaluations when every entry is a constant.
+  @SuppressWarnings("Immutable")
+  private final @Nullable ImmutableMap<Object, Object> constantMap;
+
   @Override
   Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
+    if (constantMap != null && !frame.isObserved()) {
+      return constantMap;
+    }
+
     ImmutableMap.Builder<Object, Object> builder =
         ImmutableMap.builderWithExpectedSize(keys.length);
     HashSet<Object> keysSeen = Sets.newHashSetWithExpectedSize(keys.length);
@@ -57,29 +66,13 @@ final class EvalCreateMap extends PlannedInterpretable {
       if (key instanceof AccumulatedUnknowns) {
         unknowns = AccumulatedUnknowns.maybeMerge(unknowns, key);
       } else {
-        if (!(key instanceof String
-            || key instanceof Long
-            || key instanceof UnsignedLong
-            || key instanceof Boolean)) {
+        if (!isSupportedKey(key)) {
           throw new LocalizedEvaluationException(
               new CelInvalidArgumentException("Unsupported key type: " + key),
               keyInterpretable.expr().id());
         }
 
-        boolean isDuplicate = !keysSeen.add(key);
-        if (!isDuplicate) {
-          if (key instanceof Long) {
-            long longVal = (Long) key;
-            if (longVal >= 0) {
-              isDuplicate = keysSeen.contains(UnsignedLong.valueOf(longVal));
-            }
-          } else if (key instanceof UnsignedLong) {
-            UnsignedLong ulongVal = (UnsignedLong) key;
-            isDuplicate = keysSeen.contains(ulongVal.longValue());
-          }
-        }
-
-        if (isDuplicate) {
+        if (!addKey(keysSeen, key)) {
           throw new LocalizedEvaluationException(
               CelDuplicateKeyException.of(key), keyInterpretable.expr().id());
         }
@@ -119,24 +112,82 @@ final class EvalCreateMap extends PlannedInterpretable {
     return builder.buildOrThrow();
   }
 
+  @Override
+  @Nullable Object constantValue() {
+    return constantMap;
+  }
+
+  private static boolean isSupportedKey(Object key) {
+    return key instanceof String
+        || key instanceof Long
+        || key instanceof UnsignedLong
+        || key instanceof Boolean;
+  }
+
+  /**
+   * Records the key as seen. Returns false if the key, or a numerically equivalent int/uint key,
+   * was already present.
+   */
+  private static boolean addKey(HashSet<Object> keysSeen, Object key) {
+    if (!keysSeen.add(key)) {
+      return false;
+    }
+    if (key instanceof Long) {
+      long longVal = (Long) key;
+      return longVal < 0 || !keysSeen.contains(UnsignedLong.valueOf(longVal));
+    } else if (key instanceof UnsignedLong) {
+      UnsignedLong ulongVal = (UnsignedLong) key;
+      return !keysSeen.contains(ulongVal.longValue());
+    }
+    return true;
+  }
+
+  /**
+   * Builds the map once at plan time if all of its entries are known constants. Returns null if
+   * the map must be constructed per evaluation, including when construction would fail so that the
+   * error is still surfaced at evaluation time.
+   */
+  private static @Nullable ImmutableMap<Object, Object> foldConstantMap(
+      PlannedInterpretable[] keys, PlannedInterpretable[] values, boolean[] isOptional) {
+    ImmutableMap.Builder<Object, Object> builder =
+        ImmutableMap.builderWithExpectedSize(keys.length);
+    HashSet<Object> keysSeen = Sets.newHashSetWithExpectedSize(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      if (isOptional[i]) {
+        return null;
+      }
+      Object key = keys[i].constantValue();
+      Object val = values[i].constantValue();
+      if (key == null || val == null || !isSupportedKey(key) || !addKey(keysSeen, key)) {
+        return null;
+      }
+      builder.put(key, val);
+    }
+
+    return builder.buildOrThrow();
+  }
+
   static EvalCreateMap create(
       CelExpr expr,
       PlannedInterpretable[] keys,
       PlannedInterpretable[] values,
       boolean[] isOptional) {
-    return new EvalCreateMap(expr, keys, values, isOptional);
+    Preconditions.checkArgument(keys.length == values.length);
+    Preconditions.checkArgument(keys.length == isOptional.length);
+    return new EvalCreateMap(
+        expr, keys, values, isOptional, foldConstantMap(keys, values, isOptional));
   }
 
   private EvalCreateMap(
       CelExpr expr,
       PlannedInterpretable[] keys,
       PlannedInterpretable[] values,
-      boolean[] isOptional) {
+      boolean[] isOptional,
+      @Nullable ImmutableMap<Object, Object> constantMap) {
     super(expr);
-    Preconditions.checkArgument(keys.length == values.length);
-    Preconditions.checkArgument(keys.length == isOptional.length);
     this.keys = keys;
     this.values = values;
     this.isOptional = isOptional;
+    this.constantMap = constantMap;
   }
 }
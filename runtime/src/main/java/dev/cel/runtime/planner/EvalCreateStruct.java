@@ -14,17 +14,21 @@
 
 package dev.cel.runtime.planner;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.errorprone.annotations.Immutable;
 import dev.cel.common.ast.CelExpr;
 import dev.cel.common.types.CelType;
 import dev.cel.common.values.CelValueProvider;
+import dev.cel.common.values.CelValueProvider.StructFactory;
 import dev.cel.common.values.StructValue;
 import dev.cel.runtime.AccumulatedUnknowns;
 import dev.cel.runtime.GlobalResolver;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 
 @Immutable
 final class EvalCreateStruct extends PlannedInterpretable {
@@ -32,6 +36,9 @@ final class EvalCreateStruct extends PlannedInterpretable {
   private final CelValueProvider valueProvider;
   private final CelType structType;
 
+  // Null if the value provider could not bind the struct's fields at plan time.
+  private final @Nullable StructFactory structFactory;
+
   // Array contents are not mutated
   @SuppressWarnings("Immutable")
   private final String[] keys;
@@ -46,7 +53,7 @@ final class EvalCreateStruct extends PlannedInterpretable {
 
   @Override
   Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) {
-    Map<String, Object> fieldValues = Maps.newHashMapWithExpectedSize(keys.length);
+    Object[] fieldValues = new Object[keys.length];
     AccumulatedUnknowns unknowns = null;
     for (int i = 0; i < keys.length; i++) {
       Object value = EvalHelpers.evalStrictly(values[i], resolver, frame);
@@ -66,15 +73,13 @@ final class EvalCreateStruct extends PlannedInterpretable {
 
         Optional<?> opt = (Optional<?>) value;
         if (!opt.isPresent()) {
-          // This is a no-op currently but will be semantically correct when extended proto
-          // support allows proto mutation.
-          fieldValues.remove(keys[i]);
+          // Absent optional entries leave the field unset.
           continue;
         }
         value = opt.get();
       }
 
-      fieldValues.put(keys[i], value);
+      fieldValues[i] = value;
     }
 
     if (unknowns != null) {
@@ -83,10 +88,7 @@ final class EvalCreateStruct extends PlannedInterpretable {
 
     // Either a primitive (wrappers) or a struct is produced
     Object value =
-        valueProvider
-            .newValue(structType.name(), Collections.unmodifiableMap(fieldValues))
-            .orElseThrow(
-                () -> new IllegalArgumentException("Type name not found: " + structType.name()));
+        structFactory != null ? structFactory.newValue(fieldValues) : newValue(fieldValues);
     if (value instanceof StructValue) {
       return ((StructValue<?, ?>) value).value();
     }
@@ -94,6 +96,23 @@ final class EvalCreateStruct extends PlannedInterpretable {
     return value;
   }
 
+  private Object newValue(Object[] fieldValues) {
+    Map<String, Object> fields = Maps.newHashMapWithExpectedSize(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      if (fieldValues[i] == null) {
+        // This is a no-op currently but will be semantically correct when extended proto
+        // support allows proto mutation.
+        fields.remove(keys[i]);
+      } else {
+        fields.put(keys[i], fieldValues[i]);
+      }
+    }
+    return valueProvider
+        .newValue(structType.name(), Collections.unmodifiableMap(fields))
+        .orElseThrow(
+            () -> new IllegalArgumentException("Type name not found: " + structType.name()));
+  }
+
   static EvalCreateStruct create(
       CelExpr expr,
       CelValueProvider valueProvider,
@@ -101,19 +120,27 @@ final class EvalCreateStruct extends PlannedInterpretable {
       String[] keys,
       PlannedInterpretable[] values,
       boolean[] isOptional) {
-    return new EvalCreateStruct(expr, valueProvider, structType, keys, values, isOptional);
+    StructFactory structFactory = null;
+    if (ImmutableSet.copyOf(keys).size() == keys.length) {
+      structFactory =
+          valueProvider.newStructFactory(structType.name(), Arrays.asList(keys)).orElse(null);
+    }
+    return new EvalCreateStruct(
+        expr, valueProvider, structType, structFactory, keys, values, isOptional);
   }
 
   private EvalCreateStruct(
       CelExpr expr,
       CelValueProvider valueProvider,
       CelType structType,
+      @Nullable StructFactory structFactory,
       String[] keys,
       PlannedInterpretable[] values,
       boolean[] isOptional) {
     super(expr);
     this.valueProvider = valueProvider;
     this.structType = structType;
+    this.structFactory = structFactory;
     this.keys = keys;
     this.values = values;
     this.isOptional = isOptional;
@@ -21,6 +21,7 @@ import dev.cel.common.ast.CelExpr;
 import dev.cel.runtime.AccumulatedUnknowns;
 import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.GlobalResolver;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Implementation of conditional operator (ternary) with exhaustive evaluation
@@ -35,15 +36,34 @@ final class EvalExhaustiveConditional extends PlannedInterpretable {
   @SuppressWarnings("Immutable")
   private final PlannedInterpretable[] args;
 
+  // Truthy and falsy branches which may be evaluated concurrently with the condition.
+  private final @Nullable ConcurrentBranches concurrentBranches;
+
   @Override
   Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
     PlannedInterpretable condition = args[0];
     PlannedInterpretable truthy = args[1];
     PlannedInterpretable falsy = args[2];
 
-    Object condResult = condition.eval(resolver, frame);
-    Object truthyVal = evalNonstrictly(truthy, resolver, frame);
-    Object falsyVal = evalNonstrictly(falsy, resolver, frame);
+    ForkedTask[] forkedBranches =
+        concurrentBranches == null ? null : concurrentBranches.fork(resolver, frame);
+    Object condResult;
+    try {
+      condResult = condition.eval(resolver, frame);
+    } catch (CelEvaluationException | RuntimeException e) {
+      ConcurrentBranches.cancel(forkedBranches);
+      throw e;
+    }
+    Object truthyVal;
+    Object falsyVal;
+    if (forkedBranches == null) {
+      truthyVal = evalNonstrictly(truthy, resolver, frame);
+      falsyVal = evalNonstrictly(falsy, resolver, frame);
+    } else {
+      Object[] branchVals = concurrentBranches.collectNonstrictly(forkedBranches, resolver, frame);
+      truthyVal = branchVals[0];
+      falsyVal = branchVals[1];
+    }
 
     if (condResult instanceof AccumulatedUnknowns) {
       return condResult;
@@ -57,12 +77,23 @@ final class EvalExhaustiveConditional extends PlannedInterpretable {
     return (boolean) condResult ? truthyVal : falsyVal;
   }
 
-  static EvalExhaustiveConditional create(CelExpr expr, PlannedInterpretable[] args) {
-    return new EvalExhaustiveConditional(expr, args);
+  /**
+   * Creates the conditional. {@code concurrentBranches}, if set, must be constructed over the
+   * truthy and falsy branches, in that order.
+   */
+  static EvalExhaustiveConditional create(
+      CelExpr expr,
+      PlannedInterpretable[] args,
+      @Nullable ConcurrentBranches concurrentBranches) {
+    return new EvalExhaustiveConditional(expr, args, concurrentBranches);
   }
 
-  private EvalExhaustiveConditional(CelExpr expr, PlannedInterpretable[] args) {
+  private EvalExhaustiveConditional(
+      CelExpr expr,
+      PlannedInterpretable[] args,
+      @Nullable ConcurrentBranches concurrentBranches) {
     super(expr);
     this.args = args;
+    this.concurrentBranches = concurrentBranches;
   }
 }
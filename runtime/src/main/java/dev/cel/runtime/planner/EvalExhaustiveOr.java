@@ -21,6 +21,7 @@ import dev.cel.common.ast.CelExpr;
 import dev.cel.common.values.ErrorValue;
 import dev.cel.runtime.AccumulatedUnknowns;
 import dev.cel.runtime.GlobalResolver;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Implementation of logical OR with exhaustive evaluation (non-short-circuiting).
@@ -34,14 +35,21 @@ final class EvalExhaustiveOr extends PlannedInterpretable {
   @SuppressWarnings("Immutable")
   private final PlannedInterpretable[] args;
 
+  private final @Nullable ConcurrentBranches concurrentArgs;
+
   @Override
   Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) {
+    Object[] concurrentArgVals =
+        concurrentArgs == null ? null : concurrentArgs.evalNonstrictly(resolver, frame);
     AccumulatedUnknowns accumulatedUnknowns = null;
     ErrorValue errorValue = null;
     boolean hasTrue = false;
 
-    for (PlannedInterpretable arg : args) {
-      Object argVal = evalNonstrictly(arg, resolver, frame);
+    for (int i = 0; i < args.length; i++) {
+      Object argVal =
+          concurrentArgVals == null
+              ? evalNonstrictly(args[i], resolver, frame)
+              : concurrentArgVals[i];
       if (argVal instanceof Boolean) {
         if ((boolean) argVal) {
           hasTrue = true;
@@ -81,12 +89,15 @@ final class EvalExhaustiveOr extends PlannedInterpretable {
     return false;
   }
 
-  static EvalExhaustiveOr create(CelExpr expr, PlannedInterpretable[] args) {
-    return new EvalExhaustiveOr(expr, args);
+  static EvalExhaustiveOr create(
+      CelExpr expr, PlannedInterpretable[] args, @Nullable ConcurrentBranches concurrentArgs) {
+    return new EvalExhaustiveOr(expr, args, concurrentArgs);
   }
 
-  private EvalExhaustiveOr(CelExpr expr, PlannedInterpretable[] args) {
+  private EvalExhaustiveOr(
+      CelExpr expr, PlannedInterpretable[] args, @Nullable ConcurrentBranches concurrentArgs) {
     super(expr);
     this.args = args;
+    this.concurrentArgs = concurrentArgs;
   }
 }
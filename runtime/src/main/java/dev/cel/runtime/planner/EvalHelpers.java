@@ -38,6 +38,17 @@ final class EvalHelpers {
     }
   }
 
+  /** Joins a forked task, capturing its failure as an error value like {@link #evalNonstrictly}. */
+  static Object joinNonstrictly(ForkedTask task) {
+    try {
+      return task.join();
+    } catch (LocalizedEvaluationException e) {
+      return ErrorValue.create(e.exprId(), e);
+    } catch (Exception e) {
+      return ErrorValue.create(task.interpretable().expr().id(), e);
+    }
+  }
+
   static Object evalStrictly(
       PlannedInterpretable interpretable, GlobalResolver resolver, ExecutionFrame frame) {
     try {
@@ -0,0 +1,253 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.Immutable;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelExpr.ExprKind.Kind;
+import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.GlobalResolver;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A chain of conditionals testing the same attribute for equality against distinct constants,
+ * such as the first-match composition of a policy:
+ *
+ * <pre>{@code
+ * request.method == 'GET' ? a : (request.method == 'PUT' ? b : (request.method == 'POST' ? c : d))
+ * }</pre>
+ *
+ * <p>The attribute is evaluated once and the matching branch is found through a hash lookup
+ * instead of testing each condition in turn. Since constants are keyed by their first occurrence,
+ * the selected branch is the one the chain would have selected. Whenever the attribute value is
+ * not of the same runtime type as the constants (e.g. unknowns, errors or heterogeneous numeric
+ * equality), the original chain is evaluated instead so that its semantics are preserved exactly.
+ */
+@Immutable
+final class EvalIndexedConditional extends PlannedInterpretable {
+
+  /** Minimum number of cases for which the lookup is preferred over testing each condition. */
+  private static final int MIN_INDEXED_CASES = 3;
+
+  private final EvalConditional chain;
+  private final PlannedInterpretable discriminant;
+  private final Class<?> keyType;
+
+  @SuppressWarnings("Immutable") // Keys are String, Long or Boolean constants.
+  private final ImmutableMap<Object, Integer> caseIndices;
+
+  // Array contents are not mutated
+  @SuppressWarnings("Immutable")
+  private final PlannedInterpretable[] branches;
+
+  private final PlannedInterpretable defaultBranch;
+
+  @Override
+  Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
+    if (frame.isObserved()) {
+      // Listeners and coverage observe every condition of the chain.
+      return chain.evalInternal(resolver, frame);
+    }
+
+    Object value;
+    try {
+      value = discriminant.eval(resolver, frame);
+    } catch (CelEvaluationException | RuntimeException e) {
+      return chain.evalInternal(resolver, frame);
+    }
+    if (value == null || value.getClass() != keyType) {
+      return chain.evalInternal(resolver, frame);
+    }
+
+    Integer index = caseIndices.get(value);
+    return index == null
+        ? defaultBranch.eval(resolver, frame)
+        : branches[index].eval(resolver, frame);
+  }
+
+  /**
+   * Replaces each sufficiently long run of equality tests against the same attribute along the
+   * falsy branches of the conditional with an indexed lookup, returning the conditional itself if
+   * no run qualifies.
+   *
+   * <p>The whole chain is walked once, so this must only be applied to the head of a chain. Nested
+   * conditionals are expected to have been planned as plain {@link EvalConditional}s.
+   *
+   * <p>Only equality tests which the planner has specialized to the standard {@code _==_}
+   * implementation are recognized, as user-provided equality overloads may not agree with {@link
+   * Object#equals}.
+   */
+  static PlannedInterpretable indexChain(EvalConditional conditional) {
+    List<EvalConditional> conditionals = new ArrayList<>();
+    List<@Nullable EqualityTest> tests = new ArrayList<>();
+    PlannedInterpretable next = conditional;
+    while (next instanceof EvalConditional) {
+      EvalConditional nested = (EvalConditional) next;
+      conditionals.add(nested);
+      tests.add(EqualityTest.match(nested.condition()));
+      next = nested.falsy();
+    }
+
+    // Rebuild the chain from its end, so that each run is indexed with its final default branch.
+    PlannedInterpretable tail = next;
+    int end = conditionals.size();
+    while (end > 0) {
+      int start = end - 1;
+      EqualityTest test = tests.get(start);
+      if (test != null) {
+        while (start > 0 && test.isSameDiscriminant(tests.get(start - 1))) {
+          start--;
+        }
+      }
+      if (end - start >= MIN_INDEXED_CASES) {
+        tail = create(conditionals.subList(start, end), tests.subList(start, end), tail);
+      } else {
+        for (int i = end - 1; i >= start; i--) {
+          tail = withFalsy(conditionals.get(i), tail);
+        }
+      }
+      end = start;
+    }
+    return tail;
+  }
+
+  private static EvalConditional withFalsy(
+      EvalConditional conditional, PlannedInterpretable falsy) {
+    if (conditional.falsy() == falsy) {
+      return conditional;
+    }
+    return EvalConditional.create(
+        conditional.expr(),
+        new PlannedInterpretable[] {conditional.condition(), conditional.truthy(), falsy});
+  }
+
+  private static EvalIndexedConditional create(
+      List<EvalConditional> conditionals,
+      List<@Nullable EqualityTest> tests,
+      PlannedInterpretable defaultBranch) {
+    // The first occurrence of a constant wins, as it would in the chain.
+    Map<Object, Integer> caseIndices = new LinkedHashMap<>();
+    List<PlannedInterpretable> reachableBranches = new ArrayList<>();
+    for (int i = 0; i < conditionals.size(); i++) {
+      Object key = tests.get(i).constant;
+      if (!caseIndices.containsKey(key)) {
+        caseIndices.put(key, reachableBranches.size());
+        reachableBranches.add(conditionals.get(i).truthy());
+      }
+    }
+    EqualityTest head = tests.get(0);
+    // The chain shares its nested conditionals with the original plan, which are left unindexed.
+    return new EvalIndexedConditional(
+        conditionals.get(0),
+        head.discriminant,
+        head.constant.getClass(),
+        ImmutableMap.copyOf(caseIndices),
+        reachableBranches.toArray(new PlannedInterpretable[0]),
+        defaultBranch);
+  }
+
+  EvalConditional chain() {
+    return chain;
+  }
+
+  int caseCount() {
+    return branches.length;
+  }
+
+  /** A specialized {@code attribute == constant} test. */
+  private static final class EqualityTest {
+    private final PlannedInterpretable discriminant;
+    private final Object constant;
+
+    private static @Nullable EqualityTest match(PlannedInterpretable condition) {
+      if (!(condition instanceof EvalSpecializedBinary)) {
+        return null;
+      }
+      EvalSpecializedBinary equality = (EvalSpecializedBinary) condition;
+      if (equality.operator() != SpecializedOperator.EQUALS) {
+        return null;
+      }
+      EqualityTest test = match(equality.arg1(), equality.arg2());
+      return test != null ? test : match(equality.arg2(), equality.arg1());
+    }
+
+    private static @Nullable EqualityTest match(
+        PlannedInterpretable attribute, PlannedInterpretable constant) {
+      Object value = constant.constantValue();
+      if (!(value instanceof String || value instanceof Long || value instanceof Boolean)) {
+        return null;
+      }
+      if (!isAttributePath(attribute.expr())) {
+        return null;
+      }
+      return new EqualityTest(attribute, value);
+    }
+
+    private boolean isSameDiscriminant(@Nullable EqualityTest other) {
+      return other != null
+          && constant.getClass() == other.constant.getClass()
+          && isSamePath(discriminant.expr(), other.discriminant.expr());
+    }
+
+    private EqualityTest(PlannedInterpretable discriminant, Object constant) {
+      this.discriminant = discriminant;
+      this.constant = constant;
+    }
+  }
+
+  private static boolean isAttributePath(CelExpr expr) {
+    while (expr.getKind().equals(Kind.SELECT)) {
+      if (expr.select().testOnly()) {
+        return false;
+      }
+      expr = expr.select().operand();
+    }
+    return expr.getKind().equals(Kind.IDENT);
+  }
+
+  private static boolean isSamePath(CelExpr expr, CelExpr other) {
+    while (expr.getKind().equals(Kind.SELECT)) {
+      if (!other.getKind().equals(Kind.SELECT)
+          || !expr.select().field().equals(other.select().field())) {
+        return false;
+      }
+      expr = expr.select().operand();
+      other = other.select().operand();
+    }
+    return other.getKind().equals(Kind.IDENT)
+        && expr.ident().name().equals(other.ident().name());
+  }
+
+  private EvalIndexedConditional(
+      EvalConditional chain,
+      PlannedInterpretable discriminant,
+      Class<?> keyType,
+      ImmutableMap<Object, Integer> caseIndices,
+      PlannedInterpretable[] branches,
+      PlannedInterpretable defaultBranch) {
+    super(chain.expr());
+    this.chain = chain;
+    this.discriminant = discriminant;
+    this.keyType = keyType;
+    this.caseIndices = caseIndices;
+    this.branches = branches;
+    this.defaultBranch = defaultBranch;
+  }
+}
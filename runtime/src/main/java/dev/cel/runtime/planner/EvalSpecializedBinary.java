@@ -0,0 +1,105 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import static dev.cel.runtime.planner.EvalHelpers.evalStrictly;
+
+import dev.cel.common.CelOptions;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.values.CelValueConverter;
+import dev.cel.runtime.AccumulatedUnknowns;
+import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.CelResolvedOverload;
+import dev.cel.runtime.GlobalResolver;
+
+/**
+ * Binary call to a standard operator that is evaluated inline when its operands have the expected
+ * runtime types, falling back to regular dispatch otherwise.
+ */
+final class EvalSpecializedBinary extends PlannedInterpretable {
+
+  private final String functionName;
+  private final SpecializedOperator operator;
+  private final CelResolvedOverload resolvedOverload;
+  private final PlannedInterpretable arg1;
+  private final PlannedInterpretable arg2;
+  private final CelValueConverter celValueConverter;
+  private final CelOptions options;
+
+  @Override
+  Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
+    Object argVal1 = evalStrictly(arg1, resolver, frame);
+    Object argVal2 = evalStrictly(arg2, resolver, frame);
+
+    Object result = operator.apply(argVal1, argVal2, options);
+    if (result != null) {
+      return result;
+    }
+
+    AccumulatedUnknowns unknowns = AccumulatedUnknowns.maybeMerge(null, argVal1);
+    unknowns = AccumulatedUnknowns.maybeMerge(unknowns, argVal2);
+
+    if (unknowns != null) {
+      return unknowns;
+    }
+
+    return EvalHelpers.dispatch(
+        functionName, resolvedOverload, celValueConverter, argVal1, argVal2);
+  }
+
+  SpecializedOperator operator() {
+    return operator;
+  }
+
+  PlannedInterpretable arg1() {
+    return arg1;
+  }
+
+  PlannedInterpretable arg2() {
+    return arg2;
+  }
+
+  static EvalSpecializedBinary create(
+      CelExpr expr,
+      String functionName,
+      SpecializedOperator operator,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable arg1,
+      PlannedInterpretable arg2,
+      CelValueConverter celValueConverter,
+      CelOptions options) {
+    return new EvalSpecializedBinary(
+        expr, functionName, operator, resolvedOverload, arg1, arg2, celValueConverter, options);
+  }
+
+  private EvalSpecializedBinary(
+      CelExpr expr,
+      String functionName,
+      SpecializedOperator operator,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable arg1,
+      PlannedInterpretable arg2,
+      CelValueConverter celValueConverter,
+      CelOptions options) {
+    super(expr);
+    this.functionName = functionName;
+    this.operator = operator;
+    this.resolvedOverload = resolvedOverload;
+    this.arg1 = arg1;
+    this.arg2 = arg2;
+    this.celValueConverter = celValueConverter;
+    this.options = options;
+  }
+}
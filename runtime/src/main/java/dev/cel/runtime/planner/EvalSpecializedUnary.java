@@ -0,0 +1,79 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import static dev.cel.runtime.planner.EvalHelpers.evalStrictly;
+
+import dev.cel.common.CelOptions;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.values.CelValueConverter;
+import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.CelResolvedOverload;
+import dev.cel.runtime.GlobalResolver;
+
+/**
+ * Unary call to a standard operator that is evaluated inline when its operand has the expected
+ * runtime type, falling back to regular dispatch otherwise.
+ */
+final class EvalSpecializedUnary extends PlannedInterpretable {
+
+  private final String functionName;
+  private final SpecializedOperator operator;
+  private final CelResolvedOverload resolvedOverload;
+  private final PlannedInterpretable arg;
+  private final CelValueConverter celValueConverter;
+  private final CelOptions options;
+
+  @Override
+  Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
+    Object argVal = evalStrictly(arg, resolver, frame);
+
+    Object result = operator.apply(argVal, options);
+    if (result != null) {
+      return result;
+    }
+
+    return EvalHelpers.dispatch(functionName, resolvedOverload, celValueConverter, argVal);
+  }
+
+  static EvalSpecializedUnary create(
+      CelExpr expr,
+      String functionName,
+      SpecializedOperator operator,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable arg,
+      CelValueConverter celValueConverter,
+      CelOptions options) {
+    return new EvalSpecializedUnary(
+        expr, functionName, operator, resolvedOverload, arg, celValueConverter, options);
+  }
+
+  private EvalSpecializedUnary(
+      CelExpr expr,
+      String functionName,
+      SpecializedOperator operator,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable arg,
+      CelValueConverter celValueConverter,
+      CelOptions options) {
+    super(expr);
+    this.functionName = functionName;
+    this.operator = operator;
+    this.resolvedOverload = resolvedOverload;
+    this.arg = arg;
+    this.celValueConverter = celValueConverter;
+    this.options = options;
+  }
+}
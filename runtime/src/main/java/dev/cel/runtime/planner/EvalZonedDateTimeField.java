@@ -0,0 +1,135 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import static dev.cel.runtime.planner.EvalHelpers.evalStrictly;
+
+import com.google.common.collect.ImmutableMap;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.internal.DateTimeHelpers;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
+import dev.cel.common.values.CelValueConverter;
+import dev.cel.runtime.AccumulatedUnknowns;
+import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.CelResolvedOverload;
+import dev.cel.runtime.GlobalResolver;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Call to a standard timestamp accessor taking a timezone literal, such as {@code
+ * ts.getHours('America/Los_Angeles')}. The timezone is resolved once at plan time rather than on
+ * every evaluation. Operands which are not {@link Instant} values fall back to regular dispatch.
+ */
+final class EvalZonedDateTimeField extends PlannedInterpretable {
+
+  /** Fields of the timestamp accessors which accept a timezone, keyed by standard overload ID. */
+  private static final ImmutableMap<String, DateTimeField> FIELDS_BY_OVERLOAD_ID =
+      ImmutableMap.<String, DateTimeField>builder()
+          .put("timestamp_to_year_with_tz", DateTimeField.FULL_YEAR)
+          .put("timestamp_to_month_with_tz", DateTimeField.MONTH)
+          .put("timestamp_to_day_of_year_with_tz", DateTimeField.DAY_OF_YEAR)
+          .put("timestamp_to_day_of_month_with_tz", DateTimeField.DAY_OF_MONTH)
+          .put("timestamp_to_day_of_month_1_based_with_tz", DateTimeField.DATE)
+          .put("timestamp_to_day_of_week_with_tz", DateTimeField.DAY_OF_WEEK)
+          .put("timestamp_to_hours_with_tz", DateTimeField.HOURS)
+          .put("timestamp_to_minutes_with_tz", DateTimeField.MINUTES)
+          .put("timestamp_to_seconds_with_tz", DateTimeField.SECONDS)
+          .put("timestamp_to_milliseconds_with_tz", DateTimeField.MILLISECONDS)
+          .buildOrThrow();
+
+  private final String functionName;
+  private final DateTimeField field;
+  private final ZoneId zoneId;
+  private final CelResolvedOverload resolvedOverload;
+  private final PlannedInterpretable timestamp;
+  private final PlannedInterpretable timeZone;
+  private final CelValueConverter celValueConverter;
+
+  @Override
+  Object evalInternal(GlobalResolver resolver, ExecutionFrame frame) throws CelEvaluationException {
+    Object timestampVal = evalStrictly(timestamp, resolver, frame);
+    if (timestampVal instanceof Instant) {
+      return field.get(DateTimeHelpers.newLocalDateTime((Instant) timestampVal, zoneId));
+    }
+
+    Object timeZoneVal = evalStrictly(timeZone, resolver, frame);
+    AccumulatedUnknowns unknowns = AccumulatedUnknowns.maybeMerge(null, timestampVal);
+    if (unknowns != null) {
+      return unknowns;
+    }
+
+    return EvalHelpers.dispatch(
+        functionName, resolvedOverload, celValueConverter, timestampVal, timeZoneVal);
+  }
+
+  /**
+   * Creates the specialized call if {@code overloadId} is a timestamp accessor with a timezone and
+   * {@code timeZoneLiteral} names a valid timezone. Returns null otherwise, in which case the call
+   * must be planned as usual so that an invalid timezone is reported at evaluation time.
+   */
+  static @Nullable EvalZonedDateTimeField maybeCreate(
+      CelExpr expr,
+      String functionName,
+      String overloadId,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable timestamp,
+      PlannedInterpretable timeZone,
+      String timeZoneLiteral,
+      CelValueConverter celValueConverter) {
+    DateTimeField field = FIELDS_BY_OVERLOAD_ID.get(overloadId);
+    if (field == null) {
+      return null;
+    }
+
+    ZoneId zoneId;
+    try {
+      zoneId = DateTimeHelpers.timeZone(timeZoneLiteral);
+    } catch (RuntimeException e) {
+      // Invalid timezones are reported when the call is evaluated.
+      return null;
+    }
+
+    return new EvalZonedDateTimeField(
+        expr,
+        functionName,
+        field,
+        zoneId,
+        resolvedOverload,
+        timestamp,
+        timeZone,
+        celValueConverter);
+  }
+
+  private EvalZonedDateTimeField(
+      CelExpr expr,
+      String functionName,
+      DateTimeField field,
+      ZoneId zoneId,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable timestamp,
+      PlannedInterpretable timeZone,
+      CelValueConverter celValueConverter) {
+    super(expr);
+    this.functionName = functionName;
+    this.field = field;
+    this.zoneId = zoneId;
+    this.resolvedOverload = resolvedOverload;
+    this.timestamp = timestamp;
+    this.timeZone = timeZone;
+    this.celValueConverter = celValueConverter;
+  }
+}
@@ -32,6 +32,7 @@ final class ExecutionFrame {
   private final CelFunctionResolver functionResolver;
   private final PartialVars partialVars;
   private final @Nullable CelEvaluationListener listener;
+  private final @Nullable CoverageCounters coverage;
   private int iterationCount;
   private BlockMemoizer blockMemoizer;
 
@@ -69,8 +70,17 @@ final class ExecutionFrame {
       CelOptions celOptions,
       @Nullable PartialVars partialVars,
       @Nullable CelEvaluationListener listener) {
+    return create(functionResolver, celOptions, partialVars, listener, /* coverage= */ null);
+  }
+
+  static ExecutionFrame create(
+      CelFunctionResolver functionResolver,
+      CelOptions celOptions,
+      @Nullable PartialVars partialVars,
+      @Nullable CelEvaluationListener listener,
+      @Nullable CoverageCounters coverage) {
     return new ExecutionFrame(
-        functionResolver, celOptions.comprehensionMaxIterations(), partialVars, listener);
+        functionResolver, celOptions.comprehensionMaxIterations(), partialVars, listener, coverage);
   }
 
   Optional<PartialVars> partialVars() {
@@ -81,14 +91,29 @@ final class ExecutionFrame {
     return listener;
   }
 
+  /** Returns the counters to record into, or null if this evaluation is not sampled. */
+  @Nullable CoverageCounters getCoverage() {
+    return coverage;
+  }
+
+  /**
+   * Returns true if a listener or coverage counters observe each node of this evaluation. Nodes
+   * must then evaluate all of their children rather than taking a shortcut around them.
+   */
+  boolean isObserved() {
+    return listener != null || coverage != null;
+  }
+
   private ExecutionFrame(
       CelFunctionResolver functionResolver,
       int limit,
       @Nullable PartialVars partialVars,
-      @Nullable CelEvaluationListener listener) {
+      @Nullable CelEvaluationListener listener,
+      @Nullable CoverageCounters coverage) {
     this.comprehensionIterationLimit = limit;
     this.functionResolver = functionResolver;
     this.partialVars = partialVars;
     this.listener = listener;
+    this.coverage = coverage;
   }
 }
@@ -0,0 +1,92 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.GlobalResolver;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Evaluation of a subexpression that has been forked onto an {@link Executor}.
+ *
+ * <p>A task is run at most once, either by the executor or by the thread joining it, whichever
+ * claims it first. This keeps bounded executors from deadlocking on nested forks.
+ */
+final class ForkedTask implements Runnable {
+  private final FutureTask<Object> result;
+  private final PlannedInterpretable interpretable;
+
+  static ForkedTask fork(
+      Executor executor,
+      PlannedInterpretable interpretable,
+      GlobalResolver resolver,
+      ExecutionFrame frame) {
+    ForkedTask task = new ForkedTask(interpretable, resolver, frame);
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // The task is evaluated on the joining thread instead.
+    }
+    return task;
+  }
+
+  @Override
+  public void run() {
+    // No-op if the task has already been claimed by another thread, or cancelled.
+    result.run();
+  }
+
+  /**
+   * Waits for the subexpression to finish, evaluating it on the calling thread if the executor has
+   * not started it yet. Exceptions raised by the subexpression are rethrown as-is.
+   */
+  Object join() throws CelEvaluationException {
+    run();
+    try {
+      return Uninterruptibles.getUninterruptibly(result);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof CelEvaluationException) {
+        throw (CelEvaluationException) cause;
+      }
+      Throwables.throwIfUnchecked(cause);
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Discards the task once its result is no longer needed. It is prevented from running if it has
+   * not been started yet, and otherwise its thread is interrupted, so that late-bound functions
+   * blocked on I/O stop early. Has no effect on a task which has completed.
+   */
+  void cancel() {
+    result.cancel(/* mayInterruptIfRunning= */ true);
+  }
+
+  PlannedInterpretable interpretable() {
+    return interpretable;
+  }
+
+  private ForkedTask(
+      PlannedInterpretable interpretable, GlobalResolver resolver, ExecutionFrame frame) {
+    this.interpretable = interpretable;
+    this.result = new FutureTask<>(() -> interpretable.eval(resolver, frame));
+  }
+}
@@ -20,6 +20,7 @@ import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.CelEvaluationListener;
 import dev.cel.runtime.GlobalResolver;
 import dev.cel.runtime.InterpreterUtil;
+import org.jspecify.annotations.Nullable;
 
 @Immutable
 abstract class PlannedInterpretable {
@@ -32,6 +33,10 @@ abstract class PlannedInterpretable {
     if (listener != null) {
       listener.callback(expr, InterpreterUtil.maybeAdaptToCelUnknownSet(result));
     }
+    CoverageCounters coverage = frame.getCoverage();
+    if (coverage != null) {
+      coverage.record(expr.id(), result);
+    }
     return result;
   }
 
@@ -42,6 +47,14 @@ abstract class PlannedInterpretable {
     return expr;
   }
 
+  /**
+   * Returns the value this node always evaluates to if it can be determined at plan time, or null
+   * otherwise.
+   */
+  @Nullable Object constantValue() {
+    return null;
+  }
+
   PlannedInterpretable(CelExpr expr) {
     this.expr = expr;
   }
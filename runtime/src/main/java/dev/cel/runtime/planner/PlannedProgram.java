@@ -67,6 +67,16 @@ public abstract class PlannedProgram implements Program {
 
   public abstract CelOptions options();
 
+  // Coverage counters are thread-safe and never affect evaluation results.
+  @SuppressWarnings("Immutable")
+  @AutoValue.CopyAnnotations
+  public abstract @Nullable CoverageCounters coverage();
+
+  /** Returns a copy of this program which records coverage into {@code coverage}. */
+  public PlannedProgram withCoverage(CoverageCounters coverage) {
+    return new AutoValue_PlannedProgram(interpretable(), metadata(), options(), coverage);
+  }
+
   @Override
   public Object eval() throws CelEvaluationException {
     return evalOrThrow(
@@ -137,8 +147,14 @@ public abstract class PlannedProgram implements Program {
       @Nullable CelEvaluationListener listener)
       throws CelEvaluationException {
     try {
+      CoverageCounters coverage = coverage();
       ExecutionFrame frame =
-          ExecutionFrame.create(functionResolver, options(), partialVars, listener);
+          ExecutionFrame.create(
+              functionResolver,
+              options(),
+              partialVars,
+              listener,
+              coverage != null && coverage.sample() ? coverage : null);
       Object evalResult = interpretable.eval(resolver, frame);
       if (evalResult instanceof ErrorValue) {
         ErrorValue errorValue = (ErrorValue) evalResult;
@@ -189,6 +205,6 @@ public abstract class PlannedProgram implements Program {
 
   static Program create(
       PlannedInterpretable interpretable, ErrorMetadata metadata, CelOptions options) {
-    return new AutoValue_PlannedProgram(interpretable, metadata, options);
+    return new AutoValue_PlannedProgram(interpretable, metadata, options, /* coverage= */ null);
   }
 }
@@ -14,11 +14,14 @@
 
 package dev.cel.runtime.planner;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.annotations.Immutable;
 import dev.cel.common.CelAbstractSyntaxTree;
@@ -38,6 +41,7 @@ import dev.cel.common.ast.CelExpr.CelStruct;
 import dev.cel.common.ast.CelExpr.CelStruct.Entry;
 import dev.cel.common.ast.CelReference;
 import dev.cel.common.exceptions.CelOverloadNotFoundException;
+import dev.cel.common.navigation.CelNavigableExpr;
 import dev.cel.common.types.CelKind;
 import dev.cel.common.types.CelType;
 import dev.cel.common.types.CelTypeProvider;
@@ -47,12 +51,17 @@ import dev.cel.common.values.CelValueConverter;
 import dev.cel.common.values.CelValueProvider;
 import dev.cel.runtime.CelEvaluationException;
 import dev.cel.runtime.CelEvaluationExceptionBuilder;
+import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.CelResolvedOverload;
 import dev.cel.runtime.DefaultDispatcher;
 import dev.cel.runtime.Program;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -71,6 +80,14 @@ public final class ProgramPlanner {
   private final CelValueConverter celValueConverter;
   private final ImmutableSet<String> lateBoundFunctionNames;
 
+  // A view excluding the overloads rebound by extensions, which shares the set of the planner it
+  // was extended from.
+  @SuppressWarnings("Immutable") // Difference of immutable sets.
+  private final Set<String> specializedOverloadIds;
+
+  @SuppressWarnings("Immutable") // Executors are expected to be thread-safe.
+  private final @Nullable Executor parallelEvaluationExecutor;
+
   /**
    * Plans a {@link Program} from the provided parsed-only or type-checked {@link
    * CelAbstractSyntaxTree}.
@@ -251,6 +268,10 @@ public final class ProgramPlanner {
     }
 
     ImmutableList<CelExpr> args = expr.call().args();
+    if (Operator.CONDITIONAL.getFunction().equals(functionName) && args.size() == 3) {
+      // A conditional in the falsy branch continues the chain, which is indexed at its head.
+      ctx.markChainedConditional(args.get(2).id());
+    }
     for (int argIndex = 0; argIndex < args.size(); argIndex++) {
       evaluatedArgs[argIndex + offset] = plan(args.get(argIndex), ctx);
     }
@@ -261,15 +282,24 @@ public final class ProgramPlanner {
         case LOGICAL_OR:
           return options.enableShortCircuiting()
               ? EvalOr.create(expr, evaluatedArgs)
-              : EvalExhaustiveOr.create(expr, evaluatedArgs);
+              : EvalExhaustiveOr.create(
+                  expr, evaluatedArgs, planConcurrentBranches(evaluatedArgs, args));
         case LOGICAL_AND:
           return options.enableShortCircuiting()
               ? EvalAnd.create(expr, evaluatedArgs)
-              : EvalExhaustiveAnd.create(expr, evaluatedArgs);
+              : EvalExhaustiveAnd.create(
+                  expr, evaluatedArgs, planConcurrentBranches(evaluatedArgs, args));
         case CONDITIONAL:
-          return options.enableShortCircuiting()
-              ? EvalConditional.create(expr, evaluatedArgs)
-              : EvalExhaustiveConditional.create(expr, evaluatedArgs);
+          if (options.enableShortCircuiting()) {
+            EvalConditional conditional = EvalConditional.create(expr, evaluatedArgs);
+            return ctx.isChainedConditional(expr.id())
+                ? conditional
+                : EvalIndexedConditional.indexChain(conditional);
+          }
+          return EvalExhaustiveConditional.create(
+              expr,
+              evaluatedArgs,
+              planConcurrentBranches(Arrays.copyOfRange(evaluatedArgs, 1, 3), args.subList(1, 3)));
         default:
           // fall-through
       }
@@ -311,13 +341,46 @@ public final class ProgramPlanner {
           expr, functionName, overloadIds, evaluatedArgs, celValueConverter);
     }
 
+    PlannedInterpretable zonedDateTimeField =
+        maybePlanZonedDateTimeField(expr, functionName, resolvedOverload, evaluatedArgs);
+    if (zonedDateTimeField != null) {
+      return zonedDateTimeField;
+    }
+
+    SpecializedOperator specializedOperator =
+        specializedOverloadIds.contains(resolvedOverload.getOverloadId())
+                && resolvedOverload.isStrict()
+            ? SpecializedOperator.forOverloadId(resolvedOverload.getOverloadId()).orElse(null)
+            : null;
+
     switch (argCount) {
       case 0:
         return EvalZeroArity.create(expr, functionName, resolvedOverload, celValueConverter);
       case 1:
+        if (specializedOperator != null) {
+          return EvalSpecializedUnary.create(
+              expr,
+              functionName,
+              specializedOperator,
+              resolvedOverload,
+              evaluatedArgs[0],
+              celValueConverter,
+              options);
+        }
         return EvalUnary.create(
             expr, functionName, resolvedOverload, evaluatedArgs[0], celValueConverter);
       case 2:
+        if (specializedOperator != null) {
+          return EvalSpecializedBinary.create(
+              expr,
+              functionName,
+              specializedOperator,
+              resolvedOverload,
+              evaluatedArgs[0],
+              evaluatedArgs[1],
+              celValueConverter,
+              options);
+        }
         return EvalBinary.create(
             expr,
             functionName,
@@ -331,6 +394,40 @@ public final class ProgramPlanner {
     }
   }
 
+  /**
+   * Plans a standard timestamp accessor whose timezone argument is a string literal, such as {@code
+   * ts.getHours('UTC')}, with the timezone resolved ahead of evaluation.
+   */
+  private @Nullable PlannedInterpretable maybePlanZonedDateTimeField(
+      CelExpr expr,
+      String functionName,
+      CelResolvedOverload resolvedOverload,
+      PlannedInterpretable[] evaluatedArgs) {
+    String overloadId = resolvedOverload.getOverloadId();
+    if (evaluatedArgs.length != 2
+        || !specializedOverloadIds.contains(overloadId)
+        || !resolvedOverload.isStrict()) {
+      return null;
+    }
+
+    ImmutableList<CelExpr> args = expr.call().args();
+    CelExpr timeZoneExpr = args.get(args.size() - 1);
+    if (!timeZoneExpr.getKind().equals(CelExpr.ExprKind.Kind.CONSTANT)
+        || !timeZoneExpr.constant().getKind().equals(CelConstant.Kind.STRING_VALUE)) {
+      return null;
+    }
+
+    return EvalZonedDateTimeField.maybeCreate(
+        expr,
+        functionName,
+        overloadId,
+        resolvedOverload,
+        evaluatedArgs[0],
+        evaluatedArgs[1],
+        timeZoneExpr.constant().stringValue(),
+        celValueConverter);
+  }
+
   private PlannedInterpretable planBlock(CelBlock celBlock, PlannerContext ctx) {
     ImmutableList<CelExpr> indices = celBlock.indices();
 
@@ -339,7 +436,63 @@ public final class ProgramPlanner {
       slotExprs[i] = plan(indices.get(i), ctx);
     }
     PlannedInterpretable resultExpr = plan(celBlock.result(), ctx);
-    return EvalBlock.create(celBlock.expr(), slotExprs, resultExpr);
+    return EvalBlock.create(
+        celBlock.expr(), slotExprs, resultExpr, planConcurrentBranches(slotExprs, indices));
+  }
+
+  /**
+   * Selects the subexpressions to evaluate concurrently when a parallel evaluation executor is
+   * configured. Returns null if all of them should be evaluated on the calling thread.
+   */
+  private @Nullable ConcurrentBranches planConcurrentBranches(
+      PlannedInterpretable[] branches, ImmutableList<CelExpr> branchExprs) {
+    if (parallelEvaluationExecutor == null) {
+      return null;
+    }
+
+    boolean[] isForked = new boolean[branchExprs.size()];
+    for (int i = 0; i < isForked.length; i++) {
+      isForked[i] = isWorthForking(branchExprs.get(i));
+    }
+
+    return ConcurrentBranches.create(parallelEvaluationExecutor, branches, isForked);
+  }
+
+  /**
+   * Determines whether a subexpression can safely be evaluated on another thread, and whether it
+   * is expensive enough to be worth doing so.
+   *
+   * <p>Comprehensions update the per-evaluation iteration budget and block slot references read
+   * the per-evaluation memoizer, so neither may leave the evaluating thread. Everything else is
+   * free of side effects. Of those, only subexpressions invoking a late-bound function, which may
+   * perform arbitrarily expensive work, are forked.
+   */
+  private boolean isWorthForking(CelExpr expr) {
+    boolean hasLateBoundCall = false;
+    for (CelExpr node :
+        CelNavigableExpr.fromExpr(expr)
+            .allNodes()
+            .map(CelNavigableExpr::expr)
+            .collect(toImmutableList())) {
+      switch (node.getKind()) {
+        case COMPREHENSION:
+          return false;
+        case IDENT:
+          if (node.ident().name().startsWith("@index")) {
+            return false;
+          }
+          break;
+        case CALL:
+          if (lateBoundFunctionNames.contains(node.call().function())) {
+            hasLateBoundCall = true;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    return hasLateBoundCall;
   }
 
   /**
@@ -631,6 +784,7 @@ public final class ProgramPlanner {
     private final ImmutableMap<Long, CelReference> referenceMap;
     private final ImmutableMap<Long, CelType> typeMap;
     private final HashMap<String, Integer> localVars = new HashMap<>();
+    private final HashSet<Long> chainedConditionals = new HashSet<>();
 
     ImmutableMap<Long, CelReference> referenceMap() {
       return referenceMap;
@@ -665,6 +819,15 @@ public final class ProgramPlanner {
       }
     }
 
+    private void markChainedConditional(long exprId) {
+      chainedConditionals.add(exprId);
+    }
+
+    /** Checks if the conditional is planned as the falsy branch of another conditional. */
+    private boolean isChainedConditional(long exprId) {
+      return chainedConditionals.remove(exprId);
+    }
+
     /** Checks if the given name is a local variable in the current scope. */
     private boolean isLocalVar(String name) {
       return localVars.containsKey(name);
@@ -681,6 +844,26 @@ public final class ProgramPlanner {
     }
   }
 
+  /**
+   * Returns a planner which additionally binds {@code functionBindings}, sharing the providers and
+   * the function overloads of this planner. Standard overloads which are rebound are no longer
+   * evaluated inline.
+   */
+  public ProgramPlanner extend(Iterable<CelFunctionBinding> functionBindings) {
+    ImmutableSet.Builder<String> reboundOverloadIds = ImmutableSet.builder();
+    functionBindings.forEach(binding -> reboundOverloadIds.add(binding.getOverloadId()));
+    return new ProgramPlanner(
+        typeProvider,
+        valueProvider,
+        dispatcher.extend(functionBindings),
+        celValueConverter,
+        container,
+        options,
+        lateBoundFunctionNames,
+        parallelEvaluationExecutor,
+        Sets.difference(specializedOverloadIds, reboundOverloadIds.build()));
+  }
+
   public static ProgramPlanner newPlanner(
       CelTypeProvider typeProvider,
       CelValueProvider valueProvider,
@@ -689,6 +872,59 @@ public final class ProgramPlanner {
       CelContainer container,
       CelOptions options,
       ImmutableSet<String> lateBoundFunctionNames) {
+    return newPlanner(
+        typeProvider,
+        valueProvider,
+        dispatcher,
+        celValueConverter,
+        container,
+        options,
+        lateBoundFunctionNames,
+        /* parallelEvaluationExecutor= */ null);
+  }
+
+  /**
+   * Creates a planner which evaluates independent, side-effect free branches of exhaustive logical
+   * operators and {@code cel.@block} slots concurrently on the supplied executor, if non-null.
+   */
+  public static ProgramPlanner newPlanner(
+      CelTypeProvider typeProvider,
+      CelValueProvider valueProvider,
+      DefaultDispatcher dispatcher,
+      CelValueConverter celValueConverter,
+      CelContainer container,
+      CelOptions options,
+      ImmutableSet<String> lateBoundFunctionNames,
+      @Nullable Executor parallelEvaluationExecutor) {
+    return newPlanner(
+        typeProvider,
+        valueProvider,
+        dispatcher,
+        celValueConverter,
+        container,
+        options,
+        lateBoundFunctionNames,
+        parallelEvaluationExecutor,
+        /* specializedOverloadIds= */ ImmutableSet.of());
+  }
+
+  /**
+   * Creates a planner which additionally evaluates calls to the given standard operator overloads
+   * inline, bypassing the dispatcher whenever the operands have the expected runtime types.
+   *
+   * <p>Callers must only supply overload IDs whose dispatcher bindings are the CEL standard
+   * implementations. Overloads without an inline form are dispatched as usual.
+   */
+  public static ProgramPlanner newPlanner(
+      CelTypeProvider typeProvider,
+      CelValueProvider valueProvider,
+      DefaultDispatcher dispatcher,
+      CelValueConverter celValueConverter,
+      CelContainer container,
+      CelOptions options,
+      ImmutableSet<String> lateBoundFunctionNames,
+      @Nullable Executor parallelEvaluationExecutor,
+      ImmutableSet<String> specializedOverloadIds) {
     return new ProgramPlanner(
         typeProvider,
         valueProvider,
@@ -696,7 +932,9 @@ public final class ProgramPlanner {
         celValueConverter,
         container,
         options,
-        lateBoundFunctionNames);
+        lateBoundFunctionNames,
+        parallelEvaluationExecutor,
+        specializedOverloadIds);
   }
 
   private ProgramPlanner(
@@ -706,7 +944,9 @@ public final class ProgramPlanner {
       CelValueConverter celValueConverter,
       CelContainer container,
       CelOptions options,
-      ImmutableSet<String> lateBoundFunctionNames) {
+      ImmutableSet<String> lateBoundFunctionNames,
+      @Nullable Executor parallelEvaluationExecutor,
+      Set<String> specializedOverloadIds) {
     this.typeProvider = typeProvider;
     this.valueProvider = valueProvider;
     this.dispatcher = dispatcher;
@@ -714,6 +954,8 @@ public final class ProgramPlanner {
     this.container = container;
     this.options = options;
     this.lateBoundFunctionNames = lateBoundFunctionNames;
+    this.parallelEvaluationExecutor = parallelEvaluationExecutor;
+    this.specializedOverloadIds = specializedOverloadIds;
     this.attributeFactory =
         AttributeFactory.newAttributeFactory(container, typeProvider, celValueConverter);
   }
@@ -0,0 +1,348 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.planner;
+
+import com.google.common.collect.ImmutableMap;
+import dev.cel.common.CelOptions;
+import dev.cel.common.exceptions.CelDivideByZeroException;
+import dev.cel.common.exceptions.CelNumericOverflowException;
+import dev.cel.runtime.RuntimeHelpers;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Standard operator overloads which the planner evaluates inline rather than through the
+ * dispatcher.
+ *
+ * <p>Each operator checks the runtime types of its operands and computes the result directly,
+ * mirroring the corresponding binding in {@code dev.cel.runtime.standard}. If the operands are not
+ * of the expected types (for example, when they are unknown or when a dynamic overload was
+ * selected at check time), {@code null} is returned and the caller must dispatch the overload as
+ * usual.
+ */
+enum SpecializedOperator {
+  ADD_INT64("add_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        try {
+          return RuntimeHelpers.int64Add((Long) x, (Long) y, options);
+        } catch (ArithmeticException e) {
+          throw new CelNumericOverflowException(e);
+        }
+      }
+      return null;
+    }
+  },
+  SUBTRACT_INT64("subtract_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        try {
+          return RuntimeHelpers.int64Subtract((Long) x, (Long) y, options);
+        } catch (ArithmeticException e) {
+          throw new CelNumericOverflowException(e);
+        }
+      }
+      return null;
+    }
+  },
+  MULTIPLY_INT64("multiply_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        try {
+          return RuntimeHelpers.int64Multiply((Long) x, (Long) y, options);
+        } catch (ArithmeticException e) {
+          throw new CelNumericOverflowException(e);
+        }
+      }
+      return null;
+    }
+  },
+  DIVIDE_INT64("divide_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        try {
+          return RuntimeHelpers.int64Divide((Long) x, (Long) y, options);
+        } catch (ArithmeticException e) {
+          throw new CelDivideByZeroException(e);
+        }
+      }
+      return null;
+    }
+  },
+  MODULO_INT64("modulo_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        return RuntimeHelpers.int64Mod((Long) x, (Long) y);
+      }
+      return null;
+    }
+  },
+  NEGATE_INT64("negate_int64") {
+    @Override
+    @Nullable Object apply(Object x, CelOptions options) {
+      if (x instanceof Long) {
+        try {
+          return RuntimeHelpers.int64Negate((Long) x, options);
+        } catch (ArithmeticException e) {
+          throw new CelNumericOverflowException(e);
+        }
+      }
+      return null;
+    }
+  },
+  ADD_DOUBLE("add_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x + (Double) y;
+      }
+      return null;
+    }
+  },
+  SUBTRACT_DOUBLE("subtract_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x - (Double) y;
+      }
+      return null;
+    }
+  },
+  MULTIPLY_DOUBLE("multiply_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x * (Double) y;
+      }
+      return null;
+    }
+  },
+  DIVIDE_DOUBLE("divide_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x / (Double) y;
+      }
+      return null;
+    }
+  },
+  NEGATE_DOUBLE("negate_double") {
+    @Override
+    @Nullable Object apply(Object x, CelOptions options) {
+      if (x instanceof Double) {
+        return -(Double) x;
+      }
+      return null;
+    }
+  },
+  ADD_STRING("add_string") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof String && y instanceof String) {
+        return (String) x + (String) y;
+      }
+      return null;
+    }
+  },
+  LESS_INT64("less_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        return (Long) x < (Long) y;
+      }
+      return null;
+    }
+  },
+  LESS_EQUALS_INT64("less_equals_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        return (Long) x <= (Long) y;
+      }
+      return null;
+    }
+  },
+  GREATER_INT64("greater_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        return (Long) x > (Long) y;
+      }
+      return null;
+    }
+  },
+  GREATER_EQUALS_INT64("greater_equals_int64") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Long && y instanceof Long) {
+        return (Long) x >= (Long) y;
+      }
+      return null;
+    }
+  },
+  LESS_DOUBLE("less_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x < (Double) y;
+      }
+      return null;
+    }
+  },
+  LESS_EQUALS_DOUBLE("less_equals_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x <= (Double) y;
+      }
+      return null;
+    }
+  },
+  GREATER_DOUBLE("greater_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x > (Double) y;
+      }
+      return null;
+    }
+  },
+  GREATER_EQUALS_DOUBLE("greater_equals_double") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof Double && y instanceof Double) {
+        return (Double) x >= (Double) y;
+      }
+      return null;
+    }
+  },
+  LESS_STRING("less_string") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof String && y instanceof String) {
+        return ((String) x).compareTo((String) y) < 0;
+      }
+      return null;
+    }
+  },
+  LESS_EQUALS_STRING("less_equals_string") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof String && y instanceof String) {
+        return ((String) x).compareTo((String) y) <= 0;
+      }
+      return null;
+    }
+  },
+  GREATER_STRING("greater_string") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof String && y instanceof String) {
+        return ((String) x).compareTo((String) y) > 0;
+      }
+      return null;
+    }
+  },
+  GREATER_EQUALS_STRING("greater_equals_string") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (x instanceof String && y instanceof String) {
+        return ((String) x).compareTo((String) y) >= 0;
+      }
+      return null;
+    }
+  },
+  EQUALS("equals") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      // Only operands of the same primitive kind are compared inline. Numeric values of differing
+      // kinds and aggregates are left to RuntimeEquality.
+      if (isInlineComparable(x, y)) {
+        return x.equals(y);
+      }
+      return null;
+    }
+  },
+  NOT_EQUALS("not_equals") {
+    @Override
+    @Nullable Object apply(Object x, Object y, CelOptions options) {
+      if (isInlineComparable(x, y)) {
+        return !x.equals(y);
+      }
+      return null;
+    }
+  },
+  LOGICAL_NOT("logical_not") {
+    @Override
+    @Nullable Object apply(Object x, CelOptions options) {
+      if (x instanceof Boolean) {
+        return !(Boolean) x;
+      }
+      return null;
+    }
+  };
+
+  private static final ImmutableMap<String, SpecializedOperator> BY_OVERLOAD_ID;
+
+  static {
+    ImmutableMap.Builder<String, SpecializedOperator> builder = ImmutableMap.builder();
+    for (SpecializedOperator operator : values()) {
+      builder.put(operator.overloadId, operator);
+    }
+    BY_OVERLOAD_ID = builder.buildOrThrow();
+  }
+
+  private final String overloadId;
+
+  /** Returns the specialized form of the standard overload, if one exists. */
+  static Optional<SpecializedOperator> forOverloadId(String overloadId) {
+    return Optional.ofNullable(BY_OVERLOAD_ID.get(overloadId));
+  }
+
+  String overloadId() {
+    return overloadId;
+  }
+
+  /**
+   * Computes the result of a unary operator, or returns null if the operand is not of the type
+   * handled inline.
+   */
+  @Nullable Object apply(Object x, CelOptions options) {
+    return null;
+  }
+
+  /**
+   * Computes the result of a binary operator, or returns null if the operands are not of the types
+   * handled inline.
+   */
+  @Nullable Object apply(Object x, Object y, CelOptions options) {
+    return null;
+  }
+
+  private static boolean isInlineComparable(Object x, Object y) {
+    return (x instanceof Long && y instanceof Long)
+        || (x instanceof String && y instanceof String)
+        || (x instanceof Boolean && y instanceof Boolean);
+  }
+
+  SpecializedOperator(String overloadId) {
+    this.overloadId = overloadId;
+  }
+}
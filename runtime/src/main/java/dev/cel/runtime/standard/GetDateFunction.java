@@ -20,6 +20,7 @@ import static dev.cel.common.internal.DateTimeHelpers.newLocalDateTime;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
 import java.time.Instant;
@@ -49,12 +50,12 @@ public final class GetDateFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_month_1_based",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getDayOfMonth());
+                (Instant ts) -> DateTimeField.DATE.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_month_1_based",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getDayOfMonth());
+                (Timestamp ts) -> DateTimeField.DATE.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_DAY_OF_MONTH_1_BASED_WITH_TZ(
@@ -64,13 +65,13 @@ public final class GetDateFunction extends CelStandardFunction {
                 "timestamp_to_day_of_month_1_based_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getDayOfMonth());
+                (Instant ts, String tz) -> DateTimeField.DATE.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_month_1_based_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getDayOfMonth());
+                (Timestamp ts, String tz) -> DateTimeField.DATE.get(newLocalDateTime(ts, tz)));
           }
         }),
     ;
@@ -20,6 +20,7 @@ import static dev.cel.common.internal.DateTimeHelpers.newLocalDateTime;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
 import java.time.Instant;
@@ -51,12 +52,12 @@ public final class GetDayOfMonthFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_month",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getDayOfMonth() - 1);
+                (Instant ts) -> DateTimeField.DAY_OF_MONTH.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_month",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getDayOfMonth() - 1);
+                (Timestamp ts) -> DateTimeField.DAY_OF_MONTH.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_DAY_OF_MONTH_WITH_TZ(
@@ -66,13 +67,15 @@ public final class GetDayOfMonthFunction extends CelStandardFunction {
                 "timestamp_to_day_of_month_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getDayOfMonth() - 1);
+                (Instant ts, String tz) ->
+                    DateTimeField.DAY_OF_MONTH.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_month_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getDayOfMonth() - 1);
+                (Timestamp ts, String tz) ->
+                    DateTimeField.DAY_OF_MONTH.get(newLocalDateTime(ts, tz)));
           }
         }),
     ;
@@ -20,9 +20,9 @@ import static dev.cel.common.internal.DateTimeHelpers.newLocalDateTime;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
-import java.time.DayOfWeek;
 import java.time.Instant;
 import java.util.Arrays;
 
@@ -52,20 +52,12 @@ public final class GetDayOfWeekFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_week",
                 Instant.class,
-                (Instant ts) -> {
-                  // CEL treats Sunday as day 0, but Java.time treats it as day 7.
-                  DayOfWeek dayOfWeek = newLocalDateTime(ts, UTC).getDayOfWeek();
-                  return (long) dayOfWeek.getValue() % 7;
-                });
+                (Instant ts) -> DateTimeField.DAY_OF_WEEK.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_week",
                 Timestamp.class,
-                (Timestamp ts) -> {
-                  // CEL treats Sunday as day 0, but Java.time treats it as day 7.
-                  DayOfWeek dayOfWeek = newLocalDateTime(ts, UTC).getDayOfWeek();
-                  return (long) dayOfWeek.getValue() % 7;
-                });
+                (Timestamp ts) -> DateTimeField.DAY_OF_WEEK.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_DAY_OF_WEEK_WITH_TZ(
@@ -75,21 +67,14 @@ public final class GetDayOfWeekFunction extends CelStandardFunction {
                 "timestamp_to_day_of_week_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> {
-                  // CEL treats Sunday as day 0, but Java.time treats it as day 7.
-                  DayOfWeek dayOfWeek = newLocalDateTime(ts, tz).getDayOfWeek();
-                  return (long) dayOfWeek.getValue() % 7;
-                });
+                (Instant ts, String tz) -> DateTimeField.DAY_OF_WEEK.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_day_of_week_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> {
-                  // CEL treats Sunday as day 0, but Java.time treats it as day 7.
-                  DayOfWeek dayOfWeek = newLocalDateTime(ts, tz).getDayOfWeek();
-                  return (long) dayOfWeek.getValue() % 7;
-                });
+                (Timestamp ts, String tz) ->
+                    DateTimeField.DAY_OF_WEEK.get(newLocalDateTime(ts, tz)));
           }
         });
     private final CelStandardOverload standardOverload;
@@ -20,6 +20,7 @@ import static dev.cel.common.internal.DateTimeHelpers.newLocalDateTime;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
 import java.time.Instant;
@@ -50,12 +51,12 @@ public final class GetFullYearFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_year",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getYear());
+                (Instant ts) -> DateTimeField.FULL_YEAR.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_year",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getYear());
+                (Timestamp ts) -> DateTimeField.FULL_YEAR.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_YEAR_WITH_TZ(
@@ -65,13 +66,13 @@ public final class GetFullYearFunction extends CelStandardFunction {
                 "timestamp_to_year_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getYear());
+                (Instant ts, String tz) -> DateTimeField.FULL_YEAR.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_year_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getYear());
+                (Timestamp ts, String tz) -> DateTimeField.FULL_YEAR.get(newLocalDateTime(ts, tz)));
           }
         }),
     ;
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Duration;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.common.internal.ProtoTimeUtils;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
@@ -51,12 +52,12 @@ public final class GetHoursFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_hours",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getHour());
+                (Instant ts) -> DateTimeField.HOURS.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_hours",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getHour());
+                (Timestamp ts) -> DateTimeField.HOURS.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_HOURS_WITH_TZ(
@@ -66,13 +67,13 @@ public final class GetHoursFunction extends CelStandardFunction {
                 "timestamp_to_hours_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getHour());
+                (Instant ts, String tz) -> DateTimeField.HOURS.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_hours_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getHour());
+                (Timestamp ts, String tz) -> DateTimeField.HOURS.get(newLocalDateTime(ts, tz)));
           }
         }),
     DURATION_TO_HOURS(
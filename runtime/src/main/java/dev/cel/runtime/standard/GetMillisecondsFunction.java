@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Duration;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.common.internal.ProtoTimeUtils;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
@@ -48,24 +49,20 @@ public final class GetMillisecondsFunction extends CelStandardFunction {
 
   /** Overloads for the standard function. */
   public enum GetMillisecondsOverload implements CelStandardOverload {
-    // We specifically need to only access nanos-of-second field for
-    // timestamp_to_milliseconds overload
-    @SuppressWarnings("JavaLocalDateTimeGetNano")
     TIMESTAMP_TO_MILLISECONDS(
         (celOptions, runtimeEquality) -> {
           if (celOptions.evaluateCanonicalTypesToNativeValues()) {
             return CelFunctionBinding.from(
                 "timestamp_to_milliseconds",
                 Instant.class,
-                (Instant ts) -> (long) (newLocalDateTime(ts, UTC).getNano() / 1e+6));
+                (Instant ts) -> DateTimeField.MILLISECONDS.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_milliseconds",
                 Timestamp.class,
-                (Timestamp ts) -> (long) (newLocalDateTime(ts, UTC).getNano() / 1e+6));
+                (Timestamp ts) -> DateTimeField.MILLISECONDS.get(newLocalDateTime(ts, UTC)));
           }
         }),
-    @SuppressWarnings("JavaLocalDateTimeGetNano")
     TIMESTAMP_TO_MILLISECONDS_WITH_TZ(
         (celOptions, runtimeEquality) -> {
           if (celOptions.evaluateCanonicalTypesToNativeValues()) {
@@ -73,13 +70,15 @@ public final class GetMillisecondsFunction extends CelStandardFunction {
                 "timestamp_to_milliseconds_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) (newLocalDateTime(ts, tz).getNano() / 1e+6));
+                (Instant ts, String tz) ->
+                    DateTimeField.MILLISECONDS.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_milliseconds_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) (newLocalDateTime(ts, tz).getNano() / 1e+6));
+                (Timestamp ts, String tz) ->
+                    DateTimeField.MILLISECONDS.get(newLocalDateTime(ts, tz)));
           }
         }),
     DURATION_TO_MILLISECONDS(
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Duration;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.common.internal.ProtoTimeUtils;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
@@ -52,12 +53,12 @@ public final class GetMinutesFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_minutes",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getMinute());
+                (Instant ts) -> DateTimeField.MINUTES.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_minutes",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getMinute());
+                (Timestamp ts) -> DateTimeField.MINUTES.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_MINUTES_WITH_TZ(
@@ -67,13 +68,13 @@ public final class GetMinutesFunction extends CelStandardFunction {
                 "timestamp_to_minutes_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getMinute());
+                (Instant ts, String tz) -> DateTimeField.MINUTES.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_minutes_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getMinute());
+                (Timestamp ts, String tz) -> DateTimeField.MINUTES.get(newLocalDateTime(ts, tz)));
           }
         }),
     DURATION_TO_MINUTES(
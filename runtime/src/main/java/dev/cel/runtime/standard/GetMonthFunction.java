@@ -20,6 +20,7 @@ import static dev.cel.common.internal.DateTimeHelpers.newLocalDateTime;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
 import java.time.Instant;
@@ -49,12 +50,12 @@ public final class GetMonthFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_month",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getMonthValue() - 1);
+                (Instant ts) -> DateTimeField.MONTH.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_month",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getMonthValue() - 1);
+                (Timestamp ts) -> DateTimeField.MONTH.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_MONTH_WITH_TZ(
@@ -64,13 +65,13 @@ public final class GetMonthFunction extends CelStandardFunction {
                 "timestamp_to_month_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getMonthValue() - 1);
+                (Instant ts, String tz) -> DateTimeField.MONTH.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_month_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getMonthValue() - 1);
+                (Timestamp ts, String tz) -> DateTimeField.MONTH.get(newLocalDateTime(ts, tz)));
           }
         }),
     ;
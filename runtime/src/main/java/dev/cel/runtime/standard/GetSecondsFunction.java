@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Duration;
 import com.google.protobuf.Timestamp;
 import dev.cel.common.CelOptions;
+import dev.cel.common.internal.DateTimeHelpers.DateTimeField;
 import dev.cel.common.internal.ProtoTimeUtils;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
@@ -53,12 +54,12 @@ public final class GetSecondsFunction extends CelStandardFunction {
             return CelFunctionBinding.from(
                 "timestamp_to_seconds",
                 Instant.class,
-                (Instant ts) -> (long) newLocalDateTime(ts, UTC).getSecond());
+                (Instant ts) -> DateTimeField.SECONDS.get(newLocalDateTime(ts, UTC)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_seconds",
                 Timestamp.class,
-                (Timestamp ts) -> (long) newLocalDateTime(ts, UTC).getSecond());
+                (Timestamp ts) -> DateTimeField.SECONDS.get(newLocalDateTime(ts, UTC)));
           }
         }),
     TIMESTAMP_TO_SECONDS_WITH_TZ(
@@ -68,13 +69,13 @@ public final class GetSecondsFunction extends CelStandardFunction {
                 "timestamp_to_seconds_with_tz",
                 Instant.class,
                 String.class,
-                (Instant ts, String tz) -> (long) newLocalDateTime(ts, tz).getSecond());
+                (Instant ts, String tz) -> DateTimeField.SECONDS.get(newLocalDateTime(ts, tz)));
           } else {
             return CelFunctionBinding.from(
                 "timestamp_to_seconds_with_tz",
                 Timestamp.class,
                 String.class,
-                (Timestamp ts, String tz) -> (long) newLocalDateTime(ts, tz).getSecond());
+                (Timestamp ts, String tz) -> DateTimeField.SECONDS.get(newLocalDateTime(ts, tz)));
           }
         }),
     DURATION_TO_SECONDS(
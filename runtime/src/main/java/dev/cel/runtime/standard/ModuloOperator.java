@@ -19,7 +19,6 @@ import static dev.cel.common.Operator.MODULO;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.UnsignedLong;
 import dev.cel.common.CelOptions;
-import dev.cel.common.exceptions.CelDivideByZeroException;
 import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.RuntimeEquality;
 import dev.cel.runtime.RuntimeHelpers;
@@ -46,16 +45,7 @@ public final class ModuloOperator extends CelStandardFunction {
     MODULO_INT64(
         (celOptions, runtimeEquality) ->
             CelFunctionBinding.from(
-                "modulo_int64",
-                Long.class,
-                Long.class,
-                (Long x, Long y) -> {
-                  try {
-                    return x % y;
-                  } catch (ArithmeticException e) {
-                    throw new CelDivideByZeroException(e);
-                  }
-                })),
+                "modulo_int64", Long.class, Long.class, RuntimeHelpers::int64Mod)),
     MODULO_UINT64(
         (celOptions, runtimeEquality) -> {
           if (celOptions.enableUnsignedLongs()) {
@@ -0,0 +1,87 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.testing.junit.testparameterinjector.TestParameter;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import com.google.testing.junit.testparameterinjector.TestParameters;
+import dev.cel.bundle.Cel;
+import dev.cel.common.types.MapType;
+import dev.cel.common.types.SimpleType;
+import dev.cel.common.values.JsonMapValue;
+import dev.cel.parser.CelStandardMacro;
+import dev.cel.testing.CelRuntimeFlavor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public class CelJsonValueTest {
+
+  private static final String PAYLOAD =
+      "{\"user\": {\"id\": \"u-1\", \"roles\": [\"admin\", \"dev\"], \"age\": 42},"
+          + " \"items\": [{\"price\": 10.5}, {\"price\": 2}], \"debug\": null}";
+
+  @TestParameter private CelRuntimeFlavor runtimeFlavor;
+
+  private Cel cel;
+
+  @Before
+  public void setUp() {
+    cel =
+        runtimeFlavor
+            .builder()
+            .setStandardMacros(CelStandardMacro.STANDARD_MACROS)
+            .addVar("request", MapType.create(SimpleType.STRING, SimpleType.DYN))
+            .build();
+  }
+
+  @Test
+  @TestParameters("{expression: 'request.user.id == \"u-1\"', expected: true}")
+  @TestParameters("{expression: 'request[\"user\"][\"age\"] > 40.0', expected: true}")
+  @TestParameters("{expression: '\"admin\" in request.user.roles', expected: true}")
+  @TestParameters("{expression: 'request.user.roles[1] == \"dev\"', expected: true}")
+  @TestParameters("{expression: 'has(request.user.email)', expected: false}")
+  @TestParameters("{expression: 'has(request.debug)', expected: true}")
+  @TestParameters("{expression: 'request.debug == null', expected: true}")
+  @TestParameters("{expression: 'size(request) == 3 && size(request.items) == 2', expected: true}")
+  @TestParameters("{expression: 'request.items.exists(i, i.price > 10.0)', expected: true}")
+  @TestParameters("{expression: 'request.items.all(i, i.price > 10.0)', expected: false}")
+  @TestParameters("{expression: 'request.user.all(k, k != \"email\")', expected: true}")
+  public void eval_jsonMap(String expression, boolean expected) throws Exception {
+    Object result =
+        cel.createProgram(cel.compile(expression).getAst())
+            .eval(ImmutableMap.of("request", JsonMapValue.wrap(PAYLOAD.getBytes(UTF_8))));
+
+    assertThat(result).isEqualTo(expected);
+  }
+
+  @Test
+  public void eval_missingKey_throws() throws Exception {
+    CelEvaluationException e =
+        assertThrows(
+            CelEvaluationException.class,
+            () ->
+                cel.createProgram(cel.compile("request.user.email == ''").getAst())
+                    .eval(ImmutableMap.of("request", JsonMapValue.wrap(PAYLOAD.getBytes(UTF_8)))));
+
+    assertThat(e).hasMessageThat().contains("email");
+  }
+}
@@ -0,0 +1,97 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.testing.junit.testparameterinjector.TestParameter;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import com.google.testing.junit.testparameterinjector.TestParameters;
+import dev.cel.bundle.Cel;
+import dev.cel.common.types.MapType;
+import dev.cel.common.types.SimpleType;
+import dev.cel.common.values.MappedMapValue;
+import dev.cel.parser.CelStandardMacro;
+import dev.cel.testing.CelRuntimeFlavor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public class CelMappedMapLoaderTest {
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @TestParameter private CelRuntimeFlavor runtimeFlavor;
+
+  private MappedMapValue reputation;
+  private Cel cel;
+
+  @Before
+  public void setUp() throws Exception {
+    Path path = tempFolder.newFile("reputation.celmap").toPath();
+    CelMappedMapLoader.write(
+        ImmutableMap.of("10.0.0.1", 0.9, "10.0.0.2", 0.1, "192.168.0.1", 0.5), path);
+    reputation = CelMappedMapLoader.load(path);
+    cel =
+        runtimeFlavor
+            .builder()
+            .setStandardMacros(CelStandardMacro.STANDARD_MACROS)
+            .addVar("reputation", MapType.create(SimpleType.STRING, SimpleType.DOUBLE))
+            .addVar("ip", SimpleType.STRING)
+            .build();
+  }
+
+  @Test
+  @TestParameters("{expression: 'reputation[ip] > 0.5', expected: true}")
+  @TestParameters("{expression: 'ip in reputation', expected: true}")
+  @TestParameters("{expression: '\"1.1.1.1\" in reputation', expected: false}")
+  @TestParameters("{expression: 'has(reputation.missing)', expected: false}")
+  @TestParameters("{expression: 'size(reputation) == 3', expected: true}")
+  @TestParameters("{expression: 'reputation.exists(k, reputation[k] < 0.2)', expected: true}")
+  public void eval_mappedMap(String expression, boolean expected) throws Exception {
+    Object result =
+        cel.createProgram(cel.compile(expression).getAst())
+            .eval(ImmutableMap.of("reputation", reputation, "ip", "10.0.0.1"));
+
+    assertThat(result).isEqualTo(expected);
+  }
+
+  @Test
+  public void eval_missingKey_throws() throws Exception {
+    CelEvaluationException e =
+        assertThrows(
+            CelEvaluationException.class,
+            () ->
+                cel.createProgram(cel.compile("reputation[ip]").getAst())
+                    .eval(ImmutableMap.of("reputation", reputation, "ip", "1.1.1.1")));
+
+    assertThat(e).hasMessageThat().contains("1.1.1.1");
+  }
+
+  @Test
+  public void load_notATable_throws() throws Exception {
+    Path path = tempFolder.newFile("invalid.celmap").toPath();
+    Files.write(path, new byte[] {1, 2, 3});
+
+    assertThrows(IllegalArgumentException.class, () -> CelMappedMapLoader.load(path));
+  }
+}
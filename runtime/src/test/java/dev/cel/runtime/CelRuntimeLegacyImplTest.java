@@ -16,9 +16,17 @@ package dev.cel.runtime;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.Message;
+import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelException;
+import dev.cel.common.CelSource;
+import dev.cel.common.ast.CelConstant;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelReference;
 import dev.cel.common.exceptions.CelDivideByZeroException;
+import dev.cel.common.types.SimpleType;
 import dev.cel.common.values.CelValueProvider;
 import dev.cel.compiler.CelCompiler;
 import dev.cel.compiler.CelCompilerFactory;
@@ -125,4 +133,25 @@ public final class CelRuntimeLegacyImplTest {
         .isEqualTo(overriddenStandardFunctions);
     assertThat(newRuntimeBuilder.celValueProvider).isEqualTo(noOpValueProvider);
   }
+
+  @Test
+  public void createProgram_unsupportedConstantInUnevaluatedBranch_succeeds() throws Exception {
+    CelExpr logicalAnd =
+        CelExpr.ofCall(
+            1L,
+            Optional.empty(),
+            "_&&_",
+            ImmutableList.of(
+                CelExpr.ofConstant(2L, CelConstant.ofValue(false)),
+                CelExpr.ofConstant(3L, CelConstant.ofNotSet())));
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            logicalAnd,
+            CelSource.newBuilder().build(),
+            ImmutableMap.of(1L, CelReference.newBuilder().addOverloadIds("logical_and").build()),
+            ImmutableMap.of(1L, SimpleType.BOOL, 2L, SimpleType.BOOL, 3L, SimpleType.BOOL));
+    CelRuntime celRuntime = CelRuntimeFactory.standardCelRuntimeBuilder().build();
+
+    assertThat(celRuntime.createProgram(ast).eval()).isEqualTo(false);
+  }
 }
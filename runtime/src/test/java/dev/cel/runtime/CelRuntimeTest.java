@@ -56,6 +56,8 @@ import dev.cel.extensions.CelExtensions;
 import dev.cel.parser.CelStandardMacro;
 import dev.cel.parser.CelUnparserFactory;
 import dev.cel.testing.CelRuntimeFlavor;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -192,6 +194,220 @@ public class CelRuntimeTest {
     assertThat(celRuntime.createProgram(ast).eval()).isEqualTo(false);
   }
 
+  @Test
+  public void tieredEvaluation_promotesAfterThreshold() throws Exception {
+    List<Runnable> promotionTasks = new ArrayList<>();
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("x", SimpleType.INT).build();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder()
+            .setTieredEvaluation(/* promotionThreshold= */ 2, promotionTasks::add)
+            .build();
+    CelRuntime.Program program =
+        celRuntime.createProgram(celCompiler.compile("x * 2 + 1 > 10").getAst());
+
+    assertThat(program.eval(ImmutableMap.of("x", 5L))).isEqualTo(true);
+    assertThat(program.tierMetrics().get().tier()).isEqualTo(ProgramTierMetrics.Tier.BASELINE);
+    assertThat(promotionTasks).isEmpty();
+
+    assertThat(program.eval(ImmutableMap.of("x", 4L))).isEqualTo(false);
+    assertThat(program.tierMetrics().get().tier()).isEqualTo(ProgramTierMetrics.Tier.PROMOTING);
+    assertThat(promotionTasks).hasSize(1);
+
+    promotionTasks.get(0).run();
+    assertThat(program.eval(ImmutableMap.of("x", 5L))).isEqualTo(true);
+    assertThat(program.eval(ImmutableMap.of("x", 4L))).isEqualTo(false);
+    ProgramTierMetrics metrics = program.tierMetrics().get();
+    assertThat(metrics.tier()).isEqualTo(ProgramTierMetrics.Tier.PROMOTED);
+    assertThat(metrics.evaluationCount()).isEqualTo(4);
+    assertThat(metrics.promotionThreshold()).isEqualTo(2);
+    assertThat(metrics.promotionLatency()).isPresent();
+    // Promotion is only scheduled once.
+    assertThat(promotionTasks).hasSize(1);
+  }
+
+  @Test
+  public void tieredEvaluation_promotedProgramPreservesErrors() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("x", SimpleType.INT).build();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder()
+            .setTieredEvaluation(/* promotionThreshold= */ 1, Runnable::run)
+            .build();
+    CelRuntime.Program program = celRuntime.createProgram(celCompiler.compile("10 / x").getAst());
+
+    assertThat(program.eval(ImmutableMap.of("x", 2L))).isEqualTo(5L);
+    assertThat(program.tierMetrics().get().tier()).isEqualTo(ProgramTierMetrics.Tier.PROMOTED);
+    CelEvaluationException e =
+        assertThrows(CelEvaluationException.class, () -> program.eval(ImmutableMap.of("x", 0L)));
+    assertThat(e.getErrorCode()).isEqualTo(CelErrorCode.DIVIDE_BY_ZERO);
+  }
+
+  @Test
+  public void tieredEvaluation_operatorSpecializationEnabled_notPromoted() throws Exception {
+    List<Runnable> promotionTasks = new ArrayList<>();
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("x", SimpleType.INT).build();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder()
+            .setOperatorSpecializationEnabled(true)
+            .setTieredEvaluation(/* promotionThreshold= */ 1, promotionTasks::add)
+            .build();
+    CelRuntime.Program program =
+        celRuntime.createProgram(celCompiler.compile("x * 2 + 1 > 10").getAst());
+
+    assertThat(program.eval(ImmutableMap.of("x", 5L))).isEqualTo(true);
+    assertThat(program.eval(ImmutableMap.of("x", 4L))).isEqualTo(false);
+
+    assertThat(promotionTasks).isEmpty();
+    assertThat(program.tierMetrics()).isEmpty();
+  }
+
+  @Test
+  public void tieredEvaluation_disabled_noMetrics() throws Exception {
+    CelCompiler celCompiler = CelCompilerFactory.standardCelCompilerBuilder().build();
+    CelRuntime celRuntime = CelRuntimeFactory.plannerRuntimeBuilder().build();
+    CelRuntime.Program program = celRuntime.createProgram(celCompiler.compile("1 + 1").getAst());
+
+    assertThat(program.tierMetrics()).isEmpty();
+  }
+
+  @Test
+  @TestParameters("{expression: \"ts.getHours('America/Los_Angeles')\"}")
+  @TestParameters("{expression: \"ts.getDayOfWeek('Asia/Kolkata')\"}")
+  @TestParameters("{expression: \"ts.getDate('-09:30')\"}")
+  @TestParameters("{expression: \"ts.getMilliseconds('UTC')\"}")
+  @TestParameters("{expression: \"ts.getFullYear('Pacific/Kiritimati')\"}")
+  public void timeZoneLiteral_specialized_matchesDispatch(String expression) throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("ts", SimpleType.TIMESTAMP).build();
+    CelAbstractSyntaxTree ast = celCompiler.compile(expression).getAst();
+    ImmutableMap<String, Object> input =
+        ImmutableMap.of("ts", Instant.parse("2024-12-31T23:30:00.125Z"));
+
+    Object specialized =
+        CelRuntimeFactory.plannerRuntimeBuilder()
+            .setOperatorSpecializationEnabled(true)
+            .build()
+            .createProgram(ast)
+            .eval(input);
+    Object dispatched =
+        CelRuntimeFactory.plannerRuntimeBuilder().build().createProgram(ast).eval(input);
+
+    assertThat(specialized).isEqualTo(dispatched);
+  }
+
+  @Test
+  @TestParameters("{text: '2024-06-15t08:30:00z'}")
+  @TestParameters("{text: '2024-06-15T08:30Z'}")
+  @TestParameters("{text: '2024-06-15T09:30:00.+01'}")
+  @TestParameters("{text: '2024-06-15T07:59:45-00:30:15'}")
+  public void timestampConversion_acceptsIsoOffsetDateTime(String text) throws Exception {
+    CelCompiler celCompiler = CelCompilerFactory.standardCelCompilerBuilder().build();
+    CelAbstractSyntaxTree ast =
+        celCompiler
+            .compile("timestamp('" + text + "') == timestamp('2024-06-15T08:30:00Z')")
+            .getAst();
+
+    Object result = CelRuntimeFactory.plannerRuntimeBuilder().build().createProgram(ast).eval();
+
+    assertThat(result).isEqualTo(true);
+  }
+
+  @Test
+  public void timeZoneLiteral_invalid_throwsOnEvaluation() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("ts", SimpleType.TIMESTAMP).build();
+    CelAbstractSyntaxTree ast = celCompiler.compile("ts.getHours('Not/AZone')").getAst();
+    CelRuntime.Program program =
+        CelRuntimeFactory.plannerRuntimeBuilder()
+            .setOperatorSpecializationEnabled(true)
+            .build()
+            .createProgram(ast);
+
+    assertThrows(
+        CelEvaluationException.class,
+        () -> program.eval(ImmutableMap.of("ts", Instant.EPOCH)));
+  }
+
+  @Test
+  public void coverageSampling_countsHitsAndOutcomes() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("x", SimpleType.INT).build();
+    CelAbstractSyntaxTree ast = celCompiler.compile("x > 1 ? 'big' : 'small'").getAst();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder().setCoverageSampleRate(1).build();
+    CelRuntime.Program program = celRuntime.createProgram(ast);
+
+    program.eval(ImmutableMap.of("x", 5L));
+    program.eval(ImmutableMap.of("x", 7L));
+    program.eval(ImmutableMap.of("x", 0L));
+
+    ProgramCoverage coverage = program.coverage().get();
+    long conditionId = ast.getExpr().call().args().get(0).id();
+    long truthyId = ast.getExpr().call().args().get(1).id();
+    assertThat(coverage.sampledEvaluations()).isEqualTo(3);
+    assertThat(coverage.nodes().get(conditionId).hitCount()).isEqualTo(3);
+    assertThat(coverage.nodes().get(conditionId).trueCount()).isEqualTo(2);
+    assertThat(coverage.nodes().get(conditionId).falseCount()).isEqualTo(1);
+    assertThat(coverage.nodes().get(truthyId).hitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void coverageSampling_disabled_noCoverage() throws Exception {
+    CelCompiler celCompiler = CelCompilerFactory.standardCelCompilerBuilder().build();
+    CelRuntime celRuntime = CelRuntimeFactory.plannerRuntimeBuilder().build();
+    CelRuntime.Program program = celRuntime.createProgram(celCompiler.compile("1 + 1").getAst());
+
+    assertThat(program.coverage()).isEmpty();
+  }
+
+  @Test
+  public void coverageSampling_constantListAndMap_countsElements() throws Exception {
+    CelCompiler celCompiler = CelCompilerFactory.standardCelCompilerBuilder().build();
+    CelAbstractSyntaxTree listAst = celCompiler.compile("[1, 2, 3]").getAst();
+    CelAbstractSyntaxTree mapAst = celCompiler.compile("{'a': 1}").getAst();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder().setCoverageSampleRate(1).build();
+    CelRuntime.Program listProgram = celRuntime.createProgram(listAst);
+    CelRuntime.Program mapProgram = celRuntime.createProgram(mapAst);
+
+    assertThat(listProgram.eval()).isEqualTo(ImmutableList.of(1L, 2L, 3L));
+    assertThat(mapProgram.eval()).isEqualTo(ImmutableMap.of("a", 1L));
+
+    ProgramCoverage listCoverage = listProgram.coverage().get();
+    for (CelExpr element : listAst.getExpr().list().elements()) {
+      assertThat(listCoverage.nodes().get(element.id()).hitCount()).isEqualTo(1);
+    }
+    ProgramCoverage mapCoverage = mapProgram.coverage().get();
+    CelExpr.CelMap.Entry entry = mapAst.getExpr().map().entries().get(0);
+    assertThat(mapCoverage.nodes().get(entry.key().id()).hitCount()).isEqualTo(1);
+    assertThat(mapCoverage.nodes().get(entry.value().id()).hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void coverageSampling_promotedEqualityChain_countsConditions() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder().addVar("x", SimpleType.STRING).build();
+    CelAbstractSyntaxTree ast =
+        celCompiler.compile("x == 'a' ? 1 : (x == 'b' ? 2 : (x == 'c' ? 3 : 4))").getAst();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder()
+            .setCoverageSampleRate(1)
+            .setTieredEvaluation(/* promotionThreshold= */ 1, Runnable::run)
+            .build();
+    CelRuntime.Program program = celRuntime.createProgram(ast);
+
+    assertThat(program.eval(ImmutableMap.of("x", "b"))).isEqualTo(2L);
+    assertThat(program.tierMetrics().get().tier()).isEqualTo(ProgramTierMetrics.Tier.PROMOTED);
+
+    ProgramCoverage coverage = program.coverage().get();
+    CelExpr firstCondition = ast.getExpr().call().args().get(0);
+    CelExpr secondCondition = ast.getExpr().call().args().get(2).call().args().get(0);
+    assertThat(coverage.nodes().get(firstCondition.id()).falseCount()).isEqualTo(1);
+    assertThat(coverage.nodes().get(secondCondition.id()).trueCount()).isEqualTo(1);
+  }
+
   @Test
   public void newWellKnownTypeMessage_inDynamicMessage_withSetTypeFactory() throws Exception {
     CelCompiler celCompiler =
@@ -65,4 +65,89 @@ public final class DefaultDispatcherTest {
                     new Object[] {1L}));
     assertThat(e).hasMessageThat().contains("Matching candidates: overload_1, overload_2");
   }
+
+  @Test
+  public void extend_resolvesParentAndExtensionOverloads() throws Exception {
+    DefaultDispatcher parent =
+        DefaultDispatcher.newBuilder()
+            .addOverload(
+                "increment",
+                "increment_int",
+                ImmutableList.of(Long.class),
+                /* isStrict= */ true,
+                args -> (Long) args[0] + 1)
+            .build();
+
+    DefaultDispatcher dispatcher =
+        parent.extend(
+            ImmutableList.of(
+                CelFunctionBinding.from("increment_string", String.class, arg -> arg + "1")));
+
+    assertThat(dispatcher.findOverload("increment_int")).isPresent();
+    assertThat(dispatcher.findOverload("increment_string")).isPresent();
+    assertThat(parent.findOverload("increment_string")).isEmpty();
+    assertThat(
+            dispatcher
+                .findOverloadMatchingArgs("increment", new Object[] {"a"})
+                .get()
+                .invoke(new Object[] {"a"}))
+        .isEqualTo("a1");
+    assertThat(
+            dispatcher
+                .findOverloadMatchingArgs("increment", new Object[] {1L})
+                .get()
+                .invoke(new Object[] {1L}))
+        .isEqualTo(2L);
+  }
+
+  @Test
+  public void extend_sharesParentOverloads() {
+    DefaultDispatcher parent =
+        DefaultDispatcher.newBuilder()
+            .addOverload(
+                "increment",
+                "increment_int",
+                ImmutableList.of(Long.class),
+                /* isStrict= */ true,
+                args -> (Long) args[0] + 1)
+            .build();
+
+    DefaultDispatcher dispatcher =
+        parent
+            .extend(
+                ImmutableList.of(
+                    CelFunctionBinding.from("increment_string", String.class, arg -> arg + "1")))
+            .extend(
+                ImmutableList.of(
+                    CelFunctionBinding.from("increment_bool", Boolean.class, arg -> !arg)));
+
+    // Each extension only holds the overloads it binds, and resolves the rest through its parent.
+    assertThat(dispatcher.boundOverloadIds()).containsExactly("increment_bool");
+    assertThat(dispatcher.parent().boundOverloadIds()).containsExactly("increment_string");
+    assertThat(dispatcher.parent().parent()).isSameInstanceAs(parent);
+    assertThat(dispatcher.findOverload("increment_int").get())
+        .isSameInstanceAs(parent.findOverload("increment_int").get());
+  }
+
+  @Test
+  public void extend_duplicateOverloadId_throws() {
+    DefaultDispatcher parent =
+        DefaultDispatcher.newBuilder()
+            .addOverload(
+                "increment",
+                "increment_int",
+                ImmutableList.of(Long.class),
+                /* isStrict= */ true,
+                args -> (Long) args[0] + 1)
+            .build();
+
+    IllegalArgumentException e =
+        Assert.assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                parent.extend(
+                    ImmutableList.of(
+                        CelFunctionBinding.from("increment_int", Long.class, arg -> arg + 2))));
+    assertThat(e).hasMessageThat().contains("Duplicate overload ID binding: increment_int");
+  }
 }
@@ -0,0 +1,154 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dev.cel.runtime;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.common.CelAbstractSyntaxTree;
+import dev.cel.common.CelSource;
+import dev.cel.common.ast.CelConstant;
+import dev.cel.common.ast.CelExpr;
+import dev.cel.common.ast.CelReference;
+import dev.cel.common.types.SimpleType;
+import dev.cel.compiler.CelCompiler;
+import dev.cel.compiler.CelCompilerFactory;
+import dev.cel.parser.CelStandardMacro;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public class ExprIndexTest {
+
+  @Test
+  public void create_matchesAstMaps() throws Exception {
+    CelCompiler celCompiler =
+        CelCompilerFactory.standardCelCompilerBuilder()
+            .setStandardMacros(CelStandardMacro.STANDARD_MACROS)
+            .addVar("x", SimpleType.INT)
+            .build();
+    CelAbstractSyntaxTree ast =
+        celCompiler.compile("[1, 2].exists(y, y + x > 2) && {'a': x}['a'] == 3").getAst();
+
+    ExprIndex index = ExprIndex.create(ast, ExprIndexTest::constantValue);
+
+    ast.getReferenceMap()
+        .forEach(
+            (id, reference) -> assertThat(index.findReference(id)).isSameInstanceAs(reference));
+    ast.getTypeMap().forEach((id, type) -> assertThat(index.findType(id)).isSameInstanceAs(type));
+  }
+
+  @Test
+  public void create_constantResultsRetained() {
+    CelExpr constant = CelExpr.ofConstant(1L, CelConstant.ofValue("hello"));
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            constant,
+            CelSource.newBuilder().build(),
+            ImmutableMap.of(),
+            ImmutableMap.of(1L, SimpleType.STRING));
+
+    ExprIndex index = ExprIndex.create(ast, ExprIndexTest::constantValue);
+
+    assertThat(index.findConstantResult(1L).value()).isEqualTo("hello");
+    assertThat(index.findConstantResult(1L)).isSameInstanceAs(index.findConstantResult(1L));
+    assertThat(index.findConstantResult(2L)).isNull();
+  }
+
+  @Test
+  public void create_referenceToConstant_constantResultRetained() {
+    CelExpr ident = CelExpr.ofIdent(1L, "my.enum.VALUE");
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            ident,
+            CelSource.newBuilder().build(),
+            ImmutableMap.of(
+                1L,
+                CelReference.newBuilder()
+                    .setName("my.enum.VALUE")
+                    .setValue(CelConstant.ofValue(2L))
+                    .build()),
+            ImmutableMap.of(1L, SimpleType.INT));
+
+    ExprIndex index = ExprIndex.create(ast, ExprIndexTest::constantValue);
+
+    assertThat(index.findConstantResult(1L).value()).isEqualTo(2L);
+  }
+
+  @Test
+  public void create_sparseIds_fallsBackToAstMaps() {
+    long sparseId = 1_000_000_000L;
+    CelExpr ident = CelExpr.ofIdent(sparseId, "x");
+    CelReference reference = CelReference.newBuilder().setName("x").build();
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            ident,
+            CelSource.newBuilder().build(),
+            ImmutableMap.of(sparseId, reference),
+            ImmutableMap.of(sparseId, SimpleType.INT));
+
+    ExprIndex index = ExprIndex.create(ast, ExprIndexTest::constantValue);
+
+    assertThat(index.findReference(sparseId)).isSameInstanceAs(reference);
+    assertThat(index.findType(sparseId)).isEqualTo(SimpleType.INT);
+    assertThat(index.findType(1L)).isNull();
+  }
+
+  @Test
+  public void create_negativeIds_fallsBackToAstMaps() {
+    CelExpr ident = CelExpr.ofIdent(-1L, "x");
+    CelReference reference = CelReference.newBuilder().setName("x").build();
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            ident,
+            CelSource.newBuilder().build(),
+            ImmutableMap.of(-1L, reference),
+            ImmutableMap.of(-1L, SimpleType.INT));
+
+    ExprIndex index = ExprIndex.create(ast, ExprIndexTest::constantValue);
+
+    assertThat(index.findReference(-1L)).isSameInstanceAs(reference);
+    assertThat(index.findType(-1L)).isEqualTo(SimpleType.INT);
+    assertThat(index.findConstantResult(-1L)).isNull();
+  }
+
+  @Test
+  public void create_unsupportedConstant_notRetained() {
+    CelExpr constant = CelExpr.ofConstant(1L, CelConstant.ofNotSet());
+    CelAbstractSyntaxTree ast =
+        CelAbstractSyntaxTree.newCheckedAst(
+            constant,
+            CelSource.newBuilder().build(),
+            ImmutableMap.of(),
+            ImmutableMap.of(1L, SimpleType.DYN));
+
+    ExprIndex index = ExprIndex.create(ast, ExprIndexTest::constantValue);
+
+    assertThat(index.findConstantResult(1L)).isNull();
+  }
+
+  private static Object constantValue(CelConstant constant) {
+    switch (constant.getKind()) {
+      case INT64_VALUE:
+        return constant.int64Value();
+      case STRING_VALUE:
+        return constant.stringValue();
+      default:
+        return null;
+    }
+  }
+}
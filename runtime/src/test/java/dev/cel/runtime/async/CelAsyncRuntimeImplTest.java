@@ -15,6 +15,8 @@
 package dev.cel.runtime.async;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Futures.immediateFailedFuture;
+import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -23,6 +25,7 @@ import static org.junit.Assert.assertThrows;
 import dev.cel.expr.Type;
 import dev.cel.expr.Type.ListType;
 import dev.cel.expr.Type.PrimitiveType;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.testing.junit.testparameterinjector.TestParameter;
@@ -32,19 +35,27 @@ import dev.cel.bundle.Cel;
 import dev.cel.bundle.CelFactory;
 import dev.cel.common.CelAbstractSyntaxTree;
 import dev.cel.common.CelContainer;
+import dev.cel.common.CelFunctionDecl;
 import dev.cel.common.CelOptions;
+import dev.cel.common.CelOverloadDecl;
 import dev.cel.common.testing.RepeatedTestProvider;
 import dev.cel.common.types.SimpleType;
 import dev.cel.expr.conformance.proto3.TestAllTypes;
 import dev.cel.runtime.CelAttributeParser;
 import dev.cel.runtime.CelAttributePattern;
 import dev.cel.runtime.CelEvaluationException;
+import dev.cel.runtime.CelFunctionBinding;
 import dev.cel.runtime.async.CelAsyncRuntime.AsyncProgram;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -523,4 +534,267 @@ public final class CelAsyncRuntimeImplTest {
     assertThat(result).isInstanceOf(Boolean.class);
     assertThat(result).isEqualTo(true);
   }
+
+  @Test
+  public void asyncProgram_asyncFunctionBinding_dependentCalls() throws Exception {
+    // Arrange
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "fetch",
+                    CelOverloadDecl.newGlobalOverload(
+                        "fetch_string", SimpleType.STRING, SimpleType.STRING)))
+            .setResultType(SimpleType.STRING)
+            .build();
+    List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    CelAsyncRuntime asyncRuntime =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(cel)
+            .addAsyncFunctionBindings(
+                CelAsyncFunctionBinding.from(
+                    "fetch_string",
+                    String.class,
+                    (arg) -> {
+                      calls.add(arg);
+                      return immediateFuture(arg + "!");
+                    }))
+            .setExecutorService(newDirectExecutorService())
+            .build();
+
+    CelAbstractSyntaxTree ast =
+        cel.compile("fetch('a') + fetch(fetch('b')) + fetch('a')").getAst();
+
+    AsyncProgram program = asyncRuntime.createProgram(ast);
+
+    // Act
+    Object result = program.evaluateToCompletion().get(2, SECONDS);
+
+    // Assert
+    assertThat(result).isEqualTo("a!b!!a!");
+    // Independent calls are started in the same round, and repeated calls are only made once.
+    assertThat(calls).containsExactly("a", "b", "b!");
+    assertThat(calls.get(2)).isEqualTo("b!");
+  }
+
+  @Test
+  public void asyncProgram_asyncFunctionBinding_overlapsWithUnknownResolution() throws Exception {
+    // Arrange
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+            .addVar("com.google.var1", SimpleType.STRING)
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "fetch",
+                    CelOverloadDecl.newGlobalOverload(
+                        "fetch_string", SimpleType.STRING, SimpleType.STRING)))
+            .setResultType(SimpleType.BOOL)
+            .setContainer(CelContainer.ofName("com.google"))
+            .build();
+    SettableFuture<Object> var1Value = SettableFuture.create();
+    CelAsyncRuntime asyncRuntime =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(cel)
+            .addAsyncFunctionBindings(
+                CelAsyncFunctionBinding.fromCompletableFuture(
+                    "fetch_string",
+                    ImmutableList.of(String.class),
+                    (args) -> CompletableFuture.completedFuture(args[0] + "!")))
+            .setExecutorService(newDirectExecutorService())
+            .build();
+
+    CelAbstractSyntaxTree ast = cel.compile("fetch('a') == 'a!' && var1 == 'b'").getAst();
+
+    AsyncProgram program = asyncRuntime.createProgram(ast);
+
+    // Act
+    ListenableFuture<Object> future =
+        program.evaluateToCompletion(
+            CelResolvableAttributePattern.of(
+                CelAttributePattern.fromQualifiedIdentifier("com.google.var1"),
+                CelUnknownAttributeValueResolver.fromAsyncResolver((attr) -> var1Value)));
+
+    // Assert
+    // Both the function call and the attribute lookup are outstanding in the first round.
+    assertThat(future.isDone()).isFalse();
+    var1Value.set("b");
+    assertThat(future.get(2, SECONDS)).isEqualTo(true);
+  }
+
+  @Test
+  public void asyncProgram_asyncFunctionBinding_nonIdentifierOverloadId() throws Exception {
+    // Arrange
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "fetch",
+                    CelOverloadDecl.newGlobalOverload(
+                        "example.fetch@v1", SimpleType.STRING, SimpleType.STRING)))
+            .setResultType(SimpleType.STRING)
+            .build();
+    CelAsyncRuntime asyncRuntime =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(cel)
+            .addAsyncFunctionBindings(
+                CelAsyncFunctionBinding.from(
+                    "example.fetch@v1", String.class, (arg) -> immediateFuture(arg + "!")))
+            .setExecutorService(newDirectExecutorService())
+            .build();
+
+    CelAbstractSyntaxTree ast = cel.compile("fetch('a') + fetch('b')").getAst();
+
+    AsyncProgram program = asyncRuntime.createProgram(ast);
+
+    // Act
+    Object result = program.evaluateToCompletion().get(2, SECONDS);
+
+    // Assert
+    assertThat(result).isEqualTo("a!b!");
+  }
+
+  @Test
+  public void asyncProgram_asyncFunctionBinding_failedFuturePropagates() throws Exception {
+    // Arrange
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "fetch",
+                    CelOverloadDecl.newGlobalOverload(
+                        "fetch_string", SimpleType.STRING, SimpleType.STRING)))
+            .setResultType(SimpleType.STRING)
+            .build();
+    CelAsyncRuntime asyncRuntime =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(cel)
+            .addAsyncFunctionBindings(
+                CelAsyncFunctionBinding.from(
+                    "fetch_string",
+                    String.class,
+                    (arg) -> immediateFailedFuture(new IllegalStateException(arg))))
+            .setExecutorService(newDirectExecutorService())
+            .build();
+
+    CelAbstractSyntaxTree ast = cel.compile("fetch('a')").getAst();
+
+    AsyncProgram program = asyncRuntime.createProgram(ast);
+
+    // Act
+    ListenableFuture<Object> future = program.evaluateToCompletion();
+
+    // Assert
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(2, SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(IllegalStateException.class);
+    assertThat(e).hasCauseThat().hasMessageThat().isEqualTo("a");
+  }
+
+  @Test
+  public void asyncProgram_asyncFunctionBinding_nullResultFailsLikeSyncBinding() throws Exception {
+    // Arrange
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "fetch",
+                    CelOverloadDecl.newGlobalOverload(
+                        "fetch_dyn", SimpleType.DYN, SimpleType.STRING)))
+            .build();
+    CelAsyncRuntime asyncRuntime =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(cel)
+            .addAsyncFunctionBindings(
+                CelAsyncFunctionBinding.from(
+                    "fetch_dyn", String.class, (arg) -> immediateFuture(null)))
+            .setExecutorService(newDirectExecutorService())
+            .build();
+
+    CelAbstractSyntaxTree ast = cel.compile("fetch('a')").getAst();
+
+    AsyncProgram program = asyncRuntime.createProgram(ast);
+
+    // Act
+    ListenableFuture<Object> future = program.evaluateToCompletion();
+
+    // Assert
+    // The null result is recorded and returned to the call, which the evaluator rejects.
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(2, SECONDS));
+    assertThat(e).hasCauseThat().isInstanceOf(CelEvaluationException.class);
+    assertThat(e).hasCauseThat().hasMessageThat().contains("fetch_dyn");
+  }
+
+  @Test
+  public void asyncRuntime_plannerRuntime_throws() {
+    CelAsyncRuntimeBuilder builder =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(CelFactory.plannerCelBuilder().build())
+            .setExecutorService(newDirectExecutorService());
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, builder::build);
+    assertThat(e).hasMessageThat().contains("incremental evaluation");
+  }
+
+  @Test
+  @SuppressWarnings("Immutable") // Test only
+  public void asyncProgram_knownSubexpressionsNotReevaluated() throws Exception {
+    // Arrange
+    AtomicInteger invocation = new AtomicInteger();
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+            .addVar("com.google.var1", SimpleType.BOOL)
+            .addVar("com.google.var2", SimpleType.STRING)
+            .addVar("com.google.var3", SimpleType.STRING)
+            .addFunctionDeclarations(
+                CelFunctionDecl.newFunctionDeclaration(
+                    "counted",
+                    CelOverloadDecl.newGlobalOverload(
+                        "counted_string", SimpleType.STRING, SimpleType.STRING)))
+            .addFunctionBindings(
+                CelFunctionBinding.fromOverloads(
+                    "counted",
+                    CelFunctionBinding.from(
+                        "counted_string",
+                        String.class,
+                        arg -> {
+                          invocation.getAndIncrement();
+                          return arg;
+                        })))
+            .setResultType(SimpleType.STRING)
+            .setContainer(CelContainer.ofName("com.google"))
+            .build();
+    CelUnknownAttributeValueResolver resolveName =
+        CelUnknownAttributeValueResolver.fromResolver((attr) -> attr.toString());
+    CelAsyncRuntime asyncRuntime =
+        CelAsyncRuntimeFactory.defaultAsyncRuntime()
+            .setRuntime(cel)
+            .setExecutorService(newDirectExecutorService())
+            .build();
+
+    CelAbstractSyntaxTree ast = cel.compile("counted('a') + (var1 ? var2 : var3)").getAst();
+
+    AsyncProgram program = asyncRuntime.createProgram(ast);
+
+    // Act
+    ListenableFuture<Object> future =
+        program.evaluateToCompletion(
+            CelResolvableAttributePattern.of(
+                CelAttributePattern.fromQualifiedIdentifier("com.google.var1"),
+                CelUnknownAttributeValueResolver.fromResolver((attr) -> true)),
+            CelResolvableAttributePattern.of(
+                CelAttributePattern.fromQualifiedIdentifier("com.google.var2"), resolveName),
+            CelResolvableAttributePattern.of(
+                CelAttributePattern.fromQualifiedIdentifier("com.google.var3"), resolveName));
+    Object result = future.get(2, SECONDS);
+
+    // Assert
+    assertThat(result).isEqualTo("acom.google.var2");
+    // Evaluation took three rounds, but the call is only made in the first one.
+    assertThat(invocation.get()).isEqualTo(1);
+  }
 }
@@ -0,0 +1,168 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dev.cel.runtime.async;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.FakeTicker;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.testing.junit.testparameterinjector.TestParameterInjector;
+import dev.cel.bundle.Cel;
+import dev.cel.bundle.CelFactory;
+import dev.cel.common.CelContainer;
+import dev.cel.common.CelOptions;
+import dev.cel.common.types.SimpleType;
+import dev.cel.runtime.CelAttribute;
+import dev.cel.runtime.CelAttributePattern;
+import dev.cel.runtime.async.CelAsyncRuntime.AsyncProgram;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TestParameterInjector.class)
+public final class CelBatchingAttributeResolverTest {
+
+  private static final Cel CEL =
+      CelFactory.standardCelBuilder()
+          .setOptions(CelOptions.current().enableUnknownTracking(true).build())
+          .addVar("com.google.var1", SimpleType.STRING)
+          .addVar("com.google.var2", SimpleType.STRING)
+          .addVar("com.google.var3", SimpleType.STRING)
+          .setContainer(CelContainer.ofName("com.google"))
+          .build();
+
+  private static final CelAsyncRuntime ASYNC_RUNTIME =
+      CelAsyncRuntimeFactory.defaultAsyncRuntime()
+          .setRuntime(CEL)
+          .setExecutorService(newDirectExecutorService())
+          .build();
+
+  private static AsyncProgram createProgram(String expression) throws Exception {
+    return ASYNC_RUNTIME.createProgram(CEL.compile(expression).getAst());
+  }
+
+  private static ListenableFuture<Object> evaluate(
+      AsyncProgram program, CelBatchingAttributeResolver resolver) {
+    return program.evaluateToCompletion(
+        CelResolvableAttributePattern.of(
+            CelAttributePattern.fromQualifiedIdentifier("com.google.var1"), resolver),
+        CelResolvableAttributePattern.of(
+            CelAttributePattern.fromQualifiedIdentifier("com.google.var2"), resolver),
+        CelResolvableAttributePattern.of(
+            CelAttributePattern.fromQualifiedIdentifier("com.google.var3"), resolver));
+  }
+
+  private static ImmutableMap<CelAttribute, Object> resolveToNames(
+      ImmutableSet<CelAttribute> attributes) {
+    return attributes.stream()
+        .collect(ImmutableMap.toImmutableMap(attr -> attr, CelAttribute::toString));
+  }
+
+  @Test
+  public void resolve_attributesInRoundBatched() throws Exception {
+    List<ImmutableSet<CelAttribute>> batches = Collections.synchronizedList(new ArrayList<>());
+    CelBatchingAttributeResolver resolver =
+        CelBatchingAttributeResolver.newBuilder()
+            .setBatchResolver(
+                (attributes) -> {
+                  batches.add(attributes);
+                  return resolveToNames(attributes);
+                })
+            .build();
+    AsyncProgram program = createProgram("var1 + var2 + var3");
+
+    Object result = evaluate(program, resolver).get(2, SECONDS);
+
+    assertThat(result).isEqualTo("com.google.var1com.google.var2com.google.var3");
+    assertThat(batches).hasSize(1);
+    assertThat(batches.get(0))
+        .containsExactly(
+            CelAttribute.fromQualifiedIdentifier("com.google.var1"),
+            CelAttribute.fromQualifiedIdentifier("com.google.var2"),
+            CelAttribute.fromQualifiedIdentifier("com.google.var3"));
+    assertThat(resolver.stats().batchCount()).isEqualTo(1);
+    assertThat(resolver.stats().maxObservedBatchSize()).isEqualTo(3);
+  }
+
+  @Test
+  public void resolve_maxBatchSize_splitsBatches() throws Exception {
+    CelBatchingAttributeResolver resolver =
+        CelBatchingAttributeResolver.newBuilder()
+            .setBatchResolver(CelBatchingAttributeResolverTest::resolveToNames)
+            .setMaxBatchSize(2)
+            .build();
+    AsyncProgram program = createProgram("var1 + var2 + var3");
+
+    Object result = evaluate(program, resolver).get(2, SECONDS);
+
+    assertThat(result).isEqualTo("com.google.var1com.google.var2com.google.var3");
+    assertThat(resolver.stats().batchCount()).isEqualTo(2);
+    assertThat(resolver.stats().batchedAttributeCount()).isEqualTo(3);
+    assertThat(resolver.stats().maxObservedBatchSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void resolve_inFlightLookupsCoalescedAcrossEvaluations() throws Exception {
+    SettableFuture<Map<CelAttribute, Object>> lookup = SettableFuture.create();
+    CelBatchingAttributeResolver resolver =
+        CelBatchingAttributeResolver.newBuilder()
+            .setAsyncBatchResolver((attributes) -> lookup)
+            .build();
+    AsyncProgram program1 = createProgram("var1 == 'a'");
+    AsyncProgram program2 = createProgram("var1 + 'b'");
+
+    ListenableFuture<Object> result1 = evaluate(program1, resolver);
+    ListenableFuture<Object> result2 = evaluate(program2, resolver);
+    lookup.set(ImmutableMap.of(CelAttribute.fromQualifiedIdentifier("com.google.var1"), "a"));
+
+    assertThat(result1.get(2, SECONDS)).isEqualTo(true);
+    assertThat(result2.get(2, SECONDS)).isEqualTo("ab");
+    CelBatchingAttributeResolver.Stats stats = resolver.stats();
+    assertThat(stats.requestCount()).isEqualTo(2);
+    assertThat(stats.coalescedCount()).isEqualTo(1);
+    assertThat(stats.batchCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void resolve_cachedUntilTtlExpires() throws Exception {
+    FakeTicker ticker = new FakeTicker();
+    CelBatchingAttributeResolver resolver =
+        CelBatchingAttributeResolver.newBuilder()
+            .setBatchResolver(CelBatchingAttributeResolverTest::resolveToNames)
+            .setCacheTtl(Duration.ofMinutes(1))
+            .setTicker(ticker)
+            .build();
+    AsyncProgram program = createProgram("var1");
+
+    evaluate(program, resolver).get(2, SECONDS);
+    evaluate(program, resolver).get(2, SECONDS);
+    ticker.advance(2, MINUTES);
+    evaluate(program, resolver).get(2, SECONDS);
+
+    assertThat(resolver.stats().requestCount()).isEqualTo(3);
+    assertThat(resolver.stats().cacheHitCount()).isEqualTo(1);
+    assertThat(resolver.stats().batchCount()).isEqualTo(2);
+  }
+}
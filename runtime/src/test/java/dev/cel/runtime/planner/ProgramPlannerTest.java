@@ -19,6 +19,7 @@ import static dev.cel.common.CelFunctionDecl.newFunctionDeclaration;
 import static dev.cel.common.CelOverloadDecl.newGlobalOverload;
 import static dev.cel.common.CelOverloadDecl.newMemberOverload;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableCollection;
@@ -35,6 +36,7 @@ import dev.cel.common.CelDescriptorUtil;
 import dev.cel.common.CelErrorCode;
 import dev.cel.common.CelOptions;
 import dev.cel.common.CelSource;
+import dev.cel.common.ast.CelConstant;
 import dev.cel.common.ast.CelExpr;
 import dev.cel.common.exceptions.CelDivideByZeroException;
 import dev.cel.common.internal.CelDescriptorPool;
@@ -81,6 +83,10 @@ import dev.cel.runtime.Program;
 import dev.cel.runtime.RuntimeEquality;
 import dev.cel.runtime.RuntimeHelpers;
 import dev.cel.runtime.standard.TypeFunction;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -438,6 +444,53 @@ public final class ProgramPlannerTest {
         .contains("evaluation error at <input>:1: Unsupported key type: 1.0");
   }
 
+  @Test
+  public void plan_createList_constant_sharedAcrossEvaluations() throws Exception {
+    CelAbstractSyntaxTree ast = compile("['a', 'b', [1, 2]]");
+    Program program = PLANNER.plan(ast);
+
+    Object first = program.eval();
+    Object second = program.eval();
+
+    assertThat(first).isEqualTo(ImmutableList.of("a", "b", ImmutableList.of(1L, 2L)));
+    assertThat(second).isSameInstanceAs(first);
+  }
+
+  @Test
+  public void plan_createList_nonConstant_rebuiltPerEvaluation() throws Exception {
+    CelAbstractSyntaxTree ast = compile("['a', [int_var]]");
+    Program program = PLANNER.plan(ast);
+
+    Object first = program.eval(ImmutableMap.of("int_var", 1L));
+    Object second = program.eval(ImmutableMap.of("int_var", 2L));
+
+    assertThat(first).isEqualTo(ImmutableList.of("a", ImmutableList.of(1L)));
+    assertThat(second).isEqualTo(ImmutableList.of("a", ImmutableList.of(2L)));
+  }
+
+  @Test
+  public void plan_createMap_constant_sharedAcrossEvaluations() throws Exception {
+    CelAbstractSyntaxTree ast = compile("{'foo': [1, 2], 3: {'bar': true}}");
+    Program program = PLANNER.plan(ast);
+
+    Object first = program.eval();
+    Object second = program.eval();
+
+    assertThat(first)
+        .isEqualTo(
+            ImmutableMap.of("foo", ImmutableList.of(1L, 2L), 3L, ImmutableMap.of("bar", true)));
+    assertThat(second).isSameInstanceAs(first);
+  }
+
+  @Test
+  public void plan_createMap_intUintDuplicateKey_throws() throws Exception {
+    CelAbstractSyntaxTree ast = compile("{1: 'foo', dyn(1u): 'bar'}");
+    Program program = PLANNER.plan(ast);
+
+    CelEvaluationException e = assertThrows(CelEvaluationException.class, program::eval);
+    assertThat(e).hasMessageThat().contains("duplicate map key [1]");
+  }
+
   @Test
   public void plan_createStruct() throws Exception {
     CelAbstractSyntaxTree ast = compile("cel.expr.conformance.proto3.TestAllTypes{}");
@@ -484,6 +537,20 @@ public final class ProgramPlannerTest {
     assertThat(result).isEqualTo(TestAllTypes.getDefaultInstance());
   }
 
+  @Test
+  public void plan_createStruct_withOptionalEntries() throws Exception {
+    CelAbstractSyntaxTree ast =
+        compile(
+            "TestAllTypes{?single_string: optional.none(), ?single_int64: optional.of(1),"
+                + " single_bool: true}");
+    Program program = PLANNER.plan(ast);
+
+    TestAllTypes result = (TestAllTypes) program.eval();
+
+    assertThat(result)
+        .isEqualTo(TestAllTypes.newBuilder().setSingleInt64(1).setSingleBool(true).build());
+  }
+
   @Test
   public void plan_call_zeroArgs() throws Exception {
     CelAbstractSyntaxTree ast = compile("zero()");
@@ -671,6 +738,268 @@ public final class ProgramPlannerTest {
     assertThat(e.getErrorCode()).isEqualTo(CelErrorCode.DIVIDE_BY_ZERO);
   }
 
+  @Test
+  @TestParameters("{expression: \"late_bound_func('a') == 'a' && late_bound_func('b') == 'b'\"}")
+  @TestParameters("{expression: \"late_bound_func('a') == 'x' || late_bound_func('b') == 'b'\"}")
+  @TestParameters("{expression: \"(true ? late_bound_func('a') : late_bound_func('b')) == 'a'\"}")
+  public void plan_parallelEvaluation_lateBoundCallsOverlap(String expression) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Program program = newParallelPlanner(executor).plan(compile(expression));
+      // Each call blocks until the other one has started, which only succeeds if they run
+      // concurrently.
+      CountDownLatch latch = new CountDownLatch(2);
+
+      Object result =
+          program.eval(
+              ImmutableMap.of(),
+              CelLateFunctionBindings.from(
+                  CelFunctionBinding.from(
+                      "late_bound_func_overload",
+                      String.class,
+                      (arg) -> {
+                        latch.countDown();
+                        try {
+                          return latch.await(10, SECONDS) ? arg : "timed_out";
+                        } catch (InterruptedException e) {
+                          throw new IllegalStateException(e);
+                        }
+                      })));
+
+      assertThat(result).isEqualTo(true);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @TestParameters("{expression: \"(1 / 0 > 2) && late_bound_func('a') == 'a'\"}")
+  @TestParameters("{expression: \"late_bound_func('a') == 'a' && (1 / 0 > 2)\"}")
+  @TestParameters("{expression: \"(1 / 0 > 2) || late_bound_func('a') == 'b'\"}")
+  @TestParameters("{expression: \"true ? (1 / 0 > 2) : late_bound_func('a') == 'a'\"}")
+  public void plan_parallelEvaluation_errorPrecedencePreserved(String expression)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Program program = newParallelPlanner(executor).plan(compile(expression));
+
+      CelEvaluationException e =
+          assertThrows(
+              CelEvaluationException.class,
+              () ->
+                  program.eval(
+                      ImmutableMap.of(),
+                      CelLateFunctionBindings.from(
+                          CelFunctionBinding.from(
+                              "late_bound_func_overload", String.class, (arg) -> arg))));
+      assertThat(e).hasMessageThat().endsWith("/ by zero");
+      assertThat(e.getErrorCode()).isEqualTo(CelErrorCode.DIVIDE_BY_ZERO);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void plan_parallelEvaluation_lateBoundErrorPropagated() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Program program =
+          newParallelPlanner(executor)
+              .plan(compile("late_bound_func('a') == 'a' && late_bound_func('b') == 'b'"));
+
+      CelEvaluationException e =
+          assertThrows(
+              CelEvaluationException.class,
+              () ->
+                  program.eval(
+                      ImmutableMap.of(),
+                      CelLateFunctionBindings.from(
+                          CelFunctionBinding.from(
+                              "late_bound_func_overload",
+                              String.class,
+                              (arg) -> {
+                                throw new IllegalArgumentException("failed on " + arg);
+                              }))));
+      // The error from the leftmost branch takes precedence, as with sequential evaluation.
+      assertThat(e).hasMessageThat().contains("arg(s) 'a'");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void plan_parallelEvaluation_unusedBlockSlotCancelled() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(1);
+    try {
+      // cel.@block([late_bound_func('unused')], late_bound_func('result'))
+      CelExpr blockExpr =
+          CelExpr.ofCall(
+              1L,
+              Optional.empty(),
+              "cel.@block",
+              ImmutableList.of(
+                  CelExpr.ofList(
+                      2L,
+                      ImmutableList.of(
+                          CelExpr.ofCall(
+                              3L,
+                              Optional.empty(),
+                              "late_bound_func",
+                              ImmutableList.of(
+                                  CelExpr.ofConstant(4L, CelConstant.ofValue("unused"))))),
+                      ImmutableList.of()),
+                  CelExpr.ofCall(
+                      5L,
+                      Optional.empty(),
+                      "late_bound_func",
+                      ImmutableList.of(CelExpr.ofConstant(6L, CelConstant.ofValue("result"))))));
+      Program program =
+          newParallelPlanner(executor)
+              .plan(CelAbstractSyntaxTree.newParsedAst(blockExpr, CelSource.newBuilder().build()));
+      CountDownLatch slotStarted = new CountDownLatch(1);
+      CountDownLatch slotInterrupted = new CountDownLatch(1);
+
+      Object result =
+          program.eval(
+              ImmutableMap.of(),
+              CelLateFunctionBindings.from(
+                  CelFunctionBinding.from(
+                      "late_bound_func_overload",
+                      String.class,
+                      (arg) -> {
+                        try {
+                          if (arg.equals("result")) {
+                            // Returns while the prefetched slot is still being evaluated.
+                            return slotStarted.await(10, SECONDS) ? "done" : "timed_out";
+                          }
+                          slotStarted.countDown();
+                          // Blocks until interrupted.
+                          new CountDownLatch(1).await(10, SECONDS);
+                          return "slot_finished";
+                        } catch (InterruptedException e) {
+                          slotInterrupted.countDown();
+                          throw new IllegalStateException(e);
+                        }
+                      })));
+
+      assertThat(result).isEqualTo("done");
+      // The unreferenced slot does not keep running once evaluation has returned.
+      assertThat(slotInterrupted.await(10, SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @TestParameters("{expression: '1 + 2 == 3'}")
+  @TestParameters("{expression: '10 / 3 >= 3 && 10 / 3 < 4'}")
+  @TestParameters("{expression: '2.5 + 0.5 > 2.9'}")
+  @TestParameters("{expression: '7.0 / 2.0 == 3.5'}")
+  @TestParameters("{expression: \"'ab' + 'c' == 'abc' && 'abc' < 'abd'\"}")
+  @TestParameters("{expression: '!(1 > 2)'}")
+  @TestParameters("{expression: '[1, 2, 3].exists(x, x + 1 == 4)'}")
+  @TestParameters("{expression: 'dyn_var + 1 == 2'}")
+  public void plan_specializedOperators_matchesDispatch(String expression) throws Exception {
+    CelAbstractSyntaxTree ast = compile(expression);
+    ImmutableMap<String, Object> input = ImmutableMap.of("dyn_var", 1L);
+
+    Object result = newSpecializingPlanner().plan(ast).eval(input);
+
+    assertThat(result).isEqualTo(PLANNER.plan(ast).eval(input));
+  }
+
+  @Test
+  public void plan_specializedOperators_divideByZero_throws() throws Exception {
+    Program program = newSpecializingPlanner().plan(compile("(1 / 0) > 2"));
+
+    CelEvaluationException e = assertThrows(CelEvaluationException.class, program::eval);
+    assertThat(e).hasMessageThat().startsWith("evaluation error at <input>:");
+    assertThat(e).hasMessageThat().endsWith("/ by zero");
+    assertThat(e).hasCauseThat().isInstanceOf(CelDivideByZeroException.class);
+    assertThat(e.getErrorCode()).isEqualTo(CelErrorCode.DIVIDE_BY_ZERO);
+  }
+
+  @Test
+  public void plan_specializedOperators_overflow_throws() throws Exception {
+    Program program = newSpecializingPlanner().plan(compile("9223372036854775807 + 1 > 0"));
+
+    CelEvaluationException e = assertThrows(CelEvaluationException.class, program::eval);
+    assertThat(e.getErrorCode()).isEqualTo(CelErrorCode.NUMERIC_OVERFLOW);
+  }
+
+  @Test
+  @TestParameters("{value: 'GET', expected: 1}")
+  @TestParameters("{value: 'PUT', expected: 2}")
+  @TestParameters("{value: 'POST', expected: 4}")
+  @TestParameters("{value: 'PATCH', expected: 5}")
+  public void plan_indexedConditional_preservesFirstMatch(String value, long expected)
+      throws Exception {
+    CelAbstractSyntaxTree ast =
+        compile(
+            "dyn_var == 'GET' ? 1 : dyn_var == 'PUT' ? 2 : dyn_var == 'GET' ? 3 :"
+                + " dyn_var == 'POST' ? 4 : 5");
+    ImmutableMap<String, Object> input = ImmutableMap.of("dyn_var", value);
+
+    Object result = newSpecializingPlanner().plan(ast).eval(input);
+
+    assertThat(result).isEqualTo(expected);
+  }
+
+  @Test
+  public void plan_indexedConditional_mismatchedValueType_matchesChain() throws Exception {
+    CelAbstractSyntaxTree ast =
+        compile("dyn_var == 1 ? 1 : dyn_var == 2 ? 2 : dyn_var == 3 ? 3 : 4");
+    // Heterogeneous numeric equality cannot be answered by the index.
+    ImmutableMap<String, Object> input = ImmutableMap.of("dyn_var", 2.0);
+
+    Object result = newSpecializingPlanner().plan(ast).eval(input);
+
+    assertThat(result).isEqualTo(2L);
+  }
+
+  @Test
+  public void plan_indexedConditional_errorInDiscriminant_matchesChain() throws Exception {
+    CelAbstractSyntaxTree ast =
+        compile(
+            "map_var.missing == 'a' ? 1 : map_var.missing == 'b' ? 2 : map_var.missing == 'c' ?"
+                + " 3 : 4");
+    ImmutableMap<String, Object> input = ImmutableMap.of("map_var", ImmutableMap.of());
+
+    CelEvaluationException e =
+        assertThrows(
+            CelEvaluationException.class, () -> newSpecializingPlanner().plan(ast).eval(input));
+
+    assertThat(e).hasMessageThat().contains("key 'missing' is not present in map");
+  }
+
+  @Test
+  public void plan_indexedConditional_longChain_indexedOnceAtHead() throws Exception {
+    int caseCount = 50;
+    StringBuilder expression = new StringBuilder();
+    for (int i = 0; i < caseCount; i++) {
+      expression.append(String.format("dyn_var == 'case_%d' ? %d : ", i, i));
+    }
+    expression.append("-1");
+    CelAbstractSyntaxTree ast = compile(expression.toString());
+
+    PlannedProgram program = (PlannedProgram) newSpecializingPlanner().plan(ast);
+
+    // A single index holds every case, while the nested conditionals it falls back to are left
+    // unindexed, so the planned size grows linearly with the chain.
+    assertThat(program.interpretable()).isInstanceOf(EvalIndexedConditional.class);
+    EvalIndexedConditional indexed = (EvalIndexedConditional) program.interpretable();
+    assertThat(indexed.caseCount()).isEqualTo(caseCount);
+    PlannedInterpretable next = indexed.chain();
+    int chainLength = 0;
+    while (next instanceof EvalConditional) {
+      chainLength++;
+      next = ((EvalConditional) next).falsy();
+    }
+    assertThat(chainLength).isEqualTo(caseCount);
+    assertThat(next).isNotInstanceOf(EvalIndexedConditional.class);
+    assertThat(program.eval(ImmutableMap.of("dyn_var", "case_42"))).isEqualTo(42L);
+  }
+
   @Test
   @TestParameters("{expression: 'power(2,3)'}")
   @TestParameters("{expression: 'proto3.power(2,3)'}")
@@ -1074,6 +1403,43 @@ public final class ProgramPlannerTest {
     assertThat(result).isTrue();
   }
 
+  private static ProgramPlanner newParallelPlanner(ExecutorService executor) {
+    return ProgramPlanner.newPlanner(
+        TYPE_PROVIDER,
+        VALUE_PROVIDER,
+        newDispatcher(),
+        CEL_VALUE_CONVERTER,
+        CEL_CONTAINER,
+        CEL_OPTIONS.toBuilder().enableShortCircuiting(false).build(),
+        ImmutableSet.of("late_bound_func"),
+        executor);
+  }
+
+  private static ProgramPlanner newSpecializingPlanner() {
+    return ProgramPlanner.newPlanner(
+        TYPE_PROVIDER,
+        VALUE_PROVIDER,
+        newDispatcher(),
+        CEL_VALUE_CONVERTER,
+        CEL_CONTAINER,
+        CEL_OPTIONS,
+        ImmutableSet.of("late_bound_func"),
+        /* parallelEvaluationExecutor= */ null,
+        ImmutableSet.of(
+            "add_int64",
+            "add_double",
+            "add_string",
+            "divide_int64",
+            "divide_double",
+            "equals",
+            "greater_double",
+            "greater_equals_int64",
+            "greater_int64",
+            "less_int64",
+            "less_string",
+            "logical_not"));
+  }
+
   private CelAbstractSyntaxTree compile(String expression) throws Exception {
     return compile(CEL_COMPILER, expression);
   }
@@ -29,6 +29,8 @@ import dev.cel.common.navigation.CelNavigableExpr;
 import dev.cel.common.types.CelKind;
 import dev.cel.parser.CelUnparserVisitor;
 import dev.cel.runtime.CelEvaluationListener;
+import dev.cel.runtime.ProgramCoverage;
+import dev.cel.runtime.ProgramCoverage.NodeCoverage;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -85,6 +87,31 @@ final class CelCoverageIndex {
     return new EvaluationListener(nodeCoverageStatsMap);
   }
 
+  /**
+   * Merges coverage sampled by the runtime into the index, as an alternative to the evaluation
+   * listener. See {@code CelRuntimeBuilder#setCoverageSampleRate}.
+   *
+   * <p>The program must have been created from the AST the index was initialized with.
+   */
+  public void recordCoverage(ProgramCoverage programCoverage) {
+    for (Map.Entry<Long, NodeCoverage> entry : programCoverage.nodes().entrySet()) {
+      NodeCoverageStats nodeCoverageStats = nodeCoverageStatsMap.get(entry.getKey());
+      if (nodeCoverageStats == null) {
+        continue;
+      }
+      NodeCoverage nodeCoverage = entry.getValue();
+      nodeCoverageStats.covered.set(true);
+      if (nodeCoverageStats.isBooleanNode.get()) {
+        if (nodeCoverage.trueCount() > 0) {
+          nodeCoverageStats.hasTrueBranch.set(true);
+        }
+        if (nodeCoverage.falseCount() > 0) {
+          nodeCoverageStats.hasFalseBranch.set(true);
+        }
+      }
+    }
+  }
+
   /** A class for managing the coverage report for a CEL test suite. */
   @AutoValue
   public abstract static class CoverageReport {
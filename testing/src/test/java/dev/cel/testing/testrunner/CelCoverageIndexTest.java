@@ -28,6 +28,7 @@ import dev.cel.extensions.CelExtensions;
 import dev.cel.parser.CelStandardMacro;
 import dev.cel.runtime.CelEvaluationListener;
 import dev.cel.runtime.CelRuntime;
+import dev.cel.runtime.CelRuntimeFactory;
 import dev.cel.testing.testrunner.CelCoverageIndex.CoverageReport;
 import java.io.File;
 import org.junit.Test;
@@ -66,6 +67,33 @@ public final class CelCoverageIndexTest {
             "\t\tExpression ID 6 ('y > 1'): lacks 'false' coverage");
   }
 
+  @Test
+  public void getCoverageReport_fromSampledRuntimeCoverage() throws Exception {
+    Cel cel =
+        CelFactory.standardCelBuilder()
+            .addVar("x", SimpleType.INT)
+            .addVar("y", SimpleType.INT)
+            .build();
+    CelAbstractSyntaxTree ast = cel.compile("x > 1 && y > 1").getAst();
+    CelRuntime celRuntime =
+        CelRuntimeFactory.plannerRuntimeBuilder().setCoverageSampleRate(1).build();
+    CelRuntime.Program program = celRuntime.createProgram(ast);
+    CelCoverageIndex coverageIndex = new CelCoverageIndex();
+    coverageIndex.init(ast);
+
+    program.eval(ImmutableMap.of("x", 2L, "y", 2L));
+    program.eval(ImmutableMap.of("x", 2L, "y", 0L));
+    coverageIndex.recordCoverage(program.coverage().get());
+
+    CoverageReport report = coverageIndex.generateCoverageReport();
+    assertThat(report.coveredNodes()).isEqualTo(report.nodes());
+    assertThat(report.branches()).isEqualTo(6);
+    // x > 1 never evaluates to false.
+    assertThat(report.coveredBooleanOutcomes()).isEqualTo(5);
+    assertThat(report.unencounteredBranches())
+        .containsExactly("Expression ID 2 ('x > 1'): lacks 'false' coverage");
+  }
+
   @Test
   public void getCoverageReport_partialCoverage_shortCircuit() throws Exception {
     Cel cel =